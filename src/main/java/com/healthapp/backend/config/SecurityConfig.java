@@ -2,6 +2,9 @@ package com.healthapp.backend.config;
 
 import com.healthapp.backend.security.JwtAuthenticationEntryPoint;
 import com.healthapp.backend.security.JwtAuthenticationFilter;
+import com.healthapp.backend.security.OffloadingPasswordEncoder;
+import com.healthapp.backend.security.PasswordEncoderCalibrator;
+import com.healthapp.backend.security.PasswordHashingExecutor;
 import com.healthapp.backend.security.UserDetailsServiceImpl;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -15,7 +18,6 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -29,10 +31,13 @@ public class SecurityConfig {
     private final UserDetailsServiceImpl userDetailsService;
     private final JwtAuthenticationEntryPoint authenticationEntryPoint;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final PasswordEncoderCalibrator passwordEncoderCalibrator;
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        // Host-calibrated BCrypt running on a dedicated bounded pool, not on request threads
+        return new OffloadingPasswordEncoder(passwordEncoderCalibrator.createEncoder(), passwordHashingExecutor);
     }
 
     @Bean
@@ -40,6 +45,7 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setUserDetailsPasswordService(userDetailsService); // Rehash outdated hashes on successful login
         return authProvider;
     }
 
@@ -62,6 +68,7 @@ public class SecurityConfig {
                         .requestMatchers(
                                 "/",
                                 "/api/auth/**",
+                                "/api/photos/**", // Unguessable content-hash IDs; needed for plain <img> tags
                                 "/swagger-ui/**",
                                 "/swagger-ui.html",
                                 "/api-docs/**",
@@ -70,6 +77,7 @@ public class SecurityConfig {
                                 "/webjars/**",
                                 "/actuator/health"
                         ).permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN") // Metrics (e.g. reaper.*) are operator-only
                         .anyRequest().authenticated()
                 );
 
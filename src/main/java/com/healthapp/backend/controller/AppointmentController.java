@@ -0,0 +1,91 @@
+package com.healthapp.backend.controller;
+
+import com.healthapp.backend.dto.ApiResponse;
+import com.healthapp.backend.dto.AppointmentSummary;
+import com.healthapp.backend.dto.BookAppointmentRequest;
+import com.healthapp.backend.dto.CursorPage;
+import com.healthapp.backend.dto.EarliestSlot;
+import com.healthapp.backend.dto.HoldSlotRequest;
+import com.healthapp.backend.dto.SlotHoldResponse;
+import com.healthapp.backend.security.UserDetailsImpl;
+import com.healthapp.backend.service.AppointmentService;
+import com.healthapp.backend.service.EarliestSlotService;
+import com.healthapp.backend.service.SlotHoldService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * REST controller for appointments of the authenticated patient or doctor.
+ */
+@RestController
+@RequestMapping("/api/appointments")
+@RequiredArgsConstructor
+@Tag(name = "Appointments", description = "Appointment endpoints")
+public class AppointmentController {
+
+    private final AppointmentService appointmentService;
+    private final EarliestSlotService earliestSlotService;
+    private final SlotHoldService slotHoldService;
+
+    @PostMapping
+    @Operation(summary = "Book appointment",
+               description = "Book a free slot for the signed-in patient; 409 if the slot was taken meanwhile")
+    public ResponseEntity<ApiResponse> book(
+            @AuthenticationPrincipal UserDetailsImpl user,
+            @Valid @RequestBody BookAppointmentRequest request) {
+        UUID appointmentId = appointmentService.book(user, request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(new ApiResponse(true, "Appointment requested, awaiting doctor confirmation", appointmentId));
+    }
+
+    @PostMapping("/holds")
+    @Operation(summary = "Hold slot",
+               description = "Keep a free slot from other patients for a few minutes while the booking form is "
+                       + "filled out; replaces the patient's previous hold, 409 if the slot is taken or held")
+    public ResponseEntity<ApiResponse> hold(
+            @AuthenticationPrincipal UserDetailsImpl user,
+            @Valid @RequestBody HoldSlotRequest request) {
+        SlotHoldResponse hold = slotHoldService.hold(user, request.getDoctorId(), request.getDate(), request.getTime());
+        return ResponseEntity.status(HttpStatus.CREATED).body(new ApiResponse(true, "Slot held", hold));
+    }
+
+    @DeleteMapping("/holds/{holdId}")
+    @Operation(summary = "Release slot hold", description = "Give a held slot back before the hold expires")
+    public ResponseEntity<ApiResponse> releaseHold(
+            @AuthenticationPrincipal UserDetailsImpl user,
+            @PathVariable UUID holdId) {
+        slotHoldService.release(user, holdId);
+        return ResponseEntity.ok(new ApiResponse(true, "Hold released"));
+    }
+
+    @GetMapping("/history")
+    @Operation(summary = "Appointment history",
+               description = "Newest first; pass nextCursor from the previous page to continue")
+    public ResponseEntity<ApiResponse> history(
+            @AuthenticationPrincipal UserDetailsImpl user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean estimate) {
+        CursorPage<AppointmentSummary> page = appointmentService.history(user, cursor, size, estimate);
+        return ResponseEntity.ok(new ApiResponse(true, page.items().size() + " appointments", page));
+    }
+
+    @GetMapping("/earliest")
+    @Operation(summary = "Earliest available slot",
+               description = "Earliest free slot of any approved doctor in the specialization")
+    public ResponseEntity<ApiResponse> earliest(@RequestParam String specialization) {
+        Optional<EarliestSlot> slot = earliestSlotService.earliest(specialization);
+        return ResponseEntity.ok(slot
+                .map(found -> new ApiResponse(true, "Earliest slot found", found))
+                .orElseGet(() -> new ApiResponse(true, "No free slots for " + specialization)));
+    }
+}
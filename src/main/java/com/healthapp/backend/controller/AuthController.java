@@ -61,8 +61,11 @@ public class AuthController {
     }
 
     @PostMapping("/logout")
-    @Operation(summary = "Logout", description = "Logout user")
-    public ResponseEntity<ApiResponse> logout() {
+    @Operation(summary = "Logout", description = "Logout user and revoke the bearer token")
+    public ResponseEntity<ApiResponse> logout(
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+        String token = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        authService.logout(token);
         return ResponseEntity.ok(new ApiResponse(true, "Logout successful"));
     }
 
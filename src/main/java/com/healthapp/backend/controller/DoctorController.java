@@ -0,0 +1,85 @@
+package com.healthapp.backend.controller;
+
+import com.healthapp.backend.dto.ApiResponse;
+import com.healthapp.backend.dto.CursorPage;
+import com.healthapp.backend.dto.DaySlots;
+import com.healthapp.backend.dto.DoctorListItem;
+import com.healthapp.backend.service.DoctorListingService;
+import com.healthapp.backend.service.DoctorSearchIndex;
+import com.healthapp.backend.service.DoctorSearchService;
+import com.healthapp.backend.service.DoctorSuggestIndex;
+import com.healthapp.backend.service.SlotAvailabilityService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST controller for doctor discovery.
+ * Search and suggestions are served from in-memory indexes of approved doctors, never from LIKE queries.
+ * The alphabetical directory is read from the database with keyset pagination.
+ */
+@RestController
+@RequestMapping("/api/doctors")
+@RequiredArgsConstructor
+@Tag(name = "Doctors", description = "Doctor discovery endpoints")
+public class DoctorController {
+
+    private final DoctorSearchService doctorSearchService;
+    private final DoctorListingService doctorListingService;
+    private final SlotAvailabilityService slotAvailabilityService;
+
+    @GetMapping
+    @Operation(summary = "List doctors",
+               description = "Approved doctors by name; pass nextCursor from the previous page to continue")
+    public ResponseEntity<ApiResponse> list(
+            @RequestParam(required = false) String specialization,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean estimate) {
+        CursorPage<DoctorListItem> page = doctorListingService.list(specialization, cursor, size, estimate);
+        return ResponseEntity.ok(new ApiResponse(true, page.items().size() + " doctors", page));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search doctors",
+               description = "Filter approved doctors by name, specialization, language and minimum rating")
+    public ResponseEntity<ApiResponse> search(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String specialization,
+            @RequestParam(required = false) String language,
+            @RequestParam(required = false) Integer minRating,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        DoctorSearchIndex.Page result = doctorSearchService.search(
+                new DoctorSearchIndex.Query(q, specialization, language, minRating, page, size));
+        return ResponseEntity.ok(new ApiResponse(true, "Found " + result.total() + " doctors", result));
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest doctors",
+               description = "Ranked, typo-tolerant name and specialization suggestions for a partially typed query")
+    public ResponseEntity<ApiResponse> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "8") int limit) {
+        List<DoctorSuggestIndex.Suggestion> suggestions = doctorSearchService.suggest(q, limit);
+        return ResponseEntity.ok(new ApiResponse(true, suggestions.size() + " suggestions", suggestions));
+    }
+
+    @GetMapping("/{doctorId}/available-slots")
+    @Operation(summary = "Available slots",
+               description = "Free appointment start times per day, from today (or 'from') for up to 60 days")
+    public ResponseEntity<ApiResponse> availableSlots(
+            @PathVariable UUID doctorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(defaultValue = "30") int days) {
+        List<DaySlots> slots = slotAvailabilityService.freeSlotsByDay(doctorId, from, days);
+        return ResponseEntity.ok(new ApiResponse(true, slots.size() + " days with free slots", slots));
+    }
+}
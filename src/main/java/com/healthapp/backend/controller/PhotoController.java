@@ -0,0 +1,47 @@
+package com.healthapp.backend.controller;
+
+import com.healthapp.backend.service.ProfilePhotoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * REST controller serving profile photos from the content-addressed photo store.
+ * IDs are content hashes, so responses never change and are cached for a year with the ID as ETag.
+ */
+@RestController
+@RequestMapping("/api/photos")
+@RequiredArgsConstructor
+@Tag(name = "Photos", description = "Profile photo endpoints")
+public class PhotoController {
+
+    private final ProfilePhotoService profilePhotoService;
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get photo", description = "Stream a profile photo by its content hash")
+    public ResponseEntity<Resource> getPhoto(
+            @PathVariable String id,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        String etag = "\"" + id + "\"";
+        CacheControl cacheControl = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+
+        return profilePhotoService.get(id)
+                .map(photo -> ResponseEntity.ok()
+                        .eTag(etag)
+                        .cacheControl(cacheControl)
+                        .contentType(photo.contentType())
+                        .body(photo.resource()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
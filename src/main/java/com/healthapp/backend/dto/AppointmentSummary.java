@@ -0,0 +1,16 @@
+package com.healthapp.backend.dto;
+
+import com.healthapp.backend.enums.AppointmentStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Appointment row for history listings, with a card of the other party: the doctor when a patient lists their
+ * history, the patient (no specialization) when a doctor does.
+ */
+public record AppointmentSummary(UUID id, LocalDate date, LocalTime time, AppointmentStatus status, String reason,
+                                 UUID counterpartId, String counterpartFirstName, String counterpartLastName,
+                                 String counterpartSpecialization, String counterpartThumbnailId) {
+}
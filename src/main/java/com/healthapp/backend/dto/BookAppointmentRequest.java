@@ -0,0 +1,32 @@
+package com.healthapp.backend.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Appointment booking request from a patient for one of the doctor's free slots.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookAppointmentRequest {
+
+    @NotNull(message = "Doctor is required")
+    private UUID doctorId;
+
+    @NotNull(message = "Date is required")
+    private LocalDate date;
+
+    @NotNull(message = "Time is required")
+    private LocalTime time; // Slot start as returned by /api/doctors/{doctorId}/available-slots
+
+    @Size(max = 500, message = "Reason must be at most 500 characters")
+    private String reason; // Optional
+}
@@ -0,0 +1,11 @@
+package com.healthapp.backend.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Start of an active (not cancelled) appointment, as read by the slot engine.
+ */
+public record BookedSlot(UUID doctorId, LocalDate date, LocalTime time) {
+}
@@ -0,0 +1,11 @@
+package com.healthapp.backend.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ * nextCursor is opaque and null on the last page; estimatedTotal is a planner estimate, only returned when requested
+ * on the first page, so no page pays for an exact COUNT(*).
+ */
+public record CursorPage<T>(List<T> items, String nextCursor, Long estimatedTotal) {
+}
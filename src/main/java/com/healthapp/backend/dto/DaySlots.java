@@ -0,0 +1,11 @@
+package com.healthapp.backend.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Free appointment start times of one doctor on one date.
+ */
+public record DaySlots(LocalDate date, List<LocalTime> times) {
+}
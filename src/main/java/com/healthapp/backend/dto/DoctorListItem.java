@@ -0,0 +1,10 @@
+package com.healthapp.backend.dto;
+
+import java.util.UUID;
+
+/**
+ * Doctor card for directory listings.
+ */
+public record DoctorListItem(UUID id, String firstName, String lastName, String specialization,
+                             Integer experience, String profileThumbnailId) {
+}
@@ -0,0 +1,11 @@
+package com.healthapp.backend.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Earliest free appointment slot found for a specialization.
+ */
+public record EarliestSlot(UUID doctorId, LocalDate date, LocalTime time) {
+}
@@ -0,0 +1,28 @@
+package com.healthapp.backend.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Request to hold one of the doctor's free slots while the patient fills out the booking form.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HoldSlotRequest {
+
+    @NotNull(message = "Doctor is required")
+    private UUID doctorId;
+
+    @NotNull(message = "Date is required")
+    private LocalDate date;
+
+    @NotNull(message = "Time is required")
+    private LocalTime time;
+}
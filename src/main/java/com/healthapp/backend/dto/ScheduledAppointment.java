@@ -0,0 +1,11 @@
+package com.healthapp.backend.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Upcoming active appointment of a doctor, as reported by schedule conflict checks.
+ */
+public record ScheduledAppointment(UUID id, LocalDate date, LocalTime time) {
+}
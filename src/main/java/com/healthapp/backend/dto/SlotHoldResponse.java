@@ -0,0 +1,12 @@
+package com.healthapp.backend.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * A placed slot hold; the slot is kept from other patients until expiresAt.
+ */
+public record SlotHoldResponse(UUID id, UUID doctorId, LocalDate date, LocalTime time, LocalDateTime expiresAt) {
+}
@@ -0,0 +1,12 @@
+package com.healthapp.backend.dto;
+
+import com.healthapp.backend.enums.Role;
+
+import java.util.UUID;
+
+/**
+ * Slim projection of the users row used on the login path.
+ * Selected with a JPQL constructor expression, so no User entity is loaded or added to the persistence context.
+ */
+public record UserCredentials(UUID id, String email, String password, Role role, Boolean verified) {
+}
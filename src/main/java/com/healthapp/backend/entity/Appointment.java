@@ -0,0 +1,76 @@
+package com.healthapp.backend.entity;
+
+import com.healthapp.backend.enums.AppointmentStatus;
+import com.healthapp.backend.enums.Role;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Appointment between a patient and a doctor at a given date and start time.
+ * History listings page through (date, time, id) in reverse order using keyset cursors.
+ */
+@Entity
+@EntityListeners(ScheduleEntityListener.class)
+@Table(name = "appointments")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Appointment {
+
+    @Id
+    @UuidV7
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @JoinColumn(name = "patient_id", nullable = false)
+    private Patient patient;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @JoinColumn(name = "doctor_id", nullable = false)
+    private Doctor doctor;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Column(nullable = false)
+    private LocalTime time; // Slot start time
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private AppointmentStatus status = AppointmentStatus.PENDING;
+
+    @Column(columnDefinition = "TEXT")
+    private String reason; // Patient's reason for the visit
+
+    @Column(nullable = false)
+    private Integer rescheduleCount = 0;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private Role cancelledBy; // PATIENT or DOCTOR; null unless cancelled
+
+    @Column(columnDefinition = "TEXT")
+    private String cancellationReason;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,58 @@
+package com.healthapp.backend.entity;
+
+import com.healthapp.backend.enums.AuthTokenType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Single-use email verification or password reset token.
+ * Only the SHA-256 hash of the token is stored, under a unique index, so lookups are an index probe and a leaked
+ * table does not expose usable tokens. Each token carries its own type and expiry.
+ */
+@Entity
+@Table(name = "auth_tokens", indexes = {
+        @Index(name = "idx_auth_token_hash", columnList = "tokenHash", unique = true),
+        @Index(name = "idx_auth_token_user_type", columnList = "user_id, type"),
+        @Index(name = "idx_auth_token_expires_at", columnList = "expiresAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthToken {
+
+    @Id
+    @UuidV7
+    private UUID id;
+
+    @Column(nullable = false, length = 64)
+    private String tokenHash; // Hex-encoded SHA-256 of the raw token sent by email
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private AuthTokenType type; // EMAIL_VERIFICATION or PASSWORD_RESET
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user; // Account the token acts on
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public boolean isExpired(LocalDateTime now) {
+        return expiresAt.isBefore(now);
+    }
+}
@@ -0,0 +1,52 @@
+package com.healthapp.backend.entity;
+
+import com.healthapp.backend.enums.DayOfWeek;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Weekly working window of a doctor: slots of slotDuration minutes start at startTime and fill the window up to
+ * endTime, skipping any slot that overlaps the optional break. A doctor may have several windows per day.
+ */
+@Entity
+@EntityListeners(ScheduleEntityListener.class)
+@Table(name = "availability")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Availability {
+
+    @Id
+    @UuidV7
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @JoinColumn(name = "doctor_id", nullable = false)
+    private Doctor doctor;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 3)
+    private DayOfWeek dayOfWeek;
+
+    @Column(nullable = false)
+    private LocalTime startTime;
+
+    @Column(nullable = false)
+    private LocalTime endTime;
+
+    @Column(nullable = false)
+    private Integer slotDuration = 30; // Minutes per appointment
+
+    private LocalTime breakStart; // Optional break inside the window, e.g. lunch
+
+    private LocalTime breakEnd;
+}
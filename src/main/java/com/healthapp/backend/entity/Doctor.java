@@ -3,7 +3,9 @@ package com.healthapp.backend.entity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
@@ -13,19 +15,23 @@ import java.util.UUID;
 /**
  * Doctor profile entity storing professional credentials and practice information.
  * Requires admin approval before being active on the platform (approved field must be true).
+ * Changes are published as DoctorChangedEvents to keep the in-memory search index current.
  */
 @Entity
 @Table(name = "doctors")
+@EntityListeners(DoctorEntityListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Doctor {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "user_id", nullable = false, unique = true)
     private User user; // Reference to authentication user entity
 
@@ -41,8 +47,11 @@ public class Doctor {
     @Column(nullable = false)
     private String gender; // Male, Female, or Other
 
-    @Column(columnDefinition = "TEXT")
-    private String profilePhotoBase64; // Base64-encoded image stored directly in database
+    @Column(length = 64)
+    private String profilePhotoId; // Content hash in the photo store - served by GET /api/photos/{id}
+
+    @Column(length = 64)
+    private String profileThumbnailId; // Square thumbnail for list views - same store and endpoint
 
     @Column(nullable = false, unique = true)
     private String licenseNumber; // Medical license number - must be unique for verification
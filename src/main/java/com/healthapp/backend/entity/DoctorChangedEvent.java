@@ -0,0 +1,8 @@
+package com.healthapp.backend.entity;
+
+/**
+ * Published by DoctorEntityListener when a doctor row is inserted, updated or deleted.
+ * Listeners that keep derived in-memory state (e.g. the search index) apply it after the transaction commits.
+ */
+public record DoctorChangedEvent(Doctor doctor, boolean removed) {
+}
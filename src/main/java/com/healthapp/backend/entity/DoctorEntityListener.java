@@ -0,0 +1,31 @@
+package com.healthapp.backend.entity;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA lifecycle callbacks for Doctor, re-published as Spring DoctorChangedEvents.
+ * Instantiated by Hibernate through Spring's bean container, so the publisher is injected.
+ * JPQL bulk deletes bypass these callbacks; consumers should reconcile periodically.
+ */
+public class DoctorEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public DoctorEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void changed(Doctor doctor) {
+        eventPublisher.publishEvent(new DoctorChangedEvent(doctor, false));
+    }
+
+    @PostRemove
+    public void removed(Doctor doctor) {
+        eventPublisher.publishEvent(new DoctorChangedEvent(doctor, true));
+    }
+}
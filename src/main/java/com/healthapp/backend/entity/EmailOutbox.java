@@ -0,0 +1,65 @@
+package com.healthapp.backend.entity;
+
+import com.healthapp.backend.enums.EmailStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Transactional outbox entry for an outgoing email.
+ * Written in the same transaction as the business change and delivered later by EmailOutboxDispatcher.
+ * The body is shared per template with SendGrid substitution tags, so messages with the same body batch into one request.
+ */
+@Entity
+@Table(name = "email_outbox") // Partial indexes on status are defined in db/migration; @Index cannot express WHERE
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailOutbox {
+
+    @Id
+    @UuidV7
+    private UUID id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String htmlContent; // Template body containing substitution tags such as -token-
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private Map<String, String> substitutions; // Per-recipient values for the tags in htmlContent
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private EmailStatus status = EmailStatus.PENDING;
+
+    @Column(nullable = false)
+    private Integer attempts = 0; // Delivery attempts so far
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt; // Due time; also pushed forward while a dispatcher holds the message
+
+    private UUID claimToken; // Set by each dispatcher claim; outcomes are only written while it still matches
+
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt;
+}
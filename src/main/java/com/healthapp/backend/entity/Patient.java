@@ -3,7 +3,9 @@ package com.healthapp.backend.entity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDate;
 import java.util.UUID;
@@ -20,10 +22,12 @@ import java.util.UUID;
 public class Patient {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "user_id", nullable = false, unique = true)
     private User user; // Reference to authentication user entity
 
@@ -45,8 +49,11 @@ public class Patient {
     @Column(nullable = false)
     private String gender; // Male, Female, or Other
 
-    @Column(columnDefinition = "TEXT")
-    private String profilePhotoBase64; // Base64-encoded image stored directly in database
+    @Column(length = 64)
+    private String profilePhotoId; // Content hash in the photo store - served by GET /api/photos/{id}
+
+    @Column(length = 64)
+    private String profileThumbnailId; // Square thumbnail for list views - same store and endpoint
 
     @Column(columnDefinition = "TEXT")
     private String insuranceInfo; // Optional insurance provider and policy details
@@ -0,0 +1,35 @@
+package com.healthapp.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Denylist entry for a JWT revoked before its natural expiration (e.g. on logout).
+ * Stores only the SHA-256 hash of the token; rows can be purged once the token itself has expired.
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_token_revoked_at", columnList = "revokedAt"),
+        @Index(name = "idx_revoked_token_expires_at", columnList = "expiresAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedToken {
+
+    @Id
+    @Column(length = 64)
+    private String tokenHash; // Hex-encoded SHA-256 of the raw bearer token
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt; // Token's own expiration - row is useless after this
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime revokedAt; // Used by other instances to pick up new revocations incrementally
+}
@@ -0,0 +1,10 @@
+package com.healthapp.backend.entity;
+
+import java.util.UUID;
+
+/**
+ * Published by ScheduleEntityListener when an appointment, availability window or unavailability period of a doctor
+ * is inserted, updated or deleted, i.e. whenever the doctor's free slots may have changed.
+ */
+public record ScheduleChangedEvent(UUID doctorId) {
+}
@@ -0,0 +1,35 @@
+package com.healthapp.backend.entity;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA lifecycle callbacks for Appointment, Availability and Unavailability, re-published as ScheduleChangedEvents.
+ * Instantiated by Hibernate through Spring's bean container, so the publisher is injected.
+ * Reading the doctor id from a lazy association does not load the doctor.
+ */
+public class ScheduleEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ScheduleEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void changed(Object entity) {
+        Doctor doctor = switch (entity) {
+            case Appointment appointment -> appointment.getDoctor();
+            case Availability availability -> availability.getDoctor();
+            case Unavailability unavailability -> unavailability.getDoctor();
+            default -> null;
+        };
+        if (doctor != null) {
+            eventPublisher.publishEvent(new ScheduleChangedEvent(doctor.getId()));
+        }
+    }
+}
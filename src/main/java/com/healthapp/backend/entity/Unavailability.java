@@ -0,0 +1,48 @@
+package com.healthapp.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Vacation or other unavailable dates of a doctor; no slots are offered from startDate to endDate inclusive.
+ */
+@Entity
+@EntityListeners(ScheduleEntityListener.class)
+@Table(name = "unavailability")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Unavailability {
+
+    @Id
+    @UuidV7
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @JoinColumn(name = "doctor_id", nullable = false)
+    private Doctor doctor;
+
+    @Column(nullable = false)
+    private LocalDate startDate;
+
+    @Column(nullable = false)
+    private LocalDate endDate; // Inclusive
+
+    @Column(columnDefinition = "TEXT")
+    private String reason;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -12,7 +12,8 @@ import java.util.UUID;
 
 /**
  * Core user entity for authentication and authorization.
- * Stores login credentials, email verification tokens, password reset tokens, and role-based access control.
+ * Stores login credentials, verification status, and role-based access control.
+ * Email verification and password reset tokens live in auth_tokens (AuthToken).
  */
 @Entity
 @Table(name = "users")
@@ -22,8 +23,8 @@ import java.util.UUID;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    private UUID id;
+    @UuidV7
+    private UUID id; // Time-ordered UUIDv7 - sequential inserts into the primary key index
 
     @Column(unique = true, nullable = false)
     private String email;
@@ -38,22 +39,10 @@ public class User {
     @Column(nullable = false)
     private Boolean verified = false; // Email verification status - users must verify before login
 
-    @Column(length = 500)
-    private String verificationToken; // Token sent via email for account verification
-
-    @Column(length = 500)
-    private String resetToken; // Token sent via email for password reset
-
-    private LocalDateTime tokenExpiryDate; // Expiration for both verification and reset tokens (24 hours)
-
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
-    // Bidirectional relationship - only one will be populated based on role
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL)
-    private Patient patient; // Populated if role is PATIENT
-
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL)
-    private Doctor doctor; // Populated if role is DOCTOR
+    // Patient/Doctor profiles own the user_id foreign key and are looked up via their repositories.
+    // No inverse @OneToOne here: Hibernate cannot proxy the non-owning side, so it would load both profiles on every user fetch.
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.healthapp.backend.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Marks a UUID primary key as generated by UuidV7Generator (time-ordered UUIDv7, RFC 9562).
+ * Use in place of @GeneratedValue(strategy = GenerationType.UUID) on every entity with a UUID id.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface UuidV7 {
+}
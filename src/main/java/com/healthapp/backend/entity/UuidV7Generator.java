@@ -0,0 +1,66 @@
+package com.healthapp.backend.entity;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hibernate identifier generator producing monotonic UUIDv7 values (RFC 9562).
+ * The first 48 bits are the Unix time in milliseconds, so new rows land at the right edge of the primary key
+ * B-tree instead of at random pages (as with v4), keeping inserts append-only and the hot index pages cached.
+ * <p>
+ * Layout: 48-bit ms timestamp | version 7 | 12-bit sequence | variant | 62 random bits.
+ * The timestamp and sequence are advanced together with a single CAS on an AtomicLong, so values are strictly
+ * increasing across all threads of this JVM without locks; if more than 4096 IDs are requested within one
+ * millisecond the sequence carries into the timestamp, which briefly runs ahead of the wall clock.
+ * IDs are not secrets (access is checked by JWT), so the random tail uses ThreadLocalRandom.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final int SEQUENCE_BITS = 12;
+
+    private static final AtomicLong LAST = new AtomicLong(); // (timestampMs << 12) | sequence of the last ID
+
+    /**
+     * Returns the next UUIDv7. Usable outside Hibernate, e.g. for ids written by native INSERT statements.
+     */
+    public static UUID next() {
+        long now = System.currentTimeMillis() << SEQUENCE_BITS;
+        long state;
+        long next;
+        do {
+            state = LAST.get();
+            next = Math.max(now, state + 1); // New millisecond resets the sequence; same millisecond increments it
+        } while (!LAST.compareAndSet(state, next));
+
+        long timestampMs = next >>> SEQUENCE_BITS;
+        long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+
+        long mostSignificant = (timestampMs << 16) | (0x7L << 12) | sequence;
+        long leastSignificant = (ThreadLocalRandom.current().nextLong() >>> 2) | 0x8000000000000000L; // Variant 10
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    /**
+     * Extracts the embedded creation time in milliseconds since the epoch.
+     */
+    public static long timestampMillis(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
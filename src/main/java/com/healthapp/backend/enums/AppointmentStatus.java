@@ -0,0 +1,11 @@
+package com.healthapp.backend.enums;
+
+/**
+ * Lifecycle status of an appointment.
+ */
+public enum AppointmentStatus {
+    PENDING,    // Requested by the patient, awaiting doctor confirmation
+    CONFIRMED,  // Accepted by the doctor
+    COMPLETED,  // Took place
+    CANCELLED   // Cancelled by the patient or the doctor
+}
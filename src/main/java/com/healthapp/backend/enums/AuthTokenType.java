@@ -0,0 +1,9 @@
+package com.healthapp.backend.enums;
+
+/**
+ * Purpose of a single-use token in the auth_tokens table.
+ */
+public enum AuthTokenType {
+    EMAIL_VERIFICATION,  // Sent on registration; verifies the account
+    PASSWORD_RESET       // Sent on forgot-password; allows one password change
+}
@@ -0,0 +1,22 @@
+package com.healthapp.backend.enums;
+
+import java.time.LocalDate;
+
+/**
+ * Working day of a doctor's weekly availability template, in java.time order (Monday first).
+ */
+public enum DayOfWeek {
+    MON,
+    TUE,
+    WED,
+    THU,
+    FRI,
+    SAT,
+    SUN;
+
+    private static final DayOfWeek[] VALUES = values();
+
+    public static DayOfWeek of(LocalDate date) {
+        return VALUES[date.getDayOfWeek().ordinal()];
+    }
+}
@@ -0,0 +1,10 @@
+package com.healthapp.backend.enums;
+
+/**
+ * Delivery status of a message in the email outbox.
+ */
+public enum EmailStatus {
+    PENDING,  // Waiting for (re)delivery by the dispatcher
+    SENT,     // Accepted by the mail provider
+    FAILED    // Gave up after the maximum number of attempts
+}
@@ -0,0 +1,32 @@
+package com.healthapp.backend.exception;
+
+public class MailTransportException extends RuntimeException {
+
+    private final int statusCode; // Provider HTTP status, or 0 if no response was received
+
+    public MailTransportException(String message) {
+        this(message, 0);
+    }
+
+    public MailTransportException(String message, int statusCode) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    public MailTransportException(String message, Throwable cause) {
+        super(message, cause);
+        this.statusCode = 0;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * True if the provider rejected the request's content (400 invalid field, 413 too large), so resending it unchanged
+     * cannot succeed. Account and configuration errors (401/403) are not permanent: fixing the key fixes every message.
+     */
+    public boolean isPermanent() {
+        return statusCode == 400 || statusCode == 413;
+    }
+}
@@ -0,0 +1,7 @@
+package com.healthapp.backend.exception;
+
+public class SlotAlreadyBookedException extends RuntimeException {
+    public SlotAlreadyBookedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,84 @@
+package com.healthapp.backend.repository;
+
+import com.healthapp.backend.dto.AppointmentSummary;
+import com.healthapp.backend.dto.BookedSlot;
+import com.healthapp.backend.dto.ScheduledAppointment;
+import com.healthapp.backend.entity.Appointment;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface AppointmentRepository extends JpaRepository<Appointment, UUID> {
+
+    // Patient history keyset rows before (date, time, id), newest first, served from idx_appointment_patient_history.
+    // Joins only the doctor's card columns for display.
+    @Query("SELECT new com.healthapp.backend.dto.AppointmentSummary(" +
+           "a.id, a.date, a.time, a.status, a.reason, " +
+           "d.id, d.firstName, d.lastName, d.specialization, d.profileThumbnailId) " +
+           "FROM Appointment a JOIN a.doctor d WHERE a.patient.id = :patientId " +
+           "AND (a.date, a.time, a.id) < (:date, :time, :id) " +
+           "ORDER BY a.date DESC, a.time DESC, a.id DESC")
+    List<AppointmentSummary> findPatientHistoryBefore(@Param("patientId") UUID patientId,
+                                                      @Param("date") LocalDate date,
+                                                      @Param("time") LocalTime time,
+                                                      @Param("id") UUID id,
+                                                      Limit limit);
+
+    // Doctor schedule history, served from idx_appointment_doctor_history; joins the patient's card columns only
+    @Query("SELECT new com.healthapp.backend.dto.AppointmentSummary(" +
+           "a.id, a.date, a.time, a.status, a.reason, " +
+           "p.id, p.firstName, p.lastName, CAST(NULL AS String), p.profileThumbnailId) " +
+           "FROM Appointment a JOIN a.patient p WHERE a.doctor.id = :doctorId " +
+           "AND (a.date, a.time, a.id) < (:date, :time, :id) " +
+           "ORDER BY a.date DESC, a.time DESC, a.id DESC")
+    List<AppointmentSummary> findDoctorHistoryBefore(@Param("doctorId") UUID doctorId,
+                                                     @Param("date") LocalDate date,
+                                                     @Param("time") LocalTime time,
+                                                     @Param("id") UUID id,
+                                                     Limit limit);
+
+    // Active bookings of a doctor in [from, to] for the slot engine; cancelled appointments free their slot
+    @Query("SELECT new com.healthapp.backend.dto.BookedSlot(a.doctor.id, a.date, a.time) FROM Appointment a " +
+           "WHERE a.doctor.id = :doctorId AND a.date BETWEEN :from AND :to " +
+           "AND a.status <> com.healthapp.backend.enums.AppointmentStatus.CANCELLED")
+    List<BookedSlot> findBookedSlots(@Param("doctorId") UUID doctorId,
+                                     @Param("from") LocalDate from,
+                                     @Param("to") LocalDate to);
+
+    // Active bookings of all doctors in [from, to], for rebuilding the earliest-slot index
+    @Query("SELECT new com.healthapp.backend.dto.BookedSlot(a.doctor.id, a.date, a.time) FROM Appointment a " +
+           "WHERE a.date BETWEEN :from AND :to " +
+           "AND a.status <> com.healthapp.backend.enums.AppointmentStatus.CANCELLED")
+    List<BookedSlot> findAllBookedSlots(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Active appointments of a doctor from the given date on, for ScheduleConflictChecker; uses uq_appointment_doctor_slot
+    @Query("SELECT new com.healthapp.backend.dto.ScheduledAppointment(a.id, a.date, a.time) FROM Appointment a " +
+           "WHERE a.doctor.id = :doctorId AND a.date >= :from " +
+           "AND a.status <> com.healthapp.backend.enums.AppointmentStatus.CANCELLED")
+    List<ScheduledAppointment> findUpcoming(@Param("doctorId") UUID doctorId, @Param("from") LocalDate from);
+
+    // Booking: the unique active-slot index decides atomically - returns 0 if the slot is already taken
+    @Modifying
+    @Query(value = "INSERT INTO appointments (id, patient_id, doctor_id, date, time, status, reason, " +
+                   "reschedule_count, created_at, updated_at) " +
+                   "VALUES (:id, :patientId, :doctorId, :date, :time, 'PENDING', :reason, 0, :createdAt, :createdAt) " +
+                   "ON CONFLICT (doctor_id, date, time) WHERE status <> 'CANCELLED' DO NOTHING",
+           nativeQuery = true)
+    int insertIfSlotFree(@Param("id") UUID id,
+                         @Param("patientId") UUID patientId,
+                         @Param("doctorId") UUID doctorId,
+                         @Param("date") LocalDate date,
+                         @Param("time") LocalTime time,
+                         @Param("reason") String reason,
+                         @Param("createdAt") LocalDateTime createdAt);
+}
@@ -0,0 +1,49 @@
+package com.healthapp.backend.repository;
+
+import com.healthapp.backend.entity.AuthToken;
+import com.healthapp.backend.enums.AuthTokenType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface AuthTokenRepository extends JpaRepository<AuthToken, UUID> {
+
+    // Unique-index probe; the user is fetched in the same statement since every caller needs it
+    @Query("SELECT t FROM AuthToken t JOIN FETCH t.user WHERE t.tokenHash = :tokenHash AND t.type = :type")
+    Optional<AuthToken> findByTokenHashAndType(@Param("tokenHash") String tokenHash, @Param("type") AuthTokenType type);
+
+    // Same index probe without a lock or the user join; lets callers reject bad tokens before expensive work
+    @Query("SELECT t.expiresAt FROM AuthToken t WHERE t.tokenHash = :tokenHash AND t.type = :type")
+    Optional<LocalDateTime> findExpiryByTokenHashAndType(@Param("tokenHash") String tokenHash,
+                                                         @Param("type") AuthTokenType type);
+
+    // Conditional consume: a concurrent consumer that deleted the row first leaves 0 here instead of a stale-state flush
+    @Modifying
+    @Query("DELETE FROM AuthToken t WHERE t.id = :id")
+    int deleteByIdReturningCount(@Param("id") UUID id);
+
+    // Issuing a new token invalidates older ones of the same type
+    @Modifying
+    @Query("DELETE FROM AuthToken t WHERE t.user.id = :userId AND t.type = :type")
+    int deleteByUserIdAndType(@Param("userId") UUID userId, @Param("type") AuthTokenType type);
+
+    @Modifying
+    @Query("DELETE FROM AuthToken t WHERE t.user.id IN :userIds")
+    int deleteByUserIdIn(@Param("userIds") List<UUID> userIds);
+
+    // One bounded batch per call keeps each delete transaction and its row locks short
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM auth_tokens WHERE id IN " +
+                   "(SELECT id FROM auth_tokens WHERE expires_at < :now LIMIT :limit)", nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
@@ -0,0 +1,18 @@
+package com.healthapp.backend.repository;
+
+import com.healthapp.backend.entity.Availability;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface AvailabilityRepository extends JpaRepository<Availability, UUID> {
+
+    // Weekly template for the slot engine, served from idx_availability_doctor
+    List<Availability> findByDoctorId(UUID doctorId);
+
+    // Templates of all approved doctors, for rebuilding the earliest-slot index
+    List<Availability> findByDoctorApprovedTrue();
+}
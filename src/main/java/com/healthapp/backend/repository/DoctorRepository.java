@@ -1,11 +1,73 @@
 package com.healthapp.backend.repository;
 
+import com.healthapp.backend.dto.DoctorListItem;
 import com.healthapp.backend.entity.Doctor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface DoctorRepository extends JpaRepository<Doctor, UUID> {
-}
\ No newline at end of file
+
+    Optional<Doctor> findByUserId(UUID userId);
+
+    // Profile id for the signed-in user without loading the profile row
+    @Query("SELECT d.id FROM Doctor d WHERE d.user.id = :userId")
+    Optional<UUID> findIdByUserId(@Param("userId") UUID userId);
+
+    // Booking: only approved doctors can be booked
+    boolean existsByIdAndApprovedTrue(UUID id);
+
+    // Search index (re)build; only approved doctors are discoverable
+    List<Doctor> findByApprovedTrue();
+
+    // Cards of every approved doctor, for rebuilding the earliest-slot index
+    @Query("SELECT new com.healthapp.backend.dto.DoctorListItem(" +
+           "d.id, d.firstName, d.lastName, d.specialization, d.experience, d.profileThumbnailId) " +
+           "FROM Doctor d WHERE d.approved = true")
+    List<DoctorListItem> findApprovedCards();
+
+    // Directory keyset cards after (lastName, firstName, id), served from idx_doctor_listing.
+    // Selects only the card columns: bio, education, languages and the address are never read for listings.
+    @Query("SELECT new com.healthapp.backend.dto.DoctorListItem(" +
+           "d.id, d.firstName, d.lastName, d.specialization, d.experience, d.profileThumbnailId) " +
+           "FROM Doctor d WHERE d.approved = true " +
+           "AND (d.lastName, d.firstName, d.id) > (:lastName, :firstName, :id) " +
+           "ORDER BY d.lastName, d.firstName, d.id")
+    List<DoctorListItem> findApprovedCardsAfter(@Param("lastName") String lastName,
+                                                @Param("firstName") String firstName,
+                                                @Param("id") UUID id,
+                                                Limit limit);
+
+    // Same within one specialization, served from idx_doctor_specialization_listing
+    @Query("SELECT new com.healthapp.backend.dto.DoctorListItem(" +
+           "d.id, d.firstName, d.lastName, d.specialization, d.experience, d.profileThumbnailId) " +
+           "FROM Doctor d WHERE d.approved = true AND d.specialization = :specialization " +
+           "AND (d.lastName, d.firstName, d.id) > (:lastName, :firstName, :id) " +
+           "ORDER BY d.lastName, d.firstName, d.id")
+    List<DoctorListItem> findApprovedCardsAfter(@Param("specialization") String specialization,
+                                                @Param("lastName") String lastName,
+                                                @Param("firstName") String firstName,
+                                                @Param("id") UUID id,
+                                                Limit limit);
+
+    // Greeting name for emails without loading the full profile row
+    @Query("SELECT p.firstName FROM Doctor p WHERE p.user.id = :userId")
+    Optional<String> findFirstNameByUserId(@Param("userId") UUID userId);
+
+    @Modifying
+    @Query("DELETE FROM Doctor d WHERE d.user.id IN :userIds")
+    int deleteByUserIdIn(@Param("userIds") List<UUID> userIds);
+
+    // Which of the given photo store IDs a doctor profile still references as its photo or thumbnail
+    @Query("SELECT d.profilePhotoId FROM Doctor d WHERE d.profilePhotoId IN :ids " +
+           "UNION SELECT d.profileThumbnailId FROM Doctor d WHERE d.profileThumbnailId IN :ids")
+    List<String> findReferencedPhotoIds(@Param("ids") List<String> ids);
+}
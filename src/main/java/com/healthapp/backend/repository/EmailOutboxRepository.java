@@ -0,0 +1,46 @@
+package com.healthapp.backend.repository;
+
+import com.healthapp.backend.entity.EmailOutbox;
+import com.healthapp.backend.enums.EmailStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, UUID> {
+
+    // Row locks with SKIP LOCKED let several instances drain the outbox without handing out the same message twice
+    @Query(value = "SELECT * FROM email_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<EmailOutbox> lockDueMessages(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // Dispatcher outcome for messages it claimed: one UPDATE by id instead of merging each detached entity.
+    // Skipped for messages another dispatcher has re-claimed since (different claim token).
+    // Substitutions (plain verification/reset tokens) are only kept while the message may still be sent.
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = :status, e.attempts = :attempts, e.nextAttemptAt = :nextAttemptAt, " +
+           "e.lastError = :lastError, e.sentAt = :sentAt, " +
+           "e.substitutions = CASE WHEN :status = com.healthapp.backend.enums.EmailStatus.PENDING " +
+           "THEN e.substitutions ELSE NULL END " +
+           "WHERE e.id IN :ids AND e.claimToken = :claimToken " +
+           "AND e.status = com.healthapp.backend.enums.EmailStatus.PENDING")
+    int updateOutcome(@Param("ids") List<UUID> ids,
+                      @Param("claimToken") UUID claimToken,
+                      @Param("status") EmailStatus status,
+                      @Param("attempts") int attempts,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                      @Param("lastError") String lastError,
+                      @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM EmailOutbox e WHERE e.status = :status AND e.createdAt < :before")
+    int deleteByStatusCreatedBefore(@Param("status") EmailStatus status, @Param("before") LocalDateTime before);
+}
@@ -2,10 +2,18 @@ package com.healthapp.backend.repository;
 
 import com.healthapp.backend.entity.MedicalHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface MedicalHistoryRepository extends JpaRepository<MedicalHistory, UUID> {
-}
\ No newline at end of file
+
+    @Modifying
+    @Query("DELETE FROM MedicalHistory m WHERE m.patient.id IN (SELECT p.id FROM Patient p WHERE p.user.id IN :userIds)")
+    int deleteByPatientUserIdIn(@Param("userIds") List<UUID> userIds);
+}
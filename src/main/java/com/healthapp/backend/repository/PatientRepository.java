@@ -2,10 +2,34 @@ package com.healthapp.backend.repository;
 
 import com.healthapp.backend.entity.Patient;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface PatientRepository extends JpaRepository<Patient, UUID> {
-}
\ No newline at end of file
+
+    Optional<Patient> findByUserId(UUID userId);
+
+    // Profile id for the signed-in user without loading the profile row
+    @Query("SELECT p.id FROM Patient p WHERE p.user.id = :userId")
+    Optional<UUID> findIdByUserId(@Param("userId") UUID userId);
+
+    // Greeting name for emails without loading the full profile row
+    @Query("SELECT p.firstName FROM Patient p WHERE p.user.id = :userId")
+    Optional<String> findFirstNameByUserId(@Param("userId") UUID userId);
+
+    @Modifying
+    @Query("DELETE FROM Patient p WHERE p.user.id IN :userIds")
+    int deleteByUserIdIn(@Param("userIds") List<UUID> userIds);
+
+    // Which of the given photo store IDs a patient profile still references as its photo or thumbnail
+    @Query("SELECT p.profilePhotoId FROM Patient p WHERE p.profilePhotoId IN :ids " +
+           "UNION SELECT p.profileThumbnailId FROM Patient p WHERE p.profileThumbnailId IN :ids")
+    List<String> findReferencedPhotoIds(@Param("ids") List<String> ids);
+}
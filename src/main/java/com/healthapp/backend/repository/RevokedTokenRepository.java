@@ -0,0 +1,27 @@
+package com.healthapp.backend.repository;
+
+import com.healthapp.backend.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    @Query("SELECT r.tokenHash FROM RevokedToken r WHERE r.expiresAt > :now")
+    List<String> findActiveTokenHashes(@Param("now") LocalDateTime now);
+
+    @Query("SELECT r.tokenHash FROM RevokedToken r WHERE r.revokedAt > :since")
+    List<String> findTokenHashesRevokedSince(@Param("since") LocalDateTime since);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,72 @@
+package com.healthapp.backend.repository;
+
+import com.healthapp.backend.dto.BookedSlot;
+import com.healthapp.backend.entity.SlotHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SlotHoldRepository extends JpaRepository<SlotHold, UUID> {
+
+    // Places or renews a hold; uq_slot_hold decides atomically across instances. An existing row is only taken over
+    // when it has expired or belongs to the same patient - returns 0 while another patient holds the slot.
+    // The conflicting row stays locked until commit, so concurrent holders and bookers of one slot queue here.
+    @Modifying
+    @Query(value = "INSERT INTO slot_holds (id, doctor_id, patient_id, date, time, expires_at, created_at) " +
+                   "VALUES (:id, :doctorId, :patientId, :date, :time, :expiresAt, :now) " +
+                   "ON CONFLICT (doctor_id, date, time) DO UPDATE SET id = EXCLUDED.id, " +
+                   "patient_id = EXCLUDED.patient_id, expires_at = EXCLUDED.expires_at, " +
+                   "created_at = EXCLUDED.created_at " +
+                   "WHERE slot_holds.expires_at <= :now OR slot_holds.patient_id = EXCLUDED.patient_id",
+           nativeQuery = true)
+    int upsertHold(@Param("id") UUID id,
+                   @Param("doctorId") UUID doctorId,
+                   @Param("patientId") UUID patientId,
+                   @Param("date") LocalDate date,
+                   @Param("time") LocalTime time,
+                   @Param("expiresAt") LocalDateTime expiresAt,
+                   @Param("now") LocalDateTime now);
+
+    // Unexpired holds of a doctor in [from, to] except the given patient's, for the slot engine's busy view
+    @Query("SELECT new com.healthapp.backend.dto.BookedSlot(h.doctor.id, h.date, h.time) FROM SlotHold h " +
+           "WHERE h.doctor.id = :doctorId AND h.date BETWEEN :from AND :to " +
+           "AND h.expiresAt > :now AND h.patient.id <> :holderId")
+    List<BookedSlot> findHeldSlots(@Param("doctorId") UUID doctorId,
+                                   @Param("from") LocalDate from,
+                                   @Param("to") LocalDate to,
+                                   @Param("holderId") UUID holderId,
+                                   @Param("now") LocalDateTime now);
+
+    // A patient holds one slot at a time: placing a new hold drops the previous ones
+    @Modifying
+    @Query("DELETE FROM SlotHold h WHERE h.patient.id = :patientId AND h.id <> :keepId")
+    int deleteOtherHolds(@Param("patientId") UUID patientId, @Param("keepId") UUID keepId);
+
+    @Modifying
+    @Query("DELETE FROM SlotHold h WHERE h.id = :id AND h.patient.id = :patientId")
+    int deleteByIdAndPatientId(@Param("id") UUID id, @Param("patientId") UUID patientId);
+
+    // The slot was booked; its hold has served its purpose
+    @Modifying
+    @Query("DELETE FROM SlotHold h WHERE h.doctor.id = :doctorId AND h.date = :date AND h.time = :time")
+    int deleteBySlot(@Param("doctorId") UUID doctorId, @Param("date") LocalDate date, @Param("time") LocalTime time);
+
+    // One bounded batch of expired holds per call. SKIP LOCKED leaves rows that a concurrent hold or booking is
+    // taking over, and rows another instance's reaper is already deleting, instead of waiting on them.
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM slot_holds WHERE id IN " +
+                   "(SELECT id FROM slot_holds WHERE expires_at <= :now LIMIT :limit FOR UPDATE SKIP LOCKED)",
+           nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
@@ -0,0 +1,26 @@
+package com.healthapp.backend.repository;
+
+import com.healthapp.backend.entity.Unavailability;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface UnavailabilityRepository extends JpaRepository<Unavailability, UUID> {
+
+    // Periods that overlap [from, to], served from idx_unavailability_doctor_end
+    @Query("SELECT u FROM Unavailability u WHERE u.doctor.id = :doctorId " +
+           "AND u.endDate >= :from AND u.startDate <= :to")
+    List<Unavailability> findOverlapping(@Param("doctorId") UUID doctorId,
+                                         @Param("from") LocalDate from,
+                                         @Param("to") LocalDate to);
+
+    // Periods of all doctors that overlap [from, to], for rebuilding the earliest-slot index
+    @Query("SELECT u FROM Unavailability u WHERE u.endDate >= :from AND u.startDate <= :to")
+    List<Unavailability> findAllOverlapping(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -1,9 +1,16 @@
 package com.healthapp.backend.repository;
 
+import com.healthapp.backend.dto.UserCredentials;
 import com.healthapp.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,7 +18,41 @@ import java.util.UUID;
 public interface UserRepository extends JpaRepository<User, UUID> {
 
     Optional<User> findByEmail(String email);
-    Optional<User> findByVerificationToken(String token);
-    Optional<User> findByResetToken(String token);
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    // Login path: one narrow SELECT with no entity loading
+    @Query("SELECT new com.healthapp.backend.dto.UserCredentials(u.id, u.email, u.password, u.role, u.verified) " +
+           "FROM User u WHERE u.email = :email")
+    Optional<UserCredentials> findCredentialsByEmail(@Param("email") String email);
+
+    // Registration: the unique email index decides atomically - returns 0 if the email is already registered
+    @Modifying
+    @Query(value = "INSERT INTO users (id, email, password, role, verified, created_at) " +
+                   "VALUES (:id, :email, :password, :role, false, :createdAt) ON CONFLICT (email) DO NOTHING",
+           nativeQuery = true)
+    int insertIfEmailAbsent(@Param("id") UUID id,
+                            @Param("email") String email,
+                            @Param("password") String password,
+                            @Param("role") String role,
+                            @Param("createdAt") LocalDateTime createdAt);
+
+    // Single-column lookup used by the JWT filter's status cache - avoids loading the entity and its profiles
+    @Query("SELECT u.verified FROM User u WHERE u.id = :id")
+    Optional<Boolean> findVerifiedById(@Param("id") UUID id);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password WHERE u.email = :email")
+    int updatePasswordByEmail(@Param("email") String email, @Param("password") String password);
+
+    // Reaper: next keyset page of abandoned registrations, row-locked so a concurrent verification waits or is skipped
+    @Query(value = "SELECT u.id FROM users u WHERE u.verified = false AND u.created_at < :cutoff AND u.id > :afterId " +
+                   "ORDER BY u.id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<UUID> lockUnverifiedBatch(@Param("cutoff") LocalDateTime cutoff,
+                                   @Param("afterId") UUID afterId,
+                                   @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM User u WHERE u.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<UUID> ids);
+}
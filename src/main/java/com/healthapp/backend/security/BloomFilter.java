@@ -0,0 +1,66 @@
+package com.healthapp.backend.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over pre-hashed keys.
+ * Callers supply two independent 64-bit hashes (e.g. from a SHA-256 digest); k indexes are derived by double hashing.
+ * False positives are possible, false negatives are not.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * Sizes the filter for the expected number of insertions at the target false-positive probability.
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (bits + 63) >>> 6);
+
+        this.words = new AtomicLongArray(words);
+        this.bitCount = (long) words << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    public void put(long hash1, long hash2) {
+        for (int i = 0; i < hashCount; i++) {
+            long bit = index(hash1, hash2, i);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) {
+                    break; // Already set
+                }
+            } while (!words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(long hash1, long hash2) {
+        for (int i = 0; i < hashCount; i++) {
+            long bit = index(hash1, hash2, i);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Size of the bit array in bytes.
+     */
+    public long sizeInBytes() {
+        return bitCount >>> 3;
+    }
+
+    private long index(long hash1, long hash2, int i) {
+        long combined = hash1 + i * hash2;
+        return (combined & Long.MAX_VALUE) % bitCount;
+    }
+}
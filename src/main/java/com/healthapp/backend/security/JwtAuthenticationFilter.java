@@ -5,6 +5,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -18,13 +19,18 @@ import java.io.IOException;
 /**
  * JWT authentication filter that runs once per request.
  * Extracts JWT from Authorization header, validates it, and sets Spring Security authentication context.
+ * In stateless mode (default) the principal is built from the token's userId/role claims with no per-request user load.
  */
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtTokenProvider tokenProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final UserDetailsServiceImpl userDetailsService;
+    private final UserStatusCache userStatusCache;
+
+    @Value("${jwt.stateless-principal:true}")
+    private boolean statelessPrincipal; // true = principal from claims, false = load user from database per request
 
     /**
      * Filters each HTTP request to check for JWT token and authenticate user.
@@ -37,23 +43,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request); // Extract JWT from Authorization header
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String email = tokenProvider.getEmailFromToken(jwt);
+            // Cached claims for recently seen tokens; otherwise a single verifying parse. Revoked tokens return null.
+            JwtClaims claims = StringUtils.hasText(jwt) ? verifiedTokenCache.verify(jwt) : null;
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+            if (claims != null) {
+                UserDetails userDetails = statelessPrincipal
+                        ? buildPrincipalFromClaims(claims)
+                        : userDetailsService.loadUserByUsername(claims.email());
 
-                // Create authentication token with user details and authorities
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
+                // Disabled/unverified accounts (per status cache) are left unauthenticated
+                if (userDetails != null) {
+                    // Create authentication token with user details and authorities
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(
+                                    userDetails,
+                                    null,
+                                    userDetails.getAuthorities()
+                            );
 
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                // Set authentication in SecurityContext for this request
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    // Set authentication in SecurityContext for this request
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
@@ -62,6 +74,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response); // Continue filter chain
     }
 
+    /**
+     * Builds the principal from the userId/role claims embedded by JwtTokenProvider.generateToken.
+     * Account status comes from UserStatusCache, so revoked or unverified accounts are rejected within the cache TTL.
+     */
+    private UserDetails buildPrincipalFromClaims(JwtClaims claims) {
+        if (!userStatusCache.isEnabled(claims.userId())) {
+            return null;
+        }
+
+        return UserDetailsImpl.fromClaims(claims.userId(), claims.email(), claims.role());
+    }
+
     /**
      * Extracts JWT token from Authorization header.
      * Expected format: "Bearer <token>"
@@ -0,0 +1,25 @@
+package com.healthapp.backend.security;
+
+import com.healthapp.backend.enums.Role;
+
+import java.util.UUID;
+
+/**
+ * Immutable view of a verified JWT's claims, produced by JwtTokenProvider.verifyToken in a single parse.
+ * Timestamps are epoch milliseconds.
+ */
+public record JwtClaims(
+        String email, // Subject
+        UUID userId,
+        Role role,
+        long issuedAtMs,
+        long expiresAtMs
+) {
+
+    /**
+     * Returns true if the token's expiration is at or before the given time.
+     */
+    public boolean isExpired(long nowMs) {
+        return expiresAtMs <= nowMs;
+    }
+}
@@ -1,17 +1,21 @@
 package com.healthapp.backend.security;
 
+import com.healthapp.backend.enums.Role;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.UUID;
 
 /**
  * JWT token provider for generating and validating JSON Web Tokens.
  * Uses HMAC SHA-256 algorithm with configurable secret key and expiration time (default 24 hours).
+ * The signing key and parser are built once at startup and reused for every token.
  */
 @Component
 public class JwtTokenProvider {
@@ -22,6 +26,20 @@ public class JwtTokenProvider {
     @Value("${jwt.expiration}")
     private long jwtExpirationMs; // Token expiration time in milliseconds (default: 86400000 = 24 hours)
 
+    private SecretKey signingKey;
+    private JwtParser parser; // Immutable and thread-safe
+
+    /**
+     * Builds the HMAC key and parser from the configured secret.
+     */
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes()); // Generate HMAC key from secret
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+
     /**
      * Generates JWT token from Spring Security authentication object.
      * Includes userId and role as claims for authorization purposes.
@@ -31,32 +49,49 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes()); // Generate HMAC key from secret
-
         return Jwts.builder()
                 .subject(userDetails.getUsername()) // Subject = email
                 .claim("userId", userDetails.getId().toString()) // Custom claim for user ID
                 .claim("role", userDetails.getRole().name()) // Custom claim for role
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(key) // Sign with HMAC SHA-256
+                .signWith(signingKey) // Sign with HMAC SHA-256
                 .compact();
     }
 
+    /**
+     * Verifies signature and expiration and extracts all claims in a single parse.
+     * Returns null if the token is invalid, expired, or missing the userId/role claims.
+     */
+    public JwtClaims verifyToken(String token) {
+        try {
+            Claims claims = parseClaims(token);
+
+            String userId = claims.get("userId", String.class);
+            String role = claims.get("role", String.class);
+            if (userId == null || role == null) {
+                return null; // Not issued by generateToken
+            }
+
+            return new JwtClaims(
+                    claims.getSubject(),
+                    UUID.fromString(userId),
+                    Role.valueOf(role),
+                    claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0L,
+                    claims.getExpiration().getTime()
+            );
+        } catch (JwtException | IllegalArgumentException e) {
+            System.err.println("Invalid JWT token: " + e.getMessage());
+        }
+        return null;
+    }
+
     /**
      * Extracts email (subject) from JWT token.
      * Used to identify the user making authenticated requests.
      */
     public String getEmailFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.getSubject(); // Subject contains email
+        return parseClaims(token).getSubject(); // Subject contains email
     }
 
     /**
@@ -65,15 +100,21 @@ public class JwtTokenProvider {
      */
     public boolean validateToken(String token) {
         try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token); // Throws exception if invalid/expired
+            parseClaims(token); // Throws exception if invalid/expired
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             System.err.println("Invalid JWT token: " + e.getMessage());
         }
         return false;
     }
-}
\ No newline at end of file
+
+    /**
+     * Parses and verifies the token with the cached parser.
+     * Throws JwtException if the signature is invalid or the token has expired.
+     */
+    private Claims parseClaims(String token) {
+        return parser
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -0,0 +1,79 @@
+package com.healthapp.backend.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Builds the application's PasswordEncoder with a BCrypt work factor calibrated on the running host.
+ * Hashes are stored as "{bcrypt}$2a$NN$..." so algorithm and cost travel with each hash; legacy hashes without the
+ * prefix still match and are flagged for upgrade, which DaoAuthenticationProvider performs on the next login.
+ */
+@Component
+public class PasswordEncoderCalibrator {
+
+    private static final String ENCODING_ID = "bcrypt";
+    private static final String CALIBRATION_PASSWORD = "Calibration1234";
+
+    private final int fixedStrength; // > 0 skips calibration (e.g. to pin cost across a heterogeneous fleet)
+    private final long targetMs; // Latency budget for a single hash
+    private final int minStrength;
+    private final int maxStrength;
+
+    private int strength; // Chosen work factor, exposed for logging/metrics
+
+    public PasswordEncoderCalibrator(@Value("${auth.password-hashing.strength:0}") int fixedStrength,
+                                     @Value("${auth.password-hashing.target-ms:250}") long targetMs,
+                                     @Value("${auth.password-hashing.min-strength:10}") int minStrength,
+                                     @Value("${auth.password-hashing.max-strength:14}") int maxStrength) {
+        this.fixedStrength = fixedStrength;
+        this.targetMs = targetMs;
+        this.minStrength = minStrength;
+        this.maxStrength = maxStrength;
+    }
+
+    /**
+     * Creates a DelegatingPasswordEncoder that encodes with calibrated BCrypt and matches any BCrypt hash.
+     */
+    public PasswordEncoder createEncoder() {
+        strength = fixedStrength > 0 ? fixedStrength : calibrate();
+        System.out.println("🔐 Password hashing: bcrypt strength " + strength);
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(
+                ENCODING_ID,
+                Map.of(ENCODING_ID, new BCryptPasswordEncoder(strength))
+        );
+        // Hashes stored before the {bcrypt} prefix was introduced - BCrypt matches any cost encoded in the hash
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder(strength));
+        return encoder;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    /**
+     * Returns the highest strength whose hash time fits the budget, never below minStrength.
+     * Each step doubles the cost, so the loop stops after a handful of hashes.
+     */
+    int calibrate() {
+        new BCryptPasswordEncoder(minStrength).encode(CALIBRATION_PASSWORD); // Warm-up (class loading, JIT)
+
+        int chosen = minStrength;
+        for (int candidate = minStrength; candidate <= maxStrength; candidate++) {
+            long start = System.nanoTime();
+            new BCryptPasswordEncoder(candidate).encode(CALIBRATION_PASSWORD);
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            if (elapsedMs > targetMs) {
+                break;
+            }
+            chosen = candidate;
+        }
+        return chosen;
+    }
+}
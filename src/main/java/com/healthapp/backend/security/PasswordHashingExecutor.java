@@ -0,0 +1,41 @@
+package com.healthapp.backend.security;
+
+import com.healthapp.backend.service.BoundedWorkerPool;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Dedicated, CPU-sized thread pool for password hashing and verification (BCrypt).
+ * Keeps hashing off Tomcat request threads' CPU budget; when the bounded queue is full, callers fail fast with a 503
+ * instead of piling up, so cheap endpoints stay responsive during login storms.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private final BoundedWorkerPool pool;
+
+    public PasswordHashingExecutor(MeterRegistry meterRegistry,
+                                   @Value("${auth.password-hashing.threads:0}") int threads,
+                                   @Value("${auth.password-hashing.queue-capacity:64}") int queueCapacity,
+                                   @Value("${auth.password-hashing.wait-timeout-ms:10000}") long waitTimeoutMs) {
+        this.pool = new BoundedWorkerPool("password-hash", threads, queueCapacity, waitTimeoutMs,
+                meterRegistry, "auth.password.executor", "auth.password.hash");
+    }
+
+    /**
+     * Runs the hashing task on the pool and waits for its result.
+     * Throws ServiceBusyException if the pool is saturated or the result does not arrive within the wait timeout.
+     */
+    public <T> T execute(String operation, Supplier<T> task) {
+        return pool.execute(operation, task);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
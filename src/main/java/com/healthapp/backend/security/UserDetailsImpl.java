@@ -1,5 +1,6 @@
 package com.healthapp.backend.security;
 
+import com.healthapp.backend.dto.UserCredentials;
 import com.healthapp.backend.entity.User;
 import com.healthapp.backend.enums.Role;
 import lombok.AllArgsConstructor;
@@ -44,6 +45,39 @@ public class UserDetailsImpl implements UserDetails {
         );
     }
 
+    /**
+     * Factory method to build UserDetailsImpl from the login projection (no entity loaded).
+     */
+    public static UserDetailsImpl build(UserCredentials credentials) {
+        GrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + credentials.role().name());
+
+        return new UserDetailsImpl(
+                credentials.id(),
+                credentials.email(),
+                credentials.password(),
+                credentials.role(),
+                credentials.verified(),
+                Collections.singletonList(authority)
+        );
+    }
+
+    /**
+     * Factory method to build UserDetailsImpl from JWT claims without a database lookup.
+     * Password is not needed for token-authenticated requests; account status is checked separately via UserStatusCache.
+     */
+    public static UserDetailsImpl fromClaims(UUID id, String email, Role role) {
+        GrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + role.name());
+
+        return new UserDetailsImpl(
+                id,
+                email,
+                null,
+                role,
+                true,
+                Collections.singletonList(authority)
+        );
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
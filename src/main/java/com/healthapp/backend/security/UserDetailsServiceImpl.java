@@ -1,20 +1,22 @@
 package com.healthapp.backend.security;
 
-import com.healthapp.backend.entity.User;
+import com.healthapp.backend.dto.UserCredentials;
 import com.healthapp.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 /**
  * Spring Security service for loading user-specific data during authentication.
- * Loads User entity from database and converts it to UserDetailsImpl for Spring Security.
+ * Loads a slim credentials projection (one SELECT, no entity) and converts it to UserDetailsImpl for Spring Security.
+ * Also persists upgraded password hashes when the stored hash uses an outdated algorithm or cost.
  */
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -24,9 +26,22 @@ public class UserDetailsServiceImpl implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
+        UserCredentials credentials = userRepository.findCredentialsByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
-        return UserDetailsImpl.build(user); // Convert User entity to UserDetails
+        return UserDetailsImpl.build(credentials); // Convert projection to UserDetails
+    }
+
+    /**
+     * Stores a re-encoded password hash after a successful login.
+     * Called by DaoAuthenticationProvider when PasswordEncoder.upgradeEncoding reports the stored hash as outdated.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePasswordByEmail(user.getUsername(), newPassword);
+
+        UserDetailsImpl details = (UserDetailsImpl) user;
+        details.setPassword(newPassword);
+        return details;
     }
 }
\ No newline at end of file
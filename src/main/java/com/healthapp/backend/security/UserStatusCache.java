@@ -0,0 +1,81 @@
+package com.healthapp.backend.security;
+
+import com.healthapp.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded, time-limited cache of account status (verified/active) keyed by user ID.
+ * Lets the JWT filter honor account changes with bounded staleness (TTL) instead of loading the user on every request.
+ */
+@Component
+public class UserStatusCache {
+
+    private final UserRepository userRepository;
+    private final long ttlMs; // Maximum staleness of a cached status
+    private final int maxSize; // Upper bound on cached entries
+
+    private final ConcurrentHashMap<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    public UserStatusCache(UserRepository userRepository,
+                           @Value("${jwt.status-cache.ttl-ms:60000}") long ttlMs,
+                           @Value("${jwt.status-cache.max-size:10000}") int maxSize) {
+        this.userRepository = userRepository;
+        this.ttlMs = ttlMs;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns true if the account exists and is verified.
+     * Served from memory while the entry is younger than the TTL; otherwise reloads a single column from the database.
+     */
+    public boolean isEnabled(UUID userId) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(userId);
+
+        if (entry != null && now - entry.loadedAt() < ttlMs) {
+            return entry.enabled();
+        }
+
+        // Missing user (deleted account) is treated as disabled
+        boolean enabled = userRepository.findVerifiedById(userId).orElse(false);
+
+        if (entries.size() >= maxSize) {
+            evict(now);
+        }
+        entries.put(userId, new Entry(enabled, now));
+
+        return enabled;
+    }
+
+    /**
+     * Drops the cached status so the next request reloads it.
+     * Call after changing a user's verification or suspension state on this instance.
+     */
+    public void invalidate(UUID userId) {
+        entries.remove(userId);
+    }
+
+    /**
+     * Current number of cached entries.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Removes expired entries; clears the whole cache if it is still full (rare, keeps memory bounded).
+     */
+    private void evict(long now) {
+        entries.values().removeIf(e -> now - e.loadedAt() >= ttlMs);
+        if (entries.size() >= maxSize) {
+            entries.clear();
+        }
+    }
+
+    private record Entry(boolean enabled, long loadedAt) {
+    }
+}
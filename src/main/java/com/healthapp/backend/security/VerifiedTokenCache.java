@@ -0,0 +1,224 @@
+package com.healthapp.backend.security;
+
+import com.healthapp.backend.entity.RevokedToken;
+import com.healthapp.backend.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process cache of verified JWT claims keyed by the SHA-256 hash of the raw token, plus the token denylist.
+ * Cache hits skip signature verification until the token's expiration. Revoked tokens are tracked in a Bloom filter
+ * rebuilt from the revoked_tokens table, so the common (not revoked) case never touches the database.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final HexFormat HEX = HexFormat.of();
+    private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+    private static final long REFRESH_OVERLAP_MS = 60000; // Tolerates clock skew between instances
+
+    private final JwtTokenProvider tokenProvider;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int maxSize; // Upper bound on cached tokens
+    private final long expectedRevocations; // Bloom filter sizing
+
+    private final ConcurrentHashMap<String, JwtClaims> entries = new ConcurrentHashMap<>();
+    private volatile BloomFilter revoked;
+    private volatile long lastRefreshMs;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Counter revocations;
+
+    public VerifiedTokenCache(JwtTokenProvider tokenProvider,
+                              RevokedTokenRepository revokedTokenRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${jwt.token-cache.max-size:50000}") int maxSize,
+                              @Value("${jwt.revocation.expected-tokens:100000}") long expectedRevocations) {
+        this.tokenProvider = tokenProvider;
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.maxSize = maxSize;
+        this.expectedRevocations = expectedRevocations;
+        this.revoked = new BloomFilter(expectedRevocations, BLOOM_FALSE_POSITIVE_RATE);
+
+        this.hits = meterRegistry.counter("auth.token.cache.hits");
+        this.misses = meterRegistry.counter("auth.token.cache.misses");
+        this.evictions = meterRegistry.counter("auth.token.cache.evictions");
+        this.revocations = meterRegistry.counter("auth.token.revocations");
+        Gauge.builder("auth.token.cache.size", entries, ConcurrentHashMap::size).register(meterRegistry);
+        Gauge.builder("auth.token.revocation.filter.bytes", this, c -> c.revoked.sizeInBytes()).register(meterRegistry);
+    }
+
+    /**
+     * Loads the denylist at startup.
+     */
+    @PostConstruct
+    public void init() {
+        rebuildRevocationFilter();
+    }
+
+    /**
+     * Returns the token's claims, or null if the token is invalid, expired, or revoked.
+     * Signature verification runs only on a cache miss.
+     */
+    public JwtClaims verify(String token) {
+        byte[] digest = sha256(token);
+        String hash = HEX.formatHex(digest);
+        long now = System.currentTimeMillis();
+
+        JwtClaims cached = entries.get(hash);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                hits.increment();
+                return cached;
+            }
+            entries.remove(hash);
+        }
+        misses.increment();
+
+        // Bloom filter has no false negatives - only a positive needs confirming against the table
+        if (revoked.mightContain(hash1(digest), hash2(digest)) && revokedTokenRepository.existsById(hash)) {
+            return null;
+        }
+
+        JwtClaims claims = tokenProvider.verifyToken(token);
+        if (claims != null) {
+            if (entries.size() >= maxSize) {
+                evict(now);
+            }
+            entries.put(hash, claims);
+        }
+
+        return claims;
+    }
+
+    /**
+     * Revokes a token until its expiration: persists its hash, adds it to the filter, and drops it from the cache.
+     * Invalid or already expired tokens are ignored since they cannot authenticate anyway.
+     */
+    public void revoke(String token) {
+        JwtClaims claims = tokenProvider.verifyToken(token);
+        if (claims == null) {
+            return;
+        }
+
+        byte[] digest = sha256(token);
+        String hash = HEX.formatHex(digest);
+
+        revokedTokenRepository.save(new RevokedToken(hash, toLocalDateTime(claims.expiresAtMs()), null));
+        revoked.put(hash1(digest), hash2(digest));
+        entries.remove(hash);
+        revocations.increment();
+    }
+
+    /**
+     * Picks up revocations made by other instances since the last refresh.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-ms:30000}")
+    public void refreshRevocations() {
+        long now = System.currentTimeMillis();
+        List<String> hashes = revokedTokenRepository.findTokenHashesRevokedSince(
+                toLocalDateTime(lastRefreshMs - REFRESH_OVERLAP_MS));
+
+        BloomFilter filter = revoked;
+        for (String hash : hashes) {
+            addToFilter(filter, hash);
+            entries.remove(hash);
+        }
+        lastRefreshMs = now;
+    }
+
+    /**
+     * Purges expired denylist rows and rebuilds the filter so it does not fill up with dead entries.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-ms:3600000}", initialDelayString = "${jwt.revocation.rebuild-ms:3600000}")
+    public void rebuildRevocationFilter() {
+        long now = System.currentTimeMillis();
+        LocalDateTime nowDateTime = toLocalDateTime(now);
+
+        revokedTokenRepository.deleteExpired(nowDateTime);
+        List<String> hashes = revokedTokenRepository.findActiveTokenHashes(nowDateTime);
+
+        BloomFilter filter = new BloomFilter(Math.max(expectedRevocations, hashes.size()), BLOOM_FALSE_POSITIVE_RATE);
+        for (String hash : hashes) {
+            addToFilter(filter, hash);
+            entries.remove(hash);
+        }
+        revoked = filter;
+        lastRefreshMs = now;
+    }
+
+    /**
+     * Current number of cached tokens.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Drops expired entries; if the cache is still at 90% or more of capacity, evicts arbitrary entries down to 90%.
+     */
+    private void evict(long now) {
+        int before = entries.size();
+        entries.values().removeIf(claims -> claims.isExpired(now));
+
+        int target = (int) (maxSize * 0.9);
+        Iterator<String> iterator = entries.keySet().iterator();
+        while (entries.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+
+        evictions.increment(Math.max(0, before - entries.size()));
+    }
+
+    private static void addToFilter(BloomFilter filter, String hash) {
+        byte[] digest = HEX.parseHex(hash);
+        filter.put(hash1(digest), hash2(digest));
+    }
+
+    private static byte[] sha256(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e); // Mandatory in every JRE
+        }
+    }
+
+    private static long hash1(byte[] digest) {
+        return readLong(digest, 0);
+    }
+
+    private static long hash2(byte[] digest) {
+        return readLong(digest, 8);
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMs) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMs), ZoneId.systemDefault());
+    }
+}
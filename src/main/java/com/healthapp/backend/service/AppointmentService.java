@@ -0,0 +1,154 @@
+package com.healthapp.backend.service;
+
+import com.healthapp.backend.dto.AppointmentSummary;
+import com.healthapp.backend.dto.BookAppointmentRequest;
+import com.healthapp.backend.dto.CursorPage;
+import com.healthapp.backend.entity.ScheduleChangedEvent;
+import com.healthapp.backend.entity.UuidV7Generator;
+import com.healthapp.backend.exception.ResourceNotFoundException;
+import com.healthapp.backend.exception.SlotAlreadyBookedException;
+import com.healthapp.backend.repository.AppointmentRepository;
+import com.healthapp.backend.repository.DoctorRepository;
+import com.healthapp.backend.repository.PatientRepository;
+import com.healthapp.backend.security.UserDetailsImpl;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Appointment operations for the signed-in patient or doctor.
+ * History is reverse-chronological with keyset pagination on (date, time, id).
+ * Booking is decided by the unique active-slot index in the INSERT itself (ON CONFLICT DO NOTHING), behind
+ * SlotBookingGuard's per-doctor striped locks and memory of taken slots, so a rush on one slot neither races nor
+ * floods the database. The booking transaction first claims the slot's hold (SlotHoldService), so a slot another
+ * patient is holding is refused on every instance, and drops the hold once the appointment row is in.
+ */
+@Service
+@RequiredArgsConstructor
+public class AppointmentService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String CURSOR_TYPE = "appointments";
+    private static final LocalDate LAST_DATE = LocalDate.of(9999, 12, 31);
+    private static final LocalTime LAST_TIME = LocalTime.of(23, 59, 59, 999_999_000); // TIME(6) precision
+    private static final UUID LAST_ID = new UUID(-1L, -1L); // Sorts after every UUID in PostgreSQL
+    private static final String SLOT_TAKEN = "This slot is no longer available";
+
+    private final AppointmentRepository appointmentRepository;
+    private final PatientRepository patientRepository;
+    private final DoctorRepository doctorRepository;
+    private final RowCountEstimator rowCountEstimator;
+    private final SlotAvailabilityService slotAvailabilityService;
+    private final SlotBookingGuard bookingGuard;
+    private final SlotHoldService slotHoldService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Books a free slot of an approved doctor for the signed-in patient and returns the new appointment id.
+     * Throws SlotAlreadyBookedException (409) if the slot is taken, held by another patient, not offered or already
+     * past.
+     */
+    public UUID book(UserDetailsImpl user, BookAppointmentRequest request) {
+        UUID patientId = patientRepository.findIdByUserId(user.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Patient profile not found"));
+        UUID doctorId = request.getDoctorId();
+        LocalDate date = request.getDate();
+        LocalTime time = request.getTime();
+        if (!SlotBitmap.onGrid(time)) {
+            throw new SlotAlreadyBookedException(SLOT_TAKEN); // Not a slot start; never offered
+        }
+
+        return bookingGuard.withDoctorLock(doctorId, () -> {
+            // Losers of a rush queue on the stripe and are turned away here without a query
+            if (bookingGuard.isTaken(doctorId, date, time)) {
+                throw new SlotAlreadyBookedException(SLOT_TAKEN);
+            }
+
+            UUID appointmentId = transactionTemplate.execute(status -> {
+                if (!doctorRepository.existsByIdAndApprovedTrue(doctorId)) {
+                    throw new ResourceNotFoundException("Doctor not found");
+                }
+                slotHoldService.claim(patientId, doctorId, date, time); // Rolled back with the booking on failure
+                if (!slotAvailabilityService.freeSlots(doctorId, date, 1).isFree(date, time)) {
+                    throw new SlotAlreadyBookedException(SLOT_TAKEN);
+                }
+
+                UUID id = UuidV7Generator.next();
+                LocalDateTime now = LocalDateTime.now();
+                int inserted = appointmentRepository.insertIfSlotFree(
+                        id, patientId, doctorId, date, time, request.getReason(), now);
+                if (inserted == 0) {
+                    bookingGuard.markTaken(doctorId, date, time); // Booked through another instance
+                    throw new SlotAlreadyBookedException(SLOT_TAKEN);
+                }
+                slotHoldService.releaseBooked(doctorId, date, time);
+                // Native INSERT bypasses the entity listener; the earliest-slot index still needs to know
+                eventPublisher.publishEvent(new ScheduleChangedEvent(doctorId));
+                return id;
+            });
+            bookingGuard.markTaken(doctorId, date, time);
+            return appointmentId;
+        });
+    }
+
+    /**
+     * Newest-first appointments of the current user, starting after the cursor (first page when null).
+     * estimate=true adds the planner's estimate of the total on the first page.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<AppointmentSummary> history(UserDetailsImpl user, String cursor, int size, boolean estimate) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        LocalDate date = LAST_DATE;
+        LocalTime time = LAST_TIME;
+        UUID id = LAST_ID;
+        if (cursor != null && !cursor.isBlank()) {
+            KeysetCursor position = KeysetCursor.decode(cursor, CURSOR_TYPE, 3);
+            date = position.date(0);
+            time = position.time(1);
+            id = position.uuid(2);
+        }
+
+        List<AppointmentSummary> items;
+        String estimateSql;
+        UUID ownerId;
+        switch (user.getRole()) {
+            case PATIENT -> {
+                ownerId = patientRepository.findIdByUserId(user.getId())
+                        .orElseThrow(() -> new ResourceNotFoundException("Patient profile not found"));
+                items = appointmentRepository.findPatientHistoryBefore(ownerId, date, time, id, Limit.of(limit + 1));
+                estimateSql = "SELECT 1 FROM appointments WHERE patient_id = ?";
+            }
+            case DOCTOR -> {
+                ownerId = doctorRepository.findIdByUserId(user.getId())
+                        .orElseThrow(() -> new ResourceNotFoundException("Doctor profile not found"));
+                items = appointmentRepository.findDoctorHistoryBefore(ownerId, date, time, id, Limit.of(limit + 1));
+                estimateSql = "SELECT 1 FROM appointments WHERE doctor_id = ?";
+            }
+            default -> throw new ResourceNotFoundException("No appointment history for this account");
+        }
+
+        String nextCursor = null;
+        if (items.size() > limit) {
+            items = items.subList(0, limit);
+            AppointmentSummary last = items.get(limit - 1);
+            nextCursor = KeysetCursor.encode(CURSOR_TYPE, last.date(), last.time(), last.id());
+        }
+
+        Long estimatedTotal = estimate && cursor == null ? rowCountEstimator.estimate(estimateSql, ownerId) : null;
+
+        return new CursorPage<>(items, nextCursor, estimatedTotal);
+    }
+}
@@ -2,10 +2,14 @@ package com.healthapp.backend.service;
 
 import com.healthapp.backend.dto.*;
 import com.healthapp.backend.entity.*;
+import com.healthapp.backend.enums.AuthTokenType;
 import com.healthapp.backend.enums.Role;
 import com.healthapp.backend.exception.*;
 import com.healthapp.backend.repository.*;
 import com.healthapp.backend.security.JwtTokenProvider;
+import com.healthapp.backend.security.UserDetailsImpl;
+import com.healthapp.backend.security.UserStatusCache;
+import com.healthapp.backend.security.VerifiedTokenCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -14,8 +18,11 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -26,6 +33,8 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class AuthService {
 
+    private static final Duration TOKEN_TTL = Duration.ofHours(24); // Verification and reset token lifetime
+
     private final UserRepository userRepository;
     private final PatientRepository patientRepository;
     private final DoctorRepository doctorRepository;
@@ -34,18 +43,24 @@ public class AuthService {
     private final JwtTokenProvider tokenProvider;
     private final AuthenticationManager authenticationManager;
     private final EmailService emailService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final ProfilePhotoService profilePhotoService;
+    private final AuthTokenService authTokenService;
+    private final TransactionTemplate transactionTemplate;
+    private final UserStatusCache userStatusCache;
 
     /**
      * Registers a new user (patient or doctor) and sends email verification.
      * Creates role-specific profile and generates 24-hour verification token.
+     * Duplicate emails are detected by the unique index in the user INSERT itself (ON CONFLICT DO NOTHING), so
+     * concurrent submissions cannot both pass a check-then-insert; the loser gets UserAlreadyExistsException (409).
+     * An indexed existsByEmail read runs first only as a cheap guard: it spends one round trip so the common case of
+     * an already registered email costs no bcrypt hash or stored photo. It is racy by design and decides nothing.
+     * Password hashing and photo processing run before the transaction starts so no DB connection is held meanwhile;
+     * a photo stored for a registration that then fails is removed later by DataReaper's orphaned-photo purge.
+     * The profile, history, token and outbox inserts are flushed together at commit with JDBC batching.
      */
-    @Transactional
     public ApiResponse register(RegisterRequest request) {
-        // Check if email exists
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new UserAlreadyExistsException("Email already registered");
-        }
-
         // Validate role-specific required fields
         if (request.getRole() == Role.PATIENT && request.getDob() == null) {
             throw new IllegalArgumentException("Date of birth is required for patients");
@@ -59,34 +74,49 @@ public class AuthService {
             throw new IllegalArgumentException("Specialization is required for doctors");
         }
 
-        // Create User entity with hashed password
-        User user = new User();
-        user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword())); // bcrypt hashing
-        user.setRole(request.getRole());
-        user.setVerified(false); // Requires email verification before login
-
-        // Generate verification token (expires in 24 hours)
-        String verificationToken = UUID.randomUUID().toString();
-        user.setVerificationToken(verificationToken);
-        user.setTokenExpiryDate(LocalDateTime.now().plusHours(24));
-
-        // Save user first to get ID for profile relationship
-        user = userRepository.save(user);
-
-        // Create role-specific profile (Patient or Doctor)
-        if (request.getRole() == Role.PATIENT) {
-            createPatientProfile(user, request);
-        } else if (request.getRole() == Role.DOCTOR) {
-            createDoctorProfile(user, request);
+        // Cheap guard before bcrypt and photo storage; the INSERT below still decides concurrent races
+        if (userRepository.existsByEmail(request.getEmail())) {
+            throw new UserAlreadyExistsException("Email already registered");
         }
 
-        // Send verification email asynchronously
-        emailService.sendVerificationEmail(
-                user.getEmail(),
-                verificationToken,
-                user.getRole().name()
-        );
+        // CPU-bound work outside the transaction: bcrypt hashing and photo normalization
+        String encodedPassword = passwordEncoder.encode(request.getPassword());
+        ProfilePhotoService.StoredPhoto photo = profilePhotoService.storeBase64(request.getProfilePhotoBase64());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Insert user with hashed password unless the email is taken; requires email verification before login
+            UUID userId = UuidV7Generator.next(); // Same time-ordered ids as entity inserts
+            int inserted = userRepository.insertIfEmailAbsent(
+                    userId,
+                    request.getEmail(),
+                    encodedPassword,
+                    request.getRole().name(),
+                    LocalDateTime.now()
+            );
+            if (inserted == 0) {
+                throw new UserAlreadyExistsException("Email already registered");
+            }
+
+            // Uninitialized reference for the profile/token foreign keys - no SELECT
+            User user = userRepository.getReferenceById(userId);
+
+            // Create role-specific profile (Patient or Doctor)
+            if (request.getRole() == Role.PATIENT) {
+                createPatientProfile(user, request, photo);
+            } else if (request.getRole() == Role.DOCTOR) {
+                createDoctorProfile(user, request, photo);
+            }
+
+            // Generate verification token (expires in 24 hours, stored hashed)
+            String verificationToken = authTokenService.issue(user, AuthTokenType.EMAIL_VERIFICATION, TOKEN_TTL);
+
+            // Queue verification email (sent by the outbox dispatcher after commit)
+            emailService.sendVerificationEmail(
+                    request.getEmail(),
+                    verificationToken,
+                    request.getRole().name()
+            );
+        });
 
         return new ApiResponse(
                 true,
@@ -98,7 +128,7 @@ public class AuthService {
      * Creates patient profile and optional medical history questionnaire.
      * Medical questionnaire uses flexible JSONB storage for any custom structure.
      */
-    private void createPatientProfile(User user, RegisterRequest request) {
+    private void createPatientProfile(User user, RegisterRequest request, ProfilePhotoService.StoredPhoto photo) {
         Patient patient = new Patient();
         patient.setUser(user);
         patient.setFirstName(request.getFirstName());
@@ -107,7 +137,10 @@ public class AuthService {
         patient.setPhone(request.getPhone());
         patient.setGender(request.getGender());
         patient.setAddress(request.getAddress());
-        patient.setProfilePhotoBase64(request.getProfilePhotoBase64());
+        if (photo != null) {
+            patient.setProfilePhotoId(photo.photoId()); // Normalized image and thumbnail in the photo store
+            patient.setProfileThumbnailId(photo.thumbnailId());
+        }
         patient.setInsuranceInfo(request.getInsuranceInfo());
 
         patientRepository.save(patient);
@@ -125,14 +158,17 @@ public class AuthService {
      * Creates doctor profile with professional credentials.
      * Doctor is created with approved=false and requires admin approval to practice.
      */
-    private void createDoctorProfile(User user, RegisterRequest request) {
+    private void createDoctorProfile(User user, RegisterRequest request, ProfilePhotoService.StoredPhoto photo) {
         Doctor doctor = new Doctor();
         doctor.setUser(user);
         doctor.setFirstName(request.getFirstName());
         doctor.setLastName(request.getLastName());
         doctor.setPhone(request.getPhone());
         doctor.setGender(request.getGender());
-        doctor.setProfilePhotoBase64(request.getProfilePhotoBase64());
+        if (photo != null) {
+            doctor.setProfilePhotoId(photo.photoId()); // Normalized image and thumbnail in the photo store
+            doctor.setProfileThumbnailId(photo.thumbnailId());
+        }
         doctor.setLicenseNumber(request.getLicenseNumber());
         doctor.setSpecialization(request.getSpecialization());
         doctor.setExperience(request.getExperience());
@@ -148,26 +184,31 @@ public class AuthService {
     /**
      * Verifies user email using the token sent during registration.
      * Token must be valid and not expired (24-hour expiration). Sends welcome email on success.
+     * The user's cached status is dropped after commit so the JWT filter sees the change immediately.
      */
-    @Transactional
     public ApiResponse verifyEmail(String token) {
-        User user = userRepository.findByVerificationToken(token)
-                .orElseThrow(() -> new InvalidTokenException("Invalid verification token"));
+        UUID userId = transactionTemplate.execute(status -> {
+            AuthToken authToken = authTokenService.consume(token, AuthTokenType.EMAIL_VERIFICATION)
+                    .orElseThrow(() -> new InvalidTokenException("Invalid verification token"));
 
-        // Check if token expired (24-hour validity)
-        if (user.getTokenExpiryDate().isBefore(LocalDateTime.now())) {
-            throw new TokenExpiredException("Verification token has expired");
-        }
+            // Check if token expired (24-hour validity)
+            if (authToken.isExpired(LocalDateTime.now())) {
+                throw new TokenExpiredException("Verification token has expired");
+            }
+
+            // Mark user as verified; the consumed token is deleted
+            User user = authToken.getUser();
+            user.setVerified(true);
+            userRepository.save(user);
 
-        // Mark user as verified and clear verification token
-        user.setVerified(true);
-        user.setVerificationToken(null);
-        user.setTokenExpiryDate(null);
-        userRepository.save(user);
+            // Queue welcome email in the same transaction (sent by the outbox dispatcher after commit)
+            String firstName = getFirstName(user);
+            emailService.sendWelcomeEmail(user.getEmail(), firstName);
 
-        // Send welcome email asynchronously
-        String firstName = getFirstName(user);
-        emailService.sendWelcomeEmail(user.getEmail(), firstName);
+            return user.getId();
+        });
+
+        userStatusCache.invalidate(userId);
 
         return new ApiResponse(true, "Email verified successfully! You can now login.");
     }
@@ -184,9 +225,10 @@ public class AuthService {
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        // Retrieve user from database
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new InvalidCredentialsException("Invalid credentials"));
+        // Principal was loaded by UserDetailsServiceImpl during authentication - no second user lookup
+        if (!(authentication.getPrincipal() instanceof UserDetailsImpl user)) {
+            throw new InvalidCredentialsException("Invalid credentials");
+        }
 
         // Enforce email verification requirement
         if (!user.getVerified()) {
@@ -199,6 +241,16 @@ public class AuthService {
         return new LoginResponse(token, user.getId(), user.getEmail(), user.getRole());
     }
 
+    /**
+     * Logs out by revoking the presented JWT until its expiration.
+     * Missing or invalid tokens are ignored so logout is always idempotent.
+     */
+    public void logout(String token) {
+        if (token != null && !token.isBlank()) {
+            verifiedTokenCache.revoke(token);
+        }
+    }
+
     /**
      * Initiates password reset process by sending reset token via email.
      * Token expires in 24 hours.
@@ -208,11 +260,8 @@ public class AuthService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with this email"));
 
-        // Generate reset token
-        String resetToken = UUID.randomUUID().toString();
-        user.setResetToken(resetToken);
-        user.setTokenExpiryDate(LocalDateTime.now().plusHours(24));
-        userRepository.save(user);
+        // Generate reset token (replaces any earlier reset token)
+        String resetToken = authTokenService.replace(user, AuthTokenType.PASSWORD_RESET, TOKEN_TTL);
 
         // Send email
         emailService.sendPasswordResetEmail(email, resetToken, user.getRole().name());
@@ -222,36 +271,47 @@ public class AuthService {
 
     /**
      * Resets user password using the token sent via email.
-     * Token must be valid and not expired. Password is hashed with bcrypt before storage.
+     * Token must be valid and not expired. It is checked with a read-only lookup before bcrypt, so requests with
+     * junk tokens never occupy the hashing pool; the hash is computed outside the transaction that consumes it.
      */
-    @Transactional
     public ApiResponse resetPassword(String token, String newPassword) {
-        User user = userRepository.findByResetToken(token)
+        LocalDateTime expiresAt = authTokenService.findExpiry(token, AuthTokenType.PASSWORD_RESET)
                 .orElseThrow(() -> new InvalidTokenException("Invalid reset token"));
-
-        // Check token expiration (24-hour validity)
-        if (user.getTokenExpiryDate().isBefore(LocalDateTime.now())) {
+        if (expiresAt.isBefore(LocalDateTime.now())) {
             throw new TokenExpiredException("Reset token has expired");
         }
 
-        // Update password with bcrypt hashing and clear reset token
-        user.setPassword(passwordEncoder.encode(newPassword));
-        user.setResetToken(null);
-        user.setTokenExpiryDate(null);
-        userRepository.save(user);
+        // Hash outside the transaction so no DB connection is held during bcrypt
+        String encodedPassword = passwordEncoder.encode(newPassword);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Consumed again under the transaction: a concurrent reset with the same token may have won meanwhile
+            AuthToken authToken = authTokenService.consume(token, AuthTokenType.PASSWORD_RESET)
+                    .orElseThrow(() -> new InvalidTokenException("Invalid reset token"));
+
+            // Check token expiration (24-hour validity)
+            if (authToken.isExpired(LocalDateTime.now())) {
+                throw new TokenExpiredException("Reset token has expired");
+            }
+
+            // Update password; the consumed token is deleted
+            User user = authToken.getUser();
+            user.setPassword(encodedPassword);
+            userRepository.save(user);
+        });
 
         return new ApiResponse(true, "Password reset successful! You can now login.");
     }
 
     /**
-     * Helper method to extract first name from user's role-specific profile.
+     * Helper method to look up the first name from the user's role-specific profile (single-column query).
      */
     private String getFirstName(User user) {
-        if (user.getPatient() != null) {
-            return user.getPatient().getFirstName();
-        } else if (user.getDoctor() != null) {
-            return user.getDoctor().getFirstName();
-        }
-        return "User";
+        Optional<String> firstName = switch (user.getRole()) {
+            case PATIENT -> patientRepository.findFirstNameByUserId(user.getId());
+            case DOCTOR -> doctorRepository.findFirstNameByUserId(user.getId());
+            default -> Optional.empty();
+        };
+        return firstName.orElse("User");
     }
 }
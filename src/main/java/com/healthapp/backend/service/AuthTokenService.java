@@ -0,0 +1,95 @@
+package com.healthapp.backend.service;
+
+import com.healthapp.backend.entity.AuthToken;
+import com.healthapp.backend.entity.User;
+import com.healthapp.backend.enums.AuthTokenType;
+import com.healthapp.backend.repository.AuthTokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Issues and consumes single-use email verification and password reset tokens.
+ * The raw token only ever exists in the email; the database holds its SHA-256 hash under a unique index.
+ * Expired tokens are purged in batches by DataReaper.
+ */
+@Service
+@RequiredArgsConstructor
+public class AuthTokenService {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final AuthTokenRepository authTokenRepository;
+
+    /**
+     * Creates a token for the user and returns the raw value to email. Joins the caller's transaction.
+     * Only touches user.getId(), so an uninitialized reference is enough.
+     */
+    @Transactional
+    public String issue(User user, AuthTokenType type, Duration ttl) {
+        String token = UUID.randomUUID().toString(); // 122 random bits from SecureRandom
+
+        AuthToken authToken = new AuthToken();
+        authToken.setTokenHash(hash(token));
+        authToken.setType(type);
+        authToken.setUser(user);
+        authToken.setExpiresAt(LocalDateTime.now().plus(ttl));
+        authTokenRepository.save(authToken);
+
+        return token;
+    }
+
+    /**
+     * Like issue, but first deletes any earlier token of the same type so only the newest one works.
+     */
+    @Transactional
+    public String replace(User user, AuthTokenType type, Duration ttl) {
+        authTokenRepository.deleteByUserIdAndType(user.getId(), type);
+        return issue(user, type, ttl);
+    }
+
+    /**
+     * Looks up the token by hash and deletes it so it cannot be used twice.
+     * Returns the token (with its user loaded) even if expired - callers decide how to report expiry.
+     * When two requests present the same token at once, the delete of the second one waits on the first one's row
+     * lock and then removes nothing, so the second gets empty (an invalid token) rather than a failed flush.
+     */
+    @Transactional
+    public Optional<AuthToken> consume(String token, AuthTokenType type) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        return authTokenRepository.findByTokenHashAndType(hash(token), type)
+                .filter(authToken -> authTokenRepository.deleteByIdReturningCount(authToken.getId()) == 1);
+    }
+
+    /**
+     * Returns the token's expiry without consuming it, or empty if no such token exists.
+     */
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> findExpiry(String token, AuthTokenType type) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        return authTokenRepository.findExpiryByTokenHashAndType(hash(token), type);
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HEX.formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e); // Mandatory in every JRE
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.healthapp.backend.service;
+
+import com.healthapp.backend.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Fixed-size thread pool with a bounded queue for CPU-heavy request work (password hashing, image processing).
+ * The calling request thread waits for the result; when the queue is full the call fails fast with
+ * ServiceBusyException (503) instead of queueing without limit.
+ * Publishes {metricPrefix}.queue.size, {metricPrefix}.active, {metricPrefix}.rejected and a {timerName} timer.
+ */
+public class BoundedWorkerPool {
+
+    private final ThreadPoolExecutor executor;
+    private final long waitTimeoutMs; // Max time a request waits for its result before giving up
+    private final MeterRegistry meterRegistry;
+    private final String timerName;
+    private final Counter rejected;
+
+    public BoundedWorkerPool(String threadName, int threads, int queueCapacity, long waitTimeoutMs,
+                             MeterRegistry meterRegistry, String metricPrefix, String timerName) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors(); // 0 = one per core
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, threadName + "-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy() // Reject immediately when the queue is full
+        );
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.meterRegistry = meterRegistry;
+        this.timerName = timerName;
+        this.rejected = meterRegistry.counter(metricPrefix + ".rejected");
+
+        Gauge.builder(metricPrefix + ".queue.size", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder(metricPrefix + ".active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    /**
+     * Runs the task on the pool and waits for its result, rethrowing any RuntimeException it throws.
+     * Throws ServiceBusyException if the pool is saturated or the result does not arrive within the wait timeout.
+     */
+    public <T> T execute(String operation, Supplier<T> task) {
+        Timer timer = meterRegistry.timer(timerName, "operation", operation);
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.record(task));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceBusyException("Service is busy, please retry shortly");
+        }
+
+        try {
+            return future.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new ServiceBusyException("Service is busy, please retry shortly");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Request was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(operation + " failed", e.getCause());
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
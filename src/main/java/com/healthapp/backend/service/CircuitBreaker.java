@@ -0,0 +1,59 @@
+package com.healthapp.backend.service;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Minimal thread-safe circuit breaker (closed → open → half-open).
+ * Opens after a run of consecutive failures, rejects calls while open, and lets one trial call through after the
+ * open period; a successful trial closes it again.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold; // Consecutive failures that open the circuit
+    private final long openMs; // How long to reject calls before a trial
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    public CircuitBreaker(int failureThreshold, long openMs) {
+        this(failureThreshold, openMs, System::currentTimeMillis);
+    }
+
+    CircuitBreaker(int failureThreshold, long openMs, LongSupplier clock) {
+        this.failureThreshold = failureThreshold;
+        this.openMs = openMs;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns true if a call may proceed. While half-open, only the first caller gets through.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openMs) {
+            state = State.HALF_OPEN;
+            return true; // Single trial call
+        }
+        return state == State.CLOSED;
+    }
+
+    public synchronized void recordSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
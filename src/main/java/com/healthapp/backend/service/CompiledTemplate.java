@@ -0,0 +1,107 @@
+package com.healthapp.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Template text parsed once into alternating literal and variable segments ("Hi {{firstName}}!" → "Hi ", firstName, "!").
+ * The variables are replaced by SendGrid substitution tags once at parse time; values are filled in by the provider.
+ */
+public final class CompiledTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String[] variables;
+    private final String tagged; // Rendering with SendGrid substitution tags (-name-) instead of values
+
+    private CompiledTemplate(String[] literals, String[] variables, String tagPrefix) {
+        this.variables = variables;
+
+        int length = 0;
+        for (String literal : literals) { // literals[i] precedes variables[i]; one extra trailing literal
+            length += literal.length();
+        }
+
+        StringBuilder builder = new StringBuilder(length + variables.length * 16);
+        for (int i = 0; i < variables.length; i++) {
+            builder.append(literals[i]).append(tag(tagPrefix + variables[i]));
+        }
+        this.tagged = builder.append(literals[variables.length]).toString();
+    }
+
+    /**
+     * Parses {{name}} placeholders. Throws IllegalArgumentException on an unterminated placeholder.
+     */
+    public static CompiledTemplate parse(String source) {
+        return parse(source, "");
+    }
+
+    /**
+     * Parses {{name}} placeholders into tags of the form -prefixname-, so another template part can use the same
+     * variable with a differently encoded value.
+     */
+    public static CompiledTemplate parse(String source, String tagPrefix) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+
+        int position = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0) {
+                break;
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unterminated placeholder at index " + open);
+            }
+            literals.add(source.substring(position, open));
+            variables.add(source.substring(open + OPEN.length(), close).trim());
+            position = close + CLOSE.length();
+        }
+        literals.add(source.substring(position));
+
+        return new CompiledTemplate(literals.toArray(new String[0]), variables.toArray(new String[0]), tagPrefix);
+    }
+
+    /**
+     * Template text with each variable replaced by its SendGrid substitution tag; computed once at parse time.
+     */
+    public String tagged() {
+        return tagged;
+    }
+
+    public String[] variables() {
+        return variables.clone();
+    }
+
+    /**
+     * SendGrid substitution tag for a variable name.
+     */
+    public static String tag(String variable) {
+        return "-" + variable + "-";
+    }
+
+    /**
+     * Appends the value with &, <, >, " and ' escaped; unchanged runs are copied in bulk.
+     */
+    public static void escapeHtml(String value, StringBuilder out) {
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            String replacement = switch (value.charAt(i)) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#39;";
+                default -> null;
+            };
+            if (replacement != null) {
+                out.append(value, start, i).append(replacement);
+                start = i + 1;
+            }
+        }
+        out.append(value, start, value.length());
+    }
+}
@@ -0,0 +1,236 @@
+package com.healthapp.backend.service;
+
+import com.healthapp.backend.repository.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Scheduled cleanup of dead rows: expired auth tokens, expired slot holds and registrations that were never verified.
+ * Works in fixed-size batches, one short transaction each, with a pause between batches so it never holds many
+ * row locks or saturates the database. Abandoned users are walked by keyset (id > last id) and deleted together
+ * with their medical history, patient/doctor profile, and tokens.
+ * Expired holds are deleted with SKIP LOCKED, so reapers on several instances and holds being taken over never wait
+ * on each other.
+ * Stored photos no profile references (failed registrations, reaped accounts) are deleted after a grace period.
+ * Publishes reaper.rows{table}, reaper.run (timer) and reaper.last.rows{table} to /actuator/metrics.
+ */
+@Component
+public class DataReaper {
+
+    private static final UUID FIRST_ID = new UUID(0L, 0L); // Sorts before every UUID in PostgreSQL
+
+    private final UserRepository userRepository;
+    private final PatientRepository patientRepository;
+    private final DoctorRepository doctorRepository;
+    private final MedicalHistoryRepository medicalHistoryRepository;
+    private final AuthTokenRepository authTokenRepository;
+    private final SlotHoldRepository slotHoldRepository;
+    private final PhotoStore photoStore;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong lastUsersDeleted = new AtomicLong();
+    private final AtomicLong lastTokensDeleted = new AtomicLong();
+    private final AtomicLong lastHoldsDeleted = new AtomicLong();
+    private final AtomicLong lastPhotosDeleted = new AtomicLong();
+
+    @Value("${app.reaper.batch-size:500}")
+    private int batchSize; // Rows per transaction
+
+    @Value("${app.reaper.pause-ms:200}")
+    private long pauseMs; // Sleep between batches to leave room for foreground traffic
+
+    @Value("${app.reaper.max-batches:200}")
+    private int maxBatches; // Per table per run; the rest waits for the next run
+
+    @Value("${app.reaper.unverified-retention-hours:168}")
+    private long unverifiedRetentionHours; // Unverified accounts older than this are deleted (default 7 days)
+
+    @Value("${app.reaper.orphan-photo-grace-hours:24}")
+    private long orphanPhotoGraceHours; // Unreferenced photos younger than this may belong to an in-flight registration
+
+    public DataReaper(UserRepository userRepository,
+                      PatientRepository patientRepository,
+                      DoctorRepository doctorRepository,
+                      MedicalHistoryRepository medicalHistoryRepository,
+                      AuthTokenRepository authTokenRepository,
+                      SlotHoldRepository slotHoldRepository,
+                      PhotoStore photoStore,
+                      TransactionTemplate transactionTemplate,
+                      MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.patientRepository = patientRepository;
+        this.doctorRepository = doctorRepository;
+        this.medicalHistoryRepository = medicalHistoryRepository;
+        this.authTokenRepository = authTokenRepository;
+        this.slotHoldRepository = slotHoldRepository;
+        this.photoStore = photoStore;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+
+        meterRegistry.gauge("reaper.last.rows", Tags.of("table", "users"), lastUsersDeleted);
+        meterRegistry.gauge("reaper.last.rows", Tags.of("table", "auth_tokens"), lastTokensDeleted);
+        meterRegistry.gauge("reaper.last.rows", Tags.of("table", "slot_holds"), lastHoldsDeleted);
+        meterRegistry.gauge("reaper.last.rows", Tags.of("table", "photos"), lastPhotosDeleted);
+    }
+
+    /**
+     * Runs all purges; the run duration and per-table row counts are recorded as metrics.
+     */
+    @Scheduled(fixedDelayString = "${app.reaper.interval-ms:3600000}", initialDelayString = "${app.reaper.initial-delay-ms:60000}")
+    public void reap() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            lastTokensDeleted.set(purgeExpiredTokens());
+            lastHoldsDeleted.set(purgeExpiredHolds());
+            lastUsersDeleted.set(purgeUnverifiedUsers());
+            lastPhotosDeleted.set(purgeOrphanedPhotos()); // After users, so reaped accounts' photos go in the same run
+        } finally {
+            sample.stop(meterRegistry.timer("reaper.run"));
+        }
+    }
+
+    /**
+     * Deletes expired auth tokens in bounded batches. Returns the number of rows deleted.
+     */
+    long purgeExpiredTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        long total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int deleted = authTokenRepository.deleteExpiredBatch(now, batchSize);
+            total += deleted;
+            if (deleted < batchSize || !pause()) {
+                break;
+            }
+        }
+        meterRegistry.counter("reaper.rows", "table", "auth_tokens").increment(total);
+        return total;
+    }
+
+    /**
+     * Deletes expired slot holds in bounded batches. Reads already ignore them; this only reclaims the rows.
+     * Returns the number of rows deleted.
+     */
+    long purgeExpiredHolds() {
+        LocalDateTime now = LocalDateTime.now();
+        long total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int deleted = slotHoldRepository.deleteExpiredBatch(now, batchSize);
+            total += deleted;
+            if (deleted < batchSize || !pause()) {
+                break;
+            }
+        }
+        meterRegistry.counter("reaper.rows", "table", "slot_holds").increment(total);
+        return total;
+    }
+
+    /**
+     * Deletes unverified accounts past the retention period with everything that references them.
+     * Returns the number of users deleted.
+     */
+    long purgeUnverifiedUsers() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(Duration.ofHours(unverifiedRetentionHours));
+        UUID afterId = FIRST_ID;
+        long total = 0;
+
+        for (int batch = 0; batch < maxBatches; batch++) {
+            UUID cursor = afterId;
+            List<UUID> ids = transactionTemplate.execute(status -> {
+                List<UUID> locked = userRepository.lockUnverifiedBatch(cutoff, cursor, batchSize);
+                if (!locked.isEmpty()) {
+                    medicalHistoryRepository.deleteByPatientUserIdIn(locked);
+                    patientRepository.deleteByUserIdIn(locked);
+                    doctorRepository.deleteByUserIdIn(locked);
+                    authTokenRepository.deleteByUserIdIn(locked);
+                    userRepository.deleteByIdIn(locked);
+                }
+                return locked;
+            });
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+
+            total += ids.size();
+            afterId = ids.get(ids.size() - 1); // Keyset cursor: rows skipped as locked are not rescanned this run
+            if (ids.size() < batchSize || !pause()) {
+                break;
+            }
+        }
+        meterRegistry.counter("reaper.rows", "table", "users").increment(total);
+        return total;
+    }
+
+    /**
+     * Deletes stored photos that no patient or doctor profile references, such as uploads from registrations that
+     * failed after storing their photo. Only photos not written for the grace period are candidates, and each is
+     * re-checked just before deletion, so a registration still in flight keeps its photo.
+     * Returns the number of photos deleted.
+     */
+    long purgeOrphanedPhotos() {
+        Instant cutoff = Instant.now().minus(Duration.ofHours(orphanPhotoGraceHours));
+        long total = 0;
+
+        try (Stream<String> stored = photoStore.idsWrittenBefore(cutoff)) {
+            Iterator<String> ids = stored.iterator();
+            for (int batch = 0; batch < maxBatches && ids.hasNext(); batch++) {
+                List<String> candidates = new ArrayList<>(batchSize);
+                while (ids.hasNext() && candidates.size() < batchSize) {
+                    candidates.add(ids.next());
+                }
+
+                Set<String> referenced = new HashSet<>(patientRepository.findReferencedPhotoIds(candidates));
+                referenced.addAll(doctorRepository.findReferencedPhotoIds(candidates));
+                for (String id : candidates) {
+                    if (!referenced.contains(id) && photoStore.deleteIfWrittenBefore(id, cutoff)) {
+                        total++;
+                    }
+                }
+
+                if (!ids.hasNext() || !pause()) {
+                    break;
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("❌ Orphaned photo purge failed: " + e.getMessage()); // Retried on the next run
+        }
+
+        meterRegistry.counter("reaper.rows", "table", "photos").increment(total);
+        return total;
+    }
+
+    /**
+     * Sleeps between batches; returns false if interrupted (shutdown) so the run stops early.
+     */
+    private boolean pause() {
+        if (pauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
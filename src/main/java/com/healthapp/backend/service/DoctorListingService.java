@@ -0,0 +1,74 @@
+package com.healthapp.backend.service;
+
+import com.healthapp.backend.dto.CursorPage;
+import com.healthapp.backend.dto.DoctorListItem;
+import com.healthapp.backend.repository.DoctorRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Alphabetical directory of approved doctors with keyset pagination.
+ * Each page seeks past the last (lastName, firstName, id) of the previous one, so deep pages cost the same as the
+ * first and rows inserted or removed meanwhile never cause skipped or repeated doctors. Pages are read as DoctorListItem
+ * projections, so no Doctor entity is loaded.
+ */
+@Service
+@RequiredArgsConstructor
+public class DoctorListingService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String CURSOR_TYPE = "doctors";
+    private static final UUID FIRST_ID = new UUID(0L, 0L); // Sorts before every UUID in PostgreSQL
+
+    private final DoctorRepository doctorRepository;
+    private final RowCountEstimator rowCountEstimator;
+
+    /**
+     * Returns the page after the cursor (first page when null), optionally filtered by specialization.
+     * estimate=true adds the planner's estimate of the total on the first page.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<DoctorListItem> list(String specialization, String cursor, int size, boolean estimate) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        boolean filtered = specialization != null && !specialization.isBlank();
+
+        String lastName = "";
+        String firstName = "";
+        UUID id = FIRST_ID;
+        if (cursor != null && !cursor.isBlank()) {
+            KeysetCursor position = KeysetCursor.decode(cursor, CURSOR_TYPE, 3);
+            lastName = position.string(0);
+            firstName = position.string(1);
+            id = position.uuid(2);
+        }
+
+        // One extra row tells whether another page exists, without a count
+        List<DoctorListItem> items = filtered
+                ? doctorRepository.findApprovedCardsAfter(specialization, lastName, firstName, id, Limit.of(limit + 1))
+                : doctorRepository.findApprovedCardsAfter(lastName, firstName, id, Limit.of(limit + 1));
+
+        String nextCursor = null;
+        if (items.size() > limit) {
+            items = items.subList(0, limit);
+            DoctorListItem last = items.get(limit - 1);
+            nextCursor = KeysetCursor.encode(CURSOR_TYPE, last.lastName(), last.firstName(), last.id());
+        }
+
+        Long estimatedTotal = null;
+        if (estimate && cursor == null) {
+            estimatedTotal = filtered
+                    ? rowCountEstimator.estimate(
+                            "SELECT 1 FROM doctors WHERE approved = true AND specialization = ?", specialization)
+                    : rowCountEstimator.estimate("SELECT 1 FROM doctors WHERE approved = true");
+        }
+
+        return new CursorPage<>(items, nextCursor, estimatedTotal);
+    }
+}
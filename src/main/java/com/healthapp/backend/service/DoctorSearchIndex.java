@@ -0,0 +1,549 @@
+package com.healthapp.backend.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over approved doctors for discovery search.
+ * Each doctor gets a dense int ordinal, and every term maps to a posting list of ordinals, so combined filters are
+ * intersections instead of LIKE scans over doctors. Name tokens are high-cardinality and use sorted int[] lists;
+ * specialization, language and rating bucket are low-cardinality and dense, so their lists also keep a bitmap and are
+ * combined a 64-bit word at a time.
+ * Ordinals are assigned in display order (last name, first name) at rebuild, and a doctor whose name changes is
+ * re-appended, so ordinals below sortedCount compare by number instead of by string.
+ * Reads share a read lock; upserts and removes take the write lock and only touch the lists of the affected doctor.
+ */
+public class DoctorSearchIndex {
+
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_RATING = 5;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final String NAME = "n:";
+    private static final String SPECIALIZATION = "s:";
+    private static final String LANGUAGE = "l:";
+    private static final String RATING = "r:";
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<String, Postings> postings = new HashMap<>();
+    private List<Entry> entries = new ArrayList<>(); // Indexed by ordinal; null once the doctor is removed
+    private Map<UUID, Integer> ordinals = new HashMap<>();
+    private Postings all = new Postings(true); // Every live ordinal
+    private int sortedCount; // Ordinals below this were assigned in display order by the last rebuild
+    private int live;
+
+    /**
+     * Searchable fields of one approved doctor. Rating is the average review score, or null when unrated.
+     */
+    public record Document(UUID id, String firstName, String lastName, String specialization,
+                           List<String> languages, Double rating) {
+    }
+
+    /**
+     * Combined filters; null/blank fields are ignored. Every text token must match a first or last name token.
+     */
+    public record Query(String text, String specialization, String language, Integer minRating, int page, int size) {
+    }
+
+    /**
+     * One page of matches ordered by last name, first name.
+     */
+    public record Page(List<Document> items, int total, int page, int size) {
+    }
+
+    private record Entry(Document document, String sortKey, String[] terms) {
+    }
+
+    /**
+     * Replaces the whole index. Ordinals are assigned in display order and posting lists are trimmed to size.
+     */
+    public void rebuild(Collection<Document> documents) {
+        List<Entry> built = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            built.add(entry(document));
+        }
+        built.sort(Comparator.comparing(Entry::sortKey).thenComparing(e -> e.document().id()));
+
+        Map<String, Postings> builtPostings = new HashMap<>();
+        Map<UUID, Integer> builtOrdinals = new HashMap<>(built.size() * 2);
+        Postings builtAll = new Postings(true);
+        for (int ordinal = 0; ordinal < built.size(); ordinal++) {
+            Entry entry = built.get(ordinal);
+            builtOrdinals.put(entry.document().id(), ordinal);
+            builtAll.add(ordinal);
+            for (String term : entry.terms()) {
+                builtPostings.computeIfAbsent(term, DoctorSearchIndex::newPostings).add(ordinal);
+            }
+        }
+        builtPostings.values().forEach(Postings::trim);
+
+        lock.writeLock().lock();
+        try {
+            postings = builtPostings;
+            entries = built;
+            ordinals = builtOrdinals;
+            all = builtAll;
+            sortedCount = built.size();
+            live = built.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces one doctor. New doctors, and doctors whose name changed, are appended with the next ordinal;
+     * otherwise the doctor keeps its ordinal and only its postings are moved.
+     */
+    public void upsert(Document document) {
+        Entry entry = entry(document);
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(document.id());
+            if (ordinal != null && !entries.get(ordinal).sortKey().equals(entry.sortKey())) {
+                removeOrdinal(document.id()); // Keeps the ordinal order of the sorted prefix intact
+                ordinal = null;
+            }
+            if (ordinal == null) {
+                ordinal = entries.size();
+                entries.add(entry);
+                ordinals.put(document.id(), ordinal);
+                all.add(ordinal);
+                live++;
+            } else {
+                unlink(ordinal, entries.get(ordinal).terms());
+                entries.set(ordinal, entry);
+            }
+            for (String term : entry.terms()) {
+                postings.computeIfAbsent(term, DoctorSearchIndex::newPostings).add(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a doctor if present. The ordinal is not reused until the next rebuild.
+     */
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            removeOrdinal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * ANDs the bitmaps of the dense filters a word at a time, then either walks the set bits or, when name tokens are
+     * given, drives from the shortest name list and tests the rest. Only the top (page + 1) * size matches are kept,
+     * in a bounded heap, so a page costs O(matches * log(page end)) integer comparisons.
+     */
+    public Page search(Query query) {
+        int size = Math.max(1, Math.min(query.size(), MAX_PAGE_SIZE));
+        int page = Math.max(0, query.page());
+
+        lock.readLock().lock();
+        try {
+            List<Postings> names = new ArrayList<>();
+            List<Postings[]> filters = new ArrayList<>(); // All filters must match; any list within a filter may match
+            if (!resolve(query, names, filters)) {
+                return new Page(List.of(), 0, page, size);
+            }
+
+            long[] mask = all.bits.clone();
+            for (Postings[] filter : filters) {
+                and(mask, filter);
+            }
+
+            long offset = (long) page * size; // long: a huge page must not wrap around to a negative index
+            long end = offset + size;
+            TopK top = new TopK((int) Math.min(end, Math.max(live, 1)));
+            int total = 0;
+
+            if (names.isEmpty()) {
+                boolean prefixDone = false; // Heap already holds the best sorted-prefix matches
+                for (int word = 0; word < mask.length; word++) {
+                    long bits = mask[word];
+                    total += Long.bitCount(bits);
+                    if (prefixDone) {
+                        bits &= ~prefixBits(word);
+                    }
+                    while (bits != 0) {
+                        int ordinal = (word << 6) + Long.numberOfTrailingZeros(bits);
+                        if (top.accepts(ordinal)) {
+                            top.offer(ordinal);
+                        } else if (ordinal < sortedCount) {
+                            prefixDone = true; // Later prefix ordinals sort even later
+                            bits &= ~prefixBits(word);
+                            continue;
+                        }
+                        bits &= bits - 1;
+                    }
+                }
+            } else {
+                names.sort(Comparator.comparingInt(list -> list.size));
+                Postings driver = names.get(0);
+                for (int i = 0; i < driver.size; i++) {
+                    int ordinal = driver.values[i];
+                    if (isSet(mask, ordinal) && inAll(names, ordinal)) {
+                        top.offer(ordinal);
+                        total++;
+                    }
+                }
+            }
+
+            int[] ranked = top.sorted();
+            List<Document> items = new ArrayList<>(size);
+            for (int i = (int) Math.min(offset, ranked.length); i < ranked.length && items.size() < size; i++) {
+                items.add(entries.get(ranked[i]).document());
+            }
+            return new Page(items, total, page, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lowercases and strips accents and surrounding whitespace ("  Müller " → "muller").
+     */
+    public static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String stripped = isAscii(value)
+                ? value // Skip decomposition for the common case
+                : MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(stripped.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+    }
+
+    /**
+     * Normalized word tokens ("Anne-Marie O'Neil" → anne, marie, o, neil).
+     */
+    public static List<String> tokens(String value) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_WORD.split(normalize(value))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean resolve(Query query, List<Postings> names, List<Postings[]> filters) {
+        if (query.text() != null) {
+            for (String token : tokens(query.text())) {
+                Postings list = postings.get(NAME + token);
+                if (list == null) {
+                    return false; // Unknown term - nothing can match
+                }
+                names.add(list);
+            }
+        }
+        if (query.specialization() != null && !query.specialization().isBlank()
+                && !addFilter(filters, postings.get(SPECIALIZATION + normalize(query.specialization())))) {
+            return false;
+        }
+        if (query.language() != null && !query.language().isBlank()
+                && !addFilter(filters, postings.get(LANGUAGE + normalize(query.language())))) {
+            return false;
+        }
+        if (query.minRating() != null && query.minRating() > 0) {
+            List<Postings> buckets = new ArrayList<>();
+            for (int bucket = Math.min(query.minRating(), MAX_RATING); bucket <= MAX_RATING; bucket++) {
+                Postings list = postings.get(RATING + bucket);
+                if (list != null) {
+                    buckets.add(list);
+                }
+            }
+            if (buckets.isEmpty()) {
+                return false;
+            }
+            filters.add(buckets.toArray(new Postings[0]));
+        }
+        return true;
+    }
+
+    private static boolean addFilter(List<Postings[]> filters, Postings list) {
+        if (list == null) {
+            return false;
+        }
+        filters.add(new Postings[]{list});
+        return true;
+    }
+
+    /**
+     * mask &= (filter[0] | filter[1] | ...), word by word.
+     */
+    private static void and(long[] mask, Postings[] filter) {
+        for (int word = 0; word < mask.length; word++) {
+            long union = 0;
+            for (Postings list : filter) {
+                if (word < list.bits.length) {
+                    union |= list.bits[word];
+                }
+            }
+            mask[word] &= union;
+        }
+    }
+
+    /**
+     * Bits of the given word whose ordinals fall in the sorted prefix.
+     */
+    private long prefixBits(int word) {
+        int first = word << 6;
+        if (first + 64 <= sortedCount) {
+            return -1L;
+        }
+        return first >= sortedCount ? 0L : (1L << (sortedCount - first)) - 1;
+    }
+
+    private static boolean isSet(long[] bits, int ordinal) {
+        int word = ordinal >>> 6;
+        return word < bits.length && (bits[word] & (1L << ordinal)) != 0;
+    }
+
+    private static boolean inAll(List<Postings> names, int ordinal) {
+        for (int i = 1; i < names.size(); i++) {
+            if (!names.get(i).contains(ordinal)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Postings newPostings(String term) {
+        return new Postings(!term.startsWith(NAME)); // Only the low-cardinality fields are dense enough for a bitmap
+    }
+
+    private void removeOrdinal(UUID id) {
+        Integer ordinal = ordinals.remove(id);
+        if (ordinal != null) {
+            unlink(ordinal, entries.get(ordinal).terms());
+            all.remove(ordinal);
+            entries.set(ordinal, null);
+            live--;
+        }
+    }
+
+    private void unlink(int ordinal, String[] terms) {
+        for (String term : terms) {
+            Postings list = postings.get(term);
+            if (list != null && list.remove(ordinal) && list.size == 0) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private static Entry entry(Document document) {
+        Set<String> terms = new LinkedHashSet<>();
+        tokens(document.firstName()).forEach(t -> terms.add(NAME + t));
+        tokens(document.lastName()).forEach(t -> terms.add(NAME + t));
+        if (document.specialization() != null) {
+            terms.add(SPECIALIZATION + normalize(document.specialization()));
+        }
+        if (document.languages() != null) {
+            document.languages().forEach(language -> terms.add(LANGUAGE + normalize(language)));
+        }
+        terms.add(RATING + ratingBucket(document.rating()));
+
+        String sortKey = normalize(document.lastName()) + '\u0000' + normalize(document.firstName());
+        return new Entry(document, sortKey, terms.toArray(new String[0]));
+    }
+
+    /**
+     * 0 for unrated doctors, otherwise the whole-star bucket 1..5 (4.7 → 4).
+     */
+    static int ratingBucket(Double rating) {
+        if (rating == null) {
+            return 0;
+        }
+        return Math.max(1, Math.min(MAX_RATING, (int) Math.floor(rating)));
+    }
+
+    /**
+     * Growable sorted int array, optionally mirrored by a bitmap for O(1) membership and word-wise AND.
+     * Ordinals of new doctors are the largest, so the common insert is an append.
+     */
+    static final class Postings {
+
+        private int[] values = new int[4];
+        private int size;
+        private long[] bits; // Null for sparse (name) lists
+
+        Postings(boolean bitmap) {
+            this.bits = bitmap ? new long[1] : null;
+        }
+
+        void add(int ordinal) {
+            if (bits != null) {
+                int word = ordinal >>> 6;
+                if (word >= bits.length) {
+                    bits = Arrays.copyOf(bits, Math.max(word + 1, bits.length + (bits.length >> 1)));
+                }
+                bits[word] |= 1L << ordinal;
+            }
+            if (size > 0 && values[size - 1] >= ordinal) {
+                int index = Arrays.binarySearch(values, 0, size, ordinal);
+                if (index >= 0) {
+                    return;
+                }
+                insertAt(-index - 1, ordinal);
+                return;
+            }
+            insertAt(size, ordinal);
+        }
+
+        boolean remove(int ordinal) {
+            int index = Arrays.binarySearch(values, 0, size, ordinal);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            size--;
+            if (bits != null) {
+                bits[ordinal >>> 6] &= ~(1L << ordinal);
+            }
+            return true;
+        }
+
+        boolean contains(int ordinal) {
+            if (bits != null) {
+                return isSet(bits, ordinal);
+            }
+            return Arrays.binarySearch(values, 0, size, ordinal) >= 0;
+        }
+
+        void trim() {
+            values = Arrays.copyOf(values, size);
+        }
+
+        private void insertAt(int index, int ordinal) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.max(4, size + (size >> 1)));
+            }
+            System.arraycopy(values, index, values, index + 1, size - index);
+            values[index] = ordinal;
+            size++;
+        }
+    }
+
+    /**
+     * Bounded max-heap of ordinals by sort key; keeps the k smallest seen.
+     */
+    private final class TopK {
+
+        private final int[] heap;
+        private int size;
+
+        TopK(int capacity) {
+            this.heap = new int[capacity];
+        }
+
+        void offer(int ordinal) {
+            if (size < heap.length) {
+                heap[size] = ordinal;
+                siftUp(size++);
+            } else if (compare(ordinal, heap[0]) < 0) {
+                heap[0] = ordinal;
+                siftDown(0);
+            }
+        }
+
+        /**
+         * False when the heap is full of sorted-prefix ordinals that all precede this sorted-prefix ordinal.
+         */
+        boolean accepts(int ordinal) {
+            return size < heap.length || ordinal >= sortedCount || heap[0] >= sortedCount || ordinal < heap[0];
+        }
+
+        int[] sorted() {
+            int[] result = new int[size];
+            for (int i = size - 1; i >= 0; i--) {
+                result[i] = heap[0];
+                heap[0] = heap[--size];
+                siftDown(0);
+            }
+            return result;
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (compare(heap[index], heap[parent]) <= 0) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int largest = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && compare(heap[left], heap[largest]) > 0) {
+                    largest = left;
+                }
+                if (right < size && compare(heap[right], heap[largest]) > 0) {
+                    largest = right;
+                }
+                if (largest == index) {
+                    return;
+                }
+                swap(index, largest);
+                index = largest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int tmp = heap[a];
+            heap[a] = heap[b];
+            heap[b] = tmp;
+        }
+
+        private int compare(int a, int b) {
+            if (a < sortedCount && b < sortedCount) {
+                return Integer.compare(a, b);
+            }
+            Entry left = entries.get(a);
+            Entry right = entries.get(b);
+            int byName = left.sortKey().compareTo(right.sortKey());
+            return byName != 0 ? byName : left.document().id().compareTo(right.document().id());
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.healthapp.backend.service;
+
+import com.healthapp.backend.entity.Doctor;
+import com.healthapp.backend.entity.DoctorChangedEvent;
+import com.healthapp.backend.repository.DoctorRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Doctor discovery search backed by DoctorSearchIndex, and name autocomplete backed by DoctorSuggestIndex.
+ * The indexes are built from all approved doctors at startup and then kept current from DoctorChangedEvents after each
+ * commit. A periodic full rebuild compacts removed ordinals and picks up changes made by bulk JPQL statements.
+ * The suggest index is immutable, so changes mark it dirty and a new one is swapped in at most once per refresh
+ * interval, however many doctors are approved in between.
+ * Changes are stamped when applied and the rebuild stamps itself before reading, so a change committed while the
+ * rebuild reads is kept instead of being overwritten by the older snapshot.
+ */
+@Service
+@RequiredArgsConstructor
+public class DoctorSearchService {
+
+    private final DoctorRepository doctorRepository;
+    private final DoctorSearchIndex index = new DoctorSearchIndex();
+
+    private final Object writeLock = new Object(); // Guards approved, changedAt and clock, and orders index writes
+    private final Map<UUID, DoctorSearchIndex.Document> approved = new HashMap<>(); // Suggest index source
+    private final Map<UUID, Long> changedAt = new HashMap<>(); // Stamp of each doctor's last change since the rebuild
+    private long clock;
+
+    private volatile DoctorSuggestIndex suggestIndex = DoctorSuggestIndex.empty();
+    private final AtomicBoolean suggestDirty = new AtomicBoolean();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.search.doctors.rebuild-ms:3600000}",
+               initialDelayString = "${app.search.doctors.rebuild-ms:3600000}")
+    public void rebuild() {
+        long stamp;
+        synchronized (writeLock) {
+            stamp = ++clock; // Before the read: changes applied after this are newer than the snapshot
+        }
+        Map<UUID, DoctorSearchIndex.Document> documents = new HashMap<>();
+        doctorRepository.findByApprovedTrue().forEach(doctor -> documents.put(doctor.getId(), toDocument(doctor)));
+
+        synchronized (writeLock) {
+            changedAt.forEach((doctorId, changed) -> {
+                if (changed > stamp) {
+                    DoctorSearchIndex.Document current = approved.get(doctorId);
+                    if (current != null) {
+                        documents.put(doctorId, current);
+                    } else {
+                        documents.remove(doctorId);
+                    }
+                }
+            });
+            changedAt.values().removeIf(changed -> changed <= stamp);
+
+            index.rebuild(documents.values());
+            approved.clear();
+            approved.putAll(documents);
+            suggestDirty.set(false);
+            suggestIndex = DoctorSuggestIndex.build(List.copyOf(documents.values()));
+        }
+        System.out.println("🔎 Doctor search index built: " + documents.size() + " doctors");
+    }
+
+    /**
+     * Applies a committed doctor change: approved doctors are (re)indexed, unapproved or deleted ones dropped.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        Doctor doctor = event.doctor();
+        synchronized (writeLock) {
+            changedAt.put(doctor.getId(), ++clock);
+            if (event.removed() || !Boolean.TRUE.equals(doctor.getApproved())) {
+                index.remove(doctor.getId());
+                if (approved.remove(doctor.getId()) != null) {
+                    suggestDirty.set(true);
+                }
+            } else {
+                DoctorSearchIndex.Document document = toDocument(doctor);
+                index.upsert(document);
+                if (!document.equals(approved.put(document.id(), document))) {
+                    suggestDirty.set(true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Swaps in a rebuilt suggest index if any approved doctor changed since the last swap.
+     */
+    @Scheduled(fixedDelayString = "${app.search.doctors.suggest-refresh-ms:1000}")
+    public void refreshSuggestions() {
+        synchronized (writeLock) { // A concurrent rebuild must not be replaced by an index built from older data
+            if (suggestDirty.getAndSet(false)) {
+                suggestIndex = DoctorSuggestIndex.build(List.copyOf(approved.values()));
+            }
+        }
+    }
+
+    public DoctorSearchIndex.Page search(DoctorSearchIndex.Query query) {
+        return index.search(query);
+    }
+
+    public List<DoctorSuggestIndex.Suggestion> suggest(String text, int limit) {
+        return suggestIndex.suggest(text, limit);
+    }
+
+    static DoctorSearchIndex.Document toDocument(Doctor doctor) {
+        return new DoctorSearchIndex.Document(
+                doctor.getId(),
+                doctor.getFirstName(),
+                doctor.getLastName(),
+                doctor.getSpecialization(),
+                doctor.getLanguages() != null ? List.copyOf(doctor.getLanguages()) : List.of(),
+                null); // No review ratings stored yet; every doctor is in the unrated bucket
+    }
+}
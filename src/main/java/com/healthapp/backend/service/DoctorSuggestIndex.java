@@ -0,0 +1,550 @@
+package com.healthapp.backend.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Immutable autocomplete index over approved doctors' names and specializations.
+ * Every distinct normalized token is stored once, in sorted order, in a single shared char[] pool, so a typed prefix
+ * is a binary search for a contiguous term range. Term → entry postings, entry → term lists and the trigram table
+ * used for typo tolerance are all flat int[]/long[] arrays (offsets + values), so the index holds no per-term objects.
+ * Entries are numbered in static rank order (specializations by doctor count, then doctors by name), which makes
+ * the entry id the tie-breaker and lets a single-token query read only the first few postings of each term.
+ * Instances never change after build; the owner swaps in a new one, so concurrent readers need no locking.
+ */
+public final class DoctorSuggestIndex {
+
+    public static final int MAX_LIMIT = 20;
+
+    private static final int EXACT = 3;
+    private static final int PREFIX = 2;
+    private static final int FUZZY = 1;
+    private static final int MIN_FUZZY_LENGTH = 3;
+    private static final int MAX_CANDIDATES = 20_000; // Bounds work for multi-token queries with very common tokens
+
+    private static final DoctorSuggestIndex EMPTY = build(List.of());
+    private static final ThreadLocal<int[]> COUNTS = ThreadLocal.withInitial(() -> new int[0]); // Trigram hits per term
+
+    // Entries: specializations first, then doctors
+    private final String[] entryText;
+    private final UUID[] entryDoctorId; // Null for specialization entries
+    private final int[] entryTermStart; // Terms of entry e: entryTerms[entryTermStart[e] .. entryTermStart[e + 1])
+    private final int[] entryTerms;
+
+    // Terms: sorted, concatenated in one pool
+    private final char[] pool;
+    private final int[] termStart; // Term t: pool[termStart[t] .. termStart[t + 1])
+    private final int[] postingStart; // Entries of term t: postings[postingStart[t] .. postingStart[t + 1]), ascending
+    private final int[] postings;
+
+    // Trigrams of "$" + term, packed 3 x 16 bits, sorted; terms of gram g: gramTerms[gramStart[g] .. gramStart[g + 1])
+    private final long[] grams;
+    private final int[] gramStart;
+    private final int[] gramTerms;
+
+    public enum Kind {
+        DOCTOR,
+        SPECIALIZATION
+    }
+
+    /**
+     * One ranked suggestion. doctorId is set for DOCTOR suggestions only.
+     */
+    public record Suggestion(String text, Kind kind, UUID doctorId) {
+    }
+
+    private DoctorSuggestIndex(String[] entryText, UUID[] entryDoctorId, int[] entryTermStart, int[] entryTerms,
+                               char[] pool, int[] termStart, int[] postingStart, int[] postings,
+                               long[] grams, int[] gramStart, int[] gramTerms) {
+        this.entryText = entryText;
+        this.entryDoctorId = entryDoctorId;
+        this.entryTermStart = entryTermStart;
+        this.entryTerms = entryTerms;
+        this.pool = pool;
+        this.termStart = termStart;
+        this.postingStart = postingStart;
+        this.postings = postings;
+        this.grams = grams;
+        this.gramStart = gramStart;
+        this.gramTerms = gramTerms;
+    }
+
+    public static DoctorSuggestIndex empty() {
+        return EMPTY;
+    }
+
+    public static DoctorSuggestIndex build(Collection<DoctorSearchIndex.Document> doctors) {
+        // Specializations ranked by number of doctors, displayed with their most common spelling
+        Map<String, Integer> specializationCounts = new HashMap<>();
+        Map<String, String> specializationText = new HashMap<>();
+        for (DoctorSearchIndex.Document doctor : doctors) {
+            String key = DoctorSearchIndex.normalize(doctor.specialization());
+            if (!key.isEmpty()) {
+                specializationCounts.merge(key, 1, Integer::sum);
+                specializationText.putIfAbsent(key, doctor.specialization().trim());
+            }
+        }
+        List<String> specializations = new ArrayList<>(specializationCounts.keySet());
+        specializations.sort(Comparator.comparing((String key) -> -specializationCounts.get(key))
+                .thenComparing(Comparator.naturalOrder()));
+
+        List<DoctorSearchIndex.Document> rankedDoctors = new ArrayList<>(doctors);
+        rankedDoctors.sort(Comparator.comparing((DoctorSearchIndex.Document d) -> DoctorSearchIndex.normalize(d.lastName()))
+                .thenComparing(d -> DoctorSearchIndex.normalize(d.firstName()))
+                .thenComparing(DoctorSearchIndex.Document::id));
+
+        int entryCount = specializations.size() + rankedDoctors.size();
+        String[] entryText = new String[entryCount];
+        UUID[] entryDoctorId = new UUID[entryCount];
+        List<List<String>> entryTokens = new ArrayList<>(entryCount);
+        int entry = 0;
+        for (String key : specializations) {
+            entryText[entry++] = specializationText.get(key);
+            entryTokens.add(DoctorSearchIndex.tokens(key));
+        }
+        for (DoctorSearchIndex.Document doctor : rankedDoctors) {
+            entryText[entry] = "Dr. " + doctor.firstName() + " " + doctor.lastName();
+            entryDoctorId[entry++] = doctor.id();
+            List<String> tokens = new ArrayList<>(DoctorSearchIndex.tokens(doctor.firstName()));
+            tokens.addAll(DoctorSearchIndex.tokens(doctor.lastName()));
+            tokens.addAll(DoctorSearchIndex.tokens(doctor.specialization())); // "smith cardio" narrows by field
+            entryTokens.add(tokens);
+        }
+
+        // Sorted distinct terms in one pool
+        TreeSet<String> distinct = new TreeSet<>();
+        entryTokens.forEach(distinct::addAll);
+        String[] terms = distinct.toArray(new String[0]);
+        Map<String, Integer> termIds = new HashMap<>(terms.length * 2);
+        int[] termStart = new int[terms.length + 1];
+        StringBuilder poolBuilder = new StringBuilder();
+        for (int t = 0; t < terms.length; t++) {
+            termIds.put(terms[t], t);
+            termStart[t] = poolBuilder.length();
+            poolBuilder.append(terms[t]);
+        }
+        termStart[terms.length] = poolBuilder.length();
+        char[] pool = poolBuilder.toString().toCharArray();
+
+        // Entry → terms, and term → entries (counting pass, then fill; entries visited in rank order stay ascending)
+        int[] entryTermStart = new int[entryCount + 1];
+        int[][] entryTermIds = new int[entryCount][];
+        int[] postingCounts = new int[terms.length];
+        for (int e = 0; e < entryCount; e++) {
+            int[] ids = entryTokens.get(e).stream().mapToInt(termIds::get).distinct().toArray();
+            entryTermIds[e] = ids;
+            entryTermStart[e + 1] = entryTermStart[e] + ids.length;
+            for (int id : ids) {
+                postingCounts[id]++;
+            }
+        }
+        int[] entryTerms = new int[entryTermStart[entryCount]];
+        int[] postingStart = new int[terms.length + 1];
+        for (int t = 0; t < terms.length; t++) {
+            postingStart[t + 1] = postingStart[t] + postingCounts[t];
+        }
+        int[] postings = new int[postingStart[terms.length]];
+        int[] postingFill = Arrays.copyOf(postingStart, terms.length);
+        for (int e = 0; e < entryCount; e++) {
+            System.arraycopy(entryTermIds[e], 0, entryTerms, entryTermStart[e], entryTermIds[e].length);
+            for (int id : entryTermIds[e]) {
+                postings[postingFill[id]++] = e;
+            }
+        }
+
+        // Trigram → terms
+        TreeMap<Long, List<Integer>> gramMap = new TreeMap<>();
+        for (int t = 0; t < terms.length; t++) {
+            for (long gram : trigrams(terms[t])) {
+                gramMap.computeIfAbsent(gram, g -> new ArrayList<>()).add(t);
+            }
+        }
+        long[] grams = new long[gramMap.size()];
+        int[] gramStart = new int[gramMap.size() + 1];
+        int[] gramTerms = new int[gramMap.values().stream().mapToInt(List::size).sum()];
+        int g = 0;
+        for (Map.Entry<Long, List<Integer>> gramEntry : gramMap.entrySet()) {
+            grams[g] = gramEntry.getKey();
+            gramStart[g + 1] = gramStart[g] + gramEntry.getValue().size();
+            int fill = gramStart[g];
+            for (int term : gramEntry.getValue()) {
+                gramTerms[fill++] = term;
+            }
+            g++;
+        }
+
+        return new DoctorSuggestIndex(entryText, entryDoctorId, entryTermStart, entryTerms,
+                pool, termStart, postingStart, postings, grams, gramStart, gramTerms);
+    }
+
+    public int entryCount() {
+        return entryText.length;
+    }
+
+    public int termCount() {
+        return termStart.length - 1;
+    }
+
+    /**
+     * Ranked suggestions for what the user has typed so far. Every token must match a term of the entry, as a
+     * prefix or, when no term starts with it, within 1 edit (2 for tokens of 8+ chars). Ranked by match quality
+     * (exact > prefix > fuzzy), then static rank.
+     */
+    public List<Suggestion> suggest(String text, int limit) {
+        List<String> tokens = DoctorSearchIndex.tokens(text);
+        if (tokens.isEmpty() || entryText.length == 0) {
+            return List.of();
+        }
+        limit = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        int count = tokens.size();
+        char[][] typed = new char[count][];
+        int[][] matchedTerms = new int[count][]; // Term ids per token, or null when the token matched a prefix range
+        int[] rangeFrom = new int[count];
+        int[] rangeTo = new int[count];
+        long[] work = new long[count]; // Postings behind each token; the cheapest drives multi-token queries
+
+        for (int i = 0; i < count; i++) {
+            typed[i] = tokens.get(i).toCharArray();
+            rangeFrom[i] = lowerBound(typed[i]);
+            rangeTo[i] = prefixEnd(typed[i], rangeFrom[i]);
+            if (rangeFrom[i] < rangeTo[i]) {
+                work[i] = postingStart[rangeTo[i]] - postingStart[rangeFrom[i]];
+            } else {
+                matchedTerms[i] = fuzzyTerms(typed[i]);
+                if (matchedTerms[i].length == 0) {
+                    return List.of();
+                }
+                for (int term : matchedTerms[i]) {
+                    work[i] += postingStart[term + 1] - postingStart[term];
+                }
+            }
+        }
+
+        TopK top = new TopK(limit);
+        if (count == 1) {
+            // Every posting of a term has the same score, and postings ascend in rank, so each term is read only
+            // until TopK rejects one of its entries
+            int[] terms = matchedTerms[0];
+            int termCount = terms != null ? terms.length : rangeTo[0] - rangeFrom[0];
+            for (int k = 0; k < termCount; k++) {
+                int term = terms != null ? terms[k] : rangeFrom[0] + k;
+                int score = terms != null ? FUZZY : termLength(term) == typed[0].length ? EXACT : PREFIX;
+                int p = postingStart[term];
+                while (p < postingStart[term + 1] && top.offer(postings[p], score)) {
+                    p++;
+                }
+            }
+        } else {
+            int driver = 0;
+            for (int i = 1; i < count; i++) {
+                if (work[i] < work[driver]) {
+                    driver = i;
+                }
+            }
+
+            // Best score any entry could reach; postings ascend in rank, so once TopK is full of entries at this
+            // score every later posting of the term loses the tie-break
+            int bound = 0;
+            for (int i = 0; i < count; i++) {
+                bound += matchedTerms[i] != null ? FUZZY
+                        : termLength(rangeFrom[i]) == typed[i].length ? EXACT : PREFIX;
+            }
+
+            long[] seen = new long[(entryText.length + 63) >>> 6];
+            int scanned = 0;
+            int[] driverTerms = matchedTerms[driver];
+            int driverCount = driverTerms != null ? driverTerms.length : rangeTo[driver] - rangeFrom[driver];
+            for (int k = 0; k < driverCount && scanned < MAX_CANDIDATES; k++) {
+                int term = driverTerms != null ? driverTerms[k] : rangeFrom[driver] + k;
+                for (int p = postingStart[term]; p < postingStart[term + 1] && scanned < MAX_CANDIDATES; p++) {
+                    int e = postings[p];
+                    if (!top.mayAccept(e, bound)) {
+                        break;
+                    }
+                    if ((seen[e >>> 6] & (1L << e)) != 0) {
+                        continue;
+                    }
+                    seen[e >>> 6] |= 1L << e;
+                    scanned++;
+                    int score = score(e, typed, matchedTerms, rangeFrom, rangeTo);
+                    if (score > 0) {
+                        top.offer(e, score);
+                    }
+                }
+            }
+        }
+
+        List<Suggestion> suggestions = new ArrayList<>(top.size);
+        for (int e : top.sorted()) {
+            suggestions.add(new Suggestion(entryText[e],
+                    entryDoctorId[e] != null ? Kind.DOCTOR : Kind.SPECIALIZATION, entryDoctorId[e]));
+        }
+        return suggestions;
+    }
+
+    /**
+     * Sum over tokens of the best match quality among the entry's terms; 0 if any token is unmatched.
+     * Terms are sorted, so "starts with the token" is the id range [rangeFrom, rangeTo) and only rangeFrom can be exact.
+     */
+    private int score(int entry, char[][] typed, int[][] matchedTerms, int[] rangeFrom, int[] rangeTo) {
+        int total = 0;
+        for (int i = 0; i < typed.length; i++) {
+            int best = 0;
+            for (int k = entryTermStart[entry]; k < entryTermStart[entry + 1] && best < EXACT; k++) {
+                int term = entryTerms[k];
+                if (matchedTerms[i] == null) {
+                    if (term >= rangeFrom[i] && term < rangeTo[i]) {
+                        best = Math.max(best,
+                                term == rangeFrom[i] && termLength(term) == typed[i].length ? EXACT : PREFIX);
+                    }
+                } else if (contains(matchedTerms[i], term)) {
+                    best = FUZZY;
+                }
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private int termLength(int term) {
+        return termStart[term + 1] - termStart[term];
+    }
+
+    private int prefixQuality(int term, char[] token) {
+        int start = termStart[term];
+        int length = termStart[term + 1] - start;
+        if (length < token.length) {
+            return 0;
+        }
+        for (int i = 0; i < token.length; i++) {
+            if (pool[start + i] != token[i]) {
+                return 0;
+            }
+        }
+        return length == token.length ? EXACT : PREFIX;
+    }
+
+    /**
+     * Terms sharing enough trigrams with the token and within the edit budget of some prefix of the term.
+     * Returned sorted, so membership is a binary search.
+     */
+    private int[] fuzzyTerms(char[] token) {
+        if (token.length < MIN_FUZZY_LENGTH) {
+            return new int[0];
+        }
+        int maxEdits = token.length >= 8 ? 2 : 1;
+        long[] tokenGrams = trigrams(new String(token));
+        int required = Math.max(1, tokenGrams.length - 3 * maxEdits); // One edit destroys at most three trigrams
+
+        int[] counts = COUNTS.get();
+        if (counts.length < termCount()) {
+            counts = new int[termCount()];
+            COUNTS.set(counts);
+        }
+        int[] touched = new int[16];
+        int touchedCount = 0;
+        for (long gram : tokenGrams) {
+            int g = Arrays.binarySearch(grams, gram);
+            if (g < 0) {
+                continue;
+            }
+            for (int i = gramStart[g]; i < gramStart[g + 1]; i++) {
+                int term = gramTerms[i];
+                if (counts[term]++ == 0) {
+                    if (touchedCount == touched.length) {
+                        touched = Arrays.copyOf(touched, touchedCount * 2);
+                    }
+                    touched[touchedCount++] = term;
+                }
+            }
+        }
+
+        int[] result = new int[touchedCount];
+        int n = 0;
+        for (int i = 0; i < touchedCount; i++) {
+            int term = touched[i];
+            if (counts[term] >= required && prefixEditDistance(token, term, maxEdits) <= maxEdits) {
+                result[n++] = term;
+            }
+            counts[term] = 0; // Leave the scratch array zeroed for the next query on this thread
+        }
+        result = Arrays.copyOf(result, n);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Smallest Levenshtein distance between the token and any prefix of the term, computed up to maxEdits + 1.
+     */
+    private int prefixEditDistance(char[] token, int term, int maxEdits) {
+        int start = termStart[term];
+        int length = Math.min(termStart[term + 1] - start, token.length + maxEdits);
+        int[] previous = new int[token.length + 1];
+        int[] current = new int[token.length + 1];
+        for (int i = 0; i <= token.length; i++) {
+            previous[i] = i;
+        }
+        int best = previous[token.length];
+        for (int j = 1; j <= length; j++) {
+            current[0] = j;
+            int rowMin = current[0];
+            char c = pool[start + j - 1];
+            for (int i = 1; i <= token.length; i++) {
+                int substitution = previous[i - 1] + (token[i - 1] == c ? 0 : 1);
+                current[i] = Math.min(substitution, Math.min(previous[i], current[i - 1]) + 1);
+                rowMin = Math.min(rowMin, current[i]);
+            }
+            best = Math.min(best, current[token.length]);
+            if (rowMin > maxEdits) {
+                break; // Every later cell is at least this large
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return best;
+    }
+
+    /**
+     * First term ≥ token.
+     */
+    private int lowerBound(char[] token) {
+        int low = 0;
+        int high = termCount();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareTerm(mid, token) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * End of the run of terms starting at from that begin with the token.
+     */
+    private int prefixEnd(char[] token, int from) {
+        int low = from;
+        int high = termCount();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prefixQuality(mid, token) > 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int compareTerm(int term, char[] token) {
+        int start = termStart[term];
+        int length = termStart[term + 1] - start;
+        int n = Math.min(length, token.length);
+        for (int i = 0; i < n; i++) {
+            int diff = pool[start + i] - token[i];
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return length - token.length;
+    }
+
+    private static boolean contains(int[] sorted, int value) {
+        return Arrays.binarySearch(sorted, value) >= 0;
+    }
+
+    /**
+     * Distinct trigrams of "$" + term, each packed into the low 48 bits of a long, sorted.
+     */
+    static long[] trigrams(String term) {
+        String padded = "$" + term;
+        if (padded.length() < 3) {
+            return new long[]{pack(padded.charAt(0), padded.length() > 1 ? padded.charAt(1) : '$', '$')};
+        }
+        long[] result = new long[padded.length() - 2];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = pack(padded.charAt(i), padded.charAt(i + 1), padded.charAt(i + 2));
+        }
+        return Arrays.stream(result).sorted().distinct().toArray();
+    }
+
+    private static long pack(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    /**
+     * Keeps the best `capacity` entries by score desc, then entry id (static rank) asc. Capacity is at most 20,
+     * so a sorted insert is cheaper than a heap.
+     */
+    private static final class TopK {
+
+        private final int[] entries;
+        private final int[] scores;
+        private int size;
+
+        TopK(int capacity) {
+            this.entries = new int[capacity];
+            this.scores = new int[capacity];
+        }
+
+        boolean mayAccept(int entry, int score) {
+            return size < entries.length || better(entry, score, entries[size - 1], scores[size - 1]);
+        }
+
+        /**
+         * Returns false if the entry ranks below everything kept in a full TopK.
+         */
+        boolean offer(int entry, int score) {
+            if (size == entries.length && !better(entry, score, entries[size - 1], scores[size - 1])) {
+                return false;
+            }
+            for (int i = 0; i < size; i++) {
+                if (entries[i] == entry) {
+                    if (score > scores[i]) {
+                        remove(i); // Reached again through a better-matching term
+                        break;
+                    }
+                    return true;
+                }
+            }
+            int i = size < entries.length ? size++ : size - 1;
+            while (i > 0 && better(entry, score, entries[i - 1], scores[i - 1])) {
+                entries[i] = entries[i - 1];
+                scores[i] = scores[i - 1];
+                i--;
+            }
+            entries[i] = entry;
+            scores[i] = score;
+            return true;
+        }
+
+        private void remove(int index) {
+            System.arraycopy(entries, index + 1, entries, index, size - index - 1);
+            System.arraycopy(scores, index + 1, scores, index, size - index - 1);
+            size--;
+        }
+
+        int[] sorted() {
+            return Arrays.copyOf(entries, size);
+        }
+
+        private static boolean better(int entry, int score, int otherEntry, int otherScore) {
+            return score != otherScore ? score > otherScore : entry < otherEntry;
+        }
+    }
+}
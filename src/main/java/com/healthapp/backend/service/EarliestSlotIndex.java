@@ -0,0 +1,283 @@
+package com.healthapp.backend.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of each approved doctor's next free slot, kept as one indexed binary min-heap per specialization.
+ * The earliest slot of a specialization is the root of its heap, so reading it is O(1) whatever the doctor count,
+ * and moving, adding or removing one doctor is O(log n).
+ * Slots are opaque long keys ordered by time (EarliestSlotService uses minutes since the epoch); NONE means the
+ * doctor is known but has no free slot in the horizon, and keeps them out of the heap.
+ * Not a Spring bean; EarliestSlotService owns the instance. Thread-safe: readers share a read lock, writers are
+ * exclusive.
+ * Writes carry a stamp taken before their data was read. A write older than the doctor's last applied write or removal
+ * is dropped, so a slow refresh or rebuild cannot overwrite a newer result with a stale snapshot.
+ */
+public class EarliestSlotIndex {
+
+    public static final long NONE = Long.MAX_VALUE;
+
+    public record Entry(UUID doctorId, long slot) {
+    }
+
+    /**
+     * A doctor's heap position; position is -1 while the doctor has no slot.
+     */
+    private static final class Node {
+        final UUID doctorId;
+        final String specialization;
+        long slot;
+        long stamp; // Stamp of the write that set this entry
+        int position = -1;
+
+        Node(UUID doctorId, String specialization) {
+            this.doctorId = doctorId;
+            this.specialization = specialization;
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Node> nodes = new HashMap<>();
+    private final Map<String, List<Node>> heaps = new HashMap<>();
+    private final Map<UUID, Long> removals = new HashMap<>(); // Removal stamps; a stale update must not re-add the doctor
+    private final AtomicLong clock = new AtomicLong();
+
+    /**
+     * Returns a new stamp. Take it before reading the data for a write; later stamps win.
+     */
+    public long stamp() {
+        return clock.incrementAndGet();
+    }
+
+    /**
+     * Replaces the whole index. slots may omit doctors, which are then indexed with NONE.
+     */
+    public void rebuild(Map<UUID, String> specializations, Map<UUID, Long> slots) {
+        rebuild(specializations, slots, stamp());
+    }
+
+    /**
+     * Replaces the whole index with a snapshot read after the stamp was taken. Updates and removals stamped later
+     * than the snapshot are kept instead of the snapshot's entries.
+     */
+    public void rebuild(Map<UUID, String> specializations, Map<UUID, Long> slots, long stamp) {
+        lock.writeLock().lock();
+        try {
+            List<Node> newer = new ArrayList<>();
+            nodes.values().forEach(node -> {
+                if (node.stamp > stamp) {
+                    newer.add(node);
+                }
+            });
+            Map<UUID, Long> newerRemovals = new HashMap<>();
+            removals.forEach((doctorId, removedAt) -> {
+                if (removedAt > stamp) {
+                    newerRemovals.put(doctorId, removedAt);
+                }
+            });
+
+            nodes.clear();
+            heaps.clear();
+            removals.clear();
+            specializations.forEach((doctorId, specialization) -> {
+                if (!newerRemovals.containsKey(doctorId)) {
+                    put(doctorId, specialization, slots.getOrDefault(doctorId, NONE)).stamp = stamp;
+                }
+            });
+            for (Node node : newer) {
+                put(node.doctorId, node.specialization, node.slot).stamp = node.stamp;
+            }
+            removals.putAll(newerRemovals);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the doctor or moves them to a new specialization and/or slot.
+     */
+    public void update(UUID doctorId, String specialization, long slot) {
+        update(doctorId, specialization, slot, stamp());
+    }
+
+    /**
+     * Like update(doctorId, specialization, slot), for a slot computed from data read after the stamp was taken.
+     * Returns false, leaving the index unchanged, if a newer write for the doctor has already been applied.
+     */
+    public boolean update(UUID doctorId, String specialization, long slot, long stamp) {
+        lock.writeLock().lock();
+        try {
+            Node node = nodes.get(doctorId);
+            if ((node != null && node.stamp > stamp) || removals.getOrDefault(doctorId, 0L) > stamp) {
+                return false;
+            }
+            removals.remove(doctorId);
+            put(doctorId, specialization, slot).stamp = stamp;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID doctorId) {
+        remove(doctorId, stamp());
+    }
+
+    /**
+     * Removes the doctor unless a newer update has already been applied.
+     */
+    public void remove(UUID doctorId, long stamp) {
+        lock.writeLock().lock();
+        try {
+            Node node = nodes.get(doctorId);
+            if (node != null && node.stamp > stamp) {
+                return;
+            }
+            if (node != null) {
+                nodes.remove(doctorId);
+                detach(node);
+            }
+            removals.merge(doctorId, stamp, Math::max);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Specialization the doctor is indexed under, or null if the doctor is not indexed.
+     */
+    public String specializationOf(UUID doctorId) {
+        lock.readLock().lock();
+        try {
+            Node node = nodes.get(doctorId);
+            return node != null ? node.specialization : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Doctor with the earliest slot in the specialization (case-insensitive), or null if no doctor there has one.
+     */
+    public Entry peek(String specialization) {
+        lock.readLock().lock();
+        try {
+            List<Node> heap = heaps.get(key(specialization));
+            if (heap == null || heap.isEmpty()) {
+                return null;
+            }
+            Node root = heap.get(0);
+            return new Entry(root.doctorId, root.slot);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Node put(UUID doctorId, String specialization, long slot) {
+        Node node = nodes.get(doctorId);
+        if (node != null && !node.specialization.equals(key(specialization))) {
+            detach(node);
+            node = null;
+        }
+        if (node == null) {
+            node = new Node(doctorId, key(specialization));
+            node.slot = NONE;
+            nodes.put(doctorId, node);
+        }
+
+        long previous = node.slot;
+        node.slot = slot;
+        if (slot == NONE) {
+            detach(node);
+        } else if (node.position < 0) {
+            List<Node> heap = heaps.computeIfAbsent(node.specialization, k -> new ArrayList<>());
+            node.position = heap.size();
+            heap.add(node);
+            siftUp(heap, node.position);
+        } else if (slot < previous) {
+            siftUp(heaps.get(node.specialization), node.position);
+        } else {
+            siftDown(heaps.get(node.specialization), node.position);
+        }
+        return node;
+    }
+
+    private void detach(Node node) {
+        if (node.position < 0) {
+            return;
+        }
+        List<Node> heap = heaps.get(node.specialization);
+        int position = node.position;
+        Node last = heap.remove(heap.size() - 1);
+        node.position = -1;
+        if (last != node) {
+            set(heap, position, last);
+            siftDown(heap, position);
+            siftUp(heap, last.position);
+        }
+    }
+
+    private static void siftUp(List<Node> heap, int position) {
+        Node node = heap.get(position);
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            Node above = heap.get(parent);
+            if (!before(node, above)) {
+                break;
+            }
+            set(heap, position, above);
+            position = parent;
+        }
+        set(heap, position, node);
+    }
+
+    private static void siftDown(List<Node> heap, int position) {
+        Node node = heap.get(position);
+        int size = heap.size();
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && before(heap.get(child + 1), heap.get(child))) {
+                child++;
+            }
+            if (!before(heap.get(child), node)) {
+                break;
+            }
+            set(heap, position, heap.get(child));
+            position = child;
+        }
+        set(heap, position, node);
+    }
+
+    private static void set(List<Node> heap, int position, Node node) {
+        heap.set(position, node);
+        node.position = position;
+    }
+
+    // Earlier slot first; ties broken by doctor id so the answer is stable
+    private static boolean before(Node a, Node b) {
+        return a.slot != b.slot ? a.slot < b.slot : a.doctorId.compareTo(b.doctorId) < 0;
+    }
+
+    private static String key(String specialization) {
+        return specialization.trim().toLowerCase(Locale.ROOT);
+    }
+}
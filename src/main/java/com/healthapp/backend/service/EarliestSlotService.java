@@ -0,0 +1,151 @@
+package com.healthapp.backend.service;
+
+import com.healthapp.backend.dto.BookedSlot;
+import com.healthapp.backend.dto.DoctorListItem;
+import com.healthapp.backend.dto.EarliestSlot;
+import com.healthapp.backend.entity.Availability;
+import com.healthapp.backend.entity.Doctor;
+import com.healthapp.backend.entity.DoctorChangedEvent;
+import com.healthapp.backend.entity.ScheduleChangedEvent;
+import com.healthapp.backend.entity.Unavailability;
+import com.healthapp.backend.exception.ResourceNotFoundException;
+import com.healthapp.backend.repository.AppointmentRepository;
+import com.healthapp.backend.repository.AvailabilityRepository;
+import com.healthapp.backend.repository.DoctorRepository;
+import com.healthapp.backend.repository.UnavailabilityRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Earliest free appointment per specialization, answered from EarliestSlotIndex instead of generating slots for every
+ * matching doctor. The index is built for all approved doctors at startup with four bulk reads, then a doctor's entry
+ * is recomputed after each committed booking, cancellation or availability change (ScheduleChangedEvent) and after
+ * doctor approval changes. Entries whose slot has passed are recomputed lazily when they reach the top of a heap;
+ * the periodic rebuild moves the horizon forward and picks up bulk JPQL changes.
+ * Every write is stamped before its reads start, so a refresh or rebuild that finishes after a newer one is dropped.
+ */
+@Service
+@RequiredArgsConstructor
+public class EarliestSlotService {
+
+    private static final int MAX_STALE_REFRESHES = 32; // Per query; beyond that the rest waits for the next rebuild
+
+    private final DoctorRepository doctorRepository;
+    private final AvailabilityRepository availabilityRepository;
+    private final UnavailabilityRepository unavailabilityRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final SlotAvailabilityService slotAvailabilityService;
+    private final EarliestSlotIndex index = new EarliestSlotIndex();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.appointments.earliest.rebuild-ms:3600000}",
+               initialDelayString = "${app.appointments.earliest.rebuild-ms:3600000}")
+    public void rebuild() {
+        long stamp = index.stamp(); // Before the reads: refreshes that start later win over this snapshot
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate from = now.toLocalDate();
+        LocalDate to = from.plusDays(SlotCalendar.MAX_DAYS - 1);
+
+        Map<UUID, String> specializations = doctorRepository.findApprovedCards().stream()
+                .collect(Collectors.toMap(DoctorListItem::id, DoctorListItem::specialization));
+        Map<UUID, List<Availability>> templates = availabilityRepository.findByDoctorApprovedTrue().stream()
+                .collect(Collectors.groupingBy(a -> a.getDoctor().getId()));
+        Map<UUID, List<Unavailability>> unavailability = unavailabilityRepository.findAllOverlapping(from, to).stream()
+                .collect(Collectors.groupingBy(u -> u.getDoctor().getId()));
+        Map<UUID, List<BookedSlot>> booked = appointmentRepository.findAllBookedSlots(from, to).stream()
+                .collect(Collectors.groupingBy(BookedSlot::doctorId));
+
+        Map<UUID, Long> slots = new HashMap<>();
+        templates.forEach((doctorId, template) -> {
+            if (specializations.containsKey(doctorId)) {
+                SlotCalendar.FreeSlots free = SlotCalendar.compile(template).freeSlots(from, SlotCalendar.MAX_DAYS,
+                        now.toLocalTime(), unavailability.getOrDefault(doctorId, List.of()),
+                        booked.getOrDefault(doctorId, List.of()));
+                slots.put(doctorId, slotKey(free));
+            }
+        });
+        index.rebuild(specializations, slots, stamp);
+        System.out.println("⏱️ Earliest slot index built: " + slots.size() + " of " + specializations.size()
+                + " doctors have free slots");
+    }
+
+    /**
+     * Recomputes the next free slot of a doctor whose bookings or availability changed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        String specialization = index.specializationOf(event.doctorId());
+        if (specialization != null) {
+            refresh(event.doctorId(), specialization);
+        }
+    }
+
+    /**
+     * Adds newly approved doctors, moves doctors whose specialization changed and drops unapproved or deleted ones.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        Doctor doctor = event.doctor();
+        if (event.removed() || !Boolean.TRUE.equals(doctor.getApproved())) {
+            index.remove(doctor.getId());
+        } else if (!doctor.getSpecialization().equalsIgnoreCase(index.specializationOf(doctor.getId()))) {
+            refresh(doctor.getId(), doctor.getSpecialization());
+        }
+    }
+
+    /**
+     * Earliest free slot of any approved doctor in the specialization within the slot horizon.
+     */
+    public Optional<EarliestSlot> earliest(String specialization) {
+        long now = minutes(LocalDateTime.now());
+        for (int refreshes = 0; ; refreshes++) {
+            EarliestSlotIndex.Entry top = index.peek(specialization);
+            if (top == null) {
+                return Optional.empty();
+            }
+            if (top.slot() >= now) {
+                LocalDateTime slot = LocalDateTime.ofEpochSecond(top.slot() * 60, 0, ZoneOffset.UTC);
+                return Optional.of(new EarliestSlot(top.doctorId(), slot.toLocalDate(), slot.toLocalTime()));
+            }
+            if (refreshes == MAX_STALE_REFRESHES) {
+                return Optional.empty(); // Never answer with a slot that has already started
+            }
+            refresh(top.doctorId(), specialization); // Slot has started since it was indexed
+        }
+    }
+
+    private void refresh(UUID doctorId, String specialization) {
+        long stamp = index.stamp(); // Before the read, so a concurrent refresh that read later wins
+        try {
+            SlotCalendar.FreeSlots free = slotAvailabilityService.freeSlots(doctorId, null, SlotCalendar.MAX_DAYS);
+            index.update(doctorId, specialization, slotKey(free), stamp);
+        } catch (ResourceNotFoundException e) {
+            index.remove(doctorId, stamp); // Deleted since it was indexed
+        }
+    }
+
+    private static long slotKey(SlotCalendar.FreeSlots free) {
+        int first = free.firstIndex();
+        return first < 0 ? EarliestSlotIndex.NONE
+                : minutes(LocalDateTime.of(free.dateOf(first), free.timeOf(first)));
+    }
+
+    // Wall-clock minutes, used only for ordering and converted back with the same offset
+    private static long minutes(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+}
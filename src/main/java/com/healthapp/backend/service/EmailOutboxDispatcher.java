@@ -0,0 +1,270 @@
+package com.healthapp.backend.service;
+
+import com.healthapp.backend.entity.EmailOutbox;
+import com.healthapp.backend.enums.EmailStatus;
+import com.healthapp.backend.exception.MailTransportException;
+import com.healthapp.backend.repository.EmailOutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Background dispatcher that drains the email outbox through the configured MailTransport.
+ * Messages sharing subject and body are sent as one request with one personalization (recipient + substitutions) each.
+ * Failed batches are retried with exponential backoff; messages are marked FAILED after the maximum attempts.
+ * Nothing is claimed while the transport is not configured, so a missing API key delays emails instead of losing them.
+ * A batch the provider rejects for its content (400/413) is bisected so one bad recipient cannot block the
+ * rest; the message left alone in a rejected batch is marked FAILED without retry.
+ * Each claim holds its messages for leaseMs under a fresh claim token. No send is started once less than
+ * leaseMarginMs of the lease remains, which must exceed the transport's worst-case request time, so a message never
+ * becomes due for another dispatcher while it is still being sent; outcomes are only written under the claim token.
+ */
+@Component
+public class EmailOutboxDispatcher {
+
+    static final int MAX_PERSONALIZATIONS = 1000; // SendGrid limit per mail/send request
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final MailTransport mailTransport;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.email.from:healthservicesbackend@gmail.com}")
+    private String fromEmail;
+
+    @Value("${app.email.outbox.batch-size:500}")
+    private int batchSize; // Messages claimed per poll
+
+    @Value("${app.email.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.email.outbox.backoff-ms:30000}")
+    private long backoffMs; // First retry delay, doubled per attempt
+
+    @Value("${app.email.outbox.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+
+    @Value("${app.email.outbox.lease-ms:120000}")
+    private long leaseMs; // Claimed messages are hidden from other dispatchers this long
+
+    @Value("${app.email.outbox.lease-margin-ms:30000}")
+    private long leaseMarginMs; // No send starts with less lease left than this
+
+    @Value("${app.email.outbox.sent-retention-days:7}")
+    private int sentRetentionDays;
+
+    @Value("${app.email.outbox.failed-retention-days:30}")
+    private int failedRetentionDays; // Kept longer than sent messages so lastError can be investigated
+
+    private volatile boolean unconfiguredReported; // Logs a missing API key once, not on every poll
+
+    public EmailOutboxDispatcher(EmailOutboxRepository emailOutboxRepository,
+                                 MailTransport mailTransport,
+                                 TransactionTemplate transactionTemplate) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.mailTransport = mailTransport;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Claims due messages, groups them by subject/body, and sends each group in as few requests as possible.
+     */
+    @Scheduled(fixedDelayString = "${app.email.outbox.poll-ms:5000}")
+    public void dispatch() {
+        if (!mailTransport.isConfigured()) {
+            // Nothing is claimed, so messages stay PENDING until the key is configured
+            if (!unconfiguredReported) {
+                System.err.println("❌ SENDGRID_API_KEY not configured! Outbox messages stay pending.");
+                unconfiguredReported = true;
+            }
+            return;
+        }
+        unconfiguredReported = false;
+
+        Claim claim = claimDueMessages();
+        List<EmailOutbox> messages = claim.messages();
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        Map<BatchKey, List<EmailOutbox>> groups = new LinkedHashMap<>();
+        for (EmailOutbox message : messages) {
+            groups.computeIfAbsent(new BatchKey(message.getSubject(), message.getHtmlContent()), k -> new ArrayList<>())
+                    .add(message);
+        }
+
+        for (List<EmailOutbox> group : groups.values()) {
+            for (int from = 0; from < group.size(); from += MAX_PERSONALIZATIONS) {
+                List<EmailOutbox> batch = group.subList(from, Math.min(from + MAX_PERSONALIZATIONS, group.size()));
+                sendBatch(claim, batch);
+            }
+        }
+
+        save(claim);
+    }
+
+    /**
+     * Removes sent and failed messages older than their retention periods.
+     */
+    @Scheduled(fixedDelayString = "${app.email.outbox.purge-ms:3600000}")
+    public void purgeFinished() {
+        LocalDateTime now = LocalDateTime.now();
+        emailOutboxRepository.deleteByStatusCreatedBefore(EmailStatus.SENT, now.minusDays(sentRetentionDays));
+        emailOutboxRepository.deleteByStatusCreatedBefore(EmailStatus.FAILED, now.minusDays(failedRetentionDays));
+    }
+
+    /**
+     * Locks up to batchSize due messages, pushes their due time past the lease and stamps them with a new claim
+     * token, all in one short transaction. A crashed dispatcher's messages simply become due again when the lease
+     * runs out.
+     */
+    private Claim claimDueMessages() {
+        UUID token = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseEnd = now.plus(Duration.ofMillis(leaseMs));
+        List<EmailOutbox> claimed = transactionTemplate.execute(status -> {
+            List<EmailOutbox> due = emailOutboxRepository.lockDueMessages(now, batchSize);
+            due.forEach(message -> {
+                message.setNextAttemptAt(leaseEnd);
+                message.setClaimToken(token);
+            });
+            return emailOutboxRepository.saveAll(due);
+        });
+        return new Claim(token, leaseEnd.minus(Duration.ofMillis(leaseMarginMs)),
+                claimed != null ? claimed : List.of(), new HashSet<>());
+    }
+
+    private void sendBatch(Claim claim, List<EmailOutbox> batch) {
+        if (!LocalDateTime.now().isBefore(claim.sendDeadline())) {
+            // Too little lease left to finish a request; leave the messages untouched for the next claim
+            System.err.println("⚠️ Email lease running out - releasing " + batch.size() + " unsent message(s)");
+            batch.forEach(message -> claim.released().add(message.getId()));
+            return;
+        }
+        try {
+            mailTransport.send(buildPayload(batch));
+            LocalDateTime now = LocalDateTime.now();
+            for (EmailOutbox message : batch) {
+                message.setStatus(EmailStatus.SENT);
+                message.setSentAt(now);
+                message.setAttempts(message.getAttempts() + 1);
+                message.setLastError(null);
+            }
+            System.out.println("✅ Email batch sent: " + batch.size() + " recipient(s)");
+        } catch (Exception e) {
+            if (e instanceof MailTransportException rejected && rejected.isPermanent()) {
+                handleRejected(claim, batch, rejected);
+                return;
+            }
+            System.err.println("❌ Failed to send email batch via SendGrid: " + e.getMessage());
+            LocalDateTime now = LocalDateTime.now();
+            batch.forEach(message -> scheduleRetry(message, e.getMessage(), now));
+        }
+    }
+
+    /**
+     * The provider rejected the whole request, so bisect it to isolate the offending message(s).
+     * A message rejected on its own is marked FAILED immediately; resending the same request cannot succeed.
+     */
+    private void handleRejected(Claim claim, List<EmailOutbox> batch, MailTransportException e) {
+        if (batch.size() > 1) {
+            int middle = batch.size() / 2;
+            sendBatch(claim, batch.subList(0, middle));
+            sendBatch(claim, batch.subList(middle, batch.size()));
+            return;
+        }
+
+        System.err.println("❌ Email rejected by SendGrid: " + e.getMessage());
+        EmailOutbox message = batch.get(0);
+        message.setAttempts(message.getAttempts() + 1);
+        fail(message, e.getMessage());
+    }
+
+    /**
+     * Builds a mail/send payload with one personalization per message and the shared subject/body.
+     */
+    Map<String, Object> buildPayload(List<EmailOutbox> batch) {
+        List<Map<String, Object>> personalizations = new ArrayList<>(batch.size());
+        for (EmailOutbox message : batch) {
+            Map<String, Object> personalization = new HashMap<>();
+            personalization.put("to", List.of(Map.of("email", message.getRecipient())));
+            if (message.getSubstitutions() != null && !message.getSubstitutions().isEmpty()) {
+                personalization.put("substitutions", message.getSubstitutions());
+            }
+            personalizations.add(personalization);
+        }
+
+        EmailOutbox first = batch.get(0);
+        Map<String, Object> emailData = new HashMap<>();
+        emailData.put("personalizations", personalizations);
+        emailData.put("from", Map.of("email", fromEmail));
+        emailData.put("subject", first.getSubject());
+        emailData.put("content", List.of(Map.of("type", "text/html", "value", first.getHtmlContent())));
+        return emailData;
+    }
+
+    private void scheduleRetry(EmailOutbox message, String error, LocalDateTime now) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+
+        if (attempts >= maxAttempts) {
+            fail(message, error);
+            return;
+        }
+
+        long delayMs = Math.min(maxBackoffMs, backoffMs << Math.min(attempts - 1, 20)); // Exponential backoff
+        message.setNextAttemptAt(now.plus(Duration.ofMillis(delayMs)));
+        message.setLastError(error);
+    }
+
+    private void fail(EmailOutbox message, String error) {
+        message.setStatus(EmailStatus.FAILED);
+        message.setLastError(error);
+    }
+
+    /**
+     * Writes the delivery outcomes with one bulk UPDATE per distinct outcome (a sent batch, a retried batch),
+     * since the claimed entities are detached by now and saveAll would merge - SELECT - each one first.
+     * Released messages keep their claimed state and become due again when the lease runs out.
+     */
+    private void save(Claim claim) {
+        Map<Outcome, List<UUID>> outcomes = new LinkedHashMap<>();
+        for (EmailOutbox message : claim.messages()) {
+            if (claim.released().contains(message.getId())) {
+                continue;
+            }
+            Outcome outcome = new Outcome(message.getStatus(), message.getAttempts(), message.getNextAttemptAt(),
+                    message.getLastError(), message.getSentAt());
+            outcomes.computeIfAbsent(outcome, k -> new ArrayList<>()).add(message.getId());
+        }
+
+        transactionTemplate.executeWithoutResult(status -> outcomes.forEach((outcome, ids) ->
+                emailOutboxRepository.updateOutcome(ids, claim.token(), outcome.status(), outcome.attempts(),
+                        outcome.nextAttemptAt(), outcome.lastError(), outcome.sentAt())));
+    }
+
+    /**
+     * Messages claimed by one dispatch under one claim token; sends may start until sendDeadline.
+     */
+    private record Claim(UUID token, LocalDateTime sendDeadline, List<EmailOutbox> messages,
+                         Set<UUID> released) {
+    }
+
+    private record BatchKey(String subject, String htmlContent) {
+    }
+
+    private record Outcome(EmailStatus status, int attempts, LocalDateTime nextAttemptAt, String lastError,
+                           LocalDateTime sentAt) {
+    }
+}
@@ -0,0 +1,114 @@
+package com.healthapp.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Loads every classpath:templates/email/*.html file at startup and compiles it into a CompiledTemplate.
+ * The file name (without .html) is the template name; the first line is "Subject: ..." and the rest is the HTML body.
+ * New emails only need a new template file - no code change.
+ * Subject variables get their own tags (-subject.name-) because the subject is plain text and must not be HTML-escaped.
+ */
+@Component
+public class EmailTemplateEngine {
+
+    private static final String LOCATION = "classpath*:templates/email/*.html";
+    private static final String SUBJECT_PREFIX = "Subject:";
+    static final String SUBJECT_TAG_PREFIX = "subject.";
+
+    private volatile Map<String, EmailTemplate> templates = Map.of();
+
+    /**
+     * A compiled email: subject and body templates.
+     */
+    public record EmailTemplate(String name, CompiledTemplate subject, CompiledTemplate body) {
+
+        /**
+         * Builds one recipient's SendGrid substitutions: HTML-escaped values for the body tags, raw values for the
+         * subject tags.
+         */
+        public Map<String, String> substitutions(Map<String, String> values) {
+            Map<String, String> substitutions = EmailTemplateEngine.substitutions(values);
+            for (String variable : subject.variables()) {
+                String value = values.get(variable);
+                substitutions.put(CompiledTemplate.tag(SUBJECT_TAG_PREFIX + variable), value != null ? value : "");
+            }
+            return substitutions;
+        }
+    }
+
+    @PostConstruct
+    public void loadTemplates() {
+        Map<String, EmailTemplate> loaded = new HashMap<>();
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+                String fileName = resource.getFilename();
+                if (fileName == null) {
+                    continue;
+                }
+                String name = fileName.substring(0, fileName.length() - ".html".length());
+                try (InputStream in = resource.getInputStream()) {
+                    loaded.put(name, compile(name, new String(in.readAllBytes(), StandardCharsets.UTF_8)));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load email templates", e);
+        }
+        templates = Map.copyOf(loaded);
+        System.out.println("📧 Loaded email templates: " + templates.keySet());
+    }
+
+    /**
+     * Compiles template source of the form "Subject: ...\n\n<body>".
+     */
+    public static EmailTemplate compile(String name, String source) {
+        int lineEnd = source.indexOf('\n');
+        String firstLine = lineEnd < 0 ? source : source.substring(0, lineEnd);
+        if (!firstLine.startsWith(SUBJECT_PREFIX)) {
+            throw new IllegalArgumentException("Email template '" + name + "' must start with '" + SUBJECT_PREFIX + "'");
+        }
+
+        String subject = firstLine.substring(SUBJECT_PREFIX.length()).trim();
+        String body = lineEnd < 0 ? "" : source.substring(lineEnd + 1).strip();
+        return new EmailTemplate(name, CompiledTemplate.parse(subject, SUBJECT_TAG_PREFIX), CompiledTemplate.parse(body));
+    }
+
+    /**
+     * Returns the compiled template. Throws IllegalArgumentException if no such template was loaded.
+     */
+    public EmailTemplate get(String name) {
+        EmailTemplate template = templates.get(name);
+        if (template == null) {
+            throw new IllegalArgumentException("Unknown email template: " + name);
+        }
+        return template;
+    }
+
+    public Set<String> names() {
+        return templates.keySet();
+    }
+
+    /**
+     * Builds the SendGrid substitutions for a tagged body: "-name-" → HTML-escaped value.
+     */
+    public static Map<String, String> substitutions(Map<String, String> values) {
+        Map<String, String> substitutions = new HashMap<>(values.size() * 2);
+        StringBuilder buffer = new StringBuilder();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            buffer.setLength(0);
+            CompiledTemplate.escapeHtml(entry.getValue() != null ? entry.getValue() : "", buffer);
+            substitutions.put(CompiledTemplate.tag(entry.getKey()), buffer.toString());
+        }
+        return substitutions;
+    }
+}
@@ -0,0 +1,115 @@
+package com.healthapp.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * PhotoStore on the local filesystem, laid out as {dir}/ab/cd/abcd... to keep directories small.
+ * Uploads are hashed while streaming to a temp file and then moved into place atomically.
+ */
+@Component
+@ConditionalOnProperty(name = "app.photos.store", havingValue = "filesystem", matchIfMissing = true)
+public class FileSystemPhotoStore implements PhotoStore {
+
+    private final Path baseDir;
+
+    public FileSystemPhotoStore(@Value("${app.photos.dir:./data/photos}") String baseDir) throws IOException {
+        this.baseDir = Path.of(baseDir).toAbsolutePath();
+        Files.createDirectories(this.baseDir);
+    }
+
+    @Override
+    public String put(InputStream content) throws IOException {
+        MessageDigest digest = sha256();
+        Path temp = Files.createTempFile(baseDir, "upload-", ".tmp");
+
+        try {
+            try (InputStream in = new DigestInputStream(content, digest);
+                 OutputStream out = Files.newOutputStream(temp)) {
+                in.transferTo(out);
+            }
+
+            String id = HexFormat.of().formatHex(digest.digest());
+            Path target = pathFor(id);
+            if (Files.exists(target)) {
+                Files.setLastModifiedTime(target, FileTime.from(Instant.now())); // Restarts the orphan grace period
+                return id; // Same content already stored
+            }
+
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Concurrent upload of the same content won the race - identical bytes, nothing to do
+            }
+            return id;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Optional<Resource> get(String id) {
+        if (!PhotoStore.isValidId(id)) {
+            return Optional.empty(); // Also rules out path traversal
+        }
+        Path path = pathFor(id);
+        return Files.isRegularFile(path) ? Optional.of(new FileSystemResource(path)) : Optional.empty();
+    }
+
+    @Override
+    public Stream<String> idsWrittenBefore(Instant cutoff) throws IOException {
+        return Files.find(baseDir, 3, (path, attributes) -> attributes.isRegularFile()
+                        && attributes.lastModifiedTime().toInstant().isBefore(cutoff)
+                        && PhotoStore.isValidId(path.getFileName().toString())) // Skips in-progress upload temp files
+                .map(path -> path.getFileName().toString());
+    }
+
+    @Override
+    public boolean deleteIfWrittenBefore(String id, Instant cutoff) throws IOException {
+        if (!PhotoStore.isValidId(id)) {
+            return false;
+        }
+        Path path = pathFor(id);
+        try {
+            if (!Files.getLastModifiedTime(path).toInstant().isBefore(cutoff)) {
+                return false; // Uploaded again since it was listed
+            }
+            return Files.deleteIfExists(path);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private Path pathFor(String id) {
+        return baseDir.resolve(id.substring(0, 2)).resolve(id.substring(2, 4)).resolve(id);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e); // Mandatory in every JRE
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.healthapp.backend.service;
+
+import com.healthapp.backend.exception.InvalidImageException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * Decodes uploaded images, rejects oversized ones, and re-encodes them into a bounded display size plus a square thumbnail.
+ * Dimensions are read from the image header before any pixels are decoded, so a small file declaring a huge
+ * canvas (decompression bomb) is rejected without allocating it. Large images are subsampled while decoding,
+ * so the full-resolution raster is never held in memory.
+ * Opaque images become JPEG; images with transparency stay PNG.
+ */
+@Component
+public class ImageNormalizer {
+
+    static {
+        ImageIO.setUseCache(false); // Buffer upload streams in memory (already size-bounded) instead of temp files
+    }
+
+    private final int maxInputDimension; // Largest width/height accepted from the client
+    private final long maxInputPixels; // Largest width * height accepted from the client
+    private final int maxDimension; // Longest side of the stored image
+    private final int thumbnailSize; // Width and height of the square thumbnail
+    private final float jpegQuality;
+
+    public ImageNormalizer(@Value("${app.photos.max-input-dimension:6000}") int maxInputDimension,
+                           @Value("${app.photos.max-input-pixels:16777216}") long maxInputPixels,
+                           @Value("${app.photos.max-dimension:1024}") int maxDimension,
+                           @Value("${app.photos.thumbnail-size:128}") int thumbnailSize,
+                           @Value("${app.photos.jpeg-quality:0.85}") float jpegQuality) {
+        this.maxInputDimension = maxInputDimension;
+        this.maxInputPixels = maxInputPixels;
+        this.maxDimension = maxDimension;
+        this.thumbnailSize = thumbnailSize;
+        this.jpegQuality = jpegQuality;
+    }
+
+    /**
+     * Re-encoded image and thumbnail bytes in the given format ("jpeg" or "png").
+     */
+    public record NormalizedImage(byte[] image, byte[] thumbnail, String format) {
+    }
+
+    /**
+     * Decodes the stream and produces the normalized image and thumbnail.
+     * Throws InvalidImageException for unreadable, unsupported or oversized images.
+     */
+    public NormalizedImage normalize(InputStream in) {
+        BufferedImage source = decode(in);
+        boolean alpha = source.getColorModel().hasAlpha();
+        String format = alpha ? "png" : "jpeg";
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        try {
+            byte[] image = encode(fitWithin(source, maxDimension, type), format);
+            byte[] thumbnail = encode(squareThumbnail(source, thumbnailSize, type), format);
+            return new NormalizedImage(image, thumbnail, format);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not encode image", e);
+        }
+    }
+
+    private BufferedImage decode(InputStream in) {
+        try (ImageInputStream imageInput = ImageIO.createImageInputStream(in)) {
+            if (imageInput == null) {
+                throw new InvalidImageException("Unreadable image");
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInput);
+            if (!readers.hasNext()) {
+                throw new InvalidImageException("Unsupported image format");
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInput, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if (width > maxInputDimension || height > maxInputDimension) {
+                    throw new InvalidImageException("Image is " + width + "x" + height
+                            + "; maximum is " + maxInputDimension + "x" + maxInputDimension);
+                }
+                if ((long) width * height > maxInputPixels) {
+                    throw new InvalidImageException("Image is " + width + "x" + height
+                            + "; maximum is " + maxInputPixels + " pixels");
+                }
+
+                int step = subsampling(width, height, maxDimension, thumbnailSize);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new InvalidImageException("Invalid image: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Largest decode step that still leaves at least twice the stored size on the longest side and twice the
+     * thumbnail size on the shortest - subsampling just drops pixels, so the halving resize keeps doing the filtering.
+     */
+    static int subsampling(int width, int height, int maxSide, int thumbnailSide) {
+        int step = Math.min(Math.max(width, height) / (2 * maxSide), Math.min(width, height) / (2 * thumbnailSide));
+        return Math.max(1, step);
+    }
+
+    /**
+     * Scales the image down (never up) so its longest side is at most maxSide.
+     */
+    static BufferedImage fitWithin(BufferedImage source, int maxSide, int type) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxSide / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+        return resize(source, 0, 0, width, height, targetWidth, targetHeight, type);
+    }
+
+    /**
+     * Center-crops the image to a square and scales it to size x size.
+     */
+    static BufferedImage squareThumbnail(BufferedImage source, int size, int type) {
+        int side = Math.min(source.getWidth(), source.getHeight());
+        int x = (source.getWidth() - side) / 2;
+        int y = (source.getHeight() - side) / 2;
+        return resize(source, x, y, side, side, size, size, type);
+    }
+
+    /**
+     * Scales the source region to the target size, halving in steps for large reductions -
+     * a single bilinear pass from several thousand pixels down to a thumbnail aliases badly.
+     */
+    private static BufferedImage resize(BufferedImage source, int x, int y, int width, int height,
+                                        int targetWidth, int targetHeight, int type) {
+        BufferedImage current = source;
+        int currentWidth = width;
+        int currentHeight = height;
+
+        do {
+            int nextWidth = Math.max(targetWidth, currentWidth / 2);
+            int nextHeight = Math.max(targetHeight, currentHeight / 2);
+
+            BufferedImage next = new BufferedImage(nextWidth, nextHeight, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, nextWidth, nextHeight, x, y, x + currentWidth, y + currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+
+            current = next;
+            currentWidth = nextWidth;
+            currentHeight = nextHeight;
+            x = 0;
+            y = 0;
+        } while (currentWidth != targetWidth || currentHeight != targetHeight);
+
+        return current;
+    }
+
+    private byte[] encode(BufferedImage image, String format) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+        try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(imageOutput);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if ("jpeg".equals(format)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(jpegQuality);
+            }
+            writer.write(null, new IIOImage(image, null, null), param); // No metadata - drops EXIF (GPS, camera serials)
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,40 @@
+package com.healthapp.backend.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Fake transport that records payloads in memory instead of calling the provider.
+ * Enabled with app.email.transport=memory for tests, local development, and benchmarks.
+ */
+@Component
+@ConditionalOnProperty(name = "app.email.transport", havingValue = "memory")
+public class InMemoryMailTransport implements MailTransport {
+
+    private final List<Map<String, Object>> sent = new CopyOnWriteArrayList<>();
+
+    @Override
+    public boolean isConfigured() {
+        return true;
+    }
+
+    @Override
+    public void send(Map<String, Object> payload) {
+        sent.add(payload);
+    }
+
+    /**
+     * Payloads sent so far, oldest first.
+     */
+    public List<Map<String, Object>> getSent() {
+        return List.copyOf(sent);
+    }
+
+    public void clear() {
+        sent.clear();
+    }
+}
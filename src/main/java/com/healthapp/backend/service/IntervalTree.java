@@ -0,0 +1,110 @@
+package com.healthapp.backend.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Immutable interval tree over half-open [start, end) long ranges, for overlap queries on a doctor's schedule.
+ * Intervals are sorted by start into arrays that form an implicit balanced binary search tree (the middle of each
+ * range is its root), and every node stores the largest end in its subtree. A query skips subtrees that end before
+ * it and everything that starts after it, so it costs O(log n + k) for disjoint intervals such as one doctor's
+ * appointments, and O(min(n, k log n)) in general. Built in O(n log n); safe to share between threads.
+ */
+public final class IntervalTree<T> {
+
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds; // Largest end in the subtree rooted at each index
+    private final Object[] values;
+
+    /**
+     * Builds the tree from values and their [start, end) bounds; values with end <= start are left out.
+     */
+    public IntervalTree(List<T> items, ToLongFunction<T> start, ToLongFunction<T> end) {
+        List<T> sorted = new ArrayList<>(items.size());
+        for (T item : items) {
+            if (end.applyAsLong(item) > start.applyAsLong(item)) {
+                sorted.add(item);
+            }
+        }
+        sorted.sort(Comparator.comparingLong(start));
+
+        int size = sorted.size();
+        starts = new long[size];
+        ends = new long[size];
+        maxEnds = new long[size];
+        values = sorted.toArray();
+        for (int i = 0; i < size; i++) {
+            starts[i] = start.applyAsLong(sorted.get(i));
+            ends[i] = end.applyAsLong(sorted.get(i));
+        }
+        augment(0, size);
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Earliest start, or Long.MAX_VALUE when empty.
+     */
+    public long minStart() {
+        return values.length == 0 ? Long.MAX_VALUE : starts[0];
+    }
+
+    /**
+     * Latest end, or Long.MIN_VALUE when empty.
+     */
+    public long maxEnd() {
+        return values.length == 0 ? Long.MIN_VALUE : maxEnds[values.length >>> 1]; // Root of the implicit tree
+    }
+
+    /**
+     * Values overlapping [from, to), in start order.
+     */
+    public List<T> overlapping(long from, long to) {
+        List<T> result = new ArrayList<>();
+        forEachOverlapping(from, to, result::add);
+        return result;
+    }
+
+    /**
+     * Calls the consumer for every value overlapping [from, to), in start order.
+     */
+    public void forEachOverlapping(long from, long to, Consumer<? super T> consumer) {
+        if (from < to) {
+            visit(0, values.length, from, to, consumer);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void visit(int lo, int hi, long from, long to, Consumer<? super T> consumer) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (maxEnds[mid] <= from) {
+                return; // Whole subtree ends before the query
+            }
+            visit(lo, mid, from, to, consumer);
+            if (starts[mid] >= to) {
+                return; // This node and its right subtree start after the query
+            }
+            if (ends[mid] > from) {
+                consumer.accept((T) values[mid]);
+            }
+            lo = mid + 1; // Right subtree, iteratively
+        }
+    }
+
+    private long augment(int lo, int hi) {
+        if (lo >= hi) {
+            return Long.MIN_VALUE;
+        }
+        int mid = (lo + hi) >>> 1;
+        long max = Math.max(ends[mid], Math.max(augment(lo, mid), augment(mid + 1, hi)));
+        maxEnds[mid] = max;
+        return max;
+    }
+}
@@ -0,0 +1,113 @@
+package com.healthapp.backend.service;
+
+import com.healthapp.backend.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Opaque continuation token for keyset pagination: the sort key values of the last row of a page, prefixed with
+ * a listing type, each written as "length:value" and base64url-encoded. The length prefix means no character in a
+ * value (a control character in a name, say) can act as a delimiter. Clients only pass it back; the next page seeks
+ * past those values instead of using OFFSET, so every page costs the same however deep it is.
+ */
+public final class KeysetCursor {
+
+    private static final char LENGTH_END = ':';
+
+    private final String[] values;
+
+    private KeysetCursor(String[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Encodes a cursor of the given type; null values are not allowed.
+     */
+    public static String encode(String type, Object... values) {
+        StringBuilder builder = new StringBuilder();
+        appendField(builder, type);
+        for (Object value : values) {
+            appendField(builder, String.valueOf(value));
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor and checks its type and field count. Throws InvalidCursorException for anything else.
+     */
+    public static KeysetCursor decode(String cursor, String type, int fields) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+        String[] parts = new String[fields + 1];
+        int position = 0;
+        for (int i = 0; i < parts.length; i++) {
+            int lengthEnd = decoded.indexOf(LENGTH_END, position);
+            if (lengthEnd <= position) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+            int length = parseLength(decoded, position, lengthEnd);
+            if (length > decoded.length() - lengthEnd - 1) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+            position = lengthEnd + 1 + length;
+            parts[i] = decoded.substring(lengthEnd + 1, position);
+        }
+        if (position != decoded.length() || !parts[0].equals(type)) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+        String[] values = new String[fields];
+        System.arraycopy(parts, 1, values, 0, fields);
+        return new KeysetCursor(values);
+    }
+
+    public String string(int index) {
+        return values[index];
+    }
+
+    public UUID uuid(int index) {
+        return parse(index, UUID::fromString);
+    }
+
+    public LocalDate date(int index) {
+        return parse(index, LocalDate::parse);
+    }
+
+    public LocalTime time(int index) {
+        return parse(index, LocalTime::parse);
+    }
+
+    private static void appendField(StringBuilder builder, String value) {
+        builder.append(value.length()).append(LENGTH_END).append(value);
+    }
+
+    // Digits only: parseInt would also accept a sign
+    private static int parseLength(String decoded, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (decoded.charAt(i) < '0' || decoded.charAt(i) > '9') {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+        }
+        try {
+            return Integer.parseInt(decoded, from, to, 10);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+
+    private <T> T parse(int index, Function<String, T> parser) {
+        try {
+            return parser.apply(values[index]);
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+}
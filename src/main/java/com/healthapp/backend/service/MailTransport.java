@@ -0,0 +1,21 @@
+package com.healthapp.backend.service;
+
+import java.util.Map;
+
+/**
+ * Transport for SendGrid-style mail/send payloads used by EmailOutboxDispatcher.
+ * Selected with app.email.transport: "sendgrid" (pooled HTTP client, default) or "memory" (tests and benchmarks).
+ */
+public interface MailTransport {
+
+    /**
+     * Returns false if the transport cannot send (e.g. no API key), so queued messages are marked failed.
+     */
+    boolean isConfigured();
+
+    /**
+     * Sends one payload. Throws MailTransportException if the provider rejects it or cannot be reached;
+     * isPermanent() tells a rejected request apart from a transient failure.
+     */
+    void send(Map<String, Object> payload);
+}
@@ -0,0 +1,44 @@
+package com.healthapp.backend.service;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed blob store for profile photos.
+ * A photo's ID is the hex SHA-256 of its bytes, so identical uploads are stored once and stored bytes never change.
+ * Unreferenced photos are garbage-collected by DataReaper; re-uploading a photo refreshes its write time.
+ */
+public interface PhotoStore {
+
+    /**
+     * Streams the content into the store and returns its ID. The stream is read once and not buffered in memory.
+     */
+    String put(InputStream content) throws IOException;
+
+    /**
+     * Returns the stored photo, or empty if the ID is unknown or malformed.
+     */
+    Optional<Resource> get(String id);
+
+    /**
+     * Lazily lists the IDs of photos last written before the cutoff. The caller must close the stream.
+     */
+    Stream<String> idsWrittenBefore(Instant cutoff) throws IOException;
+
+    /**
+     * Deletes the photo unless it was (re-)written at or after the cutoff. Returns true if it was deleted.
+     */
+    boolean deleteIfWrittenBefore(String id, Instant cutoff) throws IOException;
+
+    /**
+     * Returns true if the ID is a well-formed content hash (64 lowercase hex characters).
+     */
+    static boolean isValidId(String id) {
+        return id != null && id.matches("[0-9a-f]{64}");
+    }
+}
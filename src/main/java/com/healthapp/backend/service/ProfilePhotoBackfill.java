@@ -0,0 +1,125 @@
+package com.healthapp.backend.service;
+
+import com.healthapp.backend.exception.InvalidImageException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One-time move of profile photos from the legacy profile_photo_base64 columns into the PhotoStore.
+ * Databases from before the photo store still keep images as base64 text that nothing reads; after startup each such
+ * row is normalized like a new upload, gets profile_photo_id / profile_thumbnail_id, and has its base64 cleared.
+ * It runs on the async executor so a large legacy table does not hold back readiness, and a row that fails (busy
+ * processing pool, store I/O, database error) is reported and left for the next start instead of stopping the rest.
+ * Rows are walked by id in small batches, and each update only applies while the base64 is still set, so instances
+ * starting together may duplicate work but never conflict (the store is content-addressed). Profiles that already
+ * have a store photo keep it. Images that cannot be decoded are left in place and reported.
+ * Does nothing when the legacy column does not exist.
+ */
+@Component
+public class ProfilePhotoBackfill {
+
+    private static final List<String> TABLES = List.of("patients", "doctors");
+    private static final UUID FIRST_ID = new UUID(0L, 0L); // Sorts before every UUID in PostgreSQL
+
+    private record LegacyPhoto(UUID id, String base64, boolean hasStorePhoto) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProfilePhotoService profilePhotoService;
+    private final int batchSize;
+
+    public ProfilePhotoBackfill(JdbcTemplate jdbcTemplate,
+                                ProfilePhotoService profilePhotoService,
+                                @Value("${app.photos.backfill.batch-size:50}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.profilePhotoService = profilePhotoService;
+        this.batchSize = batchSize;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        for (String table : TABLES) {
+            try {
+                if (hasLegacyColumn(table)) {
+                    backfill(table);
+                }
+            } catch (RuntimeException e) {
+                System.err.println("❌ Legacy profile photo backfill of " + table + " stopped: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Moves one table's legacy photos; returns the number of profiles that got a store photo.
+     */
+    int backfill(String table) {
+        int moved = 0;
+        int skipped = 0;
+        int failed = 0;
+        UUID afterId = FIRST_ID;
+        while (true) {
+            List<LegacyPhoto> batch = jdbcTemplate.query(
+                    "SELECT id, profile_photo_base64, profile_photo_id IS NOT NULL FROM " + table +
+                    " WHERE profile_photo_base64 IS NOT NULL AND id > ? ORDER BY id LIMIT ?",
+                    (rs, rowNum) -> new LegacyPhoto(rs.getObject(1, UUID.class), rs.getString(2), rs.getBoolean(3)),
+                    afterId, batchSize);
+
+            for (LegacyPhoto photo : batch) {
+                try {
+                    moved += move(table, photo);
+                } catch (InvalidImageException e) {
+                    skipped++;
+                } catch (RuntimeException e) {
+                    failed++; // Left in place; the next start retries it
+                    System.err.println("❌ Could not move legacy profile photo of " + table + " " + photo.id()
+                            + ": " + e.getMessage());
+                }
+            }
+
+            if (batch.size() < batchSize) {
+                break;
+            }
+            afterId = batch.get(batch.size() - 1).id();
+        }
+        if (moved > 0 || skipped > 0 || failed > 0) {
+            System.out.println("🖼️ Moved " + moved + " legacy profile photos of " + table + " to the photo store"
+                    + (skipped > 0 ? ", " + skipped + " unreadable ones left in place" : "")
+                    + (failed > 0 ? ", " + failed + " failed and will be retried on the next start" : ""));
+        }
+        return moved;
+    }
+
+    /**
+     * Moves one row's photo; returns 1 if the profile got a store photo.
+     */
+    private int move(String table, LegacyPhoto photo) {
+        if (photo.hasStorePhoto() || photo.base64().isBlank()) {
+            clearLegacy(table, photo.id()); // Superseded by a newer upload, or nothing to move
+            return 0;
+        }
+        ProfilePhotoService.StoredPhoto stored = profilePhotoService.storeBase64(photo.base64());
+        return jdbcTemplate.update("UPDATE " + table + " SET profile_photo_id = ?, " +
+                        "profile_thumbnail_id = ?, profile_photo_base64 = NULL " +
+                        "WHERE id = ? AND profile_photo_base64 IS NOT NULL AND profile_photo_id IS NULL",
+                stored.photoId(), stored.thumbnailId(), photo.id());
+    }
+
+    private void clearLegacy(String table, UUID id) {
+        jdbcTemplate.update("UPDATE " + table + " SET profile_photo_base64 = NULL WHERE id = ?", id);
+    }
+
+    private boolean hasLegacyColumn(String table) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM information_schema.columns WHERE table_schema = current_schema() " +
+                "AND table_name = ? AND column_name = 'profile_photo_base64'", Integer.class, table);
+        return count != null && count > 0;
+    }
+}
@@ -0,0 +1,199 @@
+package com.healthapp.backend.service;
+
+import com.healthapp.backend.exception.InvalidImageException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Stores profile photos submitted as base64 and serves them back by content hash.
+ * Uploads are decoded, size-checked and re-encoded by ImageNormalizer into a bounded display image plus a square
+ * thumbnail for list views. That work runs on a small bounded pool, so a burst of large uploads is rejected with
+ * a 503 instead of tying up request threads and heap.
+ */
+@Service
+public class ProfilePhotoService {
+
+    private final PhotoStore photoStore;
+    private final ImageNormalizer imageNormalizer;
+    private final BoundedWorkerPool workerPool;
+
+    @Value("${app.photos.max-bytes:5242880}")
+    private long maxBytes; // Largest decoded upload accepted (default 5 MB)
+
+    public ProfilePhotoService(PhotoStore photoStore,
+                               ImageNormalizer imageNormalizer,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.photos.processing.threads:2}") int threads,
+                               @Value("${app.photos.processing.queue-capacity:16}") int queueCapacity,
+                               @Value("${app.photos.processing.wait-timeout-ms:15000}") long waitTimeoutMs) {
+        this.photoStore = photoStore;
+        this.imageNormalizer = imageNormalizer;
+        this.workerPool = new BoundedWorkerPool("photo-processing", threads, queueCapacity, waitTimeoutMs,
+                meterRegistry, "photo.processing.executor", "photo.processing");
+    }
+
+    /**
+     * IDs of a stored profile photo and its thumbnail.
+     */
+    public record StoredPhoto(String photoId, String thumbnailId) {
+    }
+
+    /**
+     * A stored photo with its sniffed content type.
+     */
+    public record Photo(String id, Resource resource, MediaType contentType) {
+    }
+
+    /**
+     * Normalizes a base64 image (optionally a data: URI) and stores it with its thumbnail; null/blank input returns null.
+     * Throws InvalidImageException for invalid or oversized images and ServiceBusyException when the pool is saturated.
+     */
+    public StoredPhoto storeBase64(String base64) {
+        if (base64 == null || base64.isBlank()) {
+            return null;
+        }
+        return workerPool.execute("normalize", () -> normalizeAndStore(base64));
+    }
+
+    private StoredPhoto normalizeAndStore(String base64) {
+        int start = base64.startsWith("data:") ? base64.indexOf(',') + 1 : 0; // Skip "data:image/png;base64,"
+        InputStream decoded = Base64.getMimeDecoder().wrap(new StringAsciiInputStream(base64, start));
+
+        ImageNormalizer.NormalizedImage normalized;
+        try (InputStream in = new BoundedInputStream(decoded, maxBytes)) {
+            normalized = imageNormalizer.normalize(in);
+        } catch (IOException e) {
+            throw new InvalidImageException("Invalid profile photo: " + e.getMessage(), e);
+        }
+
+        try {
+            String photoId = photoStore.put(new ByteArrayInputStream(normalized.image()));
+            String thumbnailId = photoStore.put(new ByteArrayInputStream(normalized.thumbnail()));
+            return new StoredPhoto(photoId, thumbnailId);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not store profile photo", e);
+        }
+    }
+
+    /**
+     * Looks up a photo and detects its content type from the leading bytes.
+     */
+    public Optional<Photo> get(String id) {
+        return photoStore.get(id).map(resource -> new Photo(id, resource, detectContentType(resource)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workerPool.shutdown();
+    }
+
+    private static MediaType detectContentType(Resource resource) {
+        byte[] header = new byte[12];
+        int read;
+        try (InputStream in = resource.getInputStream()) {
+            read = in.readNBytes(header, 0, header.length);
+        } catch (IOException e) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+
+        if (read >= 3 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xFF) == 0xD8 && (header[2] & 0xFF) == 0xFF) {
+            return MediaType.IMAGE_JPEG;
+        }
+        if (read >= 4 && (header[0] & 0xFF) == 0x89 && header[1] == 'P' && header[2] == 'N' && header[3] == 'G') {
+            return MediaType.IMAGE_PNG;
+        }
+        if (read >= 3 && header[0] == 'G' && header[1] == 'I' && header[2] == 'F') {
+            return MediaType.IMAGE_GIF;
+        }
+        if (read >= 12 && header[0] == 'R' && header[1] == 'I' && header[8] == 'W' && header[9] == 'E') {
+            return MediaType.parseMediaType("image/webp");
+        }
+        return MediaType.APPLICATION_OCTET_STREAM;
+    }
+
+    /**
+     * Reads a String's chars as single bytes without copying it; base64 is pure ASCII.
+     */
+    private static final class StringAsciiInputStream extends InputStream {
+
+        private final String source;
+        private int position;
+
+        StringAsciiInputStream(String source, int start) {
+            this.source = source;
+            this.position = start;
+        }
+
+        @Override
+        public int read() {
+            return position < source.length() ? source.charAt(position++) & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (position >= source.length()) {
+                return -1;
+            }
+            int count = Math.min(length, source.length() - position);
+            for (int i = 0; i < count; i++) {
+                buffer[offset + i] = (byte) source.charAt(position++);
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Fails with IOException once more than maxBytes have been read.
+     */
+    private static final class BoundedInputStream extends InputStream {
+
+        private final InputStream delegate;
+        private final long maxBytes;
+        private long count;
+
+        BoundedInputStream(InputStream delegate, long maxBytes) {
+            this.delegate = delegate;
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b >= 0) {
+                check(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = delegate.read(buffer, offset, length);
+            if (n > 0) {
+                check(n);
+            }
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        private void check(int n) throws IOException {
+            count += n;
+            if (count > maxBytes) {
+                throw new IOException("photo exceeds " + maxBytes + " bytes");
+            }
+        }
+    }
+}
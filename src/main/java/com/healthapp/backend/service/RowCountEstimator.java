@@ -0,0 +1,32 @@
+package com.healthapp.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Row count estimates from the PostgreSQL planner (EXPLAIN), for "about N results" on listings.
+ * Costs a plan, not a scan, so it stays constant-time where COUNT(*) grows with the table.
+ */
+@Component
+@RequiredArgsConstructor
+public class RowCountEstimator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Planner's row estimate for the query (e.g. "SELECT 1 FROM doctors WHERE approved = true"), or null if unavailable.
+     */
+    public Long estimate(String sql, Object... args) {
+        try {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class, args);
+            JsonNode rows = objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows");
+            return rows.isNumber() ? rows.asLong() : null;
+        } catch (Exception e) {
+            return null; // An estimate is optional; never fail the listing over it
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.healthapp.backend.service;
+
+import com.healthapp.backend.dto.ScheduledAppointment;
+import com.healthapp.backend.entity.Availability;
+import com.healthapp.backend.entity.ScheduleChangedEvent;
+import com.healthapp.backend.entity.Unavailability;
+import com.healthapp.backend.enums.DayOfWeek;
+import com.healthapp.backend.repository.AppointmentRepository;
+import com.healthapp.backend.repository.AvailabilityRepository;
+import com.healthapp.backend.repository.UnavailabilityRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Conflict checks for doctor schedule edits: which upcoming appointments a new vacation or a new weekly template
+ * would strand, answered from per-doctor interval trees instead of a query per appointment or per day.
+ * A doctor's trees (upcoming appointments, current and future unavailability) are loaded on first use with three
+ * indexed reads and dropped when a ScheduleChangedEvent for the doctor commits on this instance; changes made on
+ * other instances are picked up once the cached trees are older than the cache TTL.
+ * An appointment covers the slot length of the window it was booked in (30 minutes outside the template).
+ */
+@Service
+public class ScheduleConflictChecker {
+
+    private static final int DEFAULT_SLOT_MINUTES = 30;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final LocalDate LAST_DATE = LocalDate.of(9999, 12, 31);
+
+    /**
+     * An appointment with its [start, end) in epoch minutes.
+     */
+    private record Booking(ScheduledAppointment appointment, long start, long end) {
+    }
+
+    private record Schedule(IntervalTree<Booking> appointments, IntervalTree<Unavailability> unavailability,
+                            long loadedAt) {
+    }
+
+    private final AppointmentRepository appointmentRepository;
+    private final UnavailabilityRepository unavailabilityRepository;
+    private final AvailabilityRepository availabilityRepository;
+    private final long cacheTtlMs; // Bound on staleness for changes made through other instances
+    private final int maxDoctors; // Upper bound on cached doctor schedules
+
+    private final ConcurrentHashMap<UUID, Schedule> schedules = new ConcurrentHashMap<>();
+
+    public ScheduleConflictChecker(AppointmentRepository appointmentRepository,
+                                   UnavailabilityRepository unavailabilityRepository,
+                                   AvailabilityRepository availabilityRepository,
+                                   @Value("${app.appointments.conflicts.cache-ttl-ms:60000}") long cacheTtlMs,
+                                   @Value("${app.appointments.conflicts.max-doctors:10000}") int maxDoctors) {
+        this.appointmentRepository = appointmentRepository;
+        this.unavailabilityRepository = unavailabilityRepository;
+        this.availabilityRepository = availabilityRepository;
+        this.cacheTtlMs = cacheTtlMs;
+        this.maxDoctors = maxDoctors;
+    }
+
+    /**
+     * Upcoming appointments on the days from startDate to endDate inclusive, i.e. those a new unavailability period
+     * over these dates would cancel. In date and time order.
+     */
+    public List<ScheduledAppointment> appointmentsDuring(UUID doctorId, LocalDate startDate, LocalDate endDate) {
+        List<ScheduledAppointment> conflicts = new ArrayList<>();
+        schedule(doctorId).appointments().forEachOverlapping(dayStart(startDate), dayStart(endDate.plusDays(1)),
+                booking -> conflicts.add(booking.appointment()));
+        return conflicts;
+    }
+
+    /**
+     * Current and future unavailability periods that share a day with [startDate, endDate], e.g. to merge a new
+     * vacation with an existing one.
+     */
+    public List<Unavailability> unavailabilityDuring(UUID doctorId, LocalDate startDate, LocalDate endDate) {
+        return schedule(doctorId).unavailability().overlapping(dayStart(startDate), dayStart(endDate.plusDays(1)));
+    }
+
+    /**
+     * Upcoming appointments the given weekly template no longer covers: those on a day without a window, or that
+     * overlap the time outside every window or a break. In date and time order.
+     */
+    public List<ScheduledAppointment> appointmentsOutside(UUID doctorId, List<Availability> template) {
+        IntervalTree<Booking> appointments = schedule(doctorId).appointments();
+        if (appointments.size() == 0) {
+            return List.of();
+        }
+
+        // Per weekday, the minutes where the new template runs no slot, as [from, to) pairs
+        List<List<int[]>> blocked = new ArrayList<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            blocked.add(blockedMinutes(template, day));
+        }
+
+        // One tree query per blocked range per day between the first and the last appointment
+        Set<ScheduledAppointment> conflicts = new LinkedHashSet<>();
+        LocalDate first = dateOf(appointments.minStart());
+        LocalDate last = dateOf(appointments.maxEnd() - 1);
+        for (LocalDate date = first; !date.isAfter(last); date = date.plusDays(1)) {
+            long base = dayStart(date);
+            for (int[] range : blocked.get(DayOfWeek.of(date).ordinal())) {
+                appointments.forEachOverlapping(base + range[0], base + range[1],
+                        booking -> conflicts.add(booking.appointment()));
+            }
+        }
+        return new ArrayList<>(conflicts);
+    }
+
+    /**
+     * Drops the doctor's cached trees after a committed booking, cancellation or availability change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        schedules.remove(event.doctorId());
+    }
+
+    private Schedule schedule(UUID doctorId) {
+        long now = System.currentTimeMillis();
+        Schedule schedule = schedules.get(doctorId);
+        if (schedule != null && now - schedule.loadedAt() < cacheTtlMs) {
+            return schedule;
+        }
+
+        LocalDate today = LocalDate.now();
+        List<Availability> template = availabilityRepository.findByDoctorId(doctorId);
+        List<Booking> bookings = new ArrayList<>();
+        for (ScheduledAppointment appointment : appointmentRepository.findUpcoming(doctorId, today)) {
+            long start = minutes(LocalDateTime.of(appointment.date(), appointment.time()));
+            bookings.add(new Booking(appointment, start,
+                    start + slotMinutes(template, appointment.date(), appointment.time())));
+        }
+        List<Unavailability> unavailability = unavailabilityRepository.findOverlapping(doctorId, today, LAST_DATE);
+        schedule = new Schedule(
+                new IntervalTree<>(bookings, Booking::start, Booking::end),
+                new IntervalTree<>(unavailability, u -> dayStart(u.getStartDate()),
+                        u -> dayStart(u.getEndDate().plusDays(1))),
+                now);
+
+        if (schedules.size() >= maxDoctors) {
+            schedules.values().removeIf(cached -> now - cached.loadedAt() >= cacheTtlMs);
+            if (schedules.size() >= maxDoctors) {
+                schedules.clear();
+            }
+        }
+        schedules.put(doctorId, schedule);
+        return schedule;
+    }
+
+    private static List<int[]> blockedMinutes(List<Availability> template, DayOfWeek day) {
+        BitSet open = new BitSet(MINUTES_PER_DAY);
+        for (Availability window : template) {
+            if (window.getDayOfWeek() != day) {
+                continue;
+            }
+            int from = minuteOfDay(window.getStartTime());
+            int to = minuteOfDay(window.getEndTime());
+            if (to <= from) {
+                continue;
+            }
+            open.set(from, to);
+            if (window.getBreakStart() != null && window.getBreakEnd() != null) {
+                int breakFrom = Math.max(from, minuteOfDay(window.getBreakStart()));
+                int breakTo = Math.min(to, minuteOfDay(window.getBreakEnd()));
+                if (breakTo > breakFrom) {
+                    open.clear(breakFrom, breakTo);
+                }
+            }
+        }
+
+        List<int[]> blocked = new ArrayList<>();
+        for (int from = open.nextClearBit(0); from < MINUTES_PER_DAY; ) {
+            int next = open.nextSetBit(from);
+            int to = next < 0 ? MINUTES_PER_DAY : next;
+            blocked.add(new int[]{from, to});
+            from = open.nextClearBit(to);
+        }
+        return blocked;
+    }
+
+    private static int slotMinutes(List<Availability> template, LocalDate date, LocalTime time) {
+        DayOfWeek day = DayOfWeek.of(date);
+        for (Availability window : template) {
+            if (window.getDayOfWeek() == day
+                    && !time.isBefore(window.getStartTime()) && time.isBefore(window.getEndTime())) {
+                return window.getSlotDuration() != null ? window.getSlotDuration() : DEFAULT_SLOT_MINUTES;
+            }
+        }
+        return DEFAULT_SLOT_MINUTES;
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.toSecondOfDay() / 60;
+    }
+
+    private static long dayStart(LocalDate date) {
+        return minutes(date.atStartOfDay());
+    }
+
+    private static LocalDate dateOf(long minutes) {
+        return LocalDateTime.ofEpochSecond(minutes * 60, 0, ZoneOffset.UTC).toLocalDate();
+    }
+
+    // Wall-clock minutes, as in EarliestSlotService; only compared with each other
+    private static long minutes(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+}
@@ -0,0 +1,125 @@
+package com.healthapp.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthapp.backend.exception.MailTransportException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * SendGrid Web API v3 transport on a shared JDK HttpClient (pooled keep-alive connections, HTTP/2 when offered).
+ * Connect and request timeouts bound every call, and a circuit breaker sheds load while the provider is failing.
+ */
+@Component
+@ConditionalOnProperty(name = "app.email.transport", havingValue = "sendgrid", matchIfMissing = true)
+public class SendGridMailTransport implements MailTransport {
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final HttpClient httpClient;
+    private final CircuitBreaker circuitBreaker;
+    private final URI sendgridApiUri;
+    private final String sendgridApiKey;
+    private final Duration readTimeout;
+
+    public SendGridMailTransport(ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${sendgrid.api.key:}") String sendgridApiKey,
+                                 @Value("${sendgrid.api.url:https://api.sendgrid.com/v3/mail/send}") String sendgridApiUrl,
+                                 @Value("${sendgrid.connect-timeout-ms:2000}") long connectTimeoutMs,
+                                 @Value("${sendgrid.read-timeout-ms:10000}") long readTimeoutMs,
+                                 @Value("${sendgrid.circuit.failure-threshold:5}") int failureThreshold,
+                                 @Value("${sendgrid.circuit.open-ms:30000}") long openMs) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.sendgridApiKey = sendgridApiKey;
+        this.sendgridApiUri = URI.create(sendgridApiUrl);
+        this.readTimeout = Duration.ofMillis(readTimeoutMs);
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openMs);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2) // Falls back to HTTP/1.1 keep-alive if the server does not negotiate h2
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+
+        Gauge.builder("email.transport.circuit.open", circuitBreaker,
+                cb -> cb.getState() == CircuitBreaker.State.CLOSED ? 0 : 1).register(meterRegistry);
+    }
+
+    @Override
+    public boolean isConfigured() {
+        return sendgridApiKey != null && !sendgridApiKey.isEmpty();
+    }
+
+    /**
+     * Posts the payload; 5xx, 429, 401/403 (revoked key, unverified sender), timeouts, I/O errors and interrupts
+     * count against the circuit breaker, other 4xx do not. The payload is serialized before a breaker trial is
+     * acquired, and the outcome is recorded on every exit path so a half-open trial is always released.
+     */
+    @Override
+    public void send(Map<String, Object> payload) {
+        HttpRequest request = HttpRequest.newBuilder(sendgridApiUri)
+                .timeout(readTimeout)
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + sendgridApiKey) // Bearer token authentication
+                .POST(HttpRequest.BodyPublishers.ofString(toJson(payload)))
+                .build();
+
+        if (!circuitBreaker.tryAcquire()) {
+            meterRegistry.counter("email.transport.rejected").increment();
+            throw new MailTransportException("SendGrid circuit open - skipping send");
+        }
+
+        long start = System.nanoTime();
+        String outcome = "error";
+        boolean providerHealthy = false; // Stays false for timeouts, I/O errors, interrupts and unexpected exceptions
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            int status = response.statusCode();
+            outcome = String.valueOf(status);
+
+            if (status >= 200 && status < 300) {
+                providerHealthy = true;
+                return;
+            }
+
+            // Provider is usable unless it failed, throttled or refused our account; other 4xx reject the request itself
+            providerHealthy = status < 500 && status != 429 && status != 401 && status != 403;
+            throw new MailTransportException("SendGrid returned " + status + ": " + response.body(), status);
+        } catch (IOException e) {
+            throw new MailTransportException("SendGrid request failed: " + e.getMessage(), e); // Includes timeouts
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MailTransportException("SendGrid request interrupted", e);
+        } finally {
+            if (providerHealthy) {
+                circuitBreaker.recordSuccess();
+            } else {
+                circuitBreaker.recordFailure();
+            }
+            Timer.builder("email.transport.latency")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new MailTransportException("Could not serialize email payload", e);
+        }
+    }
+}
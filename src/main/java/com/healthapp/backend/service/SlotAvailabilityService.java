@@ -0,0 +1,101 @@
+package com.healthapp.backend.service;
+
+import com.healthapp.backend.dto.BookedSlot;
+import com.healthapp.backend.dto.DaySlots;
+import com.healthapp.backend.entity.Availability;
+import com.healthapp.backend.entity.Unavailability;
+import com.healthapp.backend.exception.ResourceNotFoundException;
+import com.healthapp.backend.repository.AppointmentRepository;
+import com.healthapp.backend.repository.AvailabilityRepository;
+import com.healthapp.backend.repository.DoctorRepository;
+import com.healthapp.backend.repository.SlotHoldRepository;
+import com.healthapp.backend.repository.UnavailabilityRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Free appointment slots of a doctor, generated on the fly from the weekly availability template, vacations and
+ * active bookings by SlotCalendar. No slot rows are stored; three indexed reads feed one bitmap computation.
+ * availableSlots additionally treats other patients' unexpired slot holds (see SlotHoldService) as busy; that is the
+ * view patients get, while freeSlots is the schedule alone, used by the earliest-slot index.
+ */
+@Service
+@RequiredArgsConstructor
+public class SlotAvailabilityService {
+
+    public static final int DEFAULT_DAYS = 30;
+
+    private static final UUID NO_HOLDER = new UUID(0L, 0L); // Matches no patient: every hold counts as busy
+
+    private final DoctorRepository doctorRepository;
+    private final AvailabilityRepository availabilityRepository;
+    private final UnavailabilityRepository unavailabilityRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final SlotHoldRepository slotHoldRepository;
+
+    /**
+     * Free slots of the doctor from the given date (today when null) for the given number of days.
+     * Slots that already started today are not offered.
+     */
+    @Transactional(readOnly = true)
+    public SlotCalendar.FreeSlots freeSlots(UUID doctorId, LocalDate from, int days) {
+        return compute(doctorId, from, days, false, null);
+    }
+
+    /**
+     * Like freeSlots, but slots held by other patients are busy. holderId's own holds stay free (null for nobody).
+     */
+    @Transactional(readOnly = true)
+    public SlotCalendar.FreeSlots availableSlots(UUID doctorId, LocalDate from, int days, UUID holderId) {
+        return compute(doctorId, from, days, true, holderId);
+    }
+
+    private SlotCalendar.FreeSlots compute(UUID doctorId, LocalDate from, int days, boolean withHolds, UUID holderId) {
+        if (!doctorRepository.existsById(doctorId)) {
+            throw new ResourceNotFoundException("Doctor not found");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate start = from == null || from.isBefore(now.toLocalDate()) ? now.toLocalDate() : from;
+        days = Math.max(1, Math.min(days, SlotCalendar.MAX_DAYS));
+        LocalTime notBefore = start.equals(now.toLocalDate()) ? now.toLocalTime() : null;
+
+        List<Availability> availability = availabilityRepository.findByDoctorId(doctorId);
+        if (availability.isEmpty()) {
+            return SlotCalendar.empty().freeSlots(start, days, null, List.of(), List.of());
+        }
+        LocalDate end = start.plusDays(days - 1);
+        List<Unavailability> unavailability = unavailabilityRepository.findOverlapping(doctorId, start, end);
+        List<BookedSlot> booked = appointmentRepository.findBookedSlots(doctorId, start, end);
+        if (withHolds) {
+            List<BookedSlot> held = slotHoldRepository.findHeldSlots(doctorId, start, end,
+                    holderId != null ? holderId : NO_HOLDER, now);
+            if (!held.isEmpty()) {
+                booked = new ArrayList<>(booked);
+                booked.addAll(held);
+            }
+        }
+        return SlotCalendar.compile(availability).freeSlots(start, days, notBefore, unavailability, booked);
+    }
+
+    /**
+     * Available slots grouped by date for the API; days without a free slot are left out.
+     */
+    public List<DaySlots> freeSlotsByDay(UUID doctorId, LocalDate from, int days) {
+        List<DaySlots> result = new ArrayList<>();
+        availableSlots(doctorId, from, days, null).forEach((date, time) -> {
+            if (result.isEmpty() || !result.get(result.size() - 1).date().equals(date)) {
+                result.add(new DaySlots(date, new ArrayList<>()));
+            }
+            result.get(result.size() - 1).times().add(time);
+        });
+        return result;
+    }
+}
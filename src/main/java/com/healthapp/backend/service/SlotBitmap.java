@@ -0,0 +1,102 @@
+package com.healthapp.backend.service;
+
+import java.time.LocalTime;
+
+/**
+ * Word-level operations on day bitmaps: one bit per 5-minute unit from midnight, so a whole day is 288 bits in
+ * five longs. Bit u of a day lives in word u / 64 at position u % 64.
+ */
+final class SlotBitmap {
+
+    static final int UNIT_MINUTES = 5;
+    static final int UNITS_PER_DAY = 24 * 60 / UNIT_MINUTES;
+    static final int WORDS = (UNITS_PER_DAY + 63) >>> 6;
+    static final int MAX_SPAN = 64; // Longest slot in units (5h20); keeps every shift in blockedStarts below 64
+
+    private static final int UNIT_SECONDS = UNIT_MINUTES * 60;
+    private static final long UNIT_NANOS = UNIT_SECONDS * 1_000_000_000L;
+
+    private SlotBitmap() {
+    }
+
+    /**
+     * True if the time is exactly a unit boundary, down to the nanosecond. Slot keys (unique indexes, holds, the
+     * booking guard) compare the full TIME(6) value, so 10:00:00.5 must not pass as the 10:00 slot.
+     */
+    static boolean onGrid(LocalTime time) {
+        return time.toNanoOfDay() % UNIT_NANOS == 0;
+    }
+
+    /**
+     * Unit containing the time.
+     */
+    static int floorUnit(LocalTime time) {
+        return time.toSecondOfDay() / UNIT_SECONDS;
+    }
+
+    /**
+     * First unit starting at or after the time.
+     */
+    static int ceilUnit(LocalTime time) {
+        return (int) ((time.toNanoOfDay() + UNIT_NANOS - 1) / UNIT_NANOS);
+    }
+
+    static LocalTime timeOf(int unit) {
+        return LocalTime.ofSecondOfDay((long) unit * UNIT_SECONDS);
+    }
+
+    /**
+     * Sets units [from, to) of the day starting at word offset base.
+     */
+    static void setRange(long[] bits, int base, int from, int to) {
+        from = Math.max(from, 0);
+        to = Math.min(to, UNITS_PER_DAY);
+        while (from < to) {
+            int word = from >>> 6;
+            int end = Math.min(to, (word + 1) << 6);
+            int length = end - from;
+            long mask = length == 64 ? -1L : ((1L << length) - 1) << (from & 63);
+            bits[base + word] |= mask;
+            from = end;
+        }
+    }
+
+    /**
+     * Clears units [0, to) of the day starting at word offset base.
+     */
+    static void clearBefore(long[] bits, int base, int to) {
+        to = Math.min(to, UNITS_PER_DAY);
+        int word = 0;
+        for (; (word + 1) << 6 <= to; word++) {
+            bits[base + word] = 0;
+        }
+        if ((to & 63) != 0) {
+            bits[base + word] &= -1L << (to & 63);
+        }
+    }
+
+    /**
+     * Writes to out every unit s such that any unit in [s, s + span) is set in occupied: the slot starts a booking
+     * or break would collide with. Dilates by doubling, so a span of n units costs log2(n) passes of five words.
+     */
+    static void blockedStarts(long[] occupied, int span, long[] out) {
+        System.arraycopy(occupied, 0, out, 0, WORDS);
+        for (int covered = 1; covered < span; ) {
+            int step = Math.min(covered, span - covered);
+            for (int w = 0; w < WORDS; w++) {
+                long next = w + 1 < WORDS ? out[w + 1] : 0L;
+                out[w] |= (out[w] >>> step) | (next << (64 - step)); // Bit s takes bit s + step
+            }
+            covered += step;
+        }
+    }
+
+    static boolean isEmpty(long[] bits) {
+        for (long word : bits) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
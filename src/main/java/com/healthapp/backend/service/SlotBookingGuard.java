@@ -0,0 +1,95 @@
+package com.healthapp.backend.service;
+
+import com.healthapp.backend.entity.ScheduleChangedEvent;
+import com.healthapp.backend.exception.ServiceBusyException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * In-process front line against double booking, in front of the database's unique slot index.
+ * Bookings for the same doctor are serialized on one of a fixed set of striped locks, so a rush on a popular slot
+ * does not turn into thousands of concurrent doomed INSERTs. Slots this instance saw taken are remembered for a
+ * short TTL, and later attempts are rejected from memory without touching the database.
+ * The database index stays authoritative: other instances, and cancellations made on them, are only seen through it
+ * once the TTL expires. Local schedule changes clear the doctor's remembered slots right away.
+ */
+@Component
+public class SlotBookingGuard {
+
+    private record SlotKey(UUID doctorId, LocalDate date, LocalTime time) {
+    }
+
+    private final ReentrantLock[] stripes;
+    private final long lockTimeoutMs; // Max wait behind other bookings for the same stripe
+    private final long takenTtlMs; // How long a taken slot is rejected from memory
+    private final int maxTaken; // Upper bound on remembered slots
+
+    private final ConcurrentHashMap<SlotKey, Long> taken = new ConcurrentHashMap<>();
+
+    public SlotBookingGuard(@Value("${app.appointments.booking.lock-stripes:1024}") int lockStripes,
+                            @Value("${app.appointments.booking.lock-timeout-ms:5000}") long lockTimeoutMs,
+                            @Value("${app.appointments.booking.taken-ttl-ms:60000}") long takenTtlMs,
+                            @Value("${app.appointments.booking.max-taken:100000}") int maxTaken) {
+        this.stripes = new ReentrantLock[lockStripes];
+        for (int i = 0; i < lockStripes; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.lockTimeoutMs = lockTimeoutMs;
+        this.takenTtlMs = takenTtlMs;
+        this.maxTaken = maxTaken;
+    }
+
+    /**
+     * Runs the booking while holding the doctor's stripe. Throws ServiceBusyException (503) if the stripe cannot be
+     * acquired within the lock timeout.
+     */
+    public <T> T withDoctorLock(UUID doctorId, Supplier<T> booking) {
+        ReentrantLock lock = stripes[Math.floorMod(doctorId.hashCode(), stripes.length)];
+        try {
+            if (!lock.tryLock(lockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new ServiceBusyException("Too many bookings for this doctor, please retry shortly");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Request was interrupted");
+        }
+        try {
+            return booking.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isTaken(UUID doctorId, LocalDate date, LocalTime time) {
+        Long takenAt = taken.get(new SlotKey(doctorId, date, time));
+        return takenAt != null && System.currentTimeMillis() - takenAt < takenTtlMs;
+    }
+
+    public void markTaken(UUID doctorId, LocalDate date, LocalTime time) {
+        if (taken.size() >= maxTaken) {
+            long now = System.currentTimeMillis();
+            taken.values().removeIf(takenAt -> now - takenAt >= takenTtlMs);
+            if (taken.size() >= maxTaken) {
+                taken.clear();
+            }
+        }
+        taken.put(new SlotKey(doctorId, date, time), System.currentTimeMillis());
+    }
+
+    /**
+     * Forgets the doctor's remembered slots after a committed change, e.g. a cancellation freeing one of them.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        taken.keySet().removeIf(key -> key.doctorId().equals(event.doctorId()));
+    }
+}
@@ -0,0 +1,267 @@
+package com.healthapp.backend.service;
+
+import com.healthapp.backend.dto.BookedSlot;
+import com.healthapp.backend.entity.Availability;
+import com.healthapp.backend.entity.Unavailability;
+import com.healthapp.backend.enums.DayOfWeek;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * A doctor's weekly availability compiled into day bitmaps (see SlotBitmap), from which free slots over a date range
+ * are computed with word-level operations instead of per-slot objects:
+ * free = template AND NOT (starts blocked by breaks or bookings), and nothing on unavailable days.
+ * A start is blocked if any minute of its slot overlaps a break or a booked appointment, so bookings made under an
+ * older slot length still block the slots they overlap. Instances are immutable and safe to share.
+ */
+public final class SlotCalendar {
+
+    public static final int MAX_DAYS = 60;
+
+    private static final Window[] NO_WINDOWS = {}; // Must be initialized before EMPTY, whose constructor uses it
+    private static final SlotCalendar EMPTY = new SlotCalendar(new Window[7][]);
+    private static final int DEFAULT_SLOT_MINUTES = 30;
+
+    /**
+     * One working window: slot start bits, and the starts left once its break is taken out.
+     */
+    private record Window(int from, int to, int span, long[] starts, long[] breaks, long[] freeWithoutBookings) {
+    }
+
+    private final Window[][] windows; // By DayOfWeek ordinal
+
+    private SlotCalendar(Window[][] windows) {
+        for (int day = 0; day < windows.length; day++) {
+            if (windows[day] == null) {
+                windows[day] = NO_WINDOWS;
+            }
+        }
+        this.windows = windows;
+    }
+
+    public static SlotCalendar empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Compiles availability rows; windows that end before they start or hold no whole slot are ignored.
+     */
+    public static SlotCalendar compile(List<Availability> availability) {
+        List<List<Window>> byDay = new ArrayList<>();
+        for (int day = 0; day < 7; day++) {
+            byDay.add(new ArrayList<>());
+        }
+        for (Availability row : availability) {
+            int from = SlotBitmap.ceilUnit(row.getStartTime());
+            int to = SlotBitmap.floorUnit(row.getEndTime());
+            int minutes = row.getSlotDuration() != null ? row.getSlotDuration() : DEFAULT_SLOT_MINUTES;
+            int span = Math.max(1, Math.min((minutes + SlotBitmap.UNIT_MINUTES - 1) / SlotBitmap.UNIT_MINUTES,
+                    SlotBitmap.MAX_SPAN));
+            if (from + span > to) {
+                continue;
+            }
+
+            long[] starts = new long[SlotBitmap.WORDS];
+            for (int unit = from; unit + span <= to; unit += span) {
+                starts[unit >>> 6] |= 1L << unit;
+            }
+            long[] breaks = new long[SlotBitmap.WORDS];
+            if (row.getBreakStart() != null && row.getBreakEnd() != null) {
+                SlotBitmap.setRange(breaks, 0, SlotBitmap.floorUnit(row.getBreakStart()),
+                        SlotBitmap.ceilUnit(row.getBreakEnd()));
+            }
+            long[] blocked = new long[SlotBitmap.WORDS];
+            SlotBitmap.blockedStarts(breaks, span, blocked);
+            long[] free = new long[SlotBitmap.WORDS];
+            for (int w = 0; w < SlotBitmap.WORDS; w++) {
+                free[w] = starts[w] & ~blocked[w];
+            }
+            byDay.get(row.getDayOfWeek().ordinal()).add(new Window(from, to, span, starts, breaks, free));
+        }
+
+        Window[][] windows = new Window[7][];
+        for (int day = 0; day < 7; day++) {
+            windows[day] = byDay.get(day).toArray(NO_WINDOWS);
+        }
+        return new SlotCalendar(windows);
+    }
+
+    public boolean isEmpty() {
+        for (Window[] day : windows) {
+            if (day.length > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Free slots for days [from, from + days), excluding starts before notBefore on the first day (null for none).
+     * Unavailability periods and bookings outside the range are ignored.
+     */
+    public FreeSlots freeSlots(LocalDate from, int days, LocalTime notBefore,
+                               List<Unavailability> unavailability, List<BookedSlot> booked) {
+        days = Math.max(0, Math.min(days, MAX_DAYS));
+        long[] bits = new long[days * SlotBitmap.WORDS];
+        if (days == 0 || isEmpty()) {
+            return new FreeSlots(from, days, bits);
+        }
+
+        long unavailableDays = 0; // Bit d set when day d of the range is off
+        for (Unavailability period : unavailability) {
+            long first = Math.max(0, ChronoUnit.DAYS.between(from, period.getStartDate()));
+            long last = Math.min(days - 1, ChronoUnit.DAYS.between(from, period.getEndDate()));
+            for (long day = first; day <= last; day++) {
+                unavailableDays |= 1L << day;
+            }
+        }
+
+        // Booked units per day, marked over the slot length of the window the booking falls in
+        long[] occupied = null;
+        for (BookedSlot slot : booked) {
+            long day = ChronoUnit.DAYS.between(from, slot.date());
+            if (day < 0 || day >= days || (unavailableDays & 1L << day) != 0) {
+                continue;
+            }
+            if (occupied == null) {
+                occupied = new long[bits.length];
+            }
+            int unit = SlotBitmap.floorUnit(slot.time());
+            SlotBitmap.setRange(occupied, (int) day * SlotBitmap.WORDS, unit,
+                    unit + spanAt(windows[DayOfWeek.of(slot.date()).ordinal()], unit));
+        }
+
+        long[] dayOccupied = new long[SlotBitmap.WORDS];
+        long[] blocked = new long[SlotBitmap.WORDS];
+        int weekday = DayOfWeek.of(from).ordinal();
+        for (int day = 0; day < days; day++, weekday = weekday == 6 ? 0 : weekday + 1) {
+            if ((unavailableDays & 1L << day) != 0) {
+                continue;
+            }
+            int base = day * SlotBitmap.WORDS;
+            boolean hasBookings = false;
+            if (occupied != null) {
+                System.arraycopy(occupied, base, dayOccupied, 0, SlotBitmap.WORDS);
+                hasBookings = !SlotBitmap.isEmpty(dayOccupied);
+            }
+            for (Window window : windows[weekday]) {
+                if (!hasBookings) {
+                    for (int w = 0; w < SlotBitmap.WORDS; w++) {
+                        bits[base + w] |= window.freeWithoutBookings[w];
+                    }
+                    continue;
+                }
+                for (int w = 0; w < SlotBitmap.WORDS; w++) {
+                    dayOccupied[w] = occupied[base + w] | window.breaks[w];
+                }
+                SlotBitmap.blockedStarts(dayOccupied, window.span, blocked);
+                for (int w = 0; w < SlotBitmap.WORDS; w++) {
+                    bits[base + w] |= window.starts[w] & ~blocked[w];
+                }
+            }
+        }
+
+        if (notBefore != null) {
+            SlotBitmap.clearBefore(bits, 0, SlotBitmap.ceilUnit(notBefore));
+        }
+        return new FreeSlots(from, days, bits);
+    }
+
+    private static int spanAt(Window[] dayWindows, int unit) {
+        for (Window window : dayWindows) {
+            if (unit >= window.from && unit < window.to) {
+                return window.span;
+            }
+        }
+        return DEFAULT_SLOT_MINUTES / SlotBitmap.UNIT_MINUTES; // Booked outside today's template
+    }
+
+    /**
+     * Free slot starts of a date range as one bitmap per day. LocalDate/LocalTime objects are only created when
+     * the slots are enumerated.
+     */
+    public static final class FreeSlots {
+
+        private final LocalDate from;
+        private final int days;
+        private final long[] bits;
+
+        private FreeSlots(LocalDate from, int days, long[] bits) {
+            this.from = from;
+            this.days = days;
+            this.bits = bits;
+        }
+
+        public LocalDate from() {
+            return from;
+        }
+
+        public int days() {
+            return days;
+        }
+
+        public int count() {
+            int count = 0;
+            for (long word : bits) {
+                count += Long.bitCount(word);
+            }
+            return count;
+        }
+
+        public boolean isFree(LocalDate date, LocalTime time) {
+            long day = ChronoUnit.DAYS.between(from, date);
+            if (day < 0 || day >= days || !SlotBitmap.onGrid(time)) {
+                return false;
+            }
+            int unit = SlotBitmap.floorUnit(time);
+            return (bits[(int) day * SlotBitmap.WORDS + (unit >>> 6)] & 1L << unit) != 0;
+        }
+
+        /**
+         * Index of the first free slot as day * 288 + unit, or -1 if there is none. Comparable across doctors
+         * with the same from date.
+         */
+        public int firstIndex() {
+            for (int i = 0; i < bits.length; i++) {
+                if (bits[i] != 0) {
+                    int day = i / SlotBitmap.WORDS;
+                    int unit = ((i % SlotBitmap.WORDS) << 6) + Long.numberOfTrailingZeros(bits[i]);
+                    return day * SlotBitmap.UNITS_PER_DAY + unit;
+                }
+            }
+            return -1;
+        }
+
+        public LocalDate dateOf(int index) {
+            return from.plusDays(index / SlotBitmap.UNITS_PER_DAY);
+        }
+
+        public LocalTime timeOf(int index) {
+            return SlotBitmap.timeOf(index % SlotBitmap.UNITS_PER_DAY);
+        }
+
+        /**
+         * Calls the consumer for every free slot in date and time order.
+         */
+        public void forEach(BiConsumer<LocalDate, LocalTime> consumer) {
+            for (int day = 0; day < days; day++) {
+                LocalDate date = null;
+                for (int w = 0; w < SlotBitmap.WORDS; w++) {
+                    long word = bits[day * SlotBitmap.WORDS + w];
+                    while (word != 0) {
+                        if (date == null) {
+                            date = from.plusDays(day);
+                        }
+                        consumer.accept(date, SlotBitmap.timeOf((w << 6) + Long.numberOfTrailingZeros(word)));
+                        word &= word - 1;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.healthapp.backend.service;
+
+import com.healthapp.backend.dto.SlotHoldResponse;
+import com.healthapp.backend.entity.UuidV7Generator;
+import com.healthapp.backend.exception.ResourceNotFoundException;
+import com.healthapp.backend.exception.SlotAlreadyBookedException;
+import com.healthapp.backend.repository.DoctorRepository;
+import com.healthapp.backend.repository.PatientRepository;
+import com.healthapp.backend.repository.SlotHoldRepository;
+import com.healthapp.backend.security.UserDetailsImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Short-lived slot holds, so two patients do not fill out the booking form for the same slot.
+ * Holds live in the slot_holds table and are placed with one upsert against its unique slot index, which makes
+ * them safe across app instances with no coordinator other than the database. Expiry is lazy: an expired hold is
+ * ignored by reads and taken over by the next upsert; DataReaper deletes expired rows in batches.
+ * Holds of other patients show as busy in SlotAvailabilityService.availableSlots, and booking claims the hold in
+ * the same transaction as the INSERT.
+ */
+@Service
+public class SlotHoldService {
+
+    private static final String SLOT_TAKEN = "This slot is no longer available";
+    private static final String SLOT_HELD = "Another patient is booking this slot, please pick another one";
+
+    private final SlotHoldRepository slotHoldRepository;
+    private final PatientRepository patientRepository;
+    private final DoctorRepository doctorRepository;
+    private final SlotAvailabilityService slotAvailabilityService;
+    private final long ttlMs; // How long a hold keeps the slot from other patients
+
+    public SlotHoldService(SlotHoldRepository slotHoldRepository,
+                           PatientRepository patientRepository,
+                           DoctorRepository doctorRepository,
+                           SlotAvailabilityService slotAvailabilityService,
+                           @Value("${app.appointments.holds.ttl-ms:300000}") long ttlMs) {
+        this.slotHoldRepository = slotHoldRepository;
+        this.patientRepository = patientRepository;
+        this.doctorRepository = doctorRepository;
+        this.slotAvailabilityService = slotAvailabilityService;
+        this.ttlMs = ttlMs;
+    }
+
+    /**
+     * Holds a free slot for the signed-in patient, replacing the patient's previous hold. Holding the same slot
+     * again renews it. Throws SlotAlreadyBookedException (409) if the slot is booked, held by another patient or
+     * not offered.
+     */
+    @Transactional
+    public SlotHoldResponse hold(UserDetailsImpl user, UUID doctorId, LocalDate date, LocalTime time) {
+        UUID patientId = patientRepository.findIdByUserId(user.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Patient profile not found"));
+        if (!doctorRepository.existsByIdAndApprovedTrue(doctorId)) {
+            throw new ResourceNotFoundException("Doctor not found");
+        }
+        if (!slotAvailabilityService.availableSlots(doctorId, date, 1, patientId).isFree(date, time)) {
+            throw new SlotAlreadyBookedException(SLOT_TAKEN);
+        }
+
+        UUID id = UuidV7Generator.next();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusNanos(ttlMs * 1_000_000);
+        if (slotHoldRepository.upsertHold(id, doctorId, patientId, date, time, expiresAt, now) == 0) {
+            throw new SlotAlreadyBookedException(SLOT_HELD);
+        }
+        slotHoldRepository.deleteOtherHolds(patientId, id);
+        return new SlotHoldResponse(id, doctorId, date, time, expiresAt);
+    }
+
+    /**
+     * Releases one of the signed-in patient's holds, e.g. when the booking form is abandoned.
+     */
+    @Transactional
+    public void release(UserDetailsImpl user, UUID holdId) {
+        UUID patientId = patientRepository.findIdByUserId(user.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Patient profile not found"));
+        if (slotHoldRepository.deleteByIdAndPatientId(holdId, patientId) == 0) {
+            throw new ResourceNotFoundException("Hold not found");
+        }
+    }
+
+    /**
+     * Takes or renews the slot's hold for the patient inside the caller's booking transaction; the row stays locked
+     * until that transaction ends. Throws SlotAlreadyBookedException (409) while another patient holds the slot.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void claim(UUID patientId, UUID doctorId, LocalDate date, LocalTime time) {
+        LocalDateTime now = LocalDateTime.now();
+        int claimed = slotHoldRepository.upsertHold(UuidV7Generator.next(), doctorId, patientId, date, time,
+                now.plusNanos(ttlMs * 1_000_000), now);
+        if (claimed == 0) {
+            throw new SlotAlreadyBookedException(SLOT_HELD);
+        }
+    }
+
+    /**
+     * Drops the slot's hold once the slot is booked, in the booking transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void releaseBooked(UUID doctorId, LocalDate date, LocalTime time) {
+        slotHoldRepository.deleteBySlot(doctorId, date, time);
+    }
+}
@@ -0,0 +1,112 @@
+-- Baseline schema for the entities in com.healthapp.backend.entity.
+-- Written with IF NOT EXISTS so databases previously created by ddl-auto=update can be adopted
+-- (spring.flyway.baseline-on-migrate) without failing on existing tables.
+
+CREATE TABLE IF NOT EXISTS users (
+    id              UUID PRIMARY KEY,
+    email           VARCHAR(255) NOT NULL,
+    password        VARCHAR(255) NOT NULL,
+    role            VARCHAR(20)  NOT NULL,
+    verified        BOOLEAN      NOT NULL DEFAULT FALSE,
+    created_at      TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS patients (
+    id                    UUID PRIMARY KEY,
+    user_id               UUID         NOT NULL REFERENCES users (id),
+    first_name            VARCHAR(255) NOT NULL,
+    last_name             VARCHAR(255) NOT NULL,
+    dob                   DATE         NOT NULL,
+    phone                 VARCHAR(255) NOT NULL,
+    address               TEXT,
+    gender                VARCHAR(255) NOT NULL,
+    profile_photo_id      VARCHAR(64),
+    profile_thumbnail_id  VARCHAR(64),
+    insurance_info        TEXT,
+    CONSTRAINT uk_patients_user UNIQUE (user_id)
+);
+
+CREATE TABLE IF NOT EXISTS doctors (
+    id                    UUID PRIMARY KEY,
+    user_id               UUID         NOT NULL REFERENCES users (id),
+    first_name            VARCHAR(255) NOT NULL,
+    last_name             VARCHAR(255) NOT NULL,
+    phone                 VARCHAR(255) NOT NULL,
+    gender                VARCHAR(255) NOT NULL,
+    profile_photo_id      VARCHAR(64),
+    profile_thumbnail_id  VARCHAR(64),
+    license_number        VARCHAR(255) NOT NULL,
+    specialization        VARCHAR(255) NOT NULL,
+    experience            INTEGER,
+    education             TEXT,
+    bio                   VARCHAR(500),
+    languages             JSONB,
+    clinic_address        TEXT,
+    approved              BOOLEAN      NOT NULL DEFAULT FALSE,
+    CONSTRAINT uk_doctors_user UNIQUE (user_id),
+    CONSTRAINT uk_doctors_license UNIQUE (license_number)
+);
+
+CREATE TABLE IF NOT EXISTS medical_history (
+    id                  UUID PRIMARY KEY,
+    patient_id          UUID         NOT NULL REFERENCES patients (id),
+    questionnaire_json  JSONB,
+    created_at          TIMESTAMP(6) NOT NULL,
+    updated_at          TIMESTAMP(6),
+    CONSTRAINT uk_medical_history_patient UNIQUE (patient_id)
+);
+
+CREATE TABLE IF NOT EXISTS auth_tokens (
+    id          UUID PRIMARY KEY,
+    token_hash  VARCHAR(64)  NOT NULL,
+    type        VARCHAR(32)  NOT NULL,
+    user_id     UUID         NOT NULL REFERENCES users (id),
+    expires_at  TIMESTAMP(6) NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    token_hash  VARCHAR(64) PRIMARY KEY,
+    expires_at  TIMESTAMP(6) NOT NULL,
+    revoked_at  TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id               UUID PRIMARY KEY,
+    recipient        VARCHAR(255) NOT NULL,
+    subject          VARCHAR(255) NOT NULL,
+    html_content     TEXT         NOT NULL,
+    substitutions    JSONB,
+    status           VARCHAR(16)  NOT NULL,
+    attempts         INTEGER      NOT NULL,
+    next_attempt_at  TIMESTAMP(6) NOT NULL,
+    last_error       TEXT,
+    created_at       TIMESTAMP(6) NOT NULL,
+    sent_at          TIMESTAMP(6)
+);
+
+-- users: email lookups use uk_users_email. Reaper walks unverified accounts by id (keyset).
+CREATE INDEX IF NOT EXISTS idx_users_unverified ON users (id) WHERE verified = FALSE;
+
+-- doctors: license lookups use uk_doctors_license. Listings/search only ever show approved doctors.
+CREATE INDEX IF NOT EXISTS idx_doctor_approved ON doctors (specialization, id) WHERE approved = TRUE;
+CREATE INDEX IF NOT EXISTS idx_doctor_languages ON doctors USING GIN (languages jsonb_path_ops);
+
+-- medical_history: containment queries on questionnaire answers (questionnaire_json @> '{...}')
+CREATE INDEX IF NOT EXISTS idx_medical_history_questionnaire ON medical_history USING GIN (questionnaire_json jsonb_path_ops);
+
+-- auth_tokens: hash probe on verify/reset, replace-by-user on forgot password, expiry purge
+CREATE UNIQUE INDEX IF NOT EXISTS idx_auth_token_hash ON auth_tokens (token_hash);
+CREATE INDEX IF NOT EXISTS idx_auth_token_user_type ON auth_tokens (user_id, type);
+CREATE INDEX IF NOT EXISTS idx_auth_token_expires_at ON auth_tokens (expires_at);
+
+-- revoked_tokens: incremental refresh by revoked_at, purge by expires_at
+CREATE INDEX IF NOT EXISTS idx_revoked_token_revoked_at ON revoked_tokens (revoked_at);
+CREATE INDEX IF NOT EXISTS idx_revoked_token_expires_at ON revoked_tokens (expires_at);
+
+-- email_outbox: dispatcher polls PENDING rows by due time; SENT/FAILED rows are never scanned by it
+DROP INDEX IF EXISTS idx_email_outbox_due; -- Replaces the (status, next_attempt_at) index created by ddl-auto
+CREATE INDEX idx_email_outbox_due ON email_outbox (next_attempt_at) WHERE status = 'PENDING';
+-- Retention purge deletes finished messages by status and age
+CREATE INDEX IF NOT EXISTS idx_email_outbox_finished ON email_outbox (status, created_at) WHERE status <> 'PENDING';
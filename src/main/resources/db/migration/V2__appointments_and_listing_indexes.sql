@@ -0,0 +1,27 @@
+-- Appointments, plus the indexes behind keyset-paginated listings.
+-- Keyset pages seek on (sort key, id), so each listing index ends with id and matches the ORDER BY exactly.
+
+CREATE TABLE appointments (
+    id                   UUID PRIMARY KEY,
+    patient_id           UUID         NOT NULL REFERENCES patients (id),
+    doctor_id            UUID         NOT NULL REFERENCES doctors (id),
+    date                 DATE         NOT NULL,
+    time                 TIME(6)      NOT NULL,
+    status               VARCHAR(16)  NOT NULL,
+    reason               TEXT,
+    reschedule_count     INTEGER      NOT NULL DEFAULT 0,
+    cancelled_by         VARCHAR(16),
+    cancellation_reason  TEXT,
+    created_at           TIMESTAMP(6) NOT NULL,
+    updated_at           TIMESTAMP(6)
+);
+
+-- Reverse-chronological history per patient and per doctor
+CREATE INDEX idx_appointment_patient_history ON appointments (patient_id, date DESC, time DESC, id DESC);
+CREATE INDEX idx_appointment_doctor_history ON appointments (doctor_id, date DESC, time DESC, id DESC);
+
+-- Approved doctor directory, alphabetical, optionally within one specialization
+DROP INDEX IF EXISTS idx_doctor_approved; -- Superseded by idx_doctor_specialization_listing
+CREATE INDEX idx_doctor_listing ON doctors (last_name, first_name, id) WHERE approved = TRUE;
+CREATE INDEX idx_doctor_specialization_listing ON doctors (specialization, last_name, first_name, id)
+    WHERE approved = TRUE;
@@ -0,0 +1,24 @@
+-- Weekly availability windows and vacation periods, the inputs of the slot engine.
+
+CREATE TABLE availability (
+    id             UUID PRIMARY KEY,
+    doctor_id      UUID        NOT NULL REFERENCES doctors (id),
+    day_of_week    VARCHAR(3)  NOT NULL,
+    start_time     TIME(6)     NOT NULL,
+    end_time       TIME(6)     NOT NULL,
+    slot_duration  INTEGER     NOT NULL DEFAULT 30,
+    break_start    TIME(6),
+    break_end      TIME(6)
+);
+
+CREATE TABLE unavailability (
+    id          UUID PRIMARY KEY,
+    doctor_id   UUID         NOT NULL REFERENCES doctors (id),
+    start_date  DATE         NOT NULL,
+    end_date    DATE         NOT NULL,
+    reason      TEXT,
+    created_at  TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_availability_doctor ON availability (doctor_id);
+CREATE INDEX idx_unavailability_doctor_end ON unavailability (doctor_id, end_date);
@@ -0,0 +1,3 @@
+-- One active appointment per doctor and start time. Cancelled rows keep their slot values but no longer count,
+-- so a cancelled slot can be booked again. Bookings insert with ON CONFLICT against this index.
+CREATE UNIQUE INDEX uq_appointment_doctor_slot ON appointments (doctor_id, date, time) WHERE status <> 'CANCELLED';
@@ -0,0 +1,17 @@
+-- Short-lived holds a patient places on a slot while filling out the booking form. At most one row per doctor
+-- slot: placing a hold upserts against uq_slot_hold and only takes the row over once it has expired or belongs to
+-- the same patient, so every app instance gets the same answer from the database. Expired rows are ignored by
+-- reads and deleted in batches by the reaper.
+CREATE TABLE slot_holds (
+    id          UUID PRIMARY KEY,
+    doctor_id   UUID         NOT NULL REFERENCES doctors (id),
+    patient_id  UUID         NOT NULL REFERENCES patients (id),
+    date        DATE         NOT NULL,
+    time        TIME(6)      NOT NULL,
+    expires_at  TIMESTAMP(6) NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL
+);
+
+CREATE UNIQUE INDEX uq_slot_hold ON slot_holds (doctor_id, date, time);
+CREATE INDEX idx_slot_hold_patient ON slot_holds (patient_id);
+CREATE INDEX idx_slot_hold_expires_at ON slot_holds (expires_at);
@@ -0,0 +1,9 @@
+-- Databases adopted through baseline-on-migrate may predate columns that the entities gained while the schema was
+-- still managed by ddl-auto=update. V1 only creates missing tables, so add the missing columns here; on databases
+-- created by V1 these statements do nothing.
+
+ALTER TABLE patients ADD COLUMN IF NOT EXISTS profile_photo_id VARCHAR(64);
+ALTER TABLE patients ADD COLUMN IF NOT EXISTS profile_thumbnail_id VARCHAR(64);
+
+ALTER TABLE doctors ADD COLUMN IF NOT EXISTS profile_photo_id VARCHAR(64);
+ALTER TABLE doctors ADD COLUMN IF NOT EXISTS profile_thumbnail_id VARCHAR(64);
@@ -0,0 +1,32 @@
+-- Databases from before auth_tokens still hold outstanding email links as plain tokens on users. Copy them into
+-- auth_tokens under the same SHA-256 hex hash AuthTokenService computes, then drop the old columns so plain tokens
+-- no longer sit in the database. Pending verification links get at least 24 hours from now, so accounts awaiting
+-- verification can still complete it; reset links keep their original expiry and are skipped once expired.
+-- Does nothing on databases created by V1, which never had these columns.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'users'
+                 AND column_name = 'verification_token') THEN
+        INSERT INTO auth_tokens (id, token_hash, type, user_id, expires_at, created_at)
+        SELECT gen_random_uuid(), encode(sha256(convert_to(verification_token, 'UTF8')), 'hex'),
+               'EMAIL_VERIFICATION', id,
+               GREATEST(COALESCE(token_expiry_date, LOCALTIMESTAMP), LOCALTIMESTAMP + INTERVAL '24 hours'),
+               LOCALTIMESTAMP
+        FROM users
+        WHERE verification_token IS NOT NULL AND verified = FALSE
+        ON CONFLICT (token_hash) DO NOTHING;
+
+        INSERT INTO auth_tokens (id, token_hash, type, user_id, expires_at, created_at)
+        SELECT gen_random_uuid(), encode(sha256(convert_to(reset_token, 'UTF8')), 'hex'),
+               'PASSWORD_RESET', id, token_expiry_date, LOCALTIMESTAMP
+        FROM users
+        WHERE reset_token IS NOT NULL AND token_expiry_date > LOCALTIMESTAMP
+        ON CONFLICT (token_hash) DO NOTHING;
+    END IF;
+
+    ALTER TABLE users DROP COLUMN IF EXISTS verification_token;
+    ALTER TABLE users DROP COLUMN IF EXISTS reset_token;
+    ALTER TABLE users DROP COLUMN IF EXISTS token_expiry_date;
+END
+$$;
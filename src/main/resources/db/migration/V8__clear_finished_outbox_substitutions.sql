@@ -0,0 +1,3 @@
+-- Sent and failed outbox messages no longer need their substitutions, which hold plain verification and reset
+-- tokens. The dispatcher now clears them when a message finishes; clear the ones finished before that change.
+UPDATE email_outbox SET substitutions = NULL WHERE status <> 'PENDING' AND substitutions IS NOT NULL;
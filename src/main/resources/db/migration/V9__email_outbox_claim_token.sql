@@ -0,0 +1,3 @@
+-- Each dispatcher claim stamps its messages with a fresh token. Outcomes are only written while the token still
+-- matches, so a dispatcher whose lease ran out cannot overwrite the bookkeeping of the one that re-claimed them.
+ALTER TABLE email_outbox ADD COLUMN IF NOT EXISTS claim_token UUID;
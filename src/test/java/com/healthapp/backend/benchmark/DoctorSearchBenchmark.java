@@ -0,0 +1,109 @@
+package com.healthapp.backend.benchmark;
+
+import com.healthapp.backend.service.DoctorSearchIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for DoctorSearchIndex query latency over 100k synthetic approved doctors.
+ * SampleTime mode reports p50/p90/p99/p99.9 per query shape.
+ * Run with: java -cp target/test-classes:<test classpath> com.healthapp.backend.benchmark.DoctorSearchBenchmark
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DoctorSearchBenchmark {
+
+    static final String[] FIRST_NAMES = {"James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda",
+            "David", "Elizabeth", "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah",
+            "Carlos", "María", "José", "Ana", "Wei", "Li", "Aisha", "Omar", "Priya", "Raj", "Yuki", "Hiro"};
+    static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis",
+            "Rodriguez", "Martinez", "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor",
+            "Moore", "Jackson", "Martin", "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez",
+            "Lewis", "Robinson", "Walker", "Young", "Allen", "King", "Wright", "Scott", "Torres", "Nguyen", "Hill",
+            "Flores", "Green", "Adams", "Nelson", "Baker", "Hall", "Rivera", "Campbell", "Mitchell", "Carter", "Roberts",
+            "Müller", "Schmidt", "Kowalski", "Novak", "Chen", "Wang", "Patel", "Singh", "Kim", "Park"};
+    static final String[] SPECIALIZATIONS = {"Cardiology", "Dermatology", "General Practice", "Neurology", "Pediatrics",
+            "Psychiatry", "Oncology", "Orthopedics", "Ophthalmology", "Gynecology", "Urology", "Endocrinology",
+            "Gastroenterology", "Pulmonology", "Rheumatology", "Nephrology", "Radiology", "Anesthesiology"};
+    static final String[] LANGUAGES = {"English", "Spanish", "French", "German", "Mandarin", "Hindi", "Arabic",
+            "Portuguese", "Russian", "Japanese", "Korean", "Italian"};
+
+    @Param({"100000"})
+    public int doctors;
+
+    private DoctorSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new DoctorSearchIndex();
+        index.rebuild(syntheticDoctors(doctors, new Random(42)));
+    }
+
+    static List<DoctorSearchIndex.Document> syntheticDoctors(int count, Random random) {
+        List<DoctorSearchIndex.Document> documents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<String> languages = new ArrayList<>();
+            languages.add("English");
+            if (random.nextInt(3) == 0) {
+                languages.add(LANGUAGES[1 + random.nextInt(LANGUAGES.length - 1)]);
+            }
+            Double rating = random.nextInt(5) == 0 ? null : 1.0 + random.nextDouble() * 4.0;
+            documents.add(new DoctorSearchIndex.Document(UUID.randomUUID(),
+                    FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                    LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                    SPECIALIZATIONS[random.nextInt(SPECIALIZATIONS.length)],
+                    languages, rating));
+        }
+        return documents;
+    }
+
+    /**
+     * Selective: one name token plus specialization (~90 matches).
+     */
+    @Benchmark
+    public DoctorSearchIndex.Page nameAndSpecialization() {
+        return index.search(new DoctorSearchIndex.Query("garcia", "Cardiology", null, null, 0, 20));
+    }
+
+    /**
+     * Broad: specialization, common language and rating range (~2k matches), first page.
+     */
+    @Benchmark
+    public DoctorSearchIndex.Page specializationLanguageRating() {
+        return index.search(new DoctorSearchIndex.Query(null, "Pediatrics", "Spanish", 4, 0, 20));
+    }
+
+    /**
+     * Very broad filter with a deep page: all English speakers rated 3+, page 10.
+     */
+    @Benchmark
+    public DoctorSearchIndex.Page broadFilterDeepPage() {
+        return index.search(new DoctorSearchIndex.Query(null, null, "English", 3, 10, 20));
+    }
+
+    /**
+     * Full first and last name.
+     */
+    @Benchmark
+    public DoctorSearchIndex.Page fullName() {
+        return index.search(new DoctorSearchIndex.Query("Maria Lopez", null, null, null, 0, 20));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DoctorSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
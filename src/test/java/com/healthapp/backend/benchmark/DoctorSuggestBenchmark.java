@@ -0,0 +1,80 @@
+package com.healthapp.backend.benchmark;
+
+import com.healthapp.backend.service.DoctorSuggestIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for DoctorSuggestIndex under concurrent keystroke traffic over 100k synthetic doctors.
+ * Each benchmark thread replays users typing names and specializations one character at a time, some with typos;
+ * SampleTime mode reports the p50/p99/p99.9 latency of a single keystroke lookup.
+ * Run with: java -cp target/test-classes:<test classpath> com.healthapp.backend.benchmark.DoctorSuggestBenchmark
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class DoctorSuggestBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Index {
+
+        @Param({"100000"})
+        public int doctors;
+
+        DoctorSuggestIndex index;
+
+        @Setup
+        public void setUp() {
+            index = DoctorSuggestIndex.build(DoctorSearchBenchmark.syntheticDoctors(doctors, new Random(42)));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Keystrokes {
+
+        private static final String[] TYPED = {"maria garcia", "garsia", "jose lopez", "cardiolgy", "pediatrics",
+                "smth", "wei chen", "dermatology", "muller", "robert johnsen", "priya patel", "neurology kim"};
+
+        String[] queries;
+        int next;
+
+        @Setup
+        public void setUp() {
+            List<String> prefixes = new ArrayList<>();
+            for (String typed : TYPED) {
+                for (int i = 1; i <= typed.length(); i++) {
+                    prefixes.add(typed.substring(0, i));
+                }
+            }
+            queries = prefixes.toArray(new String[0]);
+            next = new Random(Thread.currentThread().getId()).nextInt(queries.length); // Threads start mid-word
+        }
+
+        String next() {
+            String query = queries[next];
+            next = next + 1 == queries.length ? 0 : next + 1;
+            return query;
+        }
+    }
+
+    @Benchmark
+    public List<DoctorSuggestIndex.Suggestion> keystroke(Index index, Keystrokes keystrokes) {
+        return index.index.suggest(keystrokes.next(), 8);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DoctorSuggestBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,77 @@
+package com.healthapp.backend.benchmark;
+
+import com.healthapp.backend.service.EarliestSlotIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for EarliestSlotIndex: the earliest-slot lookup per specialization, and the incremental update a
+ * booking or cancellation triggers, at increasing doctor counts. Lookup time should not grow with the doctor count
+ * and updates only logarithmically.
+ * Run with: java -cp target/test-classes:<test classpath> com.healthapp.backend.benchmark.EarliestSlotBenchmark
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EarliestSlotBenchmark {
+
+    private static final int HORIZON_MINUTES = 60 * 24 * 60;
+
+    @Param({"1000", "100000"})
+    public int doctors;
+
+    private EarliestSlotIndex index;
+    private UUID[] ids;
+    private String[] specializationOf;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Map<UUID, String> specializations = new HashMap<>();
+        Map<UUID, Long> slots = new HashMap<>();
+        ids = new UUID[doctors];
+        specializationOf = new String[doctors];
+        for (int i = 0; i < doctors; i++) {
+            ids[i] = UUID.randomUUID();
+            specializationOf[i] = DoctorSearchBenchmark.SPECIALIZATIONS[
+                    random.nextInt(DoctorSearchBenchmark.SPECIALIZATIONS.length)];
+            specializations.put(ids[i], specializationOf[i]);
+            slots.put(ids[i], (long) random.nextInt(HORIZON_MINUTES));
+        }
+        index = new EarliestSlotIndex();
+        index.rebuild(specializations, slots);
+    }
+
+    @Benchmark
+    public EarliestSlotIndex.Entry earliest() {
+        String specialization = DoctorSearchBenchmark.SPECIALIZATIONS[
+                ThreadLocalRandom.current().nextInt(DoctorSearchBenchmark.SPECIALIZATIONS.length)];
+        return index.peek(specialization);
+    }
+
+    /**
+     * One doctor's next free slot moves to a random time, as after a booking or cancellation.
+     */
+    @Benchmark
+    public void update() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int doctor = random.nextInt(doctors);
+        index.update(ids[doctor], specializationOf[doctor], random.nextInt(HORIZON_MINUTES));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EarliestSlotBenchmark.class.getSimpleName()).build()).run();
+    }
+}
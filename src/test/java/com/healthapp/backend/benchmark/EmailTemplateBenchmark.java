@@ -0,0 +1,86 @@
+package com.healthapp.backend.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthapp.backend.service.EmailTemplateEngine;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for the per-recipient part of a verification email send request.
+ * Both methods produce the JSON the recipient adds to a mail/send request: the previous path concatenated and
+ * serialized a full body per recipient, the precompiled template path serializes one personalization with escaped
+ * substitutions while the shared tagged body is sent once per batch.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmailTemplateBenchmark {
+
+    private EmailTemplateEngine templateEngine;
+    private ObjectMapper objectMapper;
+    private String token;
+    private Map<String, String> values;
+
+    @Setup
+    public void setUp() {
+        templateEngine = new EmailTemplateEngine();
+        templateEngine.loadTemplates();
+        objectMapper = new ObjectMapper();
+        token = UUID.randomUUID().toString();
+        values = Map.of("token", token);
+    }
+
+    /**
+     * Previous EmailService.sendVerificationEmail body construction, serialized as that recipient's content.
+     */
+    @Benchmark
+    public String concatenation() throws JsonProcessingException {
+        String html = "<div style='font-family: Arial, sans-serif; max-width: 600px; margin: 0 auto; padding: 20px; background-color: #f5f5f5;'>" +
+                "<div style='background-color: white; padding: 30px; border-radius: 8px;'>" +
+                "<h2 style='color: #4CAF50; text-align: center;'>Welcome to HealthApp!</h2>" +
+                "<p style='font-size: 16px;'>Please verify your email address by entering the verification code below:</p>" +
+                "<div style='background-color: #f0f0f0; padding: 20px; margin: 20px 0; border-radius: 4px; text-align: center;'>" +
+                "<p style='margin: 0; color: #666; font-size: 14px;'>Your Verification Code</p>" +
+                "<p style='margin: 10px 0; font-size: 32px; font-weight: bold; color: #4CAF50; letter-spacing: 2px; font-family: monospace;'>" + token + "</p>" +
+                "</div>" +
+                "<p style='color: #666; font-size: 14px;'>Copy this code and paste it in the app to verify your account.</p>" +
+                "<p style='color: #999; font-size: 12px;'>This code will expire in 24 hours.</p>" +
+                "<hr style='border: none; border-top: 1px solid #eee; margin: 20px 0;'>" +
+                "<p style='color: #999; font-size: 12px; text-align: center;'>Best regards,<br/>HealthApp Team</p>" +
+                "</div></div>";
+        return objectMapper.writeValueAsString(Map.of(
+                "to", List.of(Map.of("email", "patient@test.com")),
+                "content", List.of(Map.of("type", "text/html", "value", html))));
+    }
+
+    /**
+     * What a send costs now: the shared tagged body (consumed, not serialized - it goes out once per batch) plus this
+     * recipient's personalization with escaped substitutions, as EmailOutboxDispatcher serializes it.
+     */
+    @Benchmark
+    public String templateSubstitutions(Blackhole blackhole) throws JsonProcessingException {
+        EmailTemplateEngine.EmailTemplate template = templateEngine.get("verification");
+        blackhole.consume(template.body().tagged());
+        return objectMapper.writeValueAsString(Map.of(
+                "to", List.of(Map.of("email", "patient@test.com")),
+                "substitutions", template.substitutions(values)));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmailTemplateBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
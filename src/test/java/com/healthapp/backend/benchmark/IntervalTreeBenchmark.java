@@ -0,0 +1,75 @@
+package com.healthapp.backend.benchmark;
+
+import com.healthapp.backend.service.IntervalTree;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for IntervalTree: a one-week overlap query, as for a vacation edit, over a doctor's upcoming
+ * appointments, against a linear scan of the same list. Tree queries should grow with the number of matches only.
+ * Run with: java -cp target/test-classes:<test classpath> com.healthapp.backend.benchmark.IntervalTreeBenchmark
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IntervalTreeBenchmark {
+
+    private static final int SLOT_MINUTES = 30;
+    private static final int WEEK_MINUTES = 7 * 24 * 60;
+
+    private record Booking(long start, long end) {
+    }
+
+    @Param({"1000", "20000"})
+    public int appointments;
+
+    private List<Booking> bookings;
+    private IntervalTree<Booking> tree;
+    private long horizon;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        bookings = new ArrayList<>(appointments);
+        long start = 0;
+        for (int i = 0; i < appointments; i++) {
+            start += SLOT_MINUTES * (1 + random.nextInt(8)); // Disjoint, like one doctor's bookings
+            bookings.add(new Booking(start, start + SLOT_MINUTES));
+        }
+        horizon = start;
+        tree = new IntervalTree<>(bookings, Booking::start, Booking::end);
+    }
+
+    @Benchmark
+    public void tree(Blackhole blackhole) {
+        long from = ThreadLocalRandom.current().nextLong(horizon);
+        tree.forEachOverlapping(from, from + WEEK_MINUTES, blackhole::consume);
+    }
+
+    @Benchmark
+    public void linearScan(Blackhole blackhole) {
+        long from = ThreadLocalRandom.current().nextLong(horizon);
+        long to = from + WEEK_MINUTES;
+        for (Booking booking : bookings) {
+            if (booking.start() < to && booking.end() > from) {
+                blackhole.consume(booking);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(IntervalTreeBenchmark.class.getSimpleName()).build()).run();
+    }
+}
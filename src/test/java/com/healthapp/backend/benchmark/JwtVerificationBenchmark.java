@@ -0,0 +1,85 @@
+package com.healthapp.backend.benchmark;
+
+import com.healthapp.backend.entity.User;
+import com.healthapp.backend.enums.Role;
+import com.healthapp.backend.security.JwtClaims;
+import com.healthapp.backend.security.JwtTokenProvider;
+import com.healthapp.backend.security.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for per-request JWT verification cost.
+ * Compares the previous filter path (key rebuilt, token parsed twice) with the single-parse cached-key verifyToken.
+ * Run with: java -cp target/test-classes:<test classpath> com.healthapp.backend.benchmark.JwtVerificationBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437";
+
+    private JwtTokenProvider tokenProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationMs", 86400000L);
+        tokenProvider.init();
+
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("bench@test.com");
+        user.setPassword("password");
+        user.setRole(Role.PATIENT);
+        user.setVerified(true);
+
+        UserDetailsImpl userDetails = UserDetailsImpl.build(user);
+        token = tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+    }
+
+    /**
+     * Previous filter behavior: validateToken then getEmailFromToken, each building a new key and parser.
+     */
+    @Benchmark
+    public String legacyValidateThenExtract() {
+        SecretKey validateKey = Keys.hmacShaKeyFor(SECRET.getBytes());
+        Jwts.parser().verifyWith(validateKey).build().parseSignedClaims(token);
+
+        SecretKey extractKey = Keys.hmacShaKeyFor(SECRET.getBytes());
+        Claims claims = Jwts.parser().verifyWith(extractKey).build().parseSignedClaims(token).getPayload();
+        return claims.getSubject();
+    }
+
+    /**
+     * Current filter behavior: one parse with the cached key and parser.
+     */
+    @Benchmark
+    public JwtClaims verifyToken() {
+        return tokenProvider.verifyToken(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,124 @@
+package com.healthapp.backend.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.*;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for one doctor directory page: every column (what an entity query reads) vs the DoctorListItem card
+ * columns only. Rows carry realistic bio, education, languages and address values, which the card never shows.
+ * main() adds the GC profiler: gc.alloc.rate.norm is the heap allocated per page. Payload characters per page (column
+ * values as received, ASCII here so equal to bytes) are printed at setup for each variant.
+ * Needs a migrated PostgreSQL database; connection is taken from system properties (defaults match
+ * application.properties):
+ * java -Dbench.db.url=jdbc:postgresql://localhost:5432/healthapp -cp target/test-classes:<test classpath>
+ * com.healthapp.backend.benchmark.ListingProjectionBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListingProjectionBenchmark {
+
+    private static final int ROWS = 20_000;
+    private static final int PAGE_SIZE = 20;
+
+    private static final String ENTITY_COLUMNS = "id, user_id, first_name, last_name, phone, gender, "
+            + "profile_photo_id, profile_thumbnail_id, license_number, specialization, experience, education, bio, "
+            + "languages, clinic_address, approved";
+    private static final String CARD_COLUMNS =
+            "id, first_name, last_name, specialization, experience, profile_thumbnail_id";
+
+    @Param({"entity", "card"})
+    private String columns;
+
+    private Connection connection;
+    private PreparedStatement page;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("bench.db.url", "jdbc:postgresql://localhost:5432/healthapp"),
+                System.getProperty("bench.db.user", "postgres"),
+                System.getProperty("bench.db.password", "password"));
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_doctor_listing");
+            statement.execute("CREATE UNLOGGED TABLE bench_doctor_listing (LIKE doctors INCLUDING DEFAULTS)");
+            statement.execute("INSERT INTO bench_doctor_listing (" + ENTITY_COLUMNS + ") "
+                    + "SELECT gen_random_uuid(), gen_random_uuid(), 'First' || (i % 997), 'Last' || (i % 1499), "
+                    + "'5550100' || i, 'Female', md5(i::text), md5((i + 1)::text), 'LIC-' || i, "
+                    + "(ARRAY['Cardiology','Dermatology','Neurology','Pediatrics'])[i % 4 + 1], i % 40, "
+                    + "repeat('MD, Residency in Internal Medicine, Board Certified. ', 4), "
+                    + "repeat('Focused on preventive care and long-term patient relationships. ', 7), "
+                    + "'[\"English\", \"Spanish\", \"French\"]'::jsonb, "
+                    + "i || ' Medical Center Drive, Suite 200, Springfield, IL 62701', TRUE "
+                    + "FROM generate_series(1, " + ROWS + ") AS i");
+            statement.execute("CREATE INDEX ON bench_doctor_listing (last_name, first_name, id) WHERE approved");
+            statement.execute("ANALYZE bench_doctor_listing");
+        }
+
+        page = connection.prepareStatement("SELECT " + ("card".equals(columns) ? CARD_COLUMNS : ENTITY_COLUMNS)
+                + " FROM bench_doctor_listing WHERE approved AND (last_name, first_name, id) > (?, ?, ?) "
+                + "ORDER BY last_name, first_name, id LIMIT " + PAGE_SIZE);
+
+        long bytes = 0;
+        for (int i = 0; i < 100; i++) {
+            bytes += readPage(null);
+        }
+        System.out.println("\n" + columns + ": ~" + bytes / 100 + " payload bytes per page of " + PAGE_SIZE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_doctor_listing");
+        }
+        connection.close();
+    }
+
+    /**
+     * One keyset page from a random position in the directory, with every column value materialized.
+     */
+    @Benchmark
+    public long readPage(Blackhole blackhole) throws SQLException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        page.setString(1, "Last" + random.nextInt(1499));
+        page.setString(2, "");
+        page.setObject(3, new UUID(0L, 0L));
+
+        long bytes = 0;
+        try (ResultSet rows = page.executeQuery()) {
+            int count = rows.getMetaData().getColumnCount();
+            while (rows.next()) {
+                for (int i = 1; i <= count; i++) {
+                    String value = rows.getString(i);
+                    if (value != null) {
+                        bytes += value.length();
+                    }
+                    if (blackhole != null) {
+                        blackhole.consume(value);
+                    }
+                }
+            }
+        }
+        return bytes;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ListingProjectionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
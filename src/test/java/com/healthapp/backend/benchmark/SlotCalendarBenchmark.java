@@ -0,0 +1,170 @@
+package com.healthapp.backend.benchmark;
+
+import com.healthapp.backend.dto.BookedSlot;
+import com.healthapp.backend.entity.Availability;
+import com.healthapp.backend.entity.Unavailability;
+import com.healthapp.backend.enums.DayOfWeek;
+import com.healthapp.backend.service.SlotCalendar;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for 30-day free slot computation over thousands of doctors: SlotCalendar bitmaps vs a naive
+ * generator that materializes every candidate slot as a LocalDateTime and filters it against sets of breaks,
+ * vacation days and bookings. Each doctor works five days a week with a lunch break, takes a week off with 20%
+ * probability and has about 40 bookings in the range.
+ * Run with: java -cp target/test-classes:<test classpath> com.healthapp.backend.benchmark.SlotCalendarBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SlotCalendarBenchmark {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 3, 3);
+    private static final int DAYS = 30;
+
+    @Param({"5000"})
+    public int doctors;
+
+    private List<List<Availability>> templates;
+    private List<SlotCalendar> calendars;
+    private List<List<Unavailability>> vacations;
+    private List<List<BookedSlot>> bookings;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        templates = new ArrayList<>(doctors);
+        calendars = new ArrayList<>(doctors);
+        vacations = new ArrayList<>(doctors);
+        bookings = new ArrayList<>(doctors);
+        int[] durations = {15, 20, 30, 45};
+        for (int d = 0; d < doctors; d++) {
+            int minutes = durations[random.nextInt(durations.length)];
+            LocalTime start = LocalTime.of(7 + random.nextInt(3), 0);
+            List<Availability> template = new ArrayList<>();
+            for (DayOfWeek day : List.of(DayOfWeek.MON, DayOfWeek.TUE, DayOfWeek.WED, DayOfWeek.THU, DayOfWeek.FRI)) {
+                Availability availability = new Availability();
+                availability.setDayOfWeek(day);
+                availability.setStartTime(start);
+                availability.setEndTime(start.plusHours(9));
+                availability.setSlotDuration(minutes);
+                availability.setBreakStart(LocalTime.of(12, 0));
+                availability.setBreakEnd(LocalTime.of(13, 0));
+                template.add(availability);
+            }
+            templates.add(template);
+            calendars.add(SlotCalendar.compile(template));
+
+            List<Unavailability> off = new ArrayList<>();
+            if (random.nextInt(5) == 0) {
+                Unavailability vacation = new Unavailability();
+                vacation.setStartDate(FROM.plusDays(random.nextInt(DAYS)));
+                vacation.setEndDate(vacation.getStartDate().plusDays(6));
+                off.add(vacation);
+            }
+            vacations.add(off);
+
+            UUID doctorId = UUID.randomUUID();
+            List<BookedSlot> booked = new ArrayList<>();
+            for (int b = 0; b < 40; b++) {
+                LocalTime time = start.plusMinutes((long) minutes * random.nextInt(9 * 60 / minutes));
+                booked.add(new BookedSlot(doctorId, FROM.plusDays(random.nextInt(DAYS)), time));
+            }
+            bookings.add(booked);
+        }
+    }
+
+    /**
+     * Compiled templates, as a cache of SlotCalendars would hold them.
+     */
+    @Benchmark
+    public long bitmap() {
+        long total = 0;
+        for (int d = 0; d < doctors; d++) {
+            total += calendars.get(d).freeSlots(FROM, DAYS, null, vacations.get(d), bookings.get(d)).count();
+        }
+        return total;
+    }
+
+    /**
+     * Templates compiled on every request, as SlotAvailabilityService does.
+     */
+    @Benchmark
+    public long bitmapWithCompile() {
+        long total = 0;
+        for (int d = 0; d < doctors; d++) {
+            total += SlotCalendar.compile(templates.get(d))
+                    .freeSlots(FROM, DAYS, null, vacations.get(d), bookings.get(d)).count();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long naive() {
+        long total = 0;
+        for (int d = 0; d < doctors; d++) {
+            total += naiveFreeSlots(templates.get(d), vacations.get(d), bookings.get(d)).size();
+        }
+        return total;
+    }
+
+    private static List<LocalDateTime> naiveFreeSlots(List<Availability> template, List<Unavailability> off,
+                                                      List<BookedSlot> booked) {
+        Set<LocalDate> offDays = new HashSet<>();
+        for (Unavailability vacation : off) {
+            for (LocalDate date = vacation.getStartDate(); !date.isAfter(vacation.getEndDate());
+                 date = date.plusDays(1)) {
+                offDays.add(date);
+            }
+        }
+        Set<LocalDateTime> bookedStarts = new HashSet<>();
+        for (BookedSlot slot : booked) {
+            bookedStarts.add(LocalDateTime.of(slot.date(), slot.time()));
+        }
+
+        List<LocalDateTime> free = new ArrayList<>();
+        for (int i = 0; i < DAYS; i++) {
+            LocalDate date = FROM.plusDays(i);
+            if (offDays.contains(date)) {
+                continue;
+            }
+            for (Availability window : template) {
+                if (window.getDayOfWeek() != DayOfWeek.of(date)) {
+                    continue;
+                }
+                for (LocalTime time = window.getStartTime();
+                     !time.plusMinutes(window.getSlotDuration()).isAfter(window.getEndTime());
+                     time = time.plusMinutes(window.getSlotDuration())) {
+                    LocalTime end = time.plusMinutes(window.getSlotDuration());
+                    boolean inBreak = time.isBefore(window.getBreakEnd()) && end.isAfter(window.getBreakStart());
+                    LocalDateTime slot = LocalDateTime.of(date, time);
+                    if (!inBreak && !bookedStarts.contains(slot)) {
+                        free.add(slot);
+                    }
+                }
+            }
+        }
+        return free;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SlotCalendarBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,85 @@
+package com.healthapp.backend.benchmark;
+
+import com.healthapp.backend.entity.UuidV7Generator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.*;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * JMH benchmark for primary key insert throughput in PostgreSQL: random UUIDv4 vs time-ordered UUIDv7.
+ * Each invocation inserts one batch into a table whose primary key index keeps growing across iterations, so the
+ * v4 run increasingly pays for page splits and cache misses on random index pages.
+ * Needs a PostgreSQL database; connection is taken from system properties (defaults match application.properties):
+ * java -Dbench.db.url=jdbc:postgresql://localhost:5432/healthapp -cp target/test-classes:<test classpath>
+ * com.healthapp.backend.benchmark.UuidInsertBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UuidInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"v4", "v7"})
+    private String version;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private Supplier<UUID> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("bench.db.url", "jdbc:postgresql://localhost:5432/healthapp"),
+                System.getProperty("bench.db.user", "postgres"),
+                System.getProperty("bench.db.password", "password"));
+        connection.setAutoCommit(false);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_uuid_insert");
+            // Row width similar to a small entity so index, not heap, dominates
+            statement.execute("CREATE UNLOGGED TABLE bench_uuid_insert (id uuid PRIMARY KEY, payload varchar(100) NOT NULL)");
+        }
+        connection.commit();
+
+        insert = connection.prepareStatement("INSERT INTO bench_uuid_insert (id, payload) VALUES (?, ?)");
+        ids = "v7".equals(version) ? UuidV7Generator::next : UUID::randomUUID;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_uuid_insert");
+        }
+        connection.commit();
+        connection.close();
+    }
+
+    /**
+     * One committed batch of BATCH_SIZE rows; throughput is reported in rows per second.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setObject(1, ids.get());
+            insert.setString(2, "patient-profile-payload");
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(UuidInsertBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,85 @@
+package com.healthapp.backend.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for UuidV7Generator.
+ * Tests the RFC 9562 version/variant bits, the embedded timestamp, and strict monotonicity across threads.
+ */
+class UuidV7GeneratorTest {
+
+    @Test
+    void testNext_HasVersion7AndRfcVariant() {
+        // Act
+        UUID uuid = UuidV7Generator.next();
+
+        // Assert
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void testNext_EmbedsCurrentTimestamp() {
+        // Arrange
+        long before = System.currentTimeMillis();
+
+        // Act
+        UUID uuid = UuidV7Generator.next();
+
+        // Assert - may run slightly ahead of the clock when the per-millisecond sequence overflows
+        long timestamp = UuidV7Generator.timestampMillis(uuid);
+        assertTrue(timestamp >= before);
+        assertTrue(timestamp <= System.currentTimeMillis() + 1000);
+    }
+
+    @Test
+    void testNext_ConcurrentCallers_StrictlyIncreasingAndUnique() throws Exception {
+        // Arrange
+        int threads = 8;
+        int perThread = 50_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<List<UUID>>> futures = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < threads; t++) {
+            futures.add(pool.submit(() -> {
+                List<UUID> ids = new ArrayList<>(perThread);
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(UuidV7Generator.next());
+                }
+                return ids;
+            }));
+        }
+
+        // Assert
+        Set<UUID> all = new HashSet<>();
+        for (Future<List<UUID>> future : futures) {
+            List<UUID> ids = future.get();
+            for (int i = 1; i < ids.size(); i++) {
+                assertTrue(compareAsPostgres(ids.get(i - 1), ids.get(i)) < 0, "IDs must increase in index order");
+            }
+            all.addAll(ids);
+        }
+        pool.shutdown();
+        assertEquals(threads * perThread, all.size());
+    }
+
+    /**
+     * PostgreSQL orders uuid values by unsigned bytes, unlike UUID.compareTo (signed longs).
+     */
+    private static int compareAsPostgres(UUID a, UUID b) {
+        int result = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return result != 0 ? result : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,134 @@
+package com.healthapp.backend.repository;
+
+import com.healthapp.backend.entity.Patient;
+import com.healthapp.backend.entity.User;
+import com.healthapp.backend.enums.Role;
+import com.healthapp.backend.security.UserDetailsServiceImpl;
+import com.healthapp.backend.security.UserStatusCache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts SQL statements on the authentication paths using Hibernate statistics.
+ * Guards against regressions such as eager profile associations or entity loads sneaking back into login and
+ * per-request authentication. Runs against the configured PostgreSQL database (entities use jsonb columns).
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AuthQueryCountTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    private Statistics statistics;
+    private User user;
+    private Patient patient;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setEmail("count-" + UUID.randomUUID() + "@test.com");
+        user.setPassword("{bcrypt}hash");
+        user.setRole(Role.PATIENT);
+        user.setVerified(true);
+        entityManager.persist(user);
+
+        patient = new Patient();
+        patient.setUser(user);
+        patient.setFirstName("John");
+        patient.setLastName("Doe");
+        patient.setDob(LocalDate.of(1990, 1, 1));
+        patient.setPhone("1234567890");
+        patient.setGender("Male");
+        entityManager.persist(patient);
+
+        entityManager.flush();
+        entityManager.clear(); // Every lookup below must hit the database
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testLogin_LoadsCredentialsWithOneStatementAndNoEntities() {
+        // Act
+        UserDetails userDetails = new UserDetailsServiceImpl(userRepository).loadUserByUsername(user.getEmail());
+
+        // Assert
+        assertEquals(user.getEmail(), userDetails.getUsername());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount()); // Projection - no User entity materialized
+    }
+
+    @Test
+    void testAuthenticatedRequest_StatusLookupIsOneStatementThenCached() {
+        // Arrange
+        UserStatusCache statusCache = new UserStatusCache(userRepository, 60_000, 100);
+
+        // Act
+        boolean first = statusCache.isEnabled(user.getId());
+        boolean second = statusCache.isEnabled(user.getId());
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        assertEquals(1, statistics.getPrepareStatementCount()); // Second request served from the cache
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testFindUserByEmail_DoesNotLoadProfiles() {
+        // Act
+        User loaded = userRepository.findByEmail(user.getEmail()).orElseThrow();
+
+        // Assert
+        assertEquals(user.getId(), loaded.getId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityLoadCount()); // The user only - no patient/doctor lookups
+    }
+
+    @Test
+    void testFindPatient_LeavesUserUninitialized() {
+        // Act
+        Patient loaded = patientRepository.findById(patient.getId()).orElseThrow();
+
+        // Assert
+        assertFalse(Hibernate.isInitialized(loaded.getUser()));
+        assertEquals(user.getId(), loaded.getUser().getId()); // Id comes from the proxy without a query
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testFirstNameLookup_IsSingleColumnStatement() {
+        // Act
+        String firstName = patientRepository.findFirstNameByUserId(user.getId()).orElseThrow();
+
+        // Assert
+        assertEquals("John", firstName);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
@@ -0,0 +1,107 @@
+package com.healthapp.backend.repository;
+
+import com.healthapp.backend.dto.CursorPage;
+import com.healthapp.backend.dto.DoctorListItem;
+import com.healthapp.backend.entity.Doctor;
+import com.healthapp.backend.entity.User;
+import com.healthapp.backend.enums.Role;
+import com.healthapp.backend.service.DoctorListingService;
+import com.healthapp.backend.service.RowCountEstimator;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Walks the doctor directory page by page through the keyset queries and checks that the pages together are exactly
+ * the approved doctors in (lastName, firstName, id) order, including rows that tie on the whole name.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class DoctorListingPaginationTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    private DoctorListingService listingService;
+    private final List<Doctor> approved = new ArrayList<>();
+    private final String tag = UUID.randomUUID().toString().substring(0, 8); // Isolates from existing rows
+
+    @BeforeEach
+    void setUp() {
+        listingService = new DoctorListingService(doctorRepository, mock(RowCountEstimator.class));
+        String[] lastNames = {"Adams", "Baker", "Baker", "Baker", "Clark", "Young"};
+        for (int i = 0; i < lastNames.length; i++) {
+            approved.add(persistDoctor(lastNames[i], i == 3 ? "Anna" : "Zoe", true));
+        }
+        approved.add(persistDoctor("Baker", "Zoe", true)); // Same full name as two others - only id breaks the tie
+        persistDoctor("Baker", "Unapproved", false);
+        entityManager.flush();
+        entityManager.clear();
+        approved.sort(Comparator.comparing(Doctor::getLastName)
+                .thenComparing(Doctor::getFirstName)
+                .thenComparing(d -> d.getId().toString())); // Byte order, as PostgreSQL compares UUIDs
+    }
+
+    @Test
+    void testList_WalkingAllPages_ReturnsEveryApprovedDoctorOnceInOrder() {
+        // Act
+        List<UUID> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<DoctorListItem> page = listingService.list(tag, cursor, 2, false);
+            page.items().forEach(item -> seen.add(item.id()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(approved.stream().map(Doctor::getId).toList(), seen);
+        assertEquals(seen.size(), new HashSet<>(seen).size());
+    }
+
+    @Test
+    void testList_LastPageExactlyFull_HasNoNextCursor() {
+        // Act
+        CursorPage<DoctorListItem> page = listingService.list(tag, null, approved.size(), false);
+
+        // Assert
+        assertEquals(approved.size(), page.items().size());
+        assertNull(page.nextCursor());
+        assertNull(page.estimatedTotal());
+    }
+
+    private Doctor persistDoctor(String lastName, String firstName, boolean isApproved) {
+        User user = new User();
+        user.setEmail("listing-" + UUID.randomUUID() + "@test.com");
+        user.setPassword("{bcrypt}hash");
+        user.setRole(Role.DOCTOR);
+        user.setVerified(true);
+        entityManager.persist(user);
+
+        Doctor doctor = new Doctor();
+        doctor.setUser(user);
+        doctor.setFirstName(firstName);
+        doctor.setLastName(lastName);
+        doctor.setPhone("1234567890");
+        doctor.setGender("Female");
+        doctor.setLicenseNumber("LIC-" + UUID.randomUUID());
+        doctor.setSpecialization(tag); // Unique specialization scopes the listing to this test's rows
+        doctor.setApproved(isApproved);
+        entityManager.persist(doctor);
+        return doctor;
+    }
+}
@@ -0,0 +1,83 @@
+package com.healthapp.backend.repository;
+
+import com.healthapp.backend.entity.AuthToken;
+import com.healthapp.backend.enums.AuthTokenType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the V7 token backfill against a users table given the legacy token columns, inside the test transaction
+ * (PostgreSQL DDL is transactional, so the schema change is rolled back afterwards).
+ * Checks that outstanding links land in auth_tokens under the hash AuthTokenService looks up, that expired reset
+ * links are skipped, and that the plain token columns are dropped.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class LegacyTokenBackfillTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AuthTokenRepository authTokenRepository;
+
+    @Test
+    void backfill_LegacyTokens_CopiedAsHashesAndColumnsDropped() throws Exception {
+        // Arrange
+        jdbcTemplate.execute("ALTER TABLE users ADD COLUMN verification_token VARCHAR(500), " +
+                "ADD COLUMN reset_token VARCHAR(500), ADD COLUMN token_expiry_date TIMESTAMP(6)");
+        String verification = UUID.randomUUID().toString();
+        String reset = UUID.randomUUID().toString();
+        String expiredReset = UUID.randomUUID().toString();
+        UUID pending = legacyUser(false, verification, null, LocalDateTime.now().minusHours(1));
+        UUID resetting = legacyUser(true, null, reset, LocalDateTime.now().plusHours(2));
+        legacyUser(true, null, expiredReset, LocalDateTime.now().minusHours(1));
+
+        // Act
+        jdbcTemplate.execute(new ClassPathResource("db/migration/V7__backfill_auth_tokens.sql")
+                .getContentAsString(StandardCharsets.UTF_8));
+
+        // Assert
+        AuthToken verificationToken = authTokenRepository
+                .findByTokenHashAndType(sha256(verification), AuthTokenType.EMAIL_VERIFICATION).orElseThrow();
+        assertEquals(pending, verificationToken.getUser().getId());
+        assertTrue(verificationToken.getExpiresAt().isAfter(LocalDateTime.now().plusHours(23))); // Extended
+
+        AuthToken resetToken = authTokenRepository
+                .findByTokenHashAndType(sha256(reset), AuthTokenType.PASSWORD_RESET).orElseThrow();
+        assertEquals(resetting, resetToken.getUser().getId());
+        assertTrue(authTokenRepository
+                .findByTokenHashAndType(sha256(expiredReset), AuthTokenType.PASSWORD_RESET).isEmpty());
+
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM information_schema.columns WHERE table_schema = current_schema() " +
+                "AND table_name = 'users' AND column_name IN ('verification_token', 'reset_token', " +
+                "'token_expiry_date')", Integer.class));
+    }
+
+    private UUID legacyUser(boolean verified, String verificationToken, String resetToken, LocalDateTime expiry) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, email, password, role, verified, created_at, " +
+                        "verification_token, reset_token, token_expiry_date) VALUES (?, ?, ?, 'PATIENT', ?, ?, ?, ?, ?)",
+                id, "legacy-" + id + "@test.com", "{bcrypt}hash", verified, LocalDateTime.now(),
+                verificationToken, resetToken, expiry);
+        return id;
+    }
+
+    private static String sha256(String token) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,109 @@
+package com.healthapp.backend.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Captures the SQL Hibernate generates for listing queries and checks the exact select list.
+ * Listing cards must never pull bio, education, languages, addresses or other profile columns; adding a column to a
+ * projection should be a deliberate change to this test.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.healthapp.backend.repository.ListingProjectionSqlTest$CapturingInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ListingProjectionSqlTest {
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @BeforeEach
+    void setUp() {
+        CapturingInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void testDoctorDirectory_SelectsOnlyCardColumns() {
+        // Act
+        doctorRepository.findApprovedCardsAfter("", "", new UUID(0L, 0L), Limit.of(20));
+        doctorRepository.findApprovedCardsAfter("Cardiology", "", "", new UUID(0L, 0L), Limit.of(20));
+
+        // Assert
+        List<String> expected = List.of(
+                "id", "first_name", "last_name", "specialization", "experience", "profile_thumbnail_id");
+        assertEquals(2, CapturingInspector.STATEMENTS.size());
+        CapturingInspector.STATEMENTS.forEach(sql -> assertEquals(expected, selectedColumns(sql)));
+    }
+
+    @Test
+    void testPatientHistory_SelectsAppointmentAndDoctorCardColumnsOnly() {
+        // Act
+        appointmentRepository.findPatientHistoryBefore(
+                UUID.randomUUID(), LocalDate.of(9999, 12, 31), LocalTime.MIDNIGHT, new UUID(-1L, -1L), Limit.of(20));
+
+        // Assert
+        assertEquals(1, CapturingInspector.STATEMENTS.size());
+        assertEquals(List.of("id", "date", "time", "status", "reason",
+                        "id", "first_name", "last_name", "specialization", "profile_thumbnail_id"),
+                selectedColumns(CapturingInspector.STATEMENTS.get(0)));
+    }
+
+    @Test
+    void testDoctorHistory_SelectsAppointmentAndPatientCardColumnsOnly() {
+        // Act
+        appointmentRepository.findDoctorHistoryBefore(
+                UUID.randomUUID(), LocalDate.of(9999, 12, 31), LocalTime.MIDNIGHT, new UUID(-1L, -1L), Limit.of(20));
+
+        // Assert
+        assertEquals(1, CapturingInspector.STATEMENTS.size());
+        String sql = CapturingInspector.STATEMENTS.get(0);
+        List<String> columns = selectedColumns(sql);
+        assertEquals(List.of("id", "date", "time", "status", "reason", "id", "first_name", "last_name"),
+                columns.subList(0, 8));
+        assertEquals("profile_thumbnail_id", columns.get(columns.size() - 1));
+        for (String heavy : List.of("dob", "phone", "address", "insurance_info", "profile_photo_id")) {
+            assertFalse(columns.contains(heavy), "listing selects " + heavy);
+        }
+    }
+
+    /**
+     * Column names of the outermost select list, without table aliases; non-column expressions are kept verbatim.
+     */
+    private static List<String> selectedColumns(String sql) {
+        String lower = sql.toLowerCase();
+        String selectList = lower.substring(lower.indexOf("select ") + 7, lower.indexOf(" from "));
+        return Arrays.stream(selectList.split(","))
+                .map(String::trim)
+                .map(column -> column.matches("\\w+\\.\\w+") ? column.substring(column.indexOf('.') + 1) : column)
+                .toList();
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.toLowerCase().startsWith("select")) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
+}
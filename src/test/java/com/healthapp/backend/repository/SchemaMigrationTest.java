@@ -0,0 +1,76 @@
+package com.healthapp.backend.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the Flyway migrations ran and created the performance indexes.
+ * The context only starts if Hibernate's schema validation accepts the migrated tables, so a passing test also
+ * means entities and migrations agree.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SchemaMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migrate_AppliesAllVersionsSuccessfully() {
+        // Act
+        Integer failed = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM flyway_schema_history WHERE NOT success", Integer.class);
+
+        // Assert
+        assertEquals(0, failed);
+    }
+
+    @Test
+    void migrate_CreatesGinIndexesOnJsonbColumns() {
+        // Act
+        String languages = indexDefinition("idx_doctor_languages");
+        String questionnaire = indexDefinition("idx_medical_history_questionnaire");
+
+        // Assert
+        assertTrue(languages.contains("USING gin"));
+        assertTrue(questionnaire.contains("USING gin"));
+    }
+
+    @Test
+    void migrate_CreatesPartialIndexesForHotPredicates() {
+        // Act & Assert
+        assertTrue(indexDefinition("idx_doctor_listing").contains("WHERE approved"));
+        assertTrue(indexDefinition("idx_doctor_specialization_listing").contains("WHERE approved"));
+        assertTrue(indexDefinition("idx_users_unverified").contains("WHERE (verified = false)"));
+        assertTrue(indexDefinition("idx_email_outbox_due").contains("WHERE ((status)::text = 'PENDING'::text)"));
+    }
+
+    @Test
+    void migrate_CreatesKeysetIndexesForAppointmentHistory() {
+        // Act & Assert
+        assertTrue(indexDefinition("idx_appointment_patient_history").contains("(patient_id, date DESC"));
+        assertTrue(indexDefinition("idx_appointment_doctor_history").contains("(doctor_id, date DESC"));
+    }
+
+    @Test
+    void migrate_CreatesUniqueSlotIndexes() {
+        // Act & Assert
+        assertTrue(indexDefinition("uq_appointment_doctor_slot").startsWith("CREATE UNIQUE INDEX"));
+        assertTrue(indexDefinition("uq_slot_hold").startsWith("CREATE UNIQUE INDEX"));
+    }
+
+    private String indexDefinition(String name) {
+        List<String> definitions = jdbcTemplate.queryForList(
+                "SELECT indexdef FROM pg_indexes WHERE schemaname = current_schema() AND indexname = ?",
+                String.class, name);
+        assertEquals(1, definitions.size(), "missing index " + name);
+        return definitions.get(0);
+    }
+}
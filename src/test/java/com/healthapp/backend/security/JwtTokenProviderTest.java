@@ -29,6 +29,7 @@ class JwtTokenProviderTest {
         // Use reflection to set private fields for testing
         ReflectionTestUtils.setField(jwtTokenProvider, "jwtSecret", TEST_SECRET);
         ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpirationMs", TEST_EXPIRATION);
+        jwtTokenProvider.init();
     }
 
     @Test
@@ -154,6 +155,7 @@ class JwtTokenProviderTest {
 
         // Change the secret
         ReflectionTestUtils.setField(jwtTokenProvider, "jwtSecret", "differentSecretKey1234567890123456789012345678901234567890");
+        jwtTokenProvider.init();
 
         // Act
         boolean isValid = jwtTokenProvider.validateToken(token);
@@ -199,4 +201,59 @@ class JwtTokenProviderTest {
         assertTrue(jwtTokenProvider.validateToken(patientToken));
         assertTrue(jwtTokenProvider.validateToken(doctorToken));
     }
+
+    @Test
+    void testVerifyToken_ValidToken_ReturnsAllClaims() {
+        // Arrange
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("test@test.com");
+        user.setPassword("password");
+        user.setRole(Role.DOCTOR);
+        user.setVerified(true);
+
+        UserDetailsImpl userDetails = UserDetailsImpl.build(user);
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(userDetails);
+
+        String token = jwtTokenProvider.generateToken(authentication);
+
+        // Act
+        JwtClaims claims = jwtTokenProvider.verifyToken(token);
+
+        // Assert
+        assertNotNull(claims);
+        assertEquals("test@test.com", claims.email());
+        assertEquals(user.getId(), claims.userId());
+        assertEquals(Role.DOCTOR, claims.role());
+        assertFalse(claims.isExpired(System.currentTimeMillis()));
+    }
+
+    @Test
+    void testVerifyToken_InvalidToken_ReturnsNull() {
+        // Act & Assert
+        assertNull(jwtTokenProvider.verifyToken("invalid.jwt.token"));
+        assertNull(jwtTokenProvider.verifyToken(""));
+    }
+
+    @Test
+    void testVerifyToken_ExpiredToken_ReturnsNull() {
+        // Arrange - negative expiration produces an already-expired token
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpirationMs", -1000L);
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("test@test.com");
+        user.setPassword("password");
+        user.setRole(Role.PATIENT);
+        user.setVerified(true);
+
+        UserDetailsImpl userDetails = UserDetailsImpl.build(user);
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(userDetails);
+
+        String token = jwtTokenProvider.generateToken(authentication);
+
+        // Act & Assert
+        assertNull(jwtTokenProvider.verifyToken(token));
+    }
 }
@@ -0,0 +1,73 @@
+package com.healthapp.backend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PasswordEncoderCalibrator.
+ * Tests strength selection, hash format, and upgrade detection for legacy and weaker hashes.
+ */
+class PasswordEncoderCalibratorTest {
+
+    @Test
+    void testCalibrate_StaysWithinBounds() {
+        // Arrange - low strengths keep the test fast
+        PasswordEncoderCalibrator calibrator = new PasswordEncoderCalibrator(0, 250L, 4, 6);
+
+        // Act
+        int strength = calibrator.calibrate();
+
+        // Assert
+        assertTrue(strength >= 4 && strength <= 6);
+    }
+
+    @Test
+    void testCalibrate_TinyBudget_FallsBackToMinimum() {
+        // Arrange
+        PasswordEncoderCalibrator calibrator = new PasswordEncoderCalibrator(0, -1L, 5, 8);
+
+        // Act & Assert
+        assertEquals(5, calibrator.calibrate());
+    }
+
+    @Test
+    void testCreateEncoder_FixedStrength_EncodesWithPrefixAndCost() {
+        // Arrange
+        PasswordEncoderCalibrator calibrator = new PasswordEncoderCalibrator(5, 250L, 4, 6);
+
+        // Act
+        PasswordEncoder encoder = calibrator.createEncoder();
+        String hash = encoder.encode("Test1234");
+
+        // Assert
+        assertEquals(5, calibrator.getStrength());
+        assertTrue(hash.startsWith("{bcrypt}$2a$05$"));
+        assertTrue(encoder.matches("Test1234", hash));
+        assertFalse(encoder.upgradeEncoding(hash));
+    }
+
+    @Test
+    void testCreateEncoder_LegacyUnprefixedHash_MatchesAndNeedsUpgrade() {
+        // Arrange
+        PasswordEncoder encoder = new PasswordEncoderCalibrator(5, 250L, 4, 6).createEncoder();
+        String legacyHash = new BCryptPasswordEncoder(4).encode("Test1234");
+
+        // Act & Assert
+        assertTrue(encoder.matches("Test1234", legacyHash));
+        assertTrue(encoder.upgradeEncoding(legacyHash));
+    }
+
+    @Test
+    void testCreateEncoder_WeakerPrefixedHash_NeedsUpgrade() {
+        // Arrange
+        PasswordEncoder encoder = new PasswordEncoderCalibrator(6, 250L, 4, 6).createEncoder();
+        String weakerHash = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("Test1234");
+
+        // Act & Assert
+        assertTrue(encoder.matches("Test1234", weakerHash));
+        assertTrue(encoder.upgradeEncoding(weakerHash));
+    }
+}
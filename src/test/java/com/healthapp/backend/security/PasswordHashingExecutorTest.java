@@ -0,0 +1,80 @@
+package com.healthapp.backend.security;
+
+import com.healthapp.backend.exception.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PasswordHashingExecutor.
+ * Tests result hand-off, fast rejection when saturated, and error propagation.
+ */
+class PasswordHashingExecutorTest {
+
+    private PasswordHashingExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void testExecute_ReturnsTaskResult() {
+        // Arrange
+        executor = new PasswordHashingExecutor(new SimpleMeterRegistry(), 1, 1, 5000L);
+
+        // Act & Assert
+        assertEquals("hash", executor.execute("encode", () -> "hash"));
+    }
+
+    @Test
+    void testExecute_SaturatedPool_RejectsImmediately() throws Exception {
+        // Arrange - one worker busy, one task queued
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        executor = new PasswordHashingExecutor(meterRegistry, 1, 1, 5000L);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> executor.execute("matches", () -> {
+            started.countDown();
+            await(release);
+            return true;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> executor.execute("matches", () -> true));
+        Thread.sleep(100); // Let the second task reach the queue
+
+        // Act & Assert
+        assertThrows(ServiceBusyException.class, () -> executor.execute("matches", () -> true));
+        assertEquals(1.0, meterRegistry.counter("auth.password.executor.rejected").count());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testExecute_TaskThrows_PropagatesException() {
+        // Arrange
+        executor = new PasswordHashingExecutor(new SimpleMeterRegistry(), 1, 1, 5000L);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> executor.execute("encode", () -> {
+            throw new IllegalArgumentException("bad hash");
+        }));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.healthapp.backend.security;
 
+import com.healthapp.backend.dto.UserCredentials;
 import com.healthapp.backend.entity.User;
 import com.healthapp.backend.enums.Role;
 import com.healthapp.backend.repository.UserRepository;
@@ -16,6 +17,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -46,7 +48,7 @@ class UserDetailsServiceImplTest {
     @Test
     void testLoadUserByUsername_ExistingUser_ReturnsUserDetails() {
         // Arrange
-        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(testUser));
+        when(userRepository.findCredentialsByEmail("test@test.com")).thenReturn(Optional.of(credentials(testUser)));
 
         // Act
         UserDetails userDetails = userDetailsService.loadUserByUsername("test@test.com");
@@ -63,7 +65,7 @@ class UserDetailsServiceImplTest {
     @Test
     void testLoadUserByUsername_NonExistingUser_ThrowsException() {
         // Arrange
-        when(userRepository.findByEmail("nonexistent@test.com")).thenReturn(Optional.empty());
+        when(userRepository.findCredentialsByEmail("nonexistent@test.com")).thenReturn(Optional.empty());
 
         // Act & Assert
         UsernameNotFoundException exception = assertThrows(
@@ -77,7 +79,7 @@ class UserDetailsServiceImplTest {
     void testLoadUserByUsername_UnverifiedUser_ReturnsDisabledUser() {
         // Arrange
         testUser.setVerified(false);
-        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(testUser));
+        when(userRepository.findCredentialsByEmail("test@test.com")).thenReturn(Optional.of(credentials(testUser)));
 
         // Act
         UserDetails userDetails = userDetailsService.loadUserByUsername("test@test.com");
@@ -91,7 +93,7 @@ class UserDetailsServiceImplTest {
     void testLoadUserByUsername_DoctorRole_ReturnsCorrectAuthority() {
         // Arrange
         testUser.setRole(Role.DOCTOR);
-        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(testUser));
+        when(userRepository.findCredentialsByEmail("test@test.com")).thenReturn(Optional.of(credentials(testUser)));
 
         // Act
         UserDetails userDetails = userDetailsService.loadUserByUsername("test@test.com");
@@ -105,7 +107,7 @@ class UserDetailsServiceImplTest {
     void testLoadUserByUsername_AdminRole_ReturnsCorrectAuthority() {
         // Arrange
         testUser.setRole(Role.ADMIN);
-        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(testUser));
+        when(userRepository.findCredentialsByEmail("test@test.com")).thenReturn(Optional.of(credentials(testUser)));
 
         // Act
         UserDetails userDetails = userDetailsService.loadUserByUsername("test@test.com");
@@ -118,7 +120,7 @@ class UserDetailsServiceImplTest {
     @Test
     void testLoadUserByUsername_ReturnsUserDetailsImpl() {
         // Arrange
-        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(testUser));
+        when(userRepository.findCredentialsByEmail("test@test.com")).thenReturn(Optional.of(credentials(testUser)));
 
         // Act
         UserDetails userDetails = userDetailsService.loadUserByUsername("test@test.com");
@@ -134,7 +136,7 @@ class UserDetailsServiceImplTest {
     @Test
     void testLoadUserByUsername_AccountNonExpired_ReturnsTrue() {
         // Arrange
-        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(testUser));
+        when(userRepository.findCredentialsByEmail("test@test.com")).thenReturn(Optional.of(credentials(testUser)));
 
         // Act
         UserDetails userDetails = userDetailsService.loadUserByUsername("test@test.com");
@@ -146,7 +148,7 @@ class UserDetailsServiceImplTest {
     @Test
     void testLoadUserByUsername_AccountNonLocked_ReturnsTrue() {
         // Arrange
-        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(testUser));
+        when(userRepository.findCredentialsByEmail("test@test.com")).thenReturn(Optional.of(credentials(testUser)));
 
         // Act
         UserDetails userDetails = userDetailsService.loadUserByUsername("test@test.com");
@@ -158,7 +160,7 @@ class UserDetailsServiceImplTest {
     @Test
     void testLoadUserByUsername_CredentialsNonExpired_ReturnsTrue() {
         // Arrange
-        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(testUser));
+        when(userRepository.findCredentialsByEmail("test@test.com")).thenReturn(Optional.of(credentials(testUser)));
 
         // Act
         UserDetails userDetails = userDetailsService.loadUserByUsername("test@test.com");
@@ -166,4 +168,21 @@ class UserDetailsServiceImplTest {
         // Assert
         assertTrue(userDetails.isCredentialsNonExpired());
     }
+
+    @Test
+    void testUpdatePassword_PersistsUpgradedHash() {
+        // Arrange
+        UserDetailsImpl userDetails = UserDetailsImpl.build(testUser);
+
+        // Act
+        UserDetails updated = userDetailsService.updatePassword(userDetails, "{bcrypt}newHash");
+
+        // Assert
+        verify(userRepository).updatePasswordByEmail("test@test.com", "{bcrypt}newHash");
+        assertEquals("{bcrypt}newHash", updated.getPassword());
+    }
+
+    private static UserCredentials credentials(User user) {
+        return new UserCredentials(user.getId(), user.getEmail(), user.getPassword(), user.getRole(), user.getVerified());
+    }
 }
@@ -0,0 +1,97 @@
+package com.healthapp.backend.security;
+
+import com.healthapp.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UserStatusCache.
+ * Tests cached account status lookups, TTL expiry, invalidation, and size bound.
+ */
+@ExtendWith(MockitoExtension.class)
+class UserStatusCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserStatusCache userStatusCache;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        userStatusCache = new UserStatusCache(userRepository, 60000L, 2);
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    void testIsEnabled_RepeatedCalls_QueriesDatabaseOnce() {
+        // Arrange
+        when(userRepository.findVerifiedById(userId)).thenReturn(Optional.of(true));
+
+        // Act
+        boolean first = userStatusCache.isEnabled(userId);
+        boolean second = userStatusCache.isEnabled(userId);
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        verify(userRepository, times(1)).findVerifiedById(userId);
+    }
+
+    @Test
+    void testIsEnabled_UnknownUser_ReturnsFalse() {
+        // Arrange
+        when(userRepository.findVerifiedById(userId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertFalse(userStatusCache.isEnabled(userId));
+    }
+
+    @Test
+    void testIsEnabled_ExpiredEntry_ReloadsStatus() {
+        // Arrange - zero TTL means every entry is immediately stale
+        userStatusCache = new UserStatusCache(userRepository, 0L, 10);
+        when(userRepository.findVerifiedById(userId)).thenReturn(Optional.of(true), Optional.of(false));
+
+        // Act & Assert
+        assertTrue(userStatusCache.isEnabled(userId));
+        assertFalse(userStatusCache.isEnabled(userId));
+    }
+
+    @Test
+    void testInvalidate_ForcesReload() {
+        // Arrange
+        when(userRepository.findVerifiedById(userId)).thenReturn(Optional.of(true), Optional.of(false));
+        userStatusCache.isEnabled(userId);
+
+        // Act
+        userStatusCache.invalidate(userId);
+
+        // Assert
+        assertFalse(userStatusCache.isEnabled(userId));
+        verify(userRepository, times(2)).findVerifiedById(userId);
+    }
+
+    @Test
+    void testIsEnabled_FullCache_StaysBounded() {
+        // Arrange
+        when(userRepository.findVerifiedById(any(UUID.class))).thenReturn(Optional.of(true));
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            userStatusCache.isEnabled(UUID.randomUUID());
+        }
+
+        // Assert
+        assertTrue(userStatusCache.size() <= 2);
+    }
+}
@@ -0,0 +1,159 @@
+package com.healthapp.backend.security;
+
+import com.healthapp.backend.entity.RevokedToken;
+import com.healthapp.backend.enums.Role;
+import com.healthapp.backend.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for VerifiedTokenCache.
+ * Tests cache hits, expiry, revocation, and the size bound.
+ */
+@ExtendWith(MockitoExtension.class)
+class VerifiedTokenCacheTest {
+
+    @Mock
+    private JwtTokenProvider tokenProvider;
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache verifiedTokenCache;
+    private JwtClaims claims;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        verifiedTokenCache = new VerifiedTokenCache(tokenProvider, revokedTokenRepository, meterRegistry, 10, 1000);
+        claims = new JwtClaims("test@test.com", UUID.randomUUID(), Role.PATIENT,
+                System.currentTimeMillis(), System.currentTimeMillis() + 60000);
+    }
+
+    @Test
+    void testVerify_RepeatedToken_VerifiesSignatureOnce() {
+        // Arrange
+        when(tokenProvider.verifyToken("token")).thenReturn(claims);
+
+        // Act
+        JwtClaims first = verifiedTokenCache.verify("token");
+        JwtClaims second = verifiedTokenCache.verify("token");
+
+        // Assert
+        assertSame(claims, first);
+        assertSame(claims, second);
+        verify(tokenProvider, times(1)).verifyToken("token");
+        assertEquals(1.0, meterRegistry.counter("auth.token.cache.hits").count());
+    }
+
+    @Test
+    void testVerify_InvalidToken_ReturnsNullAndIsNotCached() {
+        // Arrange
+        when(tokenProvider.verifyToken("bad")).thenReturn(null);
+
+        // Act & Assert
+        assertNull(verifiedTokenCache.verify("bad"));
+        assertEquals(0, verifiedTokenCache.size());
+    }
+
+    @Test
+    void testVerify_ExpiredCachedEntry_Reverifies() {
+        // Arrange
+        JwtClaims expired = new JwtClaims("test@test.com", UUID.randomUUID(), Role.PATIENT, 0L, 1L);
+        when(tokenProvider.verifyToken("token")).thenReturn(expired, (JwtClaims) null);
+
+        // Act
+        verifiedTokenCache.verify("token");
+        JwtClaims result = verifiedTokenCache.verify("token");
+
+        // Assert
+        assertNull(result);
+        verify(tokenProvider, times(2)).verifyToken("token");
+    }
+
+    @Test
+    void testRevoke_CachedToken_IsRejectedAfterwards() {
+        // Arrange
+        when(tokenProvider.verifyToken("token")).thenReturn(claims);
+        when(revokedTokenRepository.existsById(anyString())).thenReturn(true);
+        verifiedTokenCache.verify("token");
+
+        // Act
+        verifiedTokenCache.revoke("token");
+
+        // Assert
+        assertNull(verifiedTokenCache.verify("token"));
+        verify(revokedTokenRepository).save(any(RevokedToken.class));
+    }
+
+    @Test
+    void testVerify_NotRevoked_NeverQueriesDenylist() {
+        // Arrange
+        when(tokenProvider.verifyToken("token")).thenReturn(claims);
+
+        // Act
+        verifiedTokenCache.verify("token");
+
+        // Assert
+        verify(revokedTokenRepository, never()).existsById(anyString());
+    }
+
+    @Test
+    void testRevoke_InvalidToken_IsIgnored() {
+        // Arrange
+        when(tokenProvider.verifyToken("bad")).thenReturn(null);
+
+        // Act
+        verifiedTokenCache.revoke("bad");
+
+        // Assert
+        verify(revokedTokenRepository, never()).save(any(RevokedToken.class));
+    }
+
+    @Test
+    void testRefreshRevocations_RevokedElsewhere_DropsCachedEntry() throws Exception {
+        // Arrange - token revoked by another instance, only its hash is visible via the table
+        when(tokenProvider.verifyToken("token")).thenReturn(claims);
+        verifiedTokenCache.verify("token");
+        String hash = HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest("token".getBytes(StandardCharsets.UTF_8)));
+        when(revokedTokenRepository.findTokenHashesRevokedSince(any())).thenReturn(List.of(hash));
+
+        // Act
+        verifiedTokenCache.refreshRevocations();
+
+        // Assert
+        assertEquals(0, verifiedTokenCache.size());
+    }
+
+    @Test
+    void testVerify_ManyTokens_StaysWithinMaxSize() {
+        // Arrange
+        when(tokenProvider.verifyToken(anyString())).thenReturn(claims);
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            verifiedTokenCache.verify("token-" + i);
+        }
+
+        // Assert
+        assertTrue(verifiedTokenCache.size() <= 10);
+    }
+
+}
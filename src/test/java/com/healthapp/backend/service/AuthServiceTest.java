@@ -4,9 +4,11 @@ import com.healthapp.backend.dto.ApiResponse;
 import com.healthapp.backend.dto.LoginRequest;
 import com.healthapp.backend.dto.LoginResponse;
 import com.healthapp.backend.dto.RegisterRequest;
+import com.healthapp.backend.entity.AuthToken;
 import com.healthapp.backend.entity.Doctor;
 import com.healthapp.backend.entity.Patient;
 import com.healthapp.backend.entity.User;
+import com.healthapp.backend.enums.AuthTokenType;
 import com.healthapp.backend.enums.Role;
 import com.healthapp.backend.exception.*;
 import com.healthapp.backend.repository.DoctorRepository;
@@ -14,9 +16,13 @@ import com.healthapp.backend.repository.MedicalHistoryRepository;
 import com.healthapp.backend.repository.PatientRepository;
 import com.healthapp.backend.repository.UserRepository;
 import com.healthapp.backend.security.JwtTokenProvider;
+import com.healthapp.backend.security.UserDetailsImpl;
+import com.healthapp.backend.security.UserStatusCache;
+import com.healthapp.backend.security.VerifiedTokenCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -24,15 +30,21 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 /**
@@ -66,6 +78,21 @@ class AuthServiceTest {
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Mock
+    private ProfilePhotoService profilePhotoService;
+
+    @Mock
+    private AuthTokenService authTokenService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private UserStatusCache userStatusCache;
+
     @InjectMocks
     private AuthService authService;
 
@@ -75,6 +102,14 @@ class AuthServiceTest {
 
     @BeforeEach
     void setUp() {
+        // Run transaction callbacks inline
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
         // Patient registration request
         patientRequest = new RegisterRequest();
         patientRequest.setEmail("patient@test.com");
@@ -110,10 +145,17 @@ class AuthServiceTest {
     @Test
     void testRegisterPatient_Success() {
         // Arrange
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
         when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userRepository.insertIfEmailAbsent(any(UUID.class), anyString(), eq("encodedPassword"), anyString(),
+                any(LocalDateTime.class))).thenReturn(1);
+        when(userRepository.getReferenceById(any(UUID.class))).thenAnswer(invocation -> {
+            User reference = new User();
+            reference.setId(invocation.getArgument(0));
+            return reference;
+        });
         when(patientRepository.save(any(Patient.class))).thenReturn(new Patient());
+        when(authTokenService.issue(any(User.class), eq(AuthTokenType.EMAIL_VERIFICATION), any(Duration.class)))
+                .thenReturn("verification-token");
         doNothing().when(emailService).sendVerificationEmail(anyString(), anyString(), anyString());
 
         // Act
@@ -122,7 +164,8 @@ class AuthServiceTest {
         // Assert
         assertTrue(response.getSuccess());
         assertEquals("Registration successful! Please check your email to verify your account.", response.getMessage());
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).insertIfEmailAbsent(any(UUID.class), eq("patient@test.com"), eq("encodedPassword"),
+                eq("PATIENT"), any(LocalDateTime.class));
         verify(patientRepository).save(any(Patient.class));
         verify(emailService).sendVerificationEmail(anyString(), anyString(), anyString());
     }
@@ -130,10 +173,17 @@ class AuthServiceTest {
     @Test
     void testRegisterDoctor_Success() {
         // Arrange
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
         when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userRepository.insertIfEmailAbsent(any(UUID.class), anyString(), eq("encodedPassword"), anyString(),
+                any(LocalDateTime.class))).thenReturn(1);
+        when(userRepository.getReferenceById(any(UUID.class))).thenAnswer(invocation -> {
+            User reference = new User();
+            reference.setId(invocation.getArgument(0));
+            return reference;
+        });
         when(doctorRepository.save(any(Doctor.class))).thenReturn(new Doctor());
+        when(authTokenService.issue(any(User.class), eq(AuthTokenType.EMAIL_VERIFICATION), any(Duration.class)))
+                .thenReturn("verification-token");
         doNothing().when(emailService).sendVerificationEmail(anyString(), anyString(), anyString());
 
         // Act
@@ -145,16 +195,56 @@ class AuthServiceTest {
         verify(emailService).sendVerificationEmail(anyString(), anyString(), anyString());
     }
 
+    @Test
+    void testRegister_HashesPasswordAndStoresPhotoBeforeTransaction() {
+        // Arrange
+        patientRequest.setProfilePhotoBase64("photo");
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(profilePhotoService.storeBase64("photo"))
+                .thenReturn(new ProfilePhotoService.StoredPhoto("photo-id", "thumbnail-id"));
+        when(userRepository.insertIfEmailAbsent(any(UUID.class), anyString(), eq("encodedPassword"), anyString(),
+                any(LocalDateTime.class))).thenReturn(1);
+        when(userRepository.getReferenceById(any(UUID.class))).thenReturn(new User());
+        when(authTokenService.issue(any(User.class), eq(AuthTokenType.EMAIL_VERIFICATION), any(Duration.class)))
+                .thenReturn("verification-token");
+
+        // Act
+        authService.register(patientRequest);
+
+        // Assert
+        InOrder inOrder = inOrder(passwordEncoder, profilePhotoService, transactionTemplate, userRepository);
+        inOrder.verify(passwordEncoder).encode("Test1234");
+        inOrder.verify(profilePhotoService).storeBase64("photo");
+        inOrder.verify(transactionTemplate).executeWithoutResult(any());
+        inOrder.verify(userRepository).insertIfEmailAbsent(any(UUID.class), anyString(), anyString(), anyString(),
+                any(LocalDateTime.class));
+        verify(patientRepository).save(argThat(patient -> "photo-id".equals(patient.getProfilePhotoId())
+                && "thumbnail-id".equals(patient.getProfileThumbnailId())));
+    }
+
     @Test
     void testRegister_DuplicateEmail_ThrowsException() {
         // Arrange
-        when(userRepository.existsByEmail("patient@test.com")).thenReturn(true);
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(userRepository.insertIfEmailAbsent(any(UUID.class), eq("patient@test.com"), anyString(), anyString(),
+                any(LocalDateTime.class))).thenReturn(0); // Unique index already holds this email
 
         // Act & Assert
         assertThrows(UserAlreadyExistsException.class, () -> authService.register(patientRequest));
         verify(userRepository, never()).save(any(User.class));
     }
 
+    @Test
+    void testRegister_EmailAlreadyTaken_RejectsBeforeHashingOrStoringPhoto() {
+        // Arrange
+        patientRequest.setProfilePhotoBase64("photo");
+        when(userRepository.existsByEmail("patient@test.com")).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(UserAlreadyExistsException.class, () -> authService.register(patientRequest));
+        verifyNoInteractions(passwordEncoder, profilePhotoService, transactionTemplate);
+    }
+
     @Test
     void testRegister_PatientWithoutDob_ThrowsException() {
         // Arrange
@@ -177,17 +267,15 @@ class AuthServiceTest {
     void testVerifyEmail_ValidToken_Success() {
         // Arrange
         User unverifiedUser = new User();
+        unverifiedUser.setId(UUID.randomUUID());
         unverifiedUser.setEmail("test@test.com");
+        unverifiedUser.setRole(Role.PATIENT);
         unverifiedUser.setVerified(false);
-        unverifiedUser.setVerificationToken("valid-token");
-        unverifiedUser.setTokenExpiryDate(LocalDateTime.now().plusHours(1));
-
-        Patient patient = new Patient();
-        patient.setFirstName("John");
-        unverifiedUser.setPatient(patient);
 
-        when(userRepository.findByVerificationToken("valid-token")).thenReturn(Optional.of(unverifiedUser));
+        when(authTokenService.consume("valid-token", AuthTokenType.EMAIL_VERIFICATION))
+                .thenReturn(Optional.of(authToken(unverifiedUser, LocalDateTime.now().plusHours(1))));
         when(userRepository.save(any(User.class))).thenReturn(unverifiedUser);
+        when(patientRepository.findFirstNameByUserId(unverifiedUser.getId())).thenReturn(Optional.of("John"));
         doNothing().when(emailService).sendWelcomeEmail(anyString(), anyString());
 
         // Act
@@ -197,14 +285,14 @@ class AuthServiceTest {
         assertTrue(response.getSuccess());
         assertEquals("Email verified successfully! You can now login.", response.getMessage());
         assertTrue(unverifiedUser.getVerified());
-        assertNull(unverifiedUser.getVerificationToken());
-        verify(emailService).sendWelcomeEmail(anyString(), anyString());
+        verify(emailService).sendWelcomeEmail("test@test.com", "John");
+        verify(userStatusCache).invalidate(unverifiedUser.getId()); // JWT filter must not serve the stale status
     }
 
     @Test
     void testVerifyEmail_InvalidToken_ThrowsException() {
         // Arrange
-        when(userRepository.findByVerificationToken("invalid-token")).thenReturn(Optional.empty());
+        when(authTokenService.consume("invalid-token", AuthTokenType.EMAIL_VERIFICATION)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(InvalidTokenException.class, () -> authService.verifyEmail("invalid-token"));
@@ -213,14 +301,12 @@ class AuthServiceTest {
     @Test
     void testVerifyEmail_ExpiredToken_ThrowsException() {
         // Arrange
-        User user = new User();
-        user.setVerificationToken("expired-token");
-        user.setTokenExpiryDate(LocalDateTime.now().minusHours(1)); // Expired
-
-        when(userRepository.findByVerificationToken("expired-token")).thenReturn(Optional.of(user));
+        when(authTokenService.consume("expired-token", AuthTokenType.EMAIL_VERIFICATION))
+                .thenReturn(Optional.of(authToken(new User(), LocalDateTime.now().minusHours(1)))); // Expired
 
         // Act & Assert
         assertThrows(TokenExpiredException.class, () -> authService.verifyEmail("expired-token"));
+        verifyNoInteractions(userStatusCache);
     }
 
     @Test
@@ -231,7 +317,7 @@ class AuthServiceTest {
 
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(authentication);
-        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(testUser));
+        when(authentication.getPrincipal()).thenReturn(UserDetailsImpl.build(testUser));
         when(tokenProvider.generateToken(authentication)).thenReturn("jwt-token");
 
         // Act
@@ -242,6 +328,7 @@ class AuthServiceTest {
         assertEquals("jwt-token", response.getToken());
         assertEquals(testUser.getEmail(), response.getEmail());
         assertEquals(testUser.getRole(), response.getRole());
+        verify(userRepository, never()).findByEmail(anyString()); // Principal from authentication is reused
     }
 
     @Test
@@ -253,7 +340,7 @@ class AuthServiceTest {
 
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(authentication);
-        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(testUser));
+        when(authentication.getPrincipal()).thenReturn(UserDetailsImpl.build(testUser));
 
         // Act & Assert
         assertThrows(EmailNotVerifiedException.class, () -> authService.login(loginRequest));
@@ -276,7 +363,8 @@ class AuthServiceTest {
     void testForgotPassword_ValidEmail_SendsResetEmail() {
         // Arrange
         when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(testUser));
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(authTokenService.replace(eq(testUser), eq(AuthTokenType.PASSWORD_RESET), any(Duration.class)))
+                .thenReturn("reset-token");
         doNothing().when(emailService).sendPasswordResetEmail(anyString(), anyString(), anyString());
 
         // Act
@@ -285,8 +373,7 @@ class AuthServiceTest {
         // Assert
         assertTrue(response.getSuccess());
         assertEquals("Password reset link sent to your email", response.getMessage());
-        assertNotNull(testUser.getResetToken());
-        verify(emailService).sendPasswordResetEmail(anyString(), anyString(), anyString());
+        verify(emailService).sendPasswordResetEmail("test@test.com", "reset-token", "PATIENT");
     }
 
     @Test
@@ -302,10 +389,10 @@ class AuthServiceTest {
     @Test
     void testResetPassword_ValidToken_ChangesPassword() {
         // Arrange
-        testUser.setResetToken("reset-token");
-        testUser.setTokenExpiryDate(LocalDateTime.now().plusHours(1));
-
-        when(userRepository.findByResetToken("reset-token")).thenReturn(Optional.of(testUser));
+        when(authTokenService.findExpiry("reset-token", AuthTokenType.PASSWORD_RESET))
+                .thenReturn(Optional.of(LocalDateTime.now().plusHours(1)));
+        when(authTokenService.consume("reset-token", AuthTokenType.PASSWORD_RESET))
+                .thenReturn(Optional.of(authToken(testUser, LocalDateTime.now().plusHours(1))));
         when(passwordEncoder.encode("NewPassword1")).thenReturn("newEncodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(testUser);
 
@@ -316,30 +403,68 @@ class AuthServiceTest {
         assertTrue(response.getSuccess());
         assertEquals("Password reset successful! You can now login.", response.getMessage());
         assertEquals("newEncodedPassword", testUser.getPassword());
-        assertNull(testUser.getResetToken());
-        assertNull(testUser.getTokenExpiryDate());
     }
 
     @Test
     void testResetPassword_ExpiredToken_ThrowsException() {
         // Arrange
-        testUser.setResetToken("reset-token");
-        testUser.setTokenExpiryDate(LocalDateTime.now().minusHours(1)); // Expired
-
-        when(userRepository.findByResetToken("reset-token")).thenReturn(Optional.of(testUser));
+        when(authTokenService.findExpiry("reset-token", AuthTokenType.PASSWORD_RESET))
+                .thenReturn(Optional.of(LocalDateTime.now().minusHours(1))); // Expired
 
         // Act & Assert
         assertThrows(TokenExpiredException.class,
                 () -> authService.resetPassword("reset-token", "NewPassword1"));
+        verifyNoInteractions(passwordEncoder);
     }
 
     @Test
-    void testResetPassword_InvalidToken_ThrowsException() {
+    void testResetPassword_InvalidToken_NeverHashesPassword() {
         // Arrange
-        when(userRepository.findByResetToken("invalid-token")).thenReturn(Optional.empty());
+        when(authTokenService.findExpiry("invalid-token", AuthTokenType.PASSWORD_RESET)).thenReturn(Optional.empty());
 
-        // Act & Assert
+        // Act & Assert - junk tokens must not cost a bcrypt on the bounded hashing pool
         assertThrows(InvalidTokenException.class,
                 () -> authService.resetPassword("invalid-token", "NewPassword1"));
+        verifyNoInteractions(passwordEncoder, transactionTemplate);
+        verify(authTokenService, never()).consume(anyString(), any());
+    }
+
+    @Test
+    void testResetPassword_TokenUsedConcurrently_ThrowsException() {
+        // Arrange - the token existed when checked but another reset consumed it first
+        when(authTokenService.findExpiry("reset-token", AuthTokenType.PASSWORD_RESET))
+                .thenReturn(Optional.of(LocalDateTime.now().plusHours(1)));
+        when(passwordEncoder.encode("NewPassword1")).thenReturn("newEncodedPassword");
+        when(authTokenService.consume("reset-token", AuthTokenType.PASSWORD_RESET)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(InvalidTokenException.class,
+                () -> authService.resetPassword("reset-token", "NewPassword1"));
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void testLogout_WithToken_RevokesToken() {
+        // Act
+        authService.logout("jwt-token");
+
+        // Assert
+        verify(verifiedTokenCache).revoke("jwt-token");
+    }
+
+    @Test
+    void testLogout_WithoutToken_DoesNothing() {
+        // Act
+        authService.logout(null);
+
+        // Assert
+        verifyNoInteractions(verifiedTokenCache);
+    }
+
+    private static AuthToken authToken(User user, LocalDateTime expiresAt) {
+        AuthToken authToken = new AuthToken();
+        authToken.setUser(user);
+        authToken.setExpiresAt(expiresAt);
+        return authToken;
     }
 }
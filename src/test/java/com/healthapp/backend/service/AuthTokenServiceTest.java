@@ -0,0 +1,129 @@
+package com.healthapp.backend.service;
+
+import com.healthapp.backend.entity.AuthToken;
+import com.healthapp.backend.entity.User;
+import com.healthapp.backend.enums.AuthTokenType;
+import com.healthapp.backend.repository.AuthTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AuthTokenService.
+ * Tests hashed storage, replacement of earlier tokens, single-use consumption, and non-consuming expiry lookups.
+ */
+@ExtendWith(MockitoExtension.class)
+class AuthTokenServiceTest {
+
+    @Mock
+    private AuthTokenRepository authTokenRepository;
+
+    private AuthTokenService authTokenService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        authTokenService = new AuthTokenService(authTokenRepository);
+
+        user = new User();
+        user.setId(UUID.randomUUID());
+    }
+
+    @Test
+    void testIssue_StoresHashNotRawToken() {
+        // Act
+        String token = authTokenService.issue(user, AuthTokenType.PASSWORD_RESET, Duration.ofHours(24));
+
+        // Assert
+        ArgumentCaptor<AuthToken> captor = ArgumentCaptor.forClass(AuthToken.class);
+        verify(authTokenRepository).save(captor.capture());
+        verify(authTokenRepository, never()).deleteByUserIdAndType(any(), any()); // New users have nothing to replace
+
+        AuthToken stored = captor.getValue();
+        assertEquals(64, stored.getTokenHash().length());
+        assertNotEquals(token, stored.getTokenHash());
+        assertEquals(AuthTokenService.hash(token), stored.getTokenHash());
+        assertEquals(AuthTokenType.PASSWORD_RESET, stored.getType());
+        assertTrue(stored.getExpiresAt().isAfter(LocalDateTime.now().plusHours(23)));
+    }
+
+    @Test
+    void testReplace_DeletesEarlierTokensOfSameType() {
+        // Act
+        String token = authTokenService.replace(user, AuthTokenType.PASSWORD_RESET, Duration.ofHours(24));
+
+        // Assert
+        assertNotNull(token);
+        verify(authTokenRepository).deleteByUserIdAndType(user.getId(), AuthTokenType.PASSWORD_RESET);
+        verify(authTokenRepository).save(any(AuthToken.class));
+    }
+
+    @Test
+    void testConsume_KnownToken_ReturnsAndDeletesIt() {
+        // Arrange
+        AuthToken stored = new AuthToken();
+        stored.setId(UUID.randomUUID());
+        stored.setUser(user);
+        when(authTokenRepository.findByTokenHashAndType(AuthTokenService.hash("token"), AuthTokenType.EMAIL_VERIFICATION))
+                .thenReturn(Optional.of(stored));
+        when(authTokenRepository.deleteByIdReturningCount(stored.getId())).thenReturn(1);
+
+        // Act
+        Optional<AuthToken> consumed = authTokenService.consume("token", AuthTokenType.EMAIL_VERIFICATION);
+
+        // Assert
+        assertSame(stored, consumed.orElseThrow());
+        verify(authTokenRepository).deleteByIdReturningCount(stored.getId());
+    }
+
+    @Test
+    void testConsume_ConcurrentConsumerDeletedFirst_ReturnsEmpty() {
+        // Arrange - both requests found the row; the other one's delete committed first
+        AuthToken stored = new AuthToken();
+        stored.setId(UUID.randomUUID());
+        stored.setUser(user);
+        when(authTokenRepository.findByTokenHashAndType(AuthTokenService.hash("token"), AuthTokenType.PASSWORD_RESET))
+                .thenReturn(Optional.of(stored));
+        when(authTokenRepository.deleteByIdReturningCount(stored.getId())).thenReturn(0);
+
+        // Act & Assert - reported as an invalid token, not a stale-state failure
+        assertTrue(authTokenService.consume("token", AuthTokenType.PASSWORD_RESET).isEmpty());
+        verify(authTokenRepository, never()).delete(any());
+    }
+
+    @Test
+    void testConsume_UnknownOrBlankToken_ReturnsEmpty() {
+        // Arrange
+        when(authTokenRepository.findByTokenHashAndType(anyString(), any())).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertTrue(authTokenService.consume("unknown", AuthTokenType.EMAIL_VERIFICATION).isEmpty());
+        assertTrue(authTokenService.consume(" ", AuthTokenType.EMAIL_VERIFICATION).isEmpty());
+        verify(authTokenRepository, never()).deleteByIdReturningCount(any());
+    }
+
+    @Test
+    void testFindExpiry_DoesNotConsumeToken() {
+        // Arrange
+        LocalDateTime expiresAt = LocalDateTime.now().plusHours(1);
+        when(authTokenRepository.findExpiryByTokenHashAndType(AuthTokenService.hash("token"), AuthTokenType.PASSWORD_RESET))
+                .thenReturn(Optional.of(expiresAt));
+
+        // Act & Assert
+        assertEquals(expiresAt, authTokenService.findExpiry("token", AuthTokenType.PASSWORD_RESET).orElseThrow());
+        assertTrue(authTokenService.findExpiry(" ", AuthTokenType.PASSWORD_RESET).isEmpty());
+        verify(authTokenRepository, never()).deleteByIdReturningCount(any());
+    }
+}
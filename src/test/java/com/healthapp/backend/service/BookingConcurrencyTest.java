@@ -0,0 +1,120 @@
+package com.healthapp.backend.service;
+
+import com.healthapp.backend.dto.BookAppointmentRequest;
+import com.healthapp.backend.entity.UuidV7Generator;
+import com.healthapp.backend.exception.SlotAlreadyBookedException;
+import com.healthapp.backend.repository.AppointmentRepository;
+import com.healthapp.backend.security.UserDetailsImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrency test for AppointmentService.book against the configured PostgreSQL database.
+ * Fires thousands of parallel bookings from different patients at one slot and checks that exactly one succeeds,
+ * every other attempt fails cleanly with SlotAlreadyBookedException (409), and one row exists.
+ * Also races AppointmentRepository.insertIfSlotFree directly, past the in-memory SlotBookingGuard, so the unique
+ * active-slot index is what decides - as it does between application instances.
+ */
+@SpringBootTest(properties = "app.email.transport=memory")
+@Import(BookingFixture.class)
+class BookingConcurrencyTest {
+
+    private static final int PATIENTS = 20;
+    private static final int ATTEMPTS = 2000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingFixture fixture;
+
+    private UUID doctorId;
+    private LocalDate date;
+
+    @BeforeEach
+    void setUp() {
+        fixture.setUp(PATIENTS);
+        doctorId = fixture.doctor().getId();
+        date = fixture.date();
+    }
+
+    @Test
+    void testParallelBookings_SameSlot_ExactlyOneWins() throws Exception {
+        // Arrange
+        BookAppointmentRequest request = new BookAppointmentRequest(doctorId, date, LocalTime.of(10, 0), null);
+
+        // Act
+        ParallelAttempts.Outcome outcome = ParallelAttempts.race(THREADS, ATTEMPTS, SlotAlreadyBookedException.class,
+                i -> appointmentService.book(fixture.patients().get(i % PATIENTS), request));
+
+        // Assert
+        assertTrue(outcome.unexpected().isEmpty(), () -> "Unexpected failures: " + outcome.unexpected().peek());
+        assertEquals(1, outcome.succeeded());
+        assertEquals(ATTEMPTS - 1, outcome.conflicts());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM appointments WHERE doctor_id = ?", Integer.class, doctorId));
+    }
+
+    @Test
+    void testParallelInserts_BypassingGuard_IndexAdmitsExactlyOne() throws Exception {
+        // Arrange
+        LocalTime time = LocalTime.of(11, 0);
+
+        // Act - each attempt is its own transaction, like a booking on a separate instance
+        ParallelAttempts.Outcome outcome = ParallelAttempts.race(THREADS, ATTEMPTS, SlotAlreadyBookedException.class,
+                i -> {
+                    UUID patientId = fixture.patientIds().get(i % PATIENTS);
+                    Integer inserted = transactionTemplate.execute(status -> appointmentRepository.insertIfSlotFree(
+                            UuidV7Generator.next(), patientId, doctorId, date, time, null, LocalDateTime.now()));
+                    if (inserted == null || inserted == 0) {
+                        throw new SlotAlreadyBookedException("Slot taken");
+                    }
+                });
+
+        // Assert - losers get 0 rows from ON CONFLICT DO NOTHING, never a unique violation
+        assertTrue(outcome.unexpected().isEmpty(), () -> "Unexpected failures: " + outcome.unexpected().peek());
+        assertEquals(1, outcome.succeeded());
+        assertEquals(ATTEMPTS - 1, outcome.conflicts());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM appointments WHERE doctor_id = ? AND date = ? AND time = ?",
+                Integer.class, doctorId, date, time));
+    }
+
+    @Test
+    void testBook_SlotNotInTemplate_Conflicts() {
+        // Arrange
+        UserDetailsImpl patient = fixture.patients().get(0);
+        BookAppointmentRequest request = new BookAppointmentRequest(doctorId, date, LocalTime.of(18, 0), null);
+
+        // Act & Assert
+        assertThrows(SlotAlreadyBookedException.class, () -> appointmentService.book(patient, request));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        fixture.cleanUp();
+    }
+}
@@ -0,0 +1,138 @@
+package com.healthapp.backend.service;
+
+import com.healthapp.backend.entity.Availability;
+import com.healthapp.backend.entity.Doctor;
+import com.healthapp.backend.entity.Patient;
+import com.healthapp.backend.entity.User;
+import com.healthapp.backend.enums.DayOfWeek;
+import com.healthapp.backend.enums.Role;
+import com.healthapp.backend.repository.AvailabilityRepository;
+import com.healthapp.backend.repository.DoctorRepository;
+import com.healthapp.backend.repository.PatientRepository;
+import com.healthapp.backend.repository.UserRepository;
+import com.healthapp.backend.security.UserDetailsImpl;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.context.annotation.Scope;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Test data for booking and hold integration tests: an approved doctor with a 09:00-17:00 schedule of 30 minute slots
+ * on one day a week from now, and a set of patients. Prototype-scoped, so every test instance gets fresh rows;
+ * cleanUp() removes them together with any appointments and holds on the doctor.
+ */
+@TestComponent
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+class BookingFixture {
+
+    private final UserRepository userRepository;
+    private final PatientRepository patientRepository;
+    private final DoctorRepository doctorRepository;
+    private final AvailabilityRepository availabilityRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+    private final List<UUID> userIds = new ArrayList<>();
+    private final List<UserDetailsImpl> patients = new ArrayList<>();
+    private final List<UUID> patientIds = new ArrayList<>();
+    private final LocalDate date = LocalDate.now().plusDays(7);
+    private Doctor doctor;
+
+    BookingFixture(UserRepository userRepository, PatientRepository patientRepository,
+                   DoctorRepository doctorRepository, AvailabilityRepository availabilityRepository,
+                   JdbcTemplate jdbcTemplate) {
+        this.userRepository = userRepository;
+        this.patientRepository = patientRepository;
+        this.doctorRepository = doctorRepository;
+        this.availabilityRepository = availabilityRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Saves the doctor, the schedule and the given number of patients.
+     */
+    void setUp(int patientCount) {
+        doctor = new Doctor();
+        doctor.setUser(user("doctor", Role.DOCTOR));
+        doctor.setFirstName("Anna");
+        doctor.setLastName("Smith");
+        doctor.setPhone("1234567890");
+        doctor.setGender("Female");
+        doctor.setLicenseNumber("LIC-" + runId);
+        doctor.setSpecialization("Cardiology");
+        doctor.setApproved(true);
+        doctor = doctorRepository.save(doctor);
+
+        Availability availability = new Availability();
+        availability.setDoctor(doctor);
+        availability.setDayOfWeek(DayOfWeek.of(date));
+        availability.setStartTime(LocalTime.of(9, 0));
+        availability.setEndTime(LocalTime.of(17, 0));
+        availability.setSlotDuration(30);
+        availabilityRepository.save(availability);
+
+        for (int i = 0; i < patientCount; i++) {
+            User user = user("patient-" + i, Role.PATIENT);
+            Patient patient = new Patient();
+            patient.setUser(user);
+            patient.setFirstName("John");
+            patient.setLastName("Doe");
+            patient.setDob(LocalDate.of(1990, 1, 1));
+            patient.setPhone("1234567890");
+            patient.setGender("Male");
+            patientIds.add(patientRepository.save(patient).getId());
+            patients.add(new UserDetailsImpl(user.getId(), user.getEmail(), null, Role.PATIENT, true, List.of()));
+        }
+    }
+
+    /**
+     * Deletes everything setUp() saved, plus appointments and holds on the doctor. Safe to call if setUp() failed.
+     */
+    void cleanUp() {
+        if (doctor != null) {
+            jdbcTemplate.update("DELETE FROM slot_holds WHERE doctor_id = ?", doctor.getId());
+            jdbcTemplate.update("DELETE FROM appointments WHERE doctor_id = ?", doctor.getId());
+            jdbcTemplate.update("DELETE FROM availability WHERE doctor_id = ?", doctor.getId());
+            jdbcTemplate.update("DELETE FROM doctors WHERE id = ?", doctor.getId());
+        }
+        for (UUID userId : userIds) {
+            jdbcTemplate.update("DELETE FROM patients WHERE user_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+        }
+    }
+
+    Doctor doctor() {
+        return doctor;
+    }
+
+    LocalDate date() {
+        return date;
+    }
+
+    // Principals of the patients, in creation order
+    List<UserDetailsImpl> patients() {
+        return patients;
+    }
+
+    // Patient profile ids, in the same order as patients()
+    List<UUID> patientIds() {
+        return patientIds;
+    }
+
+    private User user(String name, Role role) {
+        User user = new User();
+        user.setEmail(name + "-" + runId + "@test.com");
+        user.setPassword("{bcrypt}hash");
+        user.setRole(role);
+        user.setVerified(true);
+        user = userRepository.save(user);
+        userIds.add(user.getId());
+        return user;
+    }
+}
@@ -0,0 +1,95 @@
+package com.healthapp.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CircuitBreaker.
+ * Tests opening after consecutive failures, half-open trial calls, and recovery.
+ */
+class CircuitBreakerTest {
+
+    private AtomicLong now;
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(0);
+        circuitBreaker = new CircuitBreaker(3, 1000L, now::get);
+    }
+
+    @Test
+    void testRecordFailure_BelowThreshold_StaysClosed() {
+        // Act
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+
+        // Assert
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void testRecordFailure_AtThreshold_OpensAndRejects() {
+        // Act
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.recordFailure();
+        }
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void testTryAcquire_AfterOpenPeriod_AllowsSingleTrial() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.recordFailure();
+        }
+        now.set(1000L);
+
+        // Act & Assert
+        assertTrue(circuitBreaker.tryAcquire());
+        assertFalse(circuitBreaker.tryAcquire()); // Only one trial while half-open
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void testHalfOpen_TrialSucceeds_Closes() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.recordFailure();
+        }
+        now.set(1000L);
+        circuitBreaker.tryAcquire();
+
+        // Act
+        circuitBreaker.recordSuccess();
+
+        // Assert
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void testHalfOpen_TrialFails_ReopensImmediately() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.recordFailure();
+        }
+        now.set(1000L);
+        circuitBreaker.tryAcquire();
+
+        // Act
+        circuitBreaker.recordFailure();
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+}
@@ -0,0 +1,187 @@
+package com.healthapp.backend.service;
+
+import com.healthapp.backend.repository.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DataReaper.
+ * Tests batched token and slot hold purging, keyset-paginated user deletion with cascades, the per-run batch limit, and
+ * orphaned photo cleanup.
+ */
+@ExtendWith(MockitoExtension.class)
+class DataReaperTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @Mock
+    private MedicalHistoryRepository medicalHistoryRepository;
+
+    @Mock
+    private AuthTokenRepository authTokenRepository;
+
+    @Mock
+    private SlotHoldRepository slotHoldRepository;
+
+    @Mock
+    private PhotoStore photoStore;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DataReaper dataReaper;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dataReaper = new DataReaper(userRepository, patientRepository, doctorRepository, medicalHistoryRepository,
+                authTokenRepository, slotHoldRepository, photoStore, new TransactionTemplate(transactionManager),
+                meterRegistry);
+        ReflectionTestUtils.setField(dataReaper, "batchSize", 2);
+        ReflectionTestUtils.setField(dataReaper, "pauseMs", 0L);
+        ReflectionTestUtils.setField(dataReaper, "maxBatches", 10);
+        ReflectionTestUtils.setField(dataReaper, "unverifiedRetentionHours", 168L);
+        ReflectionTestUtils.setField(dataReaper, "orphanPhotoGraceHours", 24L);
+    }
+
+    @Test
+    void testPurgeExpiredTokens_DeletesUntilBatchIsNotFull() {
+        // Arrange
+        when(authTokenRepository.deleteExpiredBatch(any(LocalDateTime.class), eq(2))).thenReturn(2, 2, 1);
+
+        // Act
+        long deleted = dataReaper.purgeExpiredTokens();
+
+        // Assert
+        assertEquals(5, deleted);
+        verify(authTokenRepository, times(3)).deleteExpiredBatch(any(LocalDateTime.class), eq(2));
+        assertEquals(5.0, meterRegistry.counter("reaper.rows", "table", "auth_tokens").count());
+    }
+
+    @Test
+    void testPurgeExpiredHolds_DeletesUntilBatchIsNotFull() {
+        // Arrange
+        when(slotHoldRepository.deleteExpiredBatch(any(LocalDateTime.class), eq(2))).thenReturn(2, 0);
+
+        // Act
+        long deleted = dataReaper.purgeExpiredHolds();
+
+        // Assert
+        assertEquals(2, deleted);
+        verify(slotHoldRepository, times(2)).deleteExpiredBatch(any(LocalDateTime.class), eq(2));
+        assertEquals(2.0, meterRegistry.counter("reaper.rows", "table", "slot_holds").count());
+    }
+
+    @Test
+    void testPurgeUnverifiedUsers_AdvancesKeysetCursorAndCascades() {
+        // Arrange
+        UUID a = new UUID(0, 1);
+        UUID b = new UUID(0, 2);
+        UUID c = new UUID(0, 3);
+        when(userRepository.lockUnverifiedBatch(any(LocalDateTime.class), eq(new UUID(0, 0)), eq(2))).thenReturn(List.of(a, b));
+        when(userRepository.lockUnverifiedBatch(any(LocalDateTime.class), eq(b), eq(2))).thenReturn(List.of(c));
+
+        // Act
+        long deleted = dataReaper.purgeUnverifiedUsers();
+
+        // Assert
+        assertEquals(3, deleted);
+        verify(medicalHistoryRepository).deleteByPatientUserIdIn(List.of(a, b));
+        verify(patientRepository).deleteByUserIdIn(List.of(a, b));
+        verify(doctorRepository).deleteByUserIdIn(List.of(a, b));
+        verify(authTokenRepository).deleteByUserIdIn(List.of(a, b));
+        verify(userRepository).deleteByIdIn(List.of(a, b));
+        verify(userRepository).deleteByIdIn(List.of(c));
+        assertEquals(3.0, meterRegistry.counter("reaper.rows", "table", "users").count());
+    }
+
+    @Test
+    void testPurgeUnverifiedUsers_StopsAtMaxBatches() {
+        // Arrange
+        ReflectionTestUtils.setField(dataReaper, "maxBatches", 1);
+        when(userRepository.lockUnverifiedBatch(any(LocalDateTime.class), any(UUID.class), eq(2)))
+                .thenReturn(List.of(new UUID(0, 1), new UUID(0, 2)));
+
+        // Act
+        long deleted = dataReaper.purgeUnverifiedUsers();
+
+        // Assert
+        assertEquals(2, deleted);
+        verify(userRepository, times(1)).lockUnverifiedBatch(any(LocalDateTime.class), any(UUID.class), anyInt());
+    }
+
+    @Test
+    void testPurgeOrphanedPhotos_DeletesOnlyUnreferencedPhotos() throws Exception {
+        // Arrange
+        when(photoStore.idsWrittenBefore(any(Instant.class))).thenReturn(Stream.of("a", "b", "c"));
+        when(patientRepository.findReferencedPhotoIds(List.of("a", "b"))).thenReturn(List.of("a"));
+        when(doctorRepository.findReferencedPhotoIds(List.of("a", "b"))).thenReturn(List.of());
+        when(patientRepository.findReferencedPhotoIds(List.of("c"))).thenReturn(List.of());
+        when(doctorRepository.findReferencedPhotoIds(List.of("c"))).thenReturn(List.of("c"));
+        when(photoStore.deleteIfWrittenBefore(eq("b"), any(Instant.class))).thenReturn(true);
+
+        // Act
+        long deleted = dataReaper.purgeOrphanedPhotos();
+
+        // Assert
+        assertEquals(1, deleted);
+        verify(photoStore, never()).deleteIfWrittenBefore(eq("a"), any(Instant.class));
+        verify(photoStore, never()).deleteIfWrittenBefore(eq("c"), any(Instant.class));
+        assertEquals(1.0, meterRegistry.counter("reaper.rows", "table", "photos").count());
+    }
+
+    @Test
+    void testPurgeOrphanedPhotos_RewrittenSinceListing_IsKept() throws Exception {
+        // Arrange
+        when(photoStore.idsWrittenBefore(any(Instant.class))).thenReturn(Stream.of("a"));
+        when(patientRepository.findReferencedPhotoIds(List.of("a"))).thenReturn(List.of());
+        when(doctorRepository.findReferencedPhotoIds(List.of("a"))).thenReturn(List.of());
+        when(photoStore.deleteIfWrittenBefore(eq("a"), any(Instant.class))).thenReturn(false); // Re-uploaded meanwhile
+
+        // Act
+        long deleted = dataReaper.purgeOrphanedPhotos();
+
+        // Assert
+        assertEquals(0, deleted);
+    }
+
+    @Test
+    void testReap_NothingToDo_RecordsRunTimer() throws Exception {
+        // Arrange
+        when(photoStore.idsWrittenBefore(any(Instant.class))).thenReturn(Stream.empty());
+        when(authTokenRepository.deleteExpiredBatch(any(LocalDateTime.class), anyInt())).thenReturn(0);
+        when(userRepository.lockUnverifiedBatch(any(LocalDateTime.class), any(UUID.class), anyInt())).thenReturn(List.of());
+
+        // Act
+        dataReaper.reap();
+
+        // Assert
+        assertEquals(1, meterRegistry.timer("reaper.run").count());
+        verify(userRepository, never()).deleteByIdIn(anyList());
+    }
+}
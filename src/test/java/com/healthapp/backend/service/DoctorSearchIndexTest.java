@@ -0,0 +1,149 @@
+package com.healthapp.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DoctorSearchIndex.
+ * Tests combined filters, name normalization, ordering/pagination, and incremental upserts and removals.
+ */
+class DoctorSearchIndexTest {
+
+    private DoctorSearchIndex index;
+    private DoctorSearchIndex.Document smith;
+    private DoctorSearchIndex.Document muller;
+    private DoctorSearchIndex.Document adams;
+
+    @BeforeEach
+    void setUp() {
+        smith = document("Anna", "Smith", "Cardiology", List.of("English", "Spanish"), 4.6);
+        muller = document("Jörg", "Müller", "Cardiology", List.of("German", "English"), 3.2);
+        adams = document("John", "Adams", "Dermatology", List.of("English"), null);
+
+        index = new DoctorSearchIndex();
+        index.rebuild(List.of(smith, muller, adams));
+    }
+
+    @Test
+    void testSearch_NoFilters_ReturnsAllOrderedByLastName() {
+        // Act
+        DoctorSearchIndex.Page page = index.search(query(null, null, null, null, 0, 10));
+
+        // Assert
+        assertEquals(3, page.total());
+        assertEquals(List.of(adams, muller, smith), page.items());
+    }
+
+    @Test
+    void testSearch_CombinedFilters_IntersectsPostings() {
+        // Act
+        DoctorSearchIndex.Page page = index.search(query(null, "cardiology", "english", 4, 0, 10));
+
+        // Assert
+        assertEquals(List.of(smith), page.items());
+    }
+
+    @Test
+    void testSearch_NameWithoutAccents_MatchesAccentedName() {
+        // Act
+        DoctorSearchIndex.Page page = index.search(query("jorg MULLER", null, null, null, 0, 10));
+
+        // Assert
+        assertEquals(List.of(muller), page.items());
+    }
+
+    @Test
+    void testSearch_UnknownTerm_ReturnsEmptyPage() {
+        // Act
+        DoctorSearchIndex.Page page = index.search(query(null, "Cardiology", "French", null, 0, 10));
+
+        // Assert
+        assertEquals(0, page.total());
+        assertTrue(page.items().isEmpty());
+    }
+
+    @Test
+    void testSearch_SecondPage_ReturnsRemainingMatchesAndTotal() {
+        // Act
+        DoctorSearchIndex.Page page = index.search(query(null, null, "English", null, 1, 2));
+
+        // Assert
+        assertEquals(3, page.total());
+        assertEquals(List.of(smith), page.items());
+    }
+
+    @Test
+    void testSearch_HugePage_ReturnsEmptyPageWithTotal() {
+        // Act - page * size overflows int
+        DoctorSearchIndex.Page page = index.search(query(null, null, null, null, 21474837, 100));
+        DoctorSearchIndex.Page lastPage = index.search(query(null, null, null, null, Integer.MAX_VALUE, 100));
+
+        // Assert
+        assertEquals(3, page.total());
+        assertTrue(page.items().isEmpty());
+        assertTrue(lastPage.items().isEmpty());
+    }
+
+    @Test
+    void testUpsert_ChangedSpecialization_MovesDoctorBetweenPostings() {
+        // Arrange
+        DoctorSearchIndex.Document moved = new DoctorSearchIndex.Document(smith.id(), "Anna", "Smith", "Dermatology",
+                List.of("English"), 4.6);
+
+        // Act
+        index.upsert(moved);
+
+        // Assert
+        assertEquals(List.of(muller), index.search(query(null, "Cardiology", null, null, 0, 10)).items());
+        assertEquals(List.of(adams, moved), index.search(query(null, "Dermatology", null, null, 0, 10)).items());
+        assertTrue(index.search(query(null, null, "Spanish", null, 0, 10)).items().isEmpty());
+    }
+
+    @Test
+    void testUpsert_NewDoctor_IsSearchableInNameOrder() {
+        // Arrange
+        DoctorSearchIndex.Document baker = document("Ben", "Baker", "Cardiology", List.of("English"), 5.0);
+
+        // Act
+        index.upsert(baker);
+
+        // Assert
+        assertEquals(4, index.size());
+        assertEquals(List.of(baker, muller, smith), index.search(query(null, "Cardiology", null, null, 0, 10)).items());
+    }
+
+    @Test
+    void testRemove_DropsDoctorFromAllPostings() {
+        // Act
+        index.remove(muller.id());
+
+        // Assert
+        assertEquals(2, index.size());
+        assertTrue(index.search(query(null, null, "German", null, 0, 10)).items().isEmpty());
+        assertEquals(List.of(smith), index.search(query(null, "Cardiology", null, null, 0, 10)).items());
+    }
+
+    @Test
+    void testRatingBucket_RoundsDownAndMarksUnrated() {
+        // Act & Assert
+        assertEquals(0, DoctorSearchIndex.ratingBucket(null));
+        assertEquals(1, DoctorSearchIndex.ratingBucket(0.4));
+        assertEquals(4, DoctorSearchIndex.ratingBucket(4.7));
+        assertEquals(5, DoctorSearchIndex.ratingBucket(5.0));
+    }
+
+    private static DoctorSearchIndex.Document document(String firstName, String lastName, String specialization,
+                                                       List<String> languages, Double rating) {
+        return new DoctorSearchIndex.Document(UUID.randomUUID(), firstName, lastName, specialization, languages, rating);
+    }
+
+    private static DoctorSearchIndex.Query query(String text, String specialization, String language,
+                                                 Integer minRating, int page, int size) {
+        return new DoctorSearchIndex.Query(text, specialization, language, minRating, page, size);
+    }
+}
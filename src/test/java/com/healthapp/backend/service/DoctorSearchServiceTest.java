@@ -0,0 +1,103 @@
+package com.healthapp.backend.service;
+
+import com.healthapp.backend.entity.Doctor;
+import com.healthapp.backend.entity.DoctorChangedEvent;
+import com.healthapp.backend.repository.DoctorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DoctorSearchService.
+ * Tests that doctor changes applied while a full rebuild reads its snapshot survive the swap in both indexes.
+ */
+@ExtendWith(MockitoExtension.class)
+class DoctorSearchServiceTest {
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    private DoctorSearchService service;
+    private Doctor smith;
+    private Doctor adams;
+
+    @BeforeEach
+    void setUp() {
+        service = new DoctorSearchService(doctorRepository);
+        smith = doctor("Anna", "Smith");
+        adams = doctor("John", "Adams");
+    }
+
+    @Test
+    void testRebuild_DoctorApprovedDuringRead_KeptAfterSwap() {
+        // Arrange - the snapshot misses Adams, whose approval commits while the rebuild is reading
+        when(doctorRepository.findByApprovedTrue()).thenAnswer(invocation -> {
+            service.onDoctorChanged(new DoctorChangedEvent(adams, false));
+            return List.of(smith);
+        });
+
+        // Act
+        service.rebuild();
+
+        // Assert
+        assertEquals(2, service.search(query()).total());
+        assertEquals(adams.getId(), service.suggest("adams", 5).get(0).doctorId());
+    }
+
+    @Test
+    void testRebuild_DoctorRemovedDuringRead_StaysRemoved() {
+        // Arrange - the snapshot still holds Adams, who is unapproved while the rebuild is reading
+        when(doctorRepository.findByApprovedTrue()).thenAnswer(invocation -> {
+            Doctor unapproved = doctor("John", "Adams");
+            unapproved.setId(adams.getId());
+            unapproved.setApproved(false);
+            service.onDoctorChanged(new DoctorChangedEvent(unapproved, false));
+            return List.of(smith, adams);
+        });
+
+        // Act
+        service.rebuild();
+
+        // Assert
+        assertEquals(List.of(DoctorSearchService.toDocument(smith)), service.search(query()).items());
+        assertTrue(service.suggest("adams", 5).isEmpty());
+    }
+
+    @Test
+    void testRebuild_ChangeBeforeRead_SnapshotWins() {
+        // Arrange - Smith's rename is older than the rebuild, so the snapshot already has the current data
+        service.onDoctorChanged(new DoctorChangedEvent(smith, false));
+        Doctor renamed = doctor("Anna", "Jones");
+        renamed.setId(smith.getId());
+        when(doctorRepository.findByApprovedTrue()).thenReturn(List.of(renamed));
+
+        // Act
+        service.rebuild();
+
+        // Assert
+        assertEquals(List.of(DoctorSearchService.toDocument(renamed)), service.search(query()).items());
+    }
+
+    private static DoctorSearchIndex.Query query() {
+        return new DoctorSearchIndex.Query(null, null, null, null, 0, 10);
+    }
+
+    private static Doctor doctor(String firstName, String lastName) {
+        Doctor doctor = new Doctor();
+        doctor.setId(UUID.randomUUID());
+        doctor.setFirstName(firstName);
+        doctor.setLastName(lastName);
+        doctor.setSpecialization("Cardiology");
+        doctor.setLanguages(List.of("English"));
+        doctor.setApproved(true);
+        return doctor;
+    }
+}
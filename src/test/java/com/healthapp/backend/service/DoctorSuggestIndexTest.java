@@ -0,0 +1,116 @@
+package com.healthapp.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DoctorSuggestIndex.
+ * Tests prefix and typo-tolerant matching, multi-token narrowing, ranking, and limits.
+ */
+class DoctorSuggestIndexTest {
+
+    private DoctorSearchIndex.Document garcia;
+    private DoctorSearchIndex.Document garner;
+    private DoctorSearchIndex.Document muller;
+    private DoctorSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        garcia = document("María", "Garcia", "Cardiology");
+        garner = document("Anna", "Garner", "Cardiology");
+        muller = document("Jörg", "Müller", "Dermatology");
+        index = DoctorSuggestIndex.build(List.of(garcia, garner, muller));
+    }
+
+    @Test
+    void testSuggest_Prefix_ReturnsDoctorsInNameOrder() {
+        // Act
+        List<DoctorSuggestIndex.Suggestion> suggestions = index.suggest("gar", 10);
+
+        // Assert
+        assertEquals(List.of(garcia.id(), garner.id()), doctorIds(suggestions));
+        assertEquals("Dr. María Garcia", suggestions.get(0).text());
+    }
+
+    @Test
+    void testSuggest_ExactTokenRanksAbovePrefix() {
+        // Arrange
+        DoctorSearchIndex.Document gar = document("Li", "Gar", "Neurology");
+        index = DoctorSuggestIndex.build(List.of(garcia, garner, gar));
+
+        // Act
+        List<DoctorSuggestIndex.Suggestion> suggestions = index.suggest("gar", 10);
+
+        // Assert
+        assertEquals(gar.id(), suggestions.get(0).doctorId());
+    }
+
+    @Test
+    void testSuggest_Typo_MatchesWithinOneEdit() {
+        // Act
+        List<DoctorSuggestIndex.Suggestion> suggestions = index.suggest("garsia", 10);
+
+        // Assert
+        assertEquals(List.of(garcia.id()), doctorIds(suggestions));
+    }
+
+    @Test
+    void testSuggest_AccentsIgnored() {
+        // Act
+        List<DoctorSuggestIndex.Suggestion> suggestions = index.suggest("jorg mul", 10);
+
+        // Assert
+        assertEquals(List.of(muller.id()), doctorIds(suggestions));
+    }
+
+    @Test
+    void testSuggest_MultipleTokens_AllMustMatch() {
+        // Act
+        List<DoctorSuggestIndex.Suggestion> suggestions = index.suggest("anna cardio", 10);
+
+        // Assert
+        assertEquals(List.of(garner.id()), doctorIds(suggestions));
+    }
+
+    @Test
+    void testSuggest_Specialization_RankedFirstByDoctorCount() {
+        // Act
+        List<DoctorSuggestIndex.Suggestion> suggestions = index.suggest("cardio", 10);
+
+        // Assert
+        assertEquals(DoctorSuggestIndex.Kind.SPECIALIZATION, suggestions.get(0).kind());
+        assertEquals("Cardiology", suggestions.get(0).text());
+        assertNull(suggestions.get(0).doctorId());
+        assertEquals(3, suggestions.size());
+    }
+
+    @Test
+    void testSuggest_Limit_CapsResults() {
+        // Act
+        List<DoctorSuggestIndex.Suggestion> suggestions = index.suggest("ga", 1);
+
+        // Assert
+        assertEquals(List.of(garcia.id()), doctorIds(suggestions));
+    }
+
+    @Test
+    void testSuggest_NoMatchOrBlank_ReturnsEmpty() {
+        // Act & Assert
+        assertTrue(index.suggest("zzzz", 10).isEmpty());
+        assertTrue(index.suggest("  ", 10).isEmpty());
+        assertTrue(DoctorSuggestIndex.empty().suggest("gar", 10).isEmpty());
+    }
+
+    private static List<UUID> doctorIds(List<DoctorSuggestIndex.Suggestion> suggestions) {
+        return suggestions.stream().map(DoctorSuggestIndex.Suggestion::doctorId).toList();
+    }
+
+    private static DoctorSearchIndex.Document document(String firstName, String lastName, String specialization) {
+        return new DoctorSearchIndex.Document(UUID.randomUUID(), firstName, lastName, specialization, List.of(), null);
+    }
+}
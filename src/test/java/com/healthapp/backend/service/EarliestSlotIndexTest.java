@@ -0,0 +1,180 @@
+package com.healthapp.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EarliestSlotIndex.
+ * Tests per-specialization ordering, incremental moves in both directions, doctors without slots, specialization
+ * changes and removals, stale-write rejection, and checks the heap against a brute-force minimum under random updates.
+ */
+class EarliestSlotIndexTest {
+
+    private EarliestSlotIndex index;
+    private UUID smith;
+    private UUID jones;
+    private UUID adams;
+
+    @BeforeEach
+    void setUp() {
+        smith = UUID.randomUUID();
+        jones = UUID.randomUUID();
+        adams = UUID.randomUUID();
+        index = new EarliestSlotIndex();
+        index.rebuild(
+                Map.of(smith, "Cardiology", jones, "Cardiology", adams, "Dermatology"),
+                Map.of(smith, 300L, jones, 200L, adams, 100L));
+    }
+
+    @Test
+    void testPeek_ReturnsEarliestWithinSpecializationOnly() {
+        // Act
+        EarliestSlotIndex.Entry cardiology = index.peek("cardiology ");
+
+        // Assert
+        assertEquals(new EarliestSlotIndex.Entry(jones, 200L), cardiology);
+        assertNull(index.peek("Neurology"));
+    }
+
+    @Test
+    void testUpdate_BookingMovesDoctorLater_NextDoctorBecomesEarliest() {
+        // Act
+        index.update(jones, "Cardiology", 400L);
+
+        // Assert
+        assertEquals(smith, index.peek("Cardiology").doctorId());
+    }
+
+    @Test
+    void testUpdate_CancellationMovesDoctorEarlier_BecomesEarliest() {
+        // Act
+        index.update(smith, "Cardiology", 50L);
+
+        // Assert
+        assertEquals(new EarliestSlotIndex.Entry(smith, 50L), index.peek("Cardiology"));
+    }
+
+    @Test
+    void testUpdate_NoFreeSlot_LeavesHeapButStaysKnown() {
+        // Act
+        index.update(adams, "Dermatology", EarliestSlotIndex.NONE);
+
+        // Assert
+        assertNull(index.peek("Dermatology"));
+        assertEquals("dermatology", index.specializationOf(adams));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void testUpdate_SpecializationChanged_MovesBetweenHeaps() {
+        // Act
+        index.update(jones, "Dermatology", 50L);
+
+        // Assert
+        assertEquals(jones, index.peek("Dermatology").doctorId());
+        assertEquals(smith, index.peek("Cardiology").doctorId());
+    }
+
+    @Test
+    void testRemove_DropsDoctor() {
+        // Act
+        index.remove(jones);
+
+        // Assert
+        assertEquals(smith, index.peek("Cardiology").doctorId());
+        assertNull(index.specializationOf(jones));
+    }
+
+    @Test
+    void testUpdate_StaleStamp_IsDropped() {
+        // Arrange
+        long older = index.stamp();
+        long newer = index.stamp();
+        index.update(jones, "Cardiology", 400L, newer); // Refresh after a booking lands first
+
+        // Act
+        boolean applied = index.update(jones, "Cardiology", 200L, older); // Slower refresh that read before the booking
+
+        // Assert
+        assertFalse(applied);
+        assertEquals(new EarliestSlotIndex.Entry(smith, 300L), index.peek("Cardiology"));
+    }
+
+    @Test
+    void testUpdate_StaleStampAfterRemoval_DoesNotReAddDoctor() {
+        // Arrange
+        long older = index.stamp();
+        index.remove(adams);
+
+        // Act
+        index.update(adams, "Dermatology", 100L, older);
+
+        // Assert
+        assertNull(index.peek("Dermatology"));
+        assertNull(index.specializationOf(adams));
+    }
+
+    @Test
+    void testRebuild_StaleSnapshot_KeepsNewerUpdatesAndRemovals() {
+        // Arrange
+        long snapshot = index.stamp(); // Rebuild starts reading here
+        index.update(jones, "Cardiology", 400L); // Booking refresh lands while the rebuild is reading
+        index.remove(adams);
+
+        // Act
+        index.rebuild(
+                Map.of(smith, "Cardiology", jones, "Cardiology", adams, "Dermatology"),
+                Map.of(smith, 300L, jones, 200L, adams, 100L), snapshot);
+
+        // Assert
+        assertEquals(new EarliestSlotIndex.Entry(smith, 300L), index.peek("Cardiology"));
+        assertNull(index.peek("Dermatology"));
+
+        // A rebuild with a later snapshot applies normally
+        index.rebuild(Map.of(adams, "Dermatology"), Map.of(adams, 100L), index.stamp());
+        assertEquals(new EarliestSlotIndex.Entry(adams, 100L), index.peek("Dermatology"));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void testRandomUpdates_PeekMatchesBruteForceMinimum() {
+        // Arrange
+        Random random = new Random(7);
+        UUID[] doctors = new UUID[200];
+        Map<UUID, Long> slots = new HashMap<>();
+        index = new EarliestSlotIndex();
+        for (int i = 0; i < doctors.length; i++) {
+            doctors[i] = new UUID(0L, i);
+        }
+
+        for (int step = 0; step < 5000; step++) {
+            // Act
+            UUID doctor = doctors[random.nextInt(doctors.length)];
+            if (random.nextInt(10) == 0) {
+                index.remove(doctor);
+                slots.remove(doctor);
+            } else {
+                long slot = random.nextInt(8) == 0 ? EarliestSlotIndex.NONE : random.nextInt(1000);
+                index.update(doctor, "General Practice", slot);
+                slots.put(doctor, slot);
+            }
+
+            // Assert
+            long minimum = slots.values().stream().mapToLong(Long::longValue).min().orElse(EarliestSlotIndex.NONE);
+            EarliestSlotIndex.Entry top = index.peek("General Practice");
+            if (minimum == EarliestSlotIndex.NONE) {
+                assertNull(top);
+            } else {
+                assertEquals(minimum, top.slot());
+                assertEquals(minimum, slots.get(top.doctorId()));
+            }
+        }
+    }
+}
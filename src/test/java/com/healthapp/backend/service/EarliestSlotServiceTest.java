@@ -0,0 +1,105 @@
+package com.healthapp.backend.service;
+
+import com.healthapp.backend.dto.EarliestSlot;
+import com.healthapp.backend.entity.Availability;
+import com.healthapp.backend.entity.Doctor;
+import com.healthapp.backend.entity.DoctorChangedEvent;
+import com.healthapp.backend.enums.DayOfWeek;
+import com.healthapp.backend.repository.AppointmentRepository;
+import com.healthapp.backend.repository.AvailabilityRepository;
+import com.healthapp.backend.repository.DoctorRepository;
+import com.healthapp.backend.repository.UnavailabilityRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EarliestSlotService.
+ * Tests that entries whose slot has passed are refreshed before answering, and that a past slot is never returned.
+ */
+@ExtendWith(MockitoExtension.class)
+class EarliestSlotServiceTest {
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @Mock
+    private AvailabilityRepository availabilityRepository;
+
+    @Mock
+    private UnavailabilityRepository unavailabilityRepository;
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private SlotAvailabilityService slotAvailabilityService;
+
+    @InjectMocks
+    private EarliestSlotService earliestSlotService;
+
+    private Doctor doctor;
+
+    @BeforeEach
+    void setUp() {
+        doctor = new Doctor();
+        doctor.setId(UUID.randomUUID());
+        doctor.setSpecialization("Cardiology");
+        doctor.setApproved(true);
+    }
+
+    @Test
+    void testEarliest_StaleEntryRefreshed_ReturnsNewSlot() {
+        // Arrange - indexed with yesterday's slot, which a refresh moves to tomorrow
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        when(slotAvailabilityService.freeSlots(eq(doctor.getId()), isNull(), anyInt()))
+                .thenReturn(slotsOn(LocalDate.now().minusDays(1)), slotsOn(tomorrow));
+        earliestSlotService.onDoctorChanged(new DoctorChangedEvent(doctor, false));
+
+        // Act
+        Optional<EarliestSlot> earliest = earliestSlotService.earliest("Cardiology");
+
+        // Assert
+        assertTrue(earliest.isPresent());
+        assertEquals(doctor.getId(), earliest.get().doctorId());
+        assertEquals(tomorrow, earliest.get().date());
+        assertEquals(LocalTime.of(9, 0), earliest.get().time());
+    }
+
+    @Test
+    void testEarliest_StillStaleAfterRefreshLimit_ReturnsEmpty() {
+        // Arrange - every refresh keeps reporting a slot that has already started
+        when(slotAvailabilityService.freeSlots(eq(doctor.getId()), isNull(), anyInt()))
+                .thenReturn(slotsOn(LocalDate.now().minusDays(1)));
+        earliestSlotService.onDoctorChanged(new DoctorChangedEvent(doctor, false));
+
+        // Act
+        Optional<EarliestSlot> earliest = earliestSlotService.earliest("Cardiology");
+
+        // Assert
+        assertTrue(earliest.isEmpty());
+    }
+
+    // One 09:00-10:00 window of 30-minute slots on the given day
+    private static SlotCalendar.FreeSlots slotsOn(LocalDate day) {
+        Availability availability = new Availability();
+        availability.setDayOfWeek(DayOfWeek.of(day));
+        availability.setStartTime(LocalTime.of(9, 0));
+        availability.setEndTime(LocalTime.of(10, 0));
+        availability.setSlotDuration(30);
+        return SlotCalendar.compile(List.of(availability)).freeSlots(day, 1, null, List.of(), List.of());
+    }
+}
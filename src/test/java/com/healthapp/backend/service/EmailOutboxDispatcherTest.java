@@ -0,0 +1,316 @@
+package com.healthapp.backend.service;
+
+import com.healthapp.backend.entity.EmailOutbox;
+import com.healthapp.backend.enums.EmailStatus;
+import com.healthapp.backend.exception.MailTransportException;
+import com.healthapp.backend.repository.EmailOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EmailOutboxDispatcher.
+ * Tests batching by template, retry with backoff, giving up after the maximum attempts, isolating rejected messages,
+ * writing outcomes as bulk updates under the claim token, and releasing messages when the lease runs out.
+ */
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxDispatcherTest {
+
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Mock
+    private MailTransport mailTransport;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new EmailOutboxDispatcher(emailOutboxRepository, mailTransport, new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(dispatcher, "fromEmail", "noreply@test.com");
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 100);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "backoffMs", 1000L);
+        ReflectionTestUtils.setField(dispatcher, "maxBackoffMs", 60000L);
+        ReflectionTestUtils.setField(dispatcher, "leaseMs", 60000L);
+        ReflectionTestUtils.setField(dispatcher, "leaseMarginMs", 10000L);
+        ReflectionTestUtils.setField(dispatcher, "sentRetentionDays", 7);
+        ReflectionTestUtils.setField(dispatcher, "failedRetentionDays", 30);
+
+        lenient().when(emailOutboxRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDispatch_SameTemplate_SendsOneBatchedRequest() {
+        // Arrange
+        List<EmailOutbox> due = List.of(
+                message("a@test.com", "Verify", "<p>-token-</p>", "111"),
+                message("b@test.com", "Verify", "<p>-token-</p>", "222"),
+                message("c@test.com", "Welcome", "<p>Hi</p>", null)
+        );
+        when(emailOutboxRepository.lockDueMessages(any(LocalDateTime.class), eq(100))).thenReturn(due);
+        when(mailTransport.isConfigured()).thenReturn(true);
+
+        // Act
+        dispatcher.dispatch();
+
+        // Assert - two templates, two requests
+        ArgumentCaptor<Map<String, Object>> payloads = ArgumentCaptor.forClass(Map.class);
+        verify(mailTransport, times(2)).send(payloads.capture());
+        List<Map<String, Object>> personalizations =
+                (List<Map<String, Object>>) payloads.getAllValues().get(0).get("personalizations");
+        assertEquals(2, personalizations.size());
+        assertEquals(Map.of("-token-", "222"), personalizations.get(1).get("substitutions"));
+        assertTrue(due.stream().allMatch(m -> m.getStatus() == EmailStatus.SENT));
+    }
+
+    @Test
+    void testDispatch_ProviderError_SchedulesRetry() {
+        // Arrange
+        EmailOutbox pending = message("a@test.com", "Verify", "<p>-token-</p>", "111");
+        when(emailOutboxRepository.lockDueMessages(any(LocalDateTime.class), anyInt())).thenReturn(List.of(pending));
+        when(mailTransport.isConfigured()).thenReturn(true);
+        doThrow(new RuntimeException("503 Service Unavailable")).when(mailTransport).send(anyMap());
+
+        // Act
+        dispatcher.dispatch();
+
+        // Assert
+        assertEquals(EmailStatus.PENDING, pending.getStatus());
+        assertEquals(1, pending.getAttempts());
+        assertTrue(pending.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertEquals("503 Service Unavailable", pending.getLastError());
+    }
+
+    @Test
+    void testDispatch_LastAttemptFails_MarksFailed() {
+        // Arrange
+        EmailOutbox pending = message("a@test.com", "Verify", "<p>-token-</p>", "111");
+        pending.setAttempts(2);
+        when(emailOutboxRepository.lockDueMessages(any(LocalDateTime.class), anyInt())).thenReturn(List.of(pending));
+        when(mailTransport.isConfigured()).thenReturn(true);
+        doThrow(new RuntimeException("400 Bad Request")).when(mailTransport).send(anyMap());
+
+        // Act
+        dispatcher.dispatch();
+
+        // Assert
+        assertEquals(EmailStatus.FAILED, pending.getStatus());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDispatch_BatchRejected_BisectsAndFailsOnlyInvalidRecipient() {
+        // Arrange
+        List<EmailOutbox> due = List.of(
+                message("a@test.com", "Verify", "<p>-token-</p>", "111"),
+                message("b@test.com", "Verify", "<p>-token-</p>", "222"),
+                message("bad@test.com", "Verify", "<p>-token-</p>", "333"),
+                message("d@test.com", "Verify", "<p>-token-</p>", "444"),
+                message("e@test.com", "Verify", "<p>-token-</p>", "555")
+        );
+        when(emailOutboxRepository.lockDueMessages(any(LocalDateTime.class), anyInt())).thenReturn(due);
+        when(mailTransport.isConfigured()).thenReturn(true);
+        doAnswer(invocation -> {
+            List<Map<String, Object>> personalizations =
+                    (List<Map<String, Object>>) invocation.<Map<String, Object>>getArgument(0).get("personalizations");
+            if (personalizations.stream().anyMatch(p -> p.get("to").toString().contains("bad@test.com"))) {
+                throw new MailTransportException("SendGrid returned 400: invalid email", 400);
+            }
+            return null;
+        }).when(mailTransport).send(anyMap());
+
+        // Act
+        dispatcher.dispatch();
+
+        // Assert
+        EmailOutbox rejected = due.get(2);
+        assertEquals(EmailStatus.FAILED, rejected.getStatus());
+        assertEquals(1, rejected.getAttempts());
+        assertEquals("SendGrid returned 400: invalid email", rejected.getLastError());
+        assertTrue(due.stream().filter(m -> m != rejected).allMatch(m -> m.getStatus() == EmailStatus.SENT));
+    }
+
+    @Test
+    void testDispatch_SingleMessageRejected_FailsWithoutRetry() {
+        // Arrange
+        EmailOutbox pending = message("bad@test.com", "Verify", "<p>-token-</p>", "111");
+        when(emailOutboxRepository.lockDueMessages(any(LocalDateTime.class), anyInt())).thenReturn(List.of(pending));
+        when(mailTransport.isConfigured()).thenReturn(true);
+        doThrow(new MailTransportException("SendGrid returned 400: invalid email", 400)).when(mailTransport).send(anyMap());
+
+        // Act
+        dispatcher.dispatch();
+
+        // Assert
+        assertEquals(EmailStatus.FAILED, pending.getStatus()); // First attempt, well below maxAttempts
+        verify(mailTransport, times(1)).send(anyMap());
+    }
+
+    @Test
+    void testDispatch_Throttled_SchedulesRetry() {
+        // Arrange
+        List<EmailOutbox> due = List.of(
+                message("a@test.com", "Verify", "<p>-token-</p>", "111"),
+                message("b@test.com", "Verify", "<p>-token-</p>", "222")
+        );
+        when(emailOutboxRepository.lockDueMessages(any(LocalDateTime.class), anyInt())).thenReturn(due);
+        when(mailTransport.isConfigured()).thenReturn(true);
+        doThrow(new MailTransportException("SendGrid returned 429: slow down", 429)).when(mailTransport).send(anyMap());
+
+        // Act
+        dispatcher.dispatch();
+
+        // Assert - transient, so the batch is neither split nor failed
+        verify(mailTransport, times(1)).send(anyMap());
+        assertTrue(due.stream().allMatch(m -> m.getStatus() == EmailStatus.PENDING && m.getAttempts() == 1));
+    }
+
+    @Test
+    void testDispatch_Unauthorized_SchedulesRetryWithoutSplitting() {
+        // Arrange
+        List<EmailOutbox> due = List.of(
+                message("a@test.com", "Verify", "<p>-token-</p>", "111"),
+                message("b@test.com", "Verify", "<p>-token-</p>", "222")
+        );
+        when(emailOutboxRepository.lockDueMessages(any(LocalDateTime.class), anyInt())).thenReturn(due);
+        when(mailTransport.isConfigured()).thenReturn(true);
+        doThrow(new MailTransportException("SendGrid returned 401: invalid key", 401)).when(mailTransport).send(anyMap());
+
+        // Act
+        dispatcher.dispatch();
+
+        // Assert - a revoked key is fixed by configuration, not by dropping the messages
+        verify(mailTransport, times(1)).send(anyMap());
+        assertTrue(due.stream().allMatch(m -> m.getStatus() == EmailStatus.PENDING && m.getAttempts() == 1));
+    }
+
+    @Test
+    void testDispatch_Outcomes_WrittenAsOneBulkUpdatePerOutcome() {
+        // Arrange
+        List<EmailOutbox> due = List.of(
+                message("a@test.com", "Verify", "<p>-token-</p>", "111"),
+                message("b@test.com", "Verify", "<p>-token-</p>", "222"),
+                message("c@test.com", "Welcome", "<p>Hi</p>", null)
+        );
+        when(emailOutboxRepository.lockDueMessages(any(LocalDateTime.class), anyInt())).thenReturn(due);
+        when(mailTransport.isConfigured()).thenReturn(true);
+        doAnswer(invocation -> {
+            if ("Welcome".equals(invocation.<Map<String, Object>>getArgument(0).get("subject"))) {
+                throw new RuntimeException("503 Service Unavailable");
+            }
+            return null;
+        }).when(mailTransport).send(anyMap());
+
+        // Act
+        dispatcher.dispatch();
+
+        // Assert - the sent batch and the retried message each take one UPDATE; nothing is merged after sending
+        UUID claimToken = due.get(0).getClaimToken();
+        assertNotNull(claimToken);
+        verify(emailOutboxRepository).updateOutcome(eq(List.of(due.get(0).getId(), due.get(1).getId())), eq(claimToken),
+                eq(EmailStatus.SENT), eq(1), any(LocalDateTime.class), isNull(), any(LocalDateTime.class));
+        verify(emailOutboxRepository).updateOutcome(eq(List.of(due.get(2).getId())), eq(claimToken),
+                eq(EmailStatus.PENDING), eq(1), any(LocalDateTime.class), eq("503 Service Unavailable"), isNull());
+        verify(emailOutboxRepository, times(1)).saveAll(anyList()); // The claim only
+    }
+
+    @Test
+    void testDispatch_LeaseRunningOut_ReleasesUnsentMessages() {
+        // Arrange - the first send outlasts the lease margin, so the second batch must not start
+        ReflectionTestUtils.setField(dispatcher, "leaseMarginMs", 59700L);
+        List<EmailOutbox> due = List.of(
+                message("a@test.com", "Verify", "<p>-token-</p>", "111"),
+                message("c@test.com", "Welcome", "<p>Hi</p>", null)
+        );
+        when(emailOutboxRepository.lockDueMessages(any(LocalDateTime.class), anyInt())).thenReturn(due);
+        when(mailTransport.isConfigured()).thenReturn(true);
+        doAnswer(invocation -> {
+            Thread.sleep(500);
+            return null;
+        }).when(mailTransport).send(anyMap());
+
+        // Act
+        dispatcher.dispatch();
+
+        // Assert - only the sent message is written; the other becomes due again when the lease ends
+        verify(mailTransport, times(1)).send(anyMap());
+        verify(emailOutboxRepository, times(1)).updateOutcome(eq(List.of(due.get(0).getId())), any(UUID.class),
+                eq(EmailStatus.SENT), eq(1), any(LocalDateTime.class), isNull(), any(LocalDateTime.class));
+        assertEquals(EmailStatus.PENDING, due.get(1).getStatus());
+        assertEquals(0, due.get(1).getAttempts());
+    }
+
+    @Test
+    void testDispatch_TransportNotConfigured_LeavesMessagesPending() {
+        // Arrange
+        when(mailTransport.isConfigured()).thenReturn(false);
+
+        // Act
+        dispatcher.dispatch();
+
+        // Assert - a missing or late API key must not fail verification and reset emails permanently
+        verify(emailOutboxRepository, never()).lockDueMessages(any(LocalDateTime.class), anyInt());
+        verify(emailOutboxRepository, never()).updateOutcome(anyList(), any(), any(), anyInt(), any(), any(), any());
+        verify(mailTransport, never()).send(anyMap());
+    }
+
+    @Test
+    void testDispatch_NothingDue_DoesNotCallProvider() {
+        // Arrange
+        when(mailTransport.isConfigured()).thenReturn(true);
+        when(emailOutboxRepository.lockDueMessages(any(LocalDateTime.class), anyInt())).thenReturn(List.of());
+
+        // Act
+        dispatcher.dispatch();
+
+        // Assert
+        verify(mailTransport, never()).send(anyMap());
+    }
+
+    @Test
+    void testPurgeFinished_DeletesSentAndFailedPastTheirRetention() {
+        // Act
+        dispatcher.purgeFinished();
+
+        // Assert - failed messages hold no tokens either, so they are not kept forever
+        ArgumentCaptor<LocalDateTime> sentBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> failedBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(emailOutboxRepository).deleteByStatusCreatedBefore(eq(EmailStatus.SENT), sentBefore.capture());
+        verify(emailOutboxRepository).deleteByStatusCreatedBefore(eq(EmailStatus.FAILED), failedBefore.capture());
+        assertTrue(sentBefore.getValue().isBefore(LocalDateTime.now().minusDays(6)));
+        assertTrue(failedBefore.getValue().isBefore(LocalDateTime.now().minusDays(29)));
+    }
+
+    private EmailOutbox message(String to, String subject, String html, String token) {
+        EmailOutbox message = new EmailOutbox();
+        message.setId(UUID.randomUUID());
+        message.setRecipient(to);
+        message.setSubject(subject);
+        message.setHtmlContent(html);
+        message.setSubstitutions(token != null ? Map.of("-token-", token) : null);
+        message.setStatus(EmailStatus.PENDING);
+        message.setAttempts(0);
+        message.setNextAttemptAt(LocalDateTime.now());
+        return message;
+    }
+}
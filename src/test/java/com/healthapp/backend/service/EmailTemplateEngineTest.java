@@ -0,0 +1,95 @@
+package com.healthapp.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EmailTemplateEngine and CompiledTemplate.
+ * Tests classpath template loading and SendGrid tag/substitution output with HTML escaping of body values.
+ */
+class EmailTemplateEngineTest {
+
+    private EmailTemplateEngine templateEngine;
+
+    @BeforeEach
+    void setUp() {
+        templateEngine = new EmailTemplateEngine();
+        templateEngine.loadTemplates();
+    }
+
+    @Test
+    void testLoadTemplates_LoadsAllClasspathTemplates() {
+        // Assert
+        assertTrue(templateEngine.names().containsAll(Set.of(
+                "verification", "password-reset", "welcome",
+                "appointment-confirmation", "appointment-reminder", "appointment-status")));
+    }
+
+    @Test
+    void testTemplateSubstitutions_EscapesBodyValues() {
+        // Act
+        EmailTemplateEngine.EmailTemplate template = templateEngine.get("welcome");
+        Map<String, String> substitutions = template.substitutions(Map.of("firstName", "<script>alert('x')</script>"));
+
+        // Assert
+        assertEquals("Welcome to HealthApp!", template.subject().tagged());
+        assertTrue(template.body().tagged().contains("Welcome to HealthApp, -firstName-!"));
+        assertEquals(Map.of("-firstName-", "&lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt;"), substitutions);
+    }
+
+    @Test
+    void testTemplateSubstitutions_SubjectValueNotEscaped() {
+        // Act
+        EmailTemplateEngine.EmailTemplate template = templateEngine.get("appointment-status");
+        Map<String, String> substitutions = template.substitutions(Map.of("firstName", "John", "doctorName", "Smith",
+                "date", "2026-01-05", "time", "10:30", "status", "CANCELLED & REFUNDED"));
+
+        // Assert - the subject is plain text, so it gets its own unescaped tag
+        assertEquals("Appointment -subject.status- - HealthApp", template.subject().tagged());
+        assertEquals("CANCELLED & REFUNDED", substitutions.get("-subject.status-"));
+        assertEquals("CANCELLED &amp; REFUNDED", substitutions.get("-status-"));
+        assertTrue(template.body().tagged().contains("Dr. -doctorName- on <strong>-date-</strong>"));
+    }
+
+    @Test
+    void testTagged_UsesSendGridSubstitutionTags() {
+        // Act
+        String body = templateEngine.get("verification").body().tagged();
+
+        // Assert
+        assertTrue(body.contains(">-token-</p>"));
+        assertFalse(body.contains("{{"));
+    }
+
+    @Test
+    void testSubstitutions_EscapesValuesAndBuildsTags() {
+        // Act
+        Map<String, String> substitutions = EmailTemplateEngine.substitutions(Map.of("firstName", "Tom & Jerry"));
+
+        // Assert
+        assertEquals(Map.of("-firstName-", "Tom &amp; Jerry"), substitutions);
+    }
+
+    @Test
+    void testGet_UnknownTemplate_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> templateEngine.get("missing"));
+    }
+
+    @Test
+    void testCompile_MissingSubjectLine_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> EmailTemplateEngine.compile("bad", "<p>{{x}}</p>"));
+    }
+
+    @Test
+    void testParse_UnterminatedPlaceholder_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.parse("Hi {{firstName"));
+    }
+}
@@ -0,0 +1,91 @@
+package com.healthapp.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FileSystemPhotoStore.
+ * Tests content addressing and the listing/deletion used for orphaned photo cleanup.
+ */
+class FileSystemPhotoStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FileSystemPhotoStore photoStore;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        photoStore = new FileSystemPhotoStore(tempDir.toString());
+    }
+
+    @Test
+    void testIdsWrittenBefore_ListsOnlyOlderPhotos() throws Exception {
+        // Arrange
+        String oldId = put("old");
+        String newId = put("new");
+        age(oldId, Duration.ofHours(48));
+        Instant cutoff = Instant.now().minus(Duration.ofHours(24));
+
+        // Act
+        List<String> ids;
+        try (Stream<String> stored = photoStore.idsWrittenBefore(cutoff)) {
+            ids = stored.toList();
+        }
+
+        // Assert
+        assertEquals(List.of(oldId), ids);
+        assertNotEquals(oldId, newId);
+    }
+
+    @Test
+    void testDeleteIfWrittenBefore_OldPhoto_Deletes() throws Exception {
+        // Arrange
+        String id = put("photo");
+        age(id, Duration.ofHours(48));
+
+        // Act
+        boolean deleted = photoStore.deleteIfWrittenBefore(id, Instant.now().minus(Duration.ofHours(24)));
+
+        // Assert
+        assertTrue(deleted);
+        assertTrue(photoStore.get(id).isEmpty());
+    }
+
+    @Test
+    void testDeleteIfWrittenBefore_ReuploadedPhoto_IsKept() throws Exception {
+        // Arrange
+        String id = put("photo");
+        age(id, Duration.ofHours(48));
+        Instant cutoff = Instant.now().minus(Duration.ofHours(24));
+
+        // Act
+        assertEquals(id, put("photo")); // Same content, same ID; refreshes the write time
+        boolean deleted = photoStore.deleteIfWrittenBefore(id, cutoff);
+
+        // Assert
+        assertFalse(deleted);
+        assertTrue(photoStore.get(id).isPresent());
+    }
+
+    private String put(String content) throws Exception {
+        return photoStore.put(new ByteArrayInputStream(content.getBytes()));
+    }
+
+    private void age(String id, Duration age) throws Exception {
+        Path path = photoStore.get(id).orElseThrow().getFile().toPath();
+        Files.setLastModifiedTime(path, FileTime.from(Instant.now().minus(age)));
+    }
+}
@@ -0,0 +1,121 @@
+package com.healthapp.backend.service;
+
+import com.healthapp.backend.exception.InvalidImageException;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ImageNormalizer.
+ * Tests downscaling, thumbnail cropping, format selection, and rejection of oversized or invalid images.
+ */
+class ImageNormalizerTest {
+
+    private final ImageNormalizer imageNormalizer = new ImageNormalizer(1000, 500_000, 200, 50, 0.85f);
+
+    @Test
+    void testNormalize_LargeImage_ScalesDownKeepingAspectRatio() throws Exception {
+        // Act
+        ImageNormalizer.NormalizedImage normalized = imageNormalizer.normalize(
+                new ByteArrayInputStream(encode(new BufferedImage(800, 400, BufferedImage.TYPE_INT_RGB), "png")));
+
+        // Assert
+        assertEquals("jpeg", normalized.format());
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(normalized.image()));
+        assertEquals(200, image.getWidth());
+        assertEquals(100, image.getHeight());
+
+        BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(normalized.thumbnail()));
+        assertEquals(50, thumbnail.getWidth());
+        assertEquals(50, thumbnail.getHeight());
+    }
+
+    @Test
+    void testNormalize_SmallImage_IsNotUpscaled() throws Exception {
+        // Act
+        ImageNormalizer.NormalizedImage normalized = imageNormalizer.normalize(
+                new ByteArrayInputStream(encode(new BufferedImage(120, 80, BufferedImage.TYPE_INT_RGB), "png")));
+
+        // Assert
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(normalized.image()));
+        assertEquals(120, image.getWidth());
+        assertEquals(80, image.getHeight());
+    }
+
+    @Test
+    void testNormalize_TransparentImage_StaysPng() throws Exception {
+        // Act
+        ImageNormalizer.NormalizedImage normalized = imageNormalizer.normalize(
+                new ByteArrayInputStream(encode(new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB), "png")));
+
+        // Assert
+        assertEquals("png", normalized.format());
+        assertTrue(ImageIO.read(new ByteArrayInputStream(normalized.image())).getColorModel().hasAlpha());
+    }
+
+    @Test
+    void testNormalize_DimensionsOverLimit_ThrowsException() throws Exception {
+        // Arrange
+        byte[] png = encode(new BufferedImage(1001, 10, BufferedImage.TYPE_BYTE_GRAY), "png");
+
+        // Act & Assert
+        InvalidImageException exception = assertThrows(InvalidImageException.class,
+                () -> imageNormalizer.normalize(new ByteArrayInputStream(png)));
+        assertTrue(exception.getMessage().contains("1001x10"));
+    }
+
+    @Test
+    void testNormalize_PixelCountOverLimit_ThrowsException() throws Exception {
+        // Arrange - both sides are within the 1000px limit, but 1000x600 is over 500,000 pixels
+        byte[] png = encode(new BufferedImage(1000, 600, BufferedImage.TYPE_BYTE_GRAY), "png");
+
+        // Act & Assert
+        InvalidImageException exception = assertThrows(InvalidImageException.class,
+                () -> imageNormalizer.normalize(new ByteArrayInputStream(png)));
+        assertTrue(exception.getMessage().contains("500000 pixels"));
+    }
+
+    @Test
+    void testNormalize_SubsampledDecode_KeepsTargetSizes() throws Exception {
+        // Act - 960x480 is decoded with step 2 (480x240) before scaling
+        ImageNormalizer.NormalizedImage normalized = imageNormalizer.normalize(
+                new ByteArrayInputStream(encode(new BufferedImage(960, 480, BufferedImage.TYPE_INT_RGB), "png")));
+
+        // Assert
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(normalized.image()));
+        assertEquals(200, image.getWidth());
+        assertEquals(100, image.getHeight());
+
+        BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(normalized.thumbnail()));
+        assertEquals(50, thumbnail.getWidth());
+        assertEquals(50, thumbnail.getHeight());
+    }
+
+    @Test
+    void testSubsampling_KeepsHeadroomForImageAndThumbnail() {
+        // Assert
+        assertEquals(1, ImageNormalizer.subsampling(300, 200, 200, 50));
+        assertEquals(2, ImageNormalizer.subsampling(960, 480, 200, 50));
+        assertEquals(2, ImageNormalizer.subsampling(6000, 4000, 1024, 128));
+        // A long, narrow image is limited by its short side so the thumbnail is not upscaled
+        assertEquals(1, ImageNormalizer.subsampling(4000, 150, 200, 50));
+    }
+
+    @Test
+    void testNormalize_UnsupportedData_ThrowsException() {
+        // Act & Assert
+        assertThrows(InvalidImageException.class,
+                () -> imageNormalizer.normalize(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5})));
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+}
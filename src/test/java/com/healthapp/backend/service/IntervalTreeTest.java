@@ -0,0 +1,113 @@
+package com.healthapp.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for IntervalTree.
+ * Tests half-open overlap semantics, start ordering of results, empty trees and dropped empty intervals, and checks
+ * queries against a linear scan on random disjoint and overlapping intervals.
+ */
+class IntervalTreeTest {
+
+    private record Range(long start, long end) {
+    }
+
+    @Test
+    void testOverlapping_HalfOpenBounds_TouchingIntervalsDoNotOverlap() {
+        // Arrange
+        IntervalTree<Range> tree = tree(List.of(new Range(10, 20), new Range(20, 30), new Range(40, 50)));
+
+        // Act & Assert
+        assertEquals(List.of(new Range(10, 20)), tree.overlapping(0, 11));
+        assertEquals(List.of(new Range(20, 30)), tree.overlapping(20, 21));
+        assertEquals(List.of(), tree.overlapping(30, 40));
+        assertEquals(List.of(new Range(10, 20), new Range(20, 30), new Range(40, 50)), tree.overlapping(15, 45));
+    }
+
+    @Test
+    void testOverlapping_LongIntervalAheadOfShortOnes_IsFound() {
+        // Arrange
+        IntervalTree<Range> tree = tree(List.of(
+                new Range(0, 1000), new Range(100, 110), new Range(200, 210), new Range(300, 310)));
+
+        // Act & Assert
+        assertEquals(List.of(new Range(0, 1000)), tree.overlapping(500, 600));
+        assertEquals(List.of(new Range(0, 1000), new Range(300, 310)), tree.overlapping(305, 306));
+    }
+
+    @Test
+    void testBuild_EmptyIntervalsDropped_BoundsReported() {
+        // Arrange
+        IntervalTree<Range> tree = tree(List.of(new Range(5, 5), new Range(9, 3), new Range(30, 40), new Range(1, 2)));
+
+        // Act & Assert
+        assertEquals(2, tree.size());
+        assertEquals(1, tree.minStart());
+        assertEquals(40, tree.maxEnd());
+        assertEquals(List.of(), tree.overlapping(3, 3));
+    }
+
+    @Test
+    void testBuild_NoIntervals_QueriesReturnNothing() {
+        // Arrange
+        IntervalTree<Range> tree = tree(List.of());
+
+        // Act & Assert
+        assertEquals(0, tree.size());
+        assertEquals(List.of(), tree.overlapping(Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    void testOverlapping_RandomIntervals_MatchesLinearScan() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            // Arrange
+            boolean disjoint = round % 2 == 0;
+            List<Range> ranges = new ArrayList<>();
+            long cursor = 0;
+            for (int i = random.nextInt(300); i > 0; i--) {
+                if (disjoint) {
+                    cursor += random.nextInt(20);
+                    long length = 1 + random.nextInt(30);
+                    ranges.add(new Range(cursor, cursor + length));
+                    cursor += length;
+                } else {
+                    long start = random.nextInt(5000);
+                    ranges.add(new Range(start, start + 1 + random.nextInt(500)));
+                }
+            }
+            IntervalTree<Range> tree = tree(ranges);
+            assertEquals(ranges.stream().filter(r -> r.end() > r.start()).mapToLong(Range::end).max()
+                    .orElse(Long.MIN_VALUE), tree.maxEnd());
+
+            for (int query = 0; query < 50; query++) {
+                long from = random.nextInt(6000) - 100;
+                long to = from + 1 + random.nextInt(400);
+
+                // Act
+                List<Range> found = tree.overlapping(from, to);
+
+                // Assert
+                List<Range> expected = ranges.stream()
+                        .filter(r -> r.start() < to && r.end() > from)
+                        .sorted((a, b) -> Long.compare(a.start(), b.start()))
+                        .toList();
+                assertEquals(expected.size(), found.size());
+                assertTrue(found.containsAll(expected));
+                for (int i = 1; i < found.size(); i++) {
+                    assertTrue(found.get(i - 1).start() <= found.get(i).start());
+                }
+            }
+        }
+    }
+
+    private static IntervalTree<Range> tree(List<Range> ranges) {
+        return new IntervalTree<>(ranges, Range::start, Range::end);
+    }
+}
@@ -0,0 +1,91 @@
+package com.healthapp.backend.service;
+
+import com.healthapp.backend.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTest {
+
+    @Test
+    void testEncodeDecode_RoundTripsAllValueTypes() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        String cursor = KeysetCursor.encode("appointments", LocalDate.of(2025, 3, 14), LocalTime.of(9, 30), id);
+
+        // Act
+        KeysetCursor decoded = KeysetCursor.decode(cursor, "appointments", 3);
+
+        // Assert
+        assertEquals(LocalDate.of(2025, 3, 14), decoded.date(0));
+        assertEquals(LocalTime.of(9, 30), decoded.time(1));
+        assertEquals(id, decoded.uuid(2));
+    }
+
+    @Test
+    void testEncode_IsUrlSafe() {
+        // Act
+        String cursor = KeysetCursor.encode("doctors", "O'Brien-Smith", "José", UUID.randomUUID());
+
+        // Assert
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"));
+        assertEquals("José", KeysetCursor.decode(cursor, "doctors", 3).string(1));
+    }
+
+    @Test
+    void testEncodeDecode_ValuesContainingDelimiters_RoundTrip() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        String cursor = KeysetCursor.encode("doctors", "Smith\u001F3:x", "12:Anna:", id);
+
+        // Act
+        KeysetCursor decoded = KeysetCursor.decode(cursor, "doctors", 3);
+
+        // Assert
+        assertEquals("Smith\u001F3:x", decoded.string(0));
+        assertEquals("12:Anna:", decoded.string(1));
+        assertEquals(id, decoded.uuid(2));
+    }
+
+    @Test
+    void testDecode_LengthPastEnd_Throws() {
+        // Arrange
+        String truncated = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("7:doctors5:Smith40:Anna".getBytes(StandardCharsets.UTF_8));
+
+        // Act & Assert
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode(truncated, "doctors", 3));
+    }
+
+    @Test
+    void testDecode_CursorOfOtherListing_Throws() {
+        // Arrange
+        String cursor = KeysetCursor.encode("doctors", "Smith", "Anna", UUID.randomUUID());
+
+        // Act & Assert
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode(cursor, "appointments", 3));
+    }
+
+    @Test
+    void testDecode_NotBase64_Throws() {
+        // Act & Assert
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode("not a cursor!", "doctors", 3));
+    }
+
+    @Test
+    void testDecode_TamperedValue_ThrowsOnAccess() {
+        // Arrange
+        String tampered = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("7:doctors5:Smith4:Anna10:not-a-uuid".getBytes(StandardCharsets.UTF_8));
+        KeysetCursor decoded = KeysetCursor.decode(tampered, "doctors", 3);
+
+        // Act & Assert
+        assertThrows(InvalidCursorException.class, () -> decoded.uuid(2));
+    }
+}
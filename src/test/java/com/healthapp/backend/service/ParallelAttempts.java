@@ -0,0 +1,74 @@
+package com.healthapp.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Race harness for the concurrency tests: queues every attempt on a fixed pool behind one start latch, releases them
+ * together and sorts the outcomes into successes, expected conflicts and anything else.
+ */
+final class ParallelAttempts {
+
+    /**
+     * One attempt; index runs from 0 to attempts - 1.
+     */
+    @FunctionalInterface
+    interface Attempt {
+        void run(int index) throws Exception;
+    }
+
+    /**
+     * Counts of the attempts that returned and that threw the conflict type, and every other failure.
+     */
+    record Outcome(int succeeded, int conflicts, Queue<Throwable> unexpected) {
+    }
+
+    private ParallelAttempts() {
+    }
+
+    static Outcome race(int threads, int attempts, Class<? extends Throwable> conflict, Attempt attempt)
+            throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < attempts; i++) {
+                int index = i;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        attempt.run(index);
+                        succeeded.incrementAndGet();
+                    } catch (Throwable t) {
+                        if (conflict.isInstance(t)) {
+                            conflicts.incrementAndGet();
+                        } else {
+                            unexpected.add(t);
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return new Outcome(succeeded.get(), conflicts.get(), unexpected);
+    }
+}
@@ -0,0 +1,106 @@
+package com.healthapp.backend.service;
+
+import com.healthapp.backend.exception.ServiceBusyException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Integration test for ProfilePhotoBackfill against the configured PostgreSQL database.
+ * Gives patients the legacy profile_photo_base64 column inside the test transaction (rolled back afterwards) and
+ * checks that legacy photos move to the photo store, newer store photos win, and unreadable or failing ones stay in
+ * place without stopping the rest.
+ */
+@SpringBootTest(properties = {"app.email.transport=memory", "app.photos.backfill.batch-size=1"})
+@Transactional
+class ProfilePhotoBackfillTest {
+
+    @Autowired
+    private ProfilePhotoBackfill profilePhotoBackfill;
+
+    @Autowired
+    private ProfilePhotoService profilePhotoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("ALTER TABLE patients ADD COLUMN profile_photo_base64 TEXT");
+    }
+
+    @Test
+    void testBackfill_LegacyPhotos_MovedToStore() throws Exception {
+        // Arrange
+        String legacy = Base64.getEncoder().encodeToString(ProfilePhotoServiceTest.png(300, 200));
+        UUID moved = patient(legacy, null);
+        UUID superseded = patient(legacy, "a".repeat(64));
+        UUID unreadable = patient(Base64.getEncoder().encodeToString("not an image".getBytes()), null);
+
+        // Act
+        int count = profilePhotoBackfill.backfill("patients");
+
+        // Assert
+        assertEquals(1, count);
+        Map<String, Object> row = row(moved);
+        assertNull(row.get("profile_photo_base64"));
+        assertTrue(profilePhotoService.get((String) row.get("profile_photo_id")).isPresent());
+        assertTrue(profilePhotoService.get((String) row.get("profile_thumbnail_id")).isPresent());
+
+        assertEquals("a".repeat(64), row(superseded).get("profile_photo_id"));
+        assertNull(row(superseded).get("profile_photo_base64"));
+
+        assertNotNull(row(unreadable).get("profile_photo_base64"));
+        assertNull(row(unreadable).get("profile_photo_id"));
+    }
+
+    @Test
+    void testBackfill_RowFails_LeftInPlaceAndOthersMoved() throws Exception {
+        // Arrange - the first row hits a busy processing pool, the second goes through
+        String legacy = Base64.getEncoder().encodeToString(ProfilePhotoServiceTest.png(300, 200));
+        UUID first = patient(legacy, null);
+        UUID second = patient(legacy, null);
+        ProfilePhotoService busyOnce = mock(ProfilePhotoService.class);
+        when(busyOnce.storeBase64(legacy))
+                .thenThrow(new ServiceBusyException("Photo processing is busy"))
+                .thenAnswer(invocation -> profilePhotoService.storeBase64(invocation.getArgument(0)));
+
+        // Act
+        int count = new ProfilePhotoBackfill(jdbcTemplate, busyOnce, 1).backfill("patients");
+
+        // Assert
+        assertEquals(1, count);
+        assertEquals(1, Stream.of(first, second).filter(id -> row(id).get("profile_photo_base64") != null).count());
+        assertEquals(1, Stream.of(first, second).filter(id -> row(id).get("profile_photo_id") != null).count());
+    }
+
+    private UUID patient(String base64, String photoId) {
+        UUID userId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, email, password, role, verified, created_at) " +
+                "VALUES (?, ?, '{bcrypt}hash', 'PATIENT', TRUE, ?)", userId, "photo-" + userId + "@test.com",
+                LocalDateTime.now());
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO patients (id, user_id, first_name, last_name, dob, phone, gender, " +
+                "profile_photo_id, profile_photo_base64) VALUES (?, ?, 'John', 'Doe', ?, '1234567890', 'Male', ?, ?)",
+                id, userId, LocalDate.of(1990, 1, 1), photoId, base64);
+        return id;
+    }
+
+    private Map<String, Object> row(UUID id) {
+        return jdbcTemplate.queryForMap("SELECT profile_photo_id, profile_thumbnail_id, profile_photo_base64 " +
+                "FROM patients WHERE id = ?", id);
+    }
+}
@@ -0,0 +1,122 @@
+package com.healthapp.backend.service;
+
+import com.healthapp.backend.exception.InvalidImageException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ProfilePhotoService with a FileSystemPhotoStore.
+ * Tests base64 decoding, normalization into image + thumbnail, deduplication, size limits, and lookups.
+ */
+class ProfilePhotoServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ProfilePhotoService profilePhotoService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        profilePhotoService = new ProfilePhotoService(
+                new FileSystemPhotoStore(tempDir.toString()),
+                new ImageNormalizer(2000, 2000L * 2000, 256, 64, 0.85f),
+                new SimpleMeterRegistry(),
+                1, 4, 5000);
+        ReflectionTestUtils.setField(profilePhotoService, "maxBytes", 64 * 1024L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        profilePhotoService.shutdown();
+    }
+
+    @Test
+    void testStoreBase64_DataUri_StoresNormalizedImageAndThumbnail() throws Exception {
+        // Arrange
+        byte[] png = png(600, 300);
+        assertTrue(png.length < 64 * 1024); // Must reach the normalizer, not the size limit
+        String dataUri = "data:image/png;base64," + Base64.getEncoder().encodeToString(png);
+
+        // Act
+        ProfilePhotoService.StoredPhoto stored = profilePhotoService.storeBase64(dataUri);
+
+        // Assert
+        ProfilePhotoService.Photo photo = profilePhotoService.get(stored.photoId()).orElseThrow();
+        assertEquals(MediaType.IMAGE_JPEG, photo.contentType()); // Opaque PNG re-encoded as JPEG
+        BufferedImage image = ImageIO.read(photo.resource().getInputStream());
+        assertEquals(256, image.getWidth());
+        assertEquals(128, image.getHeight());
+
+        BufferedImage thumbnail = ImageIO.read(profilePhotoService.get(stored.thumbnailId()).orElseThrow()
+                .resource().getInputStream());
+        assertEquals(64, thumbnail.getWidth());
+        assertEquals(64, thumbnail.getHeight());
+    }
+
+    @Test
+    void testStoreBase64_SameContent_ReturnsSameIds() throws Exception {
+        // Arrange
+        String base64 = Base64.getEncoder().encodeToString(png(100, 100));
+
+        // Act & Assert
+        assertEquals(profilePhotoService.storeBase64(base64), profilePhotoService.storeBase64(base64));
+    }
+
+    @Test
+    void testStoreBase64_NullOrBlank_ReturnsNull() {
+        // Act & Assert
+        assertNull(profilePhotoService.storeBase64(null));
+        assertNull(profilePhotoService.storeBase64(" "));
+    }
+
+    @Test
+    void testStoreBase64_TooLarge_ThrowsException() {
+        // Arrange
+        String base64 = Base64.getEncoder().encodeToString(new byte[128 * 1024]);
+
+        // Act & Assert
+        assertThrows(InvalidImageException.class, () -> profilePhotoService.storeBase64(base64));
+    }
+
+    @Test
+    void testStoreBase64_NotAnImage_ThrowsException() {
+        // Arrange
+        String base64 = Base64.getEncoder().encodeToString("not an image".getBytes());
+
+        // Act & Assert
+        assertThrows(InvalidImageException.class, () -> profilePhotoService.storeBase64(base64));
+    }
+
+    @Test
+    void testGet_MalformedId_ReturnsEmpty() {
+        // Act & Assert
+        assertTrue(profilePhotoService.get("../../etc/passwd").isEmpty());
+        assertTrue(profilePhotoService.get("a".repeat(64)).isEmpty());
+    }
+
+    // Opaque vertical gradient: each row is one colour, so the PNG stays a few KB and under the 64 KiB test limit
+    static byte[] png(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, 0x30 << 16 | (y * 255 / height) << 8 | 0x90);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,109 @@
+package com.healthapp.backend.service;
+
+import com.healthapp.backend.dto.RegisterRequest;
+import com.healthapp.backend.dto.UserCredentials;
+import com.healthapp.backend.enums.Role;
+import com.healthapp.backend.exception.UserAlreadyExistsException;
+import com.healthapp.backend.repository.AuthTokenRepository;
+import com.healthapp.backend.repository.MedicalHistoryRepository;
+import com.healthapp.backend.repository.PatientRepository;
+import com.healthapp.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrency test for AuthService.register against the configured PostgreSQL database.
+ * Fires thousands of parallel registrations over a small set of emails and checks that exactly one registration
+ * per email succeeds and every other attempt fails cleanly with UserAlreadyExistsException (409), never a 500.
+ */
+@SpringBootTest(properties = {
+        "auth.password-hashing.strength=4", // Keep hashing cheap - the test is about the insert race
+        "auth.password-hashing.queue-capacity=4096",
+        "app.email.transport=memory"
+})
+class RegistrationConcurrencyTest {
+
+    private static final int EMAILS = 50;
+    private static final int ATTEMPTS = 2000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private MedicalHistoryRepository medicalHistoryRepository;
+
+    @Autowired
+    private AuthTokenRepository authTokenRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+
+    @Test
+    void testParallelRegistrations_OverlappingEmails_ExactlyOneWinsPerEmail() throws Exception {
+        // Act
+        ParallelAttempts.Outcome outcome = ParallelAttempts.race(THREADS, ATTEMPTS, UserAlreadyExistsException.class,
+                i -> authService.register(request(email(i % EMAILS))));
+
+        // Assert
+        assertTrue(outcome.unexpected().isEmpty(), () -> "Unexpected failures: " + outcome.unexpected().peek());
+        assertEquals(EMAILS, outcome.succeeded());
+        assertEquals(ATTEMPTS - EMAILS, outcome.conflicts());
+        for (int i = 0; i < EMAILS; i++) {
+            assertTrue(userRepository.findCredentialsByEmail(email(i)).isPresent());
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        List<UUID> userIds = new ArrayList<>();
+        for (int i = 0; i < EMAILS; i++) {
+            userRepository.findCredentialsByEmail(email(i)).map(UserCredentials::id).ifPresent(userIds::add);
+        }
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            authTokenRepository.deleteByUserIdIn(userIds);
+            medicalHistoryRepository.deleteByPatientUserIdIn(userIds);
+            patientRepository.deleteByUserIdIn(userIds);
+            userRepository.deleteByIdIn(userIds);
+        });
+    }
+
+    private String email(int index) {
+        return "race-" + runId + "-" + index + "@test.com";
+    }
+
+    private static RegisterRequest request(String email) {
+        RegisterRequest request = new RegisterRequest();
+        request.setEmail(email);
+        request.setPassword("Test1234");
+        request.setRole(Role.PATIENT);
+        request.setFirstName("John");
+        request.setLastName("Doe");
+        request.setPhone("1234567890");
+        request.setGender("Male");
+        request.setDob(LocalDate.of(1990, 1, 1));
+        return request;
+    }
+}
@@ -0,0 +1,154 @@
+package com.healthapp.backend.service;
+
+import com.healthapp.backend.dto.ScheduledAppointment;
+import com.healthapp.backend.entity.Availability;
+import com.healthapp.backend.entity.ScheduleChangedEvent;
+import com.healthapp.backend.entity.Unavailability;
+import com.healthapp.backend.enums.DayOfWeek;
+import com.healthapp.backend.repository.AppointmentRepository;
+import com.healthapp.backend.repository.AvailabilityRepository;
+import com.healthapp.backend.repository.UnavailabilityRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ScheduleConflictChecker.
+ * Tests vacation conflicts, appointments stranded by a new weekly template (missing day, shortened window, break,
+ * slot running past the window end), unavailability overlap, and that a doctor's trees are loaded once and reloaded
+ * after a schedule change.
+ */
+@ExtendWith(MockitoExtension.class)
+class ScheduleConflictCheckerTest {
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private UnavailabilityRepository unavailabilityRepository;
+
+    @Mock
+    private AvailabilityRepository availabilityRepository;
+
+    private ScheduleConflictChecker checker;
+    private final UUID doctorId = UUID.randomUUID();
+    private LocalDate monday;
+    private LocalDate tuesday;
+
+    private ScheduledAppointment mondayNine;
+    private ScheduledAppointment mondayOne;
+    private ScheduledAppointment mondayFour;
+    private ScheduledAppointment tuesdayTen;
+
+    @BeforeEach
+    void setUp() {
+        checker = new ScheduleConflictChecker(appointmentRepository, unavailabilityRepository, availabilityRepository,
+                60_000, 100);
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        monday = tomorrow.plusDays((7 - DayOfWeek.of(tomorrow).ordinal()) % 7);
+        tuesday = monday.plusDays(1);
+        mondayNine = new ScheduledAppointment(UUID.randomUUID(), monday, LocalTime.of(9, 0));
+        mondayOne = new ScheduledAppointment(UUID.randomUUID(), monday, LocalTime.of(13, 0));
+        mondayFour = new ScheduledAppointment(UUID.randomUUID(), monday, LocalTime.of(16, 0));
+        tuesdayTen = new ScheduledAppointment(UUID.randomUUID(), tuesday, LocalTime.of(10, 0));
+        lenient().when(availabilityRepository.findByDoctorId(doctorId)).thenReturn(List.of(
+                window(DayOfWeek.MON, 9, 17, 60), window(DayOfWeek.TUE, 9, 17, 30)));
+        lenient().when(appointmentRepository.findUpcoming(eq(doctorId), any(LocalDate.class)))
+                .thenReturn(List.of(tuesdayTen, mondayFour, mondayNine, mondayOne));
+        lenient().when(unavailabilityRepository.findOverlapping(eq(doctorId), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(List.of());
+    }
+
+    @Test
+    void testAppointmentsDuring_VacationOverMonday_ReportsMondayInOrder() {
+        // Act
+        List<ScheduledAppointment> conflicts = checker.appointmentsDuring(doctorId, monday.minusDays(3), monday);
+
+        // Assert
+        assertEquals(List.of(mondayNine, mondayOne, mondayFour), conflicts);
+    }
+
+    @Test
+    void testAppointmentsOutside_ShorterWindowAndNoTuesday_ReportsStranded() {
+        // Arrange
+        List<Availability> template = List.of(window(DayOfWeek.MON, 9, 14, 60));
+
+        // Act
+        List<ScheduledAppointment> conflicts = checker.appointmentsOutside(doctorId, template);
+
+        // Assert
+        assertEquals(List.of(mondayFour, tuesdayTen), conflicts);
+    }
+
+    @Test
+    void testAppointmentsOutside_NewBreakAndEarlierEnd_ReportsOverlaps() {
+        // Arrange: Monday's 16:00 appointment is 60 minutes long and no longer fits before 16:30
+        Availability shorter = window(DayOfWeek.MON, 9, 17, 30);
+        shorter.setEndTime(LocalTime.of(16, 30));
+        shorter.setBreakStart(LocalTime.of(12, 30));
+        shorter.setBreakEnd(LocalTime.of(13, 30));
+        List<Availability> template = List.of(shorter, window(DayOfWeek.TUE, 8, 12, 30));
+
+        // Act
+        List<ScheduledAppointment> conflicts = checker.appointmentsOutside(doctorId, template);
+
+        // Assert
+        assertEquals(List.of(mondayOne, mondayFour), conflicts);
+    }
+
+    @Test
+    void testAppointmentsOutside_UnchangedTemplate_NoConflicts() {
+        // Act
+        List<ScheduledAppointment> conflicts = checker.appointmentsOutside(doctorId, List.of(
+                window(DayOfWeek.MON, 9, 17, 60), window(DayOfWeek.TUE, 9, 17, 30)));
+
+        // Assert
+        assertTrue(conflicts.isEmpty());
+    }
+
+    @Test
+    void testUnavailabilityDuring_ReturnsPeriodsSharingADay() {
+        // Arrange
+        Unavailability vacation = new Unavailability();
+        vacation.setStartDate(monday);
+        vacation.setEndDate(monday.plusDays(4));
+        when(unavailabilityRepository.findOverlapping(eq(doctorId), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(List.of(vacation));
+
+        // Act & Assert
+        assertEquals(List.of(vacation), checker.unavailabilityDuring(doctorId, monday.plusDays(4), monday.plusDays(9)));
+        assertEquals(List.of(), checker.unavailabilityDuring(doctorId, monday.plusDays(5), monday.plusDays(9)));
+    }
+
+    @Test
+    void testSchedule_LoadedOnceUntilScheduleChanges() {
+        // Act
+        checker.appointmentsDuring(doctorId, monday, monday);
+        checker.appointmentsOutside(doctorId, List.of());
+        checker.onScheduleChanged(new ScheduleChangedEvent(doctorId));
+        checker.appointmentsDuring(doctorId, monday, monday);
+
+        // Assert
+        verify(appointmentRepository, times(2)).findUpcoming(eq(doctorId), any(LocalDate.class));
+    }
+
+    private static Availability window(DayOfWeek day, int fromHour, int toHour, int slotMinutes) {
+        Availability availability = new Availability();
+        availability.setDayOfWeek(day);
+        availability.setStartTime(LocalTime.of(fromHour, 0));
+        availability.setEndTime(LocalTime.of(toHour, 0));
+        availability.setSlotDuration(slotMinutes);
+        return availability;
+    }
+}
@@ -0,0 +1,129 @@
+package com.healthapp.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthapp.backend.exception.MailTransportException;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SendGridMailTransport against a local HTTP server.
+ * Tests that a half-open circuit breaker trial is released on every exit path.
+ */
+class SendGridMailTransportTest {
+
+    private final AtomicInteger status = new AtomicInteger(202);
+    private final AtomicInteger requests = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private HttpServer server;
+    private SendGridMailTransport transport;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v3/mail/send", exchange -> {
+            requests.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(status.get(), -1);
+            exchange.close();
+        });
+        server.start();
+
+        meterRegistry = new SimpleMeterRegistry();
+        // One failure opens the circuit and the open period is zero, so the next call is the half-open trial
+        transport = new SendGridMailTransport(new ObjectMapper(), meterRegistry, "test-key",
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/v3/mail/send", 2000, 5000, 1, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testSend_Accepted_Succeeds() {
+        // Act
+        transport.send(Map.of("subject", "Hello"));
+
+        // Assert
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void testSend_UnserializablePayloadWhileHalfOpen_KeepsTrialAvailable() {
+        // Arrange
+        openCircuit();
+
+        // Act
+        assertThrows(MailTransportException.class, () -> transport.send(Map.of("subject", new Object())));
+        transport.send(Map.of("subject", "Hello")); // Trial is still available and closes the circuit
+
+        // Assert
+        assertEquals(2, requests.get()); // The unserializable payload never reached the provider
+        transport.send(Map.of("subject", "Hello again"));
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    void testSend_InterruptedWhileHalfOpen_ReleasesTrial() {
+        // Arrange
+        openCircuit();
+
+        // Act
+        Thread.currentThread().interrupt();
+        assertThrows(MailTransportException.class, () -> transport.send(Map.of("subject", "Hello")));
+        assertTrue(Thread.interrupted()); // Interrupt status is preserved (and cleared here)
+
+        // Assert - the interrupted trial counted as a failure, so the circuit reopened and offers a new trial
+        transport.send(Map.of("subject", "Hello"));
+        assertEquals(0, meterRegistry.counter("email.transport.rejected").count());
+    }
+
+    @Test
+    void testSend_ClientErrorWhileHalfOpen_ClosesCircuit() {
+        // Arrange
+        openCircuit();
+        status.set(400);
+
+        // Act
+        assertThrows(MailTransportException.class, () -> transport.send(Map.of("subject", "Hello")));
+        status.set(202);
+        transport.send(Map.of("subject", "Hello"));
+        transport.send(Map.of("subject", "Hello"));
+
+        // Assert
+        assertEquals(4, requests.get());
+        assertEquals(0, meterRegistry.counter("email.transport.rejected").count());
+    }
+
+    @Test
+    void testSend_Unauthorized_OpensCircuit() {
+        // Arrange
+        SendGridMailTransport slowRecovery = new SendGridMailTransport(new ObjectMapper(), meterRegistry, "test-key",
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/v3/mail/send", 2000, 5000, 1, 60000);
+        status.set(401);
+
+        // Act
+        assertThrows(MailTransportException.class, () -> slowRecovery.send(Map.of("subject", "Hello")));
+        assertThrows(MailTransportException.class, () -> slowRecovery.send(Map.of("subject", "Hello")));
+
+        // Assert - a revoked key sheds load instead of hammering the provider
+        assertEquals(1, requests.get());
+        assertEquals(1, meterRegistry.counter("email.transport.rejected").count());
+    }
+
+    private void openCircuit() {
+        status.set(500);
+        assertThrows(MailTransportException.class, () -> transport.send(Map.of("subject", "Hello")));
+        status.set(202);
+    }
+}
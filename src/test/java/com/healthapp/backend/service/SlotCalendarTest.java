@@ -0,0 +1,157 @@
+package com.healthapp.backend.service;
+
+import com.healthapp.backend.dto.BookedSlot;
+import com.healthapp.backend.entity.Availability;
+import com.healthapp.backend.entity.Unavailability;
+import com.healthapp.backend.enums.DayOfWeek;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SlotCalendar.
+ * Tests slot generation from weekly windows, breaks, vacations, bookings (including ones made under another slot
+ * length), the cut-off for slots that already started today, and rejection of times off the 5-minute grid.
+ */
+class SlotCalendarTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+    private static final UUID DOCTOR_ID = UUID.randomUUID();
+
+    @Test
+    void testFreeSlots_WindowWithBreak_SkipsSlotsOverlappingBreak() {
+        // Arrange
+        SlotCalendar calendar = SlotCalendar.compile(List.of(
+                window(DayOfWeek.MON, "09:00", "12:00", 30, "10:15", "10:45")));
+
+        // Act
+        SlotCalendar.FreeSlots slots = calendar.freeSlots(MONDAY, 1, null, List.of(), List.of());
+
+        // Assert
+        assertEquals(List.of("09:00", "09:30", "11:00", "11:30"), times(slots));
+    }
+
+    @Test
+    void testFreeSlots_RepeatsWeeklyTemplateOverRange() {
+        // Arrange
+        SlotCalendar calendar = SlotCalendar.compile(List.of(
+                window(DayOfWeek.MON, "09:00", "10:00", 30, null, null),
+                window(DayOfWeek.WED, "14:00", "15:00", 20, null, null)));
+
+        // Act
+        SlotCalendar.FreeSlots slots = calendar.freeSlots(MONDAY, 30, null, List.of(), List.of());
+
+        // Assert
+        assertEquals(5 * 2 + 4 * 3, slots.count()); // Five Mondays and four Wednesdays in 30 days
+        assertTrue(slots.isFree(MONDAY.plusDays(2), LocalTime.of(14, 40)));
+        assertFalse(slots.isFree(MONDAY.plusDays(1), LocalTime.of(9, 0)));
+    }
+
+    @Test
+    void testIsFree_SubSecondTime_NotASlot() {
+        // Arrange
+        SlotCalendar calendar = SlotCalendar.compile(List.of(window(DayOfWeek.MON, "09:00", "10:00", 30, null, null)));
+
+        // Act
+        SlotCalendar.FreeSlots slots = calendar.freeSlots(MONDAY, 1, null, List.of(), List.of());
+
+        // Assert
+        assertTrue(slots.isFree(MONDAY, LocalTime.of(9, 0)));
+        assertFalse(slots.isFree(MONDAY, LocalTime.of(9, 0).plusNanos(500_000_000)));
+        assertFalse(slots.isFree(MONDAY, LocalTime.of(9, 0).plusNanos(1_000)));
+    }
+
+    @Test
+    void testFreeSlots_Unavailability_RemovesWholeDays() {
+        // Arrange
+        SlotCalendar calendar = SlotCalendar.compile(List.of(window(DayOfWeek.MON, "09:00", "10:00", 30, null, null)));
+        Unavailability vacation = new Unavailability();
+        vacation.setStartDate(MONDAY.plusDays(5));
+        vacation.setEndDate(MONDAY.plusDays(8));
+
+        // Act
+        SlotCalendar.FreeSlots slots = calendar.freeSlots(MONDAY, 14, null, List.of(vacation), List.of());
+
+        // Assert
+        assertTrue(slots.isFree(MONDAY, LocalTime.of(9, 0)));
+        assertFalse(slots.isFree(MONDAY.plusDays(7), LocalTime.of(9, 0)));
+        assertEquals(2, slots.count());
+    }
+
+    @Test
+    void testFreeSlots_Booking_BlocksItsSlotOnly() {
+        // Arrange
+        SlotCalendar calendar = SlotCalendar.compile(List.of(window(DayOfWeek.MON, "09:00", "11:00", 30, null, null)));
+
+        // Act
+        SlotCalendar.FreeSlots slots = calendar.freeSlots(MONDAY, 1, null, List.of(),
+                List.of(new BookedSlot(DOCTOR_ID, MONDAY, LocalTime.of(9, 30))));
+
+        // Assert
+        assertEquals(List.of("09:00", "10:00", "10:30"), times(slots));
+    }
+
+    @Test
+    void testFreeSlots_BookingUnderOlderSlotLength_BlocksOverlappingSlots() {
+        // Arrange - 20-minute slots now, but a booking at 09:10 made when the window started at 09:10
+        SlotCalendar calendar = SlotCalendar.compile(List.of(window(DayOfWeek.MON, "09:00", "10:00", 20, null, null)));
+
+        // Act
+        SlotCalendar.FreeSlots slots = calendar.freeSlots(MONDAY, 1, null, List.of(),
+                List.of(new BookedSlot(DOCTOR_ID, MONDAY, LocalTime.of(9, 10))));
+
+        // Assert
+        assertEquals(List.of("09:40"), times(slots));
+    }
+
+    @Test
+    void testFreeSlots_NotBefore_DropsStartedSlotsOnFirstDayOnly() {
+        // Arrange
+        SlotCalendar calendar = SlotCalendar.compile(List.of(
+                window(DayOfWeek.MON, "09:00", "10:00", 30, null, null),
+                window(DayOfWeek.TUE, "09:00", "10:00", 30, null, null)));
+
+        // Act
+        SlotCalendar.FreeSlots slots = calendar.freeSlots(MONDAY, 2, LocalTime.of(9, 1), List.of(), List.of());
+
+        // Assert
+        assertEquals(List.of("09:30", "09:00", "09:30"), times(slots));
+        assertEquals(MONDAY, slots.dateOf(slots.firstIndex()));
+        assertEquals(LocalTime.of(9, 30), slots.timeOf(slots.firstIndex()));
+    }
+
+    @Test
+    void testFreeSlots_NoAvailability_IsEmpty() {
+        // Act
+        SlotCalendar.FreeSlots slots = SlotCalendar.empty().freeSlots(MONDAY, 30, null, List.of(), List.of());
+
+        // Assert
+        assertTrue(SlotCalendar.empty().isEmpty());
+        assertEquals(0, slots.count());
+        assertEquals(-1, slots.firstIndex());
+    }
+
+    private static Availability window(DayOfWeek day, String start, String end, int minutes,
+                                       String breakStart, String breakEnd) {
+        Availability availability = new Availability();
+        availability.setDayOfWeek(day);
+        availability.setStartTime(LocalTime.parse(start));
+        availability.setEndTime(LocalTime.parse(end));
+        availability.setSlotDuration(minutes);
+        availability.setBreakStart(breakStart != null ? LocalTime.parse(breakStart) : null);
+        availability.setBreakEnd(breakEnd != null ? LocalTime.parse(breakEnd) : null);
+        return availability;
+    }
+
+    private static List<String> times(SlotCalendar.FreeSlots slots) {
+        List<String> times = new ArrayList<>();
+        slots.forEach((date, time) -> times.add(time.toString()));
+        return times;
+    }
+}
@@ -0,0 +1,157 @@
+package com.healthapp.backend.service;
+
+import com.healthapp.backend.dto.BookAppointmentRequest;
+import com.healthapp.backend.dto.SlotHoldResponse;
+import com.healthapp.backend.exception.SlotAlreadyBookedException;
+import com.healthapp.backend.repository.PatientRepository;
+import com.healthapp.backend.security.UserDetailsImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for SlotHoldService against the configured PostgreSQL database.
+ * Tests that parallel holds on one slot leave exactly one holder, that a held slot is busy for other patients and
+ * cannot be booked by them, that the holder can book it, that off-grid times cannot sidestep a hold, and that
+ * expired holds are taken over.
+ */
+@SpringBootTest(properties = "app.email.transport=memory")
+@Import(BookingFixture.class)
+class SlotHoldServiceTest {
+
+    private static final int PATIENTS = 16;
+    private static final LocalTime TEN = LocalTime.of(10, 0);
+
+    @Autowired
+    private SlotHoldService slotHoldService;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private SlotAvailabilityService slotAvailabilityService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingFixture fixture;
+
+    private UUID doctorId;
+    private LocalDate date;
+    private List<UserDetailsImpl> patients;
+
+    @BeforeEach
+    void setUp() {
+        fixture.setUp(PATIENTS);
+        doctorId = fixture.doctor().getId();
+        date = fixture.date();
+        patients = fixture.patients();
+    }
+
+    @Test
+    void testHold_ParallelPatientsSameSlot_ExactlyOneHolds() throws Exception {
+        // Act
+        ParallelAttempts.Outcome outcome = ParallelAttempts.race(PATIENTS, PATIENTS, SlotAlreadyBookedException.class,
+                i -> slotHoldService.hold(patients.get(i), doctorId, date, TEN));
+
+        // Assert
+        assertTrue(outcome.unexpected().isEmpty(), () -> "Unexpected failures: " + outcome.unexpected().peek());
+        assertEquals(1, outcome.succeeded());
+        assertEquals(PATIENTS - 1, outcome.conflicts());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM slot_holds WHERE doctor_id = ?", Integer.class, doctorId));
+    }
+
+    @Test
+    void testHold_HeldSlot_BusyForOthersFreeForHolder() {
+        // Arrange
+        slotHoldService.hold(patients.get(0), doctorId, date, TEN);
+        UUID holderId = patientRepository.findIdByUserId(patients.get(0).getId()).orElseThrow();
+
+        // Act & Assert
+        assertFalse(slotAvailabilityService.availableSlots(doctorId, date, 1, null).isFree(date, TEN));
+        assertTrue(slotAvailabilityService.availableSlots(doctorId, date, 1, holderId).isFree(date, TEN));
+        assertTrue(slotAvailabilityService.freeSlots(doctorId, date, 1).isFree(date, TEN));
+    }
+
+    @Test
+    void testBook_SlotHeldByOtherPatient_Conflicts() {
+        // Arrange
+        slotHoldService.hold(patients.get(0), doctorId, date, TEN);
+        BookAppointmentRequest request = new BookAppointmentRequest(doctorId, date, TEN, null);
+
+        // Act & Assert
+        assertThrows(SlotAlreadyBookedException.class, () -> appointmentService.book(patients.get(1), request));
+        assertNotNull(appointmentService.book(patients.get(0), request));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM slot_holds WHERE doctor_id = ?", Integer.class, doctorId));
+    }
+
+    @Test
+    void testHoldAndBook_SubSecondTime_RejectedAndHoldKept() {
+        // Arrange - 10:00:00.5 is a different TIME(6) key, so it must not slip past patient 0's hold on 10:00
+        slotHoldService.hold(patients.get(0), doctorId, date, TEN);
+        LocalTime offGrid = TEN.plusNanos(500_000_000);
+        BookAppointmentRequest request = new BookAppointmentRequest(doctorId, date, offGrid, null);
+
+        // Act & Assert
+        assertThrows(SlotAlreadyBookedException.class,
+                () -> slotHoldService.hold(patients.get(1), doctorId, date, offGrid));
+        assertThrows(SlotAlreadyBookedException.class, () -> appointmentService.book(patients.get(1), request));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM appointments WHERE doctor_id = ?", Integer.class, doctorId));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM slot_holds WHERE doctor_id = ?", Integer.class, doctorId));
+    }
+
+    @Test
+    void testHold_ExpiredHold_TakenOverByAnotherPatient() {
+        // Arrange
+        SlotHoldResponse first = slotHoldService.hold(patients.get(0), doctorId, date, TEN);
+        jdbcTemplate.update("UPDATE slot_holds SET expires_at = ? WHERE id = ?",
+                LocalDateTime.now().minusMinutes(1), first.id());
+
+        // Act
+        SlotHoldResponse second = slotHoldService.hold(patients.get(1), doctorId, date, TEN);
+
+        // Assert
+        assertNotEquals(first.id(), second.id());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM slot_holds WHERE doctor_id = ?", Integer.class, doctorId));
+    }
+
+    @Test
+    void testHold_NewSlot_ReplacesPatientsPreviousHold() {
+        // Arrange
+        slotHoldService.hold(patients.get(0), doctorId, date, TEN);
+
+        // Act
+        slotHoldService.hold(patients.get(0), doctorId, date, TEN.plusMinutes(30));
+
+        // Assert
+        assertTrue(slotAvailabilityService.availableSlots(doctorId, date, 1, null).isFree(date, TEN));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM slot_holds WHERE doctor_id = ?", Integer.class, doctorId));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        fixture.cleanUp();
+    }
+}